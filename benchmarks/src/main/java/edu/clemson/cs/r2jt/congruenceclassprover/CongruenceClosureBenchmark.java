@@ -0,0 +1,121 @@
+/*
+ * CongruenceClosureBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.r2jt.congruenceclassprover;
+
+import edu.clemson.cs.r2jt.rewriteprover.absyn.PExp;
+import edu.clemson.cs.r2jt.rewriteprover.absyn.PSymbol;
+import edu.clemson.cs.r2jt.typeandpopulate.MTProper;
+import edu.clemson.cs.r2jt.typeandpopulate.MTType;
+import edu.clemson.cs.r2jt.typereasoning.TypeGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <p>
+ * Measures the {@link Registry} and
+ * {@link ConjunctionOfNormalizedAtomicExpressions} operations the
+ * {@link CongruenceClassProver} spends most of its time in. The expressions
+ * are the equations <code>f(c0) = c1, ..., f(c(n-1)) = cn</code>.
+ * <code>addEquations</code> only inserts them. <code>mergeChain</code> also
+ * adds <code>c0 = c1</code>, which makes every constant congruent to every
+ * other one and merges the whole chain one link at a time.
+ * <code>mergeChainAtOnce</code> adds <code>c0 = c1</code> and the equations
+ * as a single conjunction, the way a large {@code VC} or theorem instance
+ * does, so all of its merges are processed in one batch.
+ * </p>
+ * <p>
+ * This class is in the prover's package since the conjunction's methods are
+ * protected.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CongruenceClosureBenchmark {
+
+    @Param({ "16", "128", "512" })
+    private int myLength;
+
+    private TypeGraph myTypeGraph;
+    private List<PExp> myEquations;
+    private PExp myFirstLink;
+    private PExp myChain;
+
+    @Setup
+    public void setUp() {
+        myTypeGraph = new TypeGraph();
+        MTType z = new MTProper(myTypeGraph, myTypeGraph.CLS, false, "Z");
+
+        List<PSymbol> constants = new ArrayList<PSymbol>(myLength + 1);
+        for (int i = 0; i <= myLength; i++) {
+            constants.add(new PSymbol(z, null, "c" + i));
+        }
+
+        myEquations = new ArrayList<PExp>(myLength);
+        for (int i = 0; i < myLength; i++) {
+            // The conjunction builds the function type from the range and
+            // the argument types.
+            PSymbol f = new PSymbol(z, null, "f",
+                    Arrays.<PExp> asList(constants.get(i)));
+            myEquations.add(equals(f, constants.get(i + 1)));
+        }
+        myFirstLink = equals(constants.get(0), constants.get(1));
+
+        myChain = myFirstLink;
+        for (PExp e : myEquations) {
+            myChain = new PSymbol(myTypeGraph.BOOLEAN, null, "andB",
+                    Arrays.asList(myChain, e));
+        }
+    }
+
+    @Benchmark
+    public ConjunctionOfNormalizedAtomicExpressions addEquations() {
+        ConjunctionOfNormalizedAtomicExpressions conjunction =
+                new ConjunctionOfNormalizedAtomicExpressions(
+                        new Registry(myTypeGraph), null);
+        for (PExp e : myEquations) {
+            conjunction.addExpression(e);
+        }
+
+        return conjunction;
+    }
+
+    @Benchmark
+    public ConjunctionOfNormalizedAtomicExpressions mergeChain() {
+        ConjunctionOfNormalizedAtomicExpressions conjunction = addEquations();
+        conjunction.addExpression(myFirstLink);
+
+        return conjunction;
+    }
+
+    @Benchmark
+    public ConjunctionOfNormalizedAtomicExpressions mergeChainAtOnce() {
+        ConjunctionOfNormalizedAtomicExpressions conjunction =
+                new ConjunctionOfNormalizedAtomicExpressions(
+                        new Registry(myTypeGraph), null);
+        conjunction.addExpression(myChain);
+
+        return conjunction;
+    }
+
+    private PExp equals(PExp left, PExp right) {
+        return new PSymbol(myTypeGraph.BOOLEAN, null, "=B",
+                Arrays.asList(left, right));
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * CompilerPhaseBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.benchmarks;
+
+import edu.clemson.cs.rsrg.init.ResolveCompiler;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.file.ResolveFileBasicInfo;
+import edu.clemson.cs.rsrg.init.output.OutputListener;
+import edu.clemson.cs.rsrg.init.pipeline.AnalysisPipeline;
+import edu.clemson.cs.rsrg.prover.output.Metrics;
+import edu.clemson.cs.rsrg.prover.output.PerVCProverModel;
+import edu.clemson.cs.rsrg.statushandling.WriterStatusHandler;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.translation.targets.JavaTranslator;
+import edu.clemson.cs.rsrg.vcgeneration.VCGenerator;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.AssertiveCodeBlock;
+import java.io.File;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <p>
+ * This benchmark compiles one of the files in the fixture workspace all the
+ * way through a compiler phase:
+ * </p>
+ *
+ * <ul>
+ * <li>{@code analyze}: parsing and the {@link AnalysisPipeline} (populating
+ * and type checking every module the file depends on).</li>
+ * <li>{@code generateVCs}: the above plus the {@link VCGenerator}.</li>
+ * <li>{@code translateToJava}: the above without {@code VC} generation, plus
+ * the {@link JavaTranslator}.</li>
+ * </ul>
+ *
+ * <p>
+ * Each invocation is a fresh compilation, so the cost of a phase is the
+ * difference between its score and the score of {@code analyze}.
+ * </p>
+ *
+ * <p>
+ * <em>Note:</em> The fixture workspace bundled with the benchmarks contains
+ * everything the files import, so the benchmark doesn't need a checkout of
+ * {@code RESOLVE-Workspace}. We use {@code Record_Realiz} as the realization,
+ * since the {@link JavaTranslator} can't translate the arrays used by
+ * {@code Array_Realiz}.
+ * </p>
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CompilerPhaseBenchmark {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The file we are compiling, relative to {@code RESOLVE/Main} in the
+     * fixture workspace.
+     * </p>
+     */
+    @Param({ "Concepts/Stack_Template/Stack_Template.co",
+            "Concepts/Counter_Template/Record_Realiz.rb",
+            "Facilities/RevStack.fa" })
+    private String myFileName;
+
+    /**
+     * <p>
+     * The copy of the fixture workspace we are compiling in.
+     * </p>
+     */
+    private File myWorkspaceDir;
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method copies the fixture workspace to a temporary directory.
+     * </p>
+     */
+    @Setup
+    public final void setUp() {
+        myWorkspaceDir = Corpus.extractWorkspace();
+    }
+
+    /**
+     * <p>
+     * This method deletes the copy of the fixture workspace.
+     * </p>
+     */
+    @TearDown
+    public final void tearDown() {
+        Corpus.deleteWorkspace(myWorkspaceDir);
+    }
+
+    /**
+     * <p>
+     * Parses and analyzes the file and its imports.
+     * </p>
+     *
+     * @return The results reported by the compiler.
+     */
+    @Benchmark
+    public final List<Object> analyze() {
+        return compile();
+    }
+
+    /**
+     * <p>
+     * Generates the {@code VCs} for the file.
+     * </p>
+     *
+     * @return The results reported by the compiler.
+     */
+    @Benchmark
+    public final List<Object> generateVCs() {
+        return compile("-VCs");
+    }
+
+    /**
+     * <p>
+     * Translates the file to {@code Java}.
+     * </p>
+     *
+     * @return The results reported by the compiler.
+     */
+    @Benchmark
+    public final List<Object> translateToJava() {
+        return compile("-javaTranslate");
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that compiles the file using the same entry point as
+     * the {@code WebIDE}. There are no "meta" files, so the compiler reads
+     * everything from the workspace.
+     * </p>
+     *
+     * @param phaseFlags The flags that turn on the phase we are measuring.
+     *
+     * @return The results reported by the compiler.
+     *
+     * @throws MiscErrorException The compiler reported an error.
+     */
+    private List<Object> compile(String... phaseFlags) {
+        List<String> args = new ArrayList<>();
+        args.add("-workspaceDir");
+        args.add(myWorkspaceDir.getPath());
+        args.add("-noFileOutput");
+        for (String flag : phaseFlags) {
+            args.add(flag);
+        }
+        args.add("RESOLVE/Main/" + myFileName);
+
+        StringWriter errors = new StringWriter();
+        ResultCollector collector = new ResultCollector();
+        ResolveCompiler compiler =
+                new ResolveCompiler(args.toArray(new String[args.size()]));
+        compiler.invokeCompiler(new HashMap<String, ResolveFile>(),
+                new HashMap<ResolveFileBasicInfo, ResolveFile>(),
+                new WriterStatusHandler(new StringWriter(), errors),
+                collector);
+
+        if (errors.getBuffer().length() > 0) {
+            throw new MiscErrorException(
+                    "Error compiling " + myFileName + ": " + errors,
+                    new IllegalStateException());
+        }
+
+        return collector.myResults;
+    }
+
+    // ===========================================================
+    // Helper Classes
+    // ===========================================================
+
+    /**
+     * <p>
+     * An {@link OutputListener} that keeps the results, so the work that
+     * produced them can't be optimized away.
+     * </p>
+     */
+    private static class ResultCollector implements OutputListener {
+
+        /**
+         * <p>
+         * The results reported by the compiler.
+         * </p>
+         */
+        private final List<Object> myResults = new ArrayList<>();
+
+        /**
+         * <p>
+         * Keeps the {@code Graphviz} model.
+         * </p>
+         */
+        @Override
+        public final void astGraphvizModelResult(String outputFileName,
+                String graphvizModel) {
+            myResults.add(graphvizModel);
+        }
+
+        /**
+         * <p>
+         * Keeps the {@code C} translation.
+         * </p>
+         */
+        @Override
+        public final void cTranslationResult(String inputFileName,
+                String outputFileName, String cTranslation) {
+            myResults.add(cTranslation);
+        }
+
+        /**
+         * <p>
+         * Keeps the {@code Java} translation.
+         * </p>
+         */
+        @Override
+        public final void javaTranslationResult(String inputFileName,
+                String outputFileName, String javaTranslation) {
+            myResults.add(javaTranslation);
+        }
+
+        /**
+         * <p>
+         * Keeps the name of the prover's output file.
+         * </p>
+         */
+        @Override
+        public final void proverResult(String inputFileName,
+                String outputFileName) {
+            myResults.add(outputFileName);
+        }
+
+        /**
+         * <p>
+         * Keeps the final assertive code blocks.
+         * </p>
+         */
+        @Override
+        public final void vcGeneratorResult(String inputFileName,
+                String outputFileName, List<AssertiveCodeBlock> blocks,
+                String verboseOutput) {
+            myResults.add(blocks);
+        }
+
+        /**
+         * <p>
+         * Keeps the prover representation of the {@code VC}.
+         * </p>
+         */
+        @Override
+        public final void vcResult(boolean proved, PerVCProverModel finalModel,
+                Metrics m) {
+            myResults.add(finalModel);
+        }
+
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Corpus.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.benchmarks;
+
+import edu.clemson.cs.rsrg.init.file.ModuleType;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.file.ResolveFileBasicInfo;
+import edu.clemson.cs.rsrg.misc.Utilities;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import org.antlr.v4.runtime.CharStreams;
+
+/**
+ * <p>
+ * This class provides access to the {@code RESOLVE} files bundled with the
+ * benchmarks. The corpus is a copy of {@code test/resources}, so every
+ * benchmark that only needs these files runs without a network connection or
+ * a checkout of {@code RESOLVE-Workspace}.
+ * </p>
+ *
+ * <p>
+ * The benchmarks that need a workspace use a small fixture workspace instead.
+ * It contains a few concepts, realizations and facilities, plus stripped
+ * down versions of the theories, standard templates and facilities they
+ * import and of the {@code RESOLVE} runtime sources needed to create
+ * executable jars. The fixture files are listed in {@code workspace/files.txt}, since we can't list
+ * the contents of a directory inside the benchmark jar.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class Corpus {
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This class only contains static methods.
+     * </p>
+     */
+    private Corpus() {}
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method deletes a workspace created by {@link #extractWorkspace()}.
+     * </p>
+     *
+     * @param workspaceDir The workspace directory.
+     *
+     * @throws MiscErrorException A file couldn't be deleted.
+     */
+    public static void deleteWorkspace(File workspaceDir) {
+        File[] children = workspaceDir.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteWorkspace(child);
+            }
+        }
+
+        try {
+            Files.deleteIfExists(workspaceDir.toPath());
+        }
+        catch (IOException e) {
+            throw new MiscErrorException("Error deleting " + workspaceDir, e);
+        }
+    }
+
+    /**
+     * <p>
+     * This method copies the fixture workspace to a new temporary directory,
+     * so it can be given to the compiler using {@code -workspaceDir}.
+     * </p>
+     *
+     * @return The workspace directory.
+     *
+     * @throws MiscErrorException The workspace can't be copied.
+     */
+    public static File extractWorkspace() {
+        try {
+            Path workspacePath = Files.createTempDirectory("RESOLVE-Workspace");
+            try (BufferedReader fileList = new BufferedReader(
+                    new InputStreamReader(openResource("workspace/files.txt"),
+                            Charset.forName("UTF-8")))) {
+                String fileName;
+                while ((fileName = fileList.readLine()) != null) {
+                    if (fileName.isEmpty()) {
+                        continue;
+                    }
+
+                    Path target = workspacePath.resolve(fileName);
+                    Files.createDirectories(target.getParent());
+                    try (InputStream in =
+                            openResource("workspace/" + fileName)) {
+                        Files.copy(in, target);
+                    }
+                }
+            }
+
+            return workspacePath.toFile();
+        }
+        catch (IOException e) {
+            throw new MiscErrorException("Error extracting the workspace", e);
+        }
+    }
+
+    /**
+     * <p>
+     * This method creates a new {@link ResolveFile} with the given contents.
+     * A new {@link ResolveFile} must be created for every compilation, since
+     * the compiler consumes its input stream.
+     * </p>
+     *
+     * @param fileName Name of the corpus file, including the extension.
+     * @param contents The contents returned by {@link #read(String)}.
+     * @param parentPath The directory the file should appear to be in.
+     *
+     * @return A {@link ResolveFile} that can be given to the compiler.
+     */
+    public static ResolveFile newResolveFile(String fileName, String contents,
+            Path parentPath) {
+        ModuleType moduleType = Utilities.getModuleType(fileName);
+        String name = Utilities.getFileName(fileName, moduleType);
+
+        return new ResolveFile(
+                new ResolveFileBasicInfo(name,
+                        parentPath.getFileName().toString()),
+                moduleType, CharStreams.fromString(contents, fileName),
+                parentPath, new ArrayList<String>(), fileName);
+    }
+
+    /**
+     * <p>
+     * This method reads one of the corpus files.
+     * </p>
+     *
+     * @param fileName Name of the corpus file, including the extension.
+     *
+     * @return The contents of the file.
+     *
+     * @throws MiscErrorException The file isn't part of the corpus or can't
+     *         be read.
+     */
+    public static String read(String fileName) {
+        try (InputStream in = openResource("corpus/" + fileName)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+
+            return out.toString("UTF-8");
+        }
+        catch (IOException e) {
+            throw new MiscErrorException("Error reading " + fileName, e);
+        }
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that opens one of the files bundled with the
+     * benchmarks.
+     * </p>
+     *
+     * @param resourceName Path to the file inside the benchmark jar.
+     *
+     * @return A stream with the contents of the file.
+     *
+     * @throws MiscErrorException The file isn't bundled with the benchmarks.
+     */
+    private static InputStream openResource(String resourceName) {
+        InputStream in =
+                Corpus.class.getClassLoader().getResourceAsStream(resourceName);
+        if (in == null) {
+            throw new MiscErrorException(
+                    resourceName + " isn't bundled with the benchmarks.",
+                    new FileNotFoundException());
+        }
+
+        return in;
+    }
+
+}
@@ -0,0 +1,414 @@
+/*
+ * EnhancementDispatchBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.benchmarks;
+
+import edu.clemson.cs.rsrg.init.ResolveCompiler;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.file.ResolveFileBasicInfo;
+import edu.clemson.cs.rsrg.init.output.ArchiveOutputListener;
+import edu.clemson.cs.rsrg.init.output.OutputListener;
+import edu.clemson.cs.rsrg.prover.output.Metrics;
+import edu.clemson.cs.rsrg.prover.output.PerVCProverModel;
+import edu.clemson.cs.rsrg.statushandling.WriterStatusHandler;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.AssertiveCodeBlock;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <p>
+ * This benchmark compares the two ways the {@code Java} translator can
+ * implement a facility with more than one {@code enhancement}:
+ * </p>
+ *
+ * <ul>
+ * <li>A chain of {@link Proxy} objects created by each enhancement
+ * realization's {@code createProxy} method (the default).</li>
+ * <li>A statically typed wrapper class that directly calls the concept and
+ * enhancement realizations (the {@code javaStaticEnhancements} flag).</li>
+ * </ul>
+ *
+ * <p>
+ * The code being measured is generated by the compiler. During setup, we
+ * create an executable jar for {@code Counting_Fac} in the fixture workspace
+ * with and without the {@code javaStaticEnhancements} flag and load each
+ * jar in its own class loader. {@code Counting_Fac} enhances a
+ * {@code Counter_Template} facility with {@code Adding_Capability} and
+ * {@code Doubling_Capability}, and its {@code Count_Up} operation calls an
+ * operation from the concept and from each enhancement in every round.
+ * </p>
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EnhancementDispatchBenchmark {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The number of rounds {@code Count_Up} runs in each invocation.
+     * </p>
+     */
+    @Param({ "16", "256" })
+    private int myRounds;
+
+    /**
+     * <p>
+     * The copy of the fixture workspace we are compiling in.
+     * </p>
+     */
+    private File myWorkspaceDir;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>
+     * {@code Count_Up} translated using {@code createProxy}.
+     * </p>
+     */
+    private CountUp myProxiedFacility;
+
+    /**
+     * <p>
+     * {@code Count_Up} translated using the wrapper class.
+     * </p>
+     */
+    private CountUp myStaticFacility;
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method creates and loads both jars.
+     * </p>
+     */
+    @Setup
+    public final void setUp() {
+        myWorkspaceDir = Corpus.extractWorkspace();
+        myProxiedFacility = new CountUp(createJar("Proxied"), myRounds);
+        myStaticFacility = new CountUp(
+                createJar("Static", "-javaStaticEnhancements"), myRounds);
+    }
+
+    /**
+     * <p>
+     * This method closes the class loaders and deletes the copy of the
+     * fixture workspace.
+     * </p>
+     *
+     * @throws IOException A class loader couldn't be closed.
+     */
+    @TearDown
+    public final void tearDown() throws IOException {
+        myProxiedFacility.close();
+        myStaticFacility.close();
+        Corpus.deleteWorkspace(myWorkspaceDir);
+    }
+
+    /**
+     * <p>
+     * Runs {@code Count_Up} using the proxied facility.
+     * </p>
+     *
+     * @return The value returned by {@code Count_Up}.
+     */
+    @Benchmark
+    public final Object proxied() {
+        return myProxiedFacility.invoke();
+    }
+
+    /**
+     * <p>
+     * Runs {@code Count_Up} using the wrapper class.
+     * </p>
+     *
+     * @return The value returned by {@code Count_Up}.
+     */
+    @Benchmark
+    public final Object staticWrapper() {
+        return myStaticFacility.invoke();
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that creates an executable jar for
+     * {@code Counting_Fac} and writes it to the workspace.
+     * </p>
+     *
+     * @param jarName Name of the jar file, without the extension.
+     * @param translationFlags Extra flags for the {@code Java} translator.
+     *
+     * @return The jar file.
+     *
+     * @throws MiscErrorException The compiler reported an error or the jar
+     *         couldn't be written.
+     */
+    private File createJar(String jarName, String... translationFlags) {
+        String[] args = new String[5 + translationFlags.length];
+        args[0] = "-workspaceDir";
+        args[1] = myWorkspaceDir.getPath();
+        args[2] = "-noFileOutput";
+        args[3] = "-createJar";
+        System.arraycopy(translationFlags, 0, args, 4,
+                translationFlags.length);
+        args[args.length - 1] = "RESOLVE/Main/Facilities/Counting_Fac.fa";
+
+        StringWriter errors = new StringWriter();
+        JarCollector collector = new JarCollector();
+        new ResolveCompiler(args).invokeCompiler(
+                new HashMap<String, ResolveFile>(),
+                new HashMap<ResolveFileBasicInfo, ResolveFile>(),
+                new WriterStatusHandler(new StringWriter(), errors),
+                collector);
+
+        if (errors.getBuffer().length() > 0
+                || collector.myJar.size() == 0) {
+            throw new MiscErrorException(
+                    "Error creating the jar for Counting_Fac: " + errors,
+                    new IllegalStateException());
+        }
+
+        File jarFile = new File(myWorkspaceDir, jarName + ".jar");
+        try {
+            Files.write(jarFile.toPath(), collector.myJar.toByteArray());
+        }
+        catch (IOException e) {
+            throw new MiscErrorException("Error writing " + jarFile, e);
+        }
+
+        return jarFile;
+    }
+
+    // ===========================================================
+    // Helper Classes
+    // ===========================================================
+
+    /**
+     * <p>
+     * The {@code Count_Up} operation of a {@code Counting_Fac} instance
+     * loaded from one of the jars.
+     * </p>
+     */
+    private static class CountUp {
+
+        /**
+         * <p>
+         * The class loader for the jar.
+         * </p>
+         */
+        private final URLClassLoader myClassLoader;
+
+        /**
+         * <p>
+         * An instance of {@code Counting_Fac}.
+         * </p>
+         */
+        private final Object myFacility;
+
+        /**
+         * <p>
+         * The {@code Count_Up} method.
+         * </p>
+         */
+        private final Method myCountUp;
+
+        /**
+         * <p>
+         * The argument for {@code Count_Up}.
+         * </p>
+         */
+        private final Object myRounds;
+
+        /**
+         * <p>
+         * This loads {@code Counting_Fac} from {@code jarFile}.
+         * </p>
+         *
+         * @param jarFile The jar created for {@code Counting_Fac}.
+         * @param rounds The number of rounds {@code Count_Up} runs.
+         *
+         * @throws MiscErrorException The jar doesn't contain the expected
+         *         classes.
+         */
+        CountUp(File jarFile, int rounds) {
+            try {
+                myClassLoader = new URLClassLoader(
+                        new URL[] { jarFile.toURI().toURL() }, null);
+                Class<?> facilityClass = myClassLoader
+                        .loadClass("RESOLVE.Main.Facilities.Counting_Fac");
+                Class<?> integerClass = myClassLoader.loadClass(
+                        "RESOLVE.Main.Concepts.Standard.Integer_Template.Integer_Template$Integer");
+
+                myFacility = facilityClass.getConstructor().newInstance();
+                myCountUp = facilityClass.getMethod("Count_Up", integerClass);
+
+                Object integerFac =
+                        facilityClass.getField("Std_Integer_Fac").get(null);
+                myRounds = integerFac.getClass()
+                        .getMethod("createInteger", int.class)
+                        .invoke(integerFac, rounds);
+            }
+            catch (IOException | ReflectiveOperationException e) {
+                throw new MiscErrorException(
+                        "Error loading Counting_Fac from " + jarFile, e);
+            }
+        }
+
+        /**
+         * <p>
+         * Calls {@code Count_Up}.
+         * </p>
+         *
+         * @return The value returned by {@code Count_Up}.
+         *
+         * @throws MiscErrorException {@code Count_Up} threw an exception.
+         */
+        final Object invoke() {
+            try {
+                return myCountUp.invoke(myFacility, myRounds);
+            }
+            catch (IllegalAccessException | InvocationTargetException e) {
+                throw new MiscErrorException("Error running Count_Up", e);
+            }
+        }
+
+        /**
+         * <p>
+         * Closes the class loader.
+         * </p>
+         *
+         * @throws IOException The jar couldn't be closed.
+         */
+        final void close() throws IOException {
+            myClassLoader.close();
+        }
+
+    }
+
+    /**
+     * <p>
+     * An {@link OutputListener} that keeps the jar created by the compiler
+     * in memory.
+     * </p>
+     */
+    private static class JarCollector
+            implements
+                OutputListener,
+                ArchiveOutputListener {
+
+        /**
+         * <p>
+         * The contents of the jar.
+         * </p>
+         */
+        private final ByteArrayOutputStream myJar =
+                new ByteArrayOutputStream();
+
+        /**
+         * <p>
+         * Returns the stream that keeps the jar.
+         * </p>
+         */
+        @Override
+        public final OutputStream openJarOutputStream(String inputFileName,
+                String outputFileName) {
+            return myJar;
+        }
+
+        /**
+         * <p>
+         * Ignores the {@code Graphviz} model.
+         * </p>
+         */
+        @Override
+        public final void astGraphvizModelResult(String outputFileName,
+                String graphvizModel) {}
+
+        /**
+         * <p>
+         * Ignores the {@code C} translation.
+         * </p>
+         */
+        @Override
+        public final void cTranslationResult(String inputFileName,
+                String outputFileName, String cTranslation) {}
+
+        /**
+         * <p>
+         * Ignores the {@code Java} translation. It is part of the jar.
+         * </p>
+         */
+        @Override
+        public final void javaTranslationResult(String inputFileName,
+                String outputFileName, String javaTranslation) {}
+
+        /**
+         * <p>
+         * Ignores the name of the prover's output file.
+         * </p>
+         */
+        @Override
+        public final void proverResult(String inputFileName,
+                String outputFileName) {}
+
+        /**
+         * <p>
+         * Ignores the final assertive code blocks.
+         * </p>
+         */
+        @Override
+        public final void vcGeneratorResult(String inputFileName,
+                String outputFileName, List<AssertiveCodeBlock> blocks,
+                String verboseOutput) {}
+
+        /**
+         * <p>
+         * Ignores the prover representation of the {@code VC}.
+         * </p>
+         */
+        @Override
+        public final void vcResult(boolean proved, PerVCProverModel finalModel,
+                Metrics m) {}
+
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * ParsingBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.benchmarks;
+
+import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
+import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.init.ResolveCompiler;
+import edu.clemson.cs.rsrg.parsing.ParsingService;
+import edu.clemson.cs.rsrg.statushandling.SystemStdHandler;
+import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <p>
+ * This benchmark measures how long it takes to build the {@link ModuleDec} for
+ * each of the corpus files. This is the work the {@code Controller} hands to
+ * the {@link ParsingService} for every module it compiles: lexing, parsing
+ * using the two-stage strategy and walking the parse tree with the
+ * {@code TreeBuildingListener}.
+ * </p>
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParsingBenchmark {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The corpus file we are parsing.
+     * </p>
+     */
+    @Param({ "Integer_Theory.mt", "Stack_Template.co",
+            "Reading_Capability.en", "Array_Realiz.rb",
+            "Obvious_Reading_Realiz.rb", "RevStack.fa" })
+    private String myFileName;
+
+    /**
+     * <p>
+     * The contents of the corpus file.
+     * </p>
+     */
+    private String myContents;
+
+    /**
+     * <p>
+     * The directory the corpus files appear to be in.
+     * </p>
+     */
+    private Path myParentPath;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>
+     * The service that parses the files. It doesn't use any worker threads.
+     * </p>
+     */
+    private ParsingService myParsingService;
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method reads the corpus file and creates the
+     * {@link ParsingService}.
+     * </p>
+     *
+     * @throws IOException There was an error creating the compile
+     *         environment.
+     */
+    @Setup
+    public final void setUp() throws IOException {
+        myContents = Corpus.read(myFileName);
+        myParentPath = Paths.get("corpus").toAbsolutePath();
+
+        // We need to create a ResolveCompiler instance to instantiate
+        // the flag manager...
+        new ResolveCompiler(new String[0]);
+        SystemStdHandler statusHandler = new SystemStdHandler();
+        TypeGraph typeGraph = new TypeGraph(new CompileEnvironment(
+                new String[0], "ParsingBenchmark", statusHandler));
+        myParsingService = new ParsingService(statusHandler, typeGraph, 0);
+    }
+
+    /**
+     * <p>
+     * Builds the {@link ModuleDec} for the corpus file.
+     * </p>
+     *
+     * @return The module.
+     */
+    @Benchmark
+    public final ModuleDec parse() {
+        return myParsingService.parse(
+                Corpus.newResolveFile(myFileName, myContents, myParentPath));
+    }
+
+    /**
+     * <p>
+     * This method stops the {@link ParsingService}.
+     * </p>
+     */
+    @TearDown
+    public final void tearDown() {
+        myParsingService.shutdown();
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * SequentReductionBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.benchmarks;
+
+import edu.clemson.cs.rsrg.absyn.expressions.Exp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.MathExp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.VarExp;
+import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.init.ResolveCompiler;
+import edu.clemson.cs.rsrg.init.file.ModuleType;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.file.ResolveFileBasicInfo;
+import edu.clemson.cs.rsrg.parsing.data.Location;
+import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
+import edu.clemson.cs.rsrg.statushandling.SystemStdHandler;
+import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
+import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
+import edu.clemson.cs.rsrg.vcgeneration.sequents.SequentReduction;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.Utilities;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.antlr.v4.runtime.UnbufferedCharStream;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <p>
+ * This benchmark measures {@link SequentReduction#applyReduction()} on a
+ * sequent shaped like the ones the {@code VC} generator produces for an
+ * operation with several {@code ensures} clauses:
+ * </p>
+ *
+ * <p>
+ * {@code (p1 and q1), ..., (pn and qn) |- (p1 implies q1) and ... and (pn
+ * implies qn)}
+ * </p>
+ *
+ * <p>
+ * The reduction produces one sequent for each conjunct on the right.
+ * </p>
+ *
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SequentReductionBenchmark {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The number of conjuncts on each side of the sequent.
+     * </p>
+     */
+    @Param({ "4", "16", "64" })
+    private int mySize;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>
+     * The sequent we are reducing.
+     * </p>
+     */
+    private Sequent mySequent;
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method creates the sequent.
+     * </p>
+     *
+     * @throws IOException There was an error creating the compile
+     *         environment.
+     */
+    @Setup
+    public final void setUp() throws IOException {
+        Location location = new Location(new ResolveFile(
+                new ResolveFileBasicInfo("SequentReductionBenchmark", ""),
+                ModuleType.THEORY,
+                new UnbufferedCharStream(new StringReader("")), null,
+                new ArrayList<String>(), ""), 0, 0);
+
+        // We need to create a ResolveCompiler instance to instantiate
+        // the flag manager...
+        new ResolveCompiler(new String[0]);
+        TypeGraph g = new TypeGraph(new CompileEnvironment(new String[0],
+                "SequentReductionBenchmark", new SystemStdHandler()));
+
+        List<Exp> antecedents = new ArrayList<>(mySize);
+        Exp consequent = null;
+        for (int i = 1; i <= mySize; i++) {
+            VarExp p = Utilities.createVarExp(location, null,
+                    new PosSymbol(location, "p" + i), g.BOOLEAN, null);
+            VarExp q = Utilities.createVarExp(location, null,
+                    new PosSymbol(location, "q" + i), g.BOOLEAN, null);
+            antecedents.add(
+                    MathExp.formConjunct(location, p.clone(), q.clone()));
+
+            Exp pImpliesq =
+                    MathExp.formImplies(location, p.clone(), q.clone());
+            if (consequent == null) {
+                consequent = pImpliesq;
+            }
+            else {
+                consequent =
+                        MathExp.formConjunct(location, consequent, pImpliesq);
+            }
+        }
+
+        List<Exp> consequents = new ArrayList<>(1);
+        consequents.add(consequent);
+        mySequent = new Sequent(location, antecedents, consequents);
+    }
+
+    /**
+     * <p>
+     * Reduces the sequent.
+     * </p>
+     *
+     * @return The resulting sequents.
+     */
+    @Benchmark
+    public final List<Sequent> reduce() {
+        return new SequentReduction(mySequent).applyReduction();
+    }
+
+}
@@ -0,0 +1,16 @@
+Realization Iterative_Adding_Realiz for Adding_Capability of Counter_Template;
+
+    Procedure Add(updates C: Counter; preserves n: Integer);
+        Var i: Integer;
+
+        While ( i < n )
+            changing C, i;
+            maintaining C = #C + i and i <= n;
+            decreasing n - i;
+        do
+            Increment(C);
+            i := i + 1;
+        end;
+    end Add;
+
+end Iterative_Adding_Realiz;
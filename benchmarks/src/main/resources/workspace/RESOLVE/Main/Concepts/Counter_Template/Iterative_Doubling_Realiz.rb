@@ -0,0 +1,17 @@
+Realization Iterative_Doubling_Realiz for Doubling_Capability of Counter_Template;
+
+    Procedure Double(updates C: Counter);
+        Var i, n: Integer;
+
+        n := Value(C);
+        While ( i < n )
+            changing C, i;
+            maintaining C = #C + i and i <= n;
+            decreasing n - i;
+        do
+            Increment(C);
+            i := i + 1;
+        end;
+    end Double;
+
+end Iterative_Doubling_Realiz;
@@ -0,0 +1,26 @@
+Realization Record_Realiz for Counter_Template;
+
+    Type Counter is represented by Record
+            Count: Integer;
+            Resets: Integer;
+        end;
+        convention
+            0 <= C.Count and 0 <= C.Resets;
+        correspondence
+            Conc.C = C.Count;
+    end;
+
+    Procedure Increment(updates C: Counter);
+        C.Count := C.Count + 1;
+    end Increment;
+
+    Procedure Value(restores C: Counter): Integer;
+        Value := C.Count;
+    end Value;
+
+    Procedure Reset(clears C: Counter);
+        C.Count := 0;
+        C.Resets := C.Resets + 1;
+    end Reset;
+
+end Record_Realiz;
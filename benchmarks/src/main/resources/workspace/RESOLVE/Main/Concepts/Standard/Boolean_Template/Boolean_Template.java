@@ -0,0 +1,25 @@
+package RESOLVE.Main.Concepts.Standard.Boolean_Template;
+
+import RESOLVE.*;
+
+public interface Boolean_Template extends RESOLVE_INTERFACE {
+
+    interface Boolean extends RType {}
+
+    Boolean createBoolean();
+
+    Boolean True();
+
+    Boolean False();
+
+    Boolean And(Boolean a, Boolean b);
+
+    Boolean Or(Boolean a, Boolean b);
+
+    Boolean Not(Boolean a);
+
+    Boolean Are_Equal(Boolean a, Boolean b);
+
+    Boolean Replica(Boolean a);
+
+}
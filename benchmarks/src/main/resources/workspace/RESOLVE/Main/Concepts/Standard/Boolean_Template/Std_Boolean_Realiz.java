@@ -0,0 +1,74 @@
+package RESOLVE.Main.Concepts.Standard.Boolean_Template;
+
+import RESOLVE.*;
+
+public class Std_Boolean_Realiz extends RESOLVE_BASE
+        implements
+            Boolean_Template {
+
+    public static class Boolean implements Boolean_Template.Boolean {
+
+        public boolean val;
+
+        public Boolean(boolean val) {
+            this.val = val;
+        }
+
+        public Object getRep() {
+            return val;
+        }
+
+        public void setRep(Object o) {
+            val = (java.lang.Boolean) o;
+        }
+
+        public RType initialValue() {
+            return new Boolean(false);
+        }
+
+        public String toString() {
+            return java.lang.Boolean.toString(val);
+        }
+
+    }
+
+    private static boolean val(Boolean_Template.Boolean b) {
+        return ((Boolean) b).val;
+    }
+
+    public Boolean_Template.Boolean createBoolean() {
+        return new Boolean(false);
+    }
+
+    public Boolean_Template.Boolean True() {
+        return new Boolean(true);
+    }
+
+    public Boolean_Template.Boolean False() {
+        return new Boolean(false);
+    }
+
+    public Boolean_Template.Boolean And(Boolean_Template.Boolean a,
+            Boolean_Template.Boolean b) {
+        return new Boolean(val(a) && val(b));
+    }
+
+    public Boolean_Template.Boolean Or(Boolean_Template.Boolean a,
+            Boolean_Template.Boolean b) {
+        return new Boolean(val(a) || val(b));
+    }
+
+    public Boolean_Template.Boolean Not(Boolean_Template.Boolean a) {
+        return new Boolean(!val(a));
+    }
+
+    public Boolean_Template.Boolean Are_Equal(Boolean_Template.Boolean a,
+            Boolean_Template.Boolean b) {
+        return new Boolean(val(a) == val(b));
+    }
+
+    public Boolean_Template.Boolean Replica(Boolean_Template.Boolean a) {
+        return new Boolean(val(a));
+    }
+
+}
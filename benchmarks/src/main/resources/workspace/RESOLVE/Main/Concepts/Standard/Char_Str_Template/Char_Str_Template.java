@@ -0,0 +1,17 @@
+package RESOLVE.Main.Concepts.Standard.Char_Str_Template;
+
+import RESOLVE.*;
+
+public interface Char_Str_Template extends RESOLVE_INTERFACE {
+
+    interface Char_Str extends RType {}
+
+    Char_Str createChar_Str();
+
+    void Read(Char_Str s);
+
+    void Write_Line(Char_Str s);
+
+    Char_Str Replica(Char_Str s);
+
+}
@@ -0,0 +1,51 @@
+package RESOLVE.Main.Concepts.Standard.Char_Str_Template;
+
+import RESOLVE.*;
+
+public class Std_Char_Str_Realiz extends RESOLVE_BASE
+        implements
+            Char_Str_Template {
+
+    public static class Char_Str implements Char_Str_Template.Char_Str {
+
+        public String val;
+
+        public Char_Str(String val) {
+            this.val = val;
+        }
+
+        public Object getRep() {
+            return val;
+        }
+
+        public void setRep(Object o) {
+            val = (String) o;
+        }
+
+        public RType initialValue() {
+            return new Char_Str("");
+        }
+
+        public String toString() {
+            return val;
+        }
+
+    }
+
+    public Char_Str_Template.Char_Str createChar_Str() {
+        return new Char_Str("");
+    }
+
+    public void Read(Char_Str_Template.Char_Str s) {
+        ((Char_Str) s).val = "";
+    }
+
+    public void Write_Line(Char_Str_Template.Char_Str s) {
+        TextIO.putln(s);
+    }
+
+    public Char_Str_Template.Char_Str Replica(Char_Str_Template.Char_Str s) {
+        return new Char_Str(((Char_Str) s).val);
+    }
+
+}
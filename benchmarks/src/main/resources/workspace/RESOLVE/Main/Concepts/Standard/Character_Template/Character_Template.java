@@ -0,0 +1,13 @@
+package RESOLVE.Main.Concepts.Standard.Character_Template;
+
+import RESOLVE.*;
+
+public interface Character_Template extends RESOLVE_INTERFACE {
+
+    interface Character extends RType {}
+
+    Character createCharacter();
+
+    Character Replica(Character c);
+
+}
@@ -0,0 +1,44 @@
+package RESOLVE.Main.Concepts.Standard.Character_Template;
+
+import RESOLVE.*;
+
+public class Std_Character_Realiz extends RESOLVE_BASE
+        implements
+            Character_Template {
+
+    public static class Character implements Character_Template.Character {
+
+        public char val;
+
+        public Character(char val) {
+            this.val = val;
+        }
+
+        public Object getRep() {
+            return val;
+        }
+
+        public void setRep(Object o) {
+            val = (java.lang.Character) o;
+        }
+
+        public RType initialValue() {
+            return new Character('\0');
+        }
+
+        public String toString() {
+            return java.lang.Character.toString(val);
+        }
+
+    }
+
+    public Character_Template.Character createCharacter() {
+        return new Character('\0');
+    }
+
+    public Character_Template.Character Replica(
+            Character_Template.Character c) {
+        return new Character(((Character) c).val);
+    }
+
+}
@@ -0,0 +1,28 @@
+package RESOLVE.Main.Concepts.Standard.Integer_Template;
+
+import RESOLVE.*;
+import RESOLVE.Main.Concepts.Standard.Boolean_Template.*;
+
+public interface Integer_Template extends RESOLVE_INTERFACE {
+
+    interface Integer extends RType {}
+
+    Integer createInteger();
+
+    Integer createInteger(int i);
+
+    Integer Sum(Integer i, Integer j);
+
+    Integer Difference(Integer i, Integer j);
+
+    Integer Negate(Integer i);
+
+    Boolean_Template.Boolean Less_Or_Equal(Integer i, Integer j);
+
+    Boolean_Template.Boolean Less(Integer i, Integer j);
+
+    Boolean_Template.Boolean Are_Equal(Integer i, Integer j);
+
+    Integer Replica(Integer i);
+
+}
@@ -0,0 +1,81 @@
+package RESOLVE.Main.Concepts.Standard.Integer_Template;
+
+import RESOLVE.*;
+import RESOLVE.Main.Concepts.Standard.Boolean_Template.*;
+
+public class Std_Integer_Realiz extends RESOLVE_BASE
+        implements
+            Integer_Template {
+
+    public static class Integer implements Integer_Template.Integer {
+
+        public int val;
+
+        public Integer(int val) {
+            this.val = val;
+        }
+
+        public Object getRep() {
+            return val;
+        }
+
+        public void setRep(Object o) {
+            val = (java.lang.Integer) o;
+        }
+
+        public RType initialValue() {
+            return new Integer(0);
+        }
+
+        public String toString() {
+            return java.lang.Integer.toString(val);
+        }
+
+    }
+
+    private static int val(Integer_Template.Integer i) {
+        return ((Integer) i).val;
+    }
+
+    public Integer_Template.Integer createInteger() {
+        return new Integer(0);
+    }
+
+    public Integer_Template.Integer createInteger(int i) {
+        return new Integer(i);
+    }
+
+    public Integer_Template.Integer Sum(Integer_Template.Integer i,
+            Integer_Template.Integer j) {
+        return new Integer(val(i) + val(j));
+    }
+
+    public Integer_Template.Integer Difference(Integer_Template.Integer i,
+            Integer_Template.Integer j) {
+        return new Integer(val(i) - val(j));
+    }
+
+    public Integer_Template.Integer Negate(Integer_Template.Integer i) {
+        return new Integer(-val(i));
+    }
+
+    public Boolean_Template.Boolean Less_Or_Equal(Integer_Template.Integer i,
+            Integer_Template.Integer j) {
+        return new Std_Boolean_Realiz.Boolean(val(i) <= val(j));
+    }
+
+    public Boolean_Template.Boolean Less(Integer_Template.Integer i,
+            Integer_Template.Integer j) {
+        return new Std_Boolean_Realiz.Boolean(val(i) < val(j));
+    }
+
+    public Boolean_Template.Boolean Are_Equal(Integer_Template.Integer i,
+            Integer_Template.Integer j) {
+        return new Std_Boolean_Realiz.Boolean(val(i) == val(j));
+    }
+
+    public Integer_Template.Integer Replica(Integer_Template.Integer i) {
+        return new Integer(val(i));
+    }
+
+}
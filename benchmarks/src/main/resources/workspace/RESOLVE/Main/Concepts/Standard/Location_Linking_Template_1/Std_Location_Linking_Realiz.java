@@ -0,0 +1,7 @@
+package RESOLVE.Main.Concepts.Standard.Location_Linking_Template_1;
+
+import RESOLVE.*;
+
+public class Std_Location_Linking_Realiz extends RESOLVE_BASE {
+
+}
@@ -0,0 +1,7 @@
+package RESOLVE.Main.Concepts.Standard.Static_Array_Template;
+
+import RESOLVE.*;
+
+public class Std_Array_Realiz extends RESOLVE_BASE {
+
+}
@@ -0,0 +1,7 @@
+package RESOLVE.Main.Concepts.Standard.io;
+
+import RESOLVE.*;
+
+public interface Seq_Output_Template extends RESOLVE_INTERFACE {
+
+}
@@ -0,0 +1,9 @@
+package RESOLVE.Main.Concepts.Standard.io;
+
+import RESOLVE.*;
+
+public class Std_Seq_Output_Realiz extends RESOLVE_BASE
+        implements
+            Seq_Output_Template {
+
+}
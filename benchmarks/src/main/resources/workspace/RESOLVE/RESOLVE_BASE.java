@@ -0,0 +1,15 @@
+package RESOLVE;
+
+public class RESOLVE_BASE implements RESOLVE_INTERFACE {
+
+    public void swap(RType r1, RType r2) {
+        Object tmp = r1.getRep();
+        r1.setRep(r2.getRep());
+        r2.setRep(tmp);
+    }
+
+    public void assign(RType r1, RType r2) {
+        r1.setRep(r2.getRep());
+    }
+
+}
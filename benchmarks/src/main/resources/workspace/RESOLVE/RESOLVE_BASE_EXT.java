@@ -0,0 +1,5 @@
+package RESOLVE;
+
+public class RESOLVE_BASE_EXT extends RESOLVE_BASE {
+
+}
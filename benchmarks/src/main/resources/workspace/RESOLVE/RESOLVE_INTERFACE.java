@@ -0,0 +1,9 @@
+package RESOLVE;
+
+public interface RESOLVE_INTERFACE {
+
+    void swap(RType r1, RType r2);
+
+    void assign(RType r1, RType r2);
+
+}
@@ -0,0 +1,11 @@
+package RESOLVE;
+
+public interface RType {
+
+    Object getRep();
+
+    void setRep(Object o);
+
+    RType initialValue();
+
+}
@@ -0,0 +1,27 @@
+package RESOLVE;
+
+public class RTypeWrapper implements RType {
+
+    private Object myRep;
+
+    public RTypeWrapper(Object rep) {
+        myRep = rep;
+    }
+
+    public Object getRep() {
+        return myRep;
+    }
+
+    public void setRep(Object o) {
+        myRep = o;
+    }
+
+    public RType initialValue() {
+        return new RTypeWrapper(null);
+    }
+
+    public String toString() {
+        return String.valueOf(myRep);
+    }
+
+}
@@ -0,0 +1,9 @@
+package RESOLVE;
+
+public class TextIO {
+
+    public static void putln(Object o) {
+        System.out.println(o);
+    }
+
+}
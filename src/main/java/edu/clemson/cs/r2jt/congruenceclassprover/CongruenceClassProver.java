@@ -52,6 +52,17 @@ public final class CongruenceClassProver {
     public static final Flag FLAG_NUMTRIES = new Flag("Proving", "num_tries",
             "Prover will halt after this many timeouts.", NUMTRIES_ARGS,
             Flag.Type.HIDDEN);
+    private static final String[] PROOF_CACHE_ARGS = { "fileName" };
+    public static final Flag FLAG_PROOF_CACHE =
+            new Flag("Proving", "proofCache",
+                    "Reuse the results of VCs proved before, up to renaming.",
+                    PROOF_CACHE_ARGS, Flag.Type.HIDDEN);
+    private static final String[] RELEVANCE_HOPS_ARGS = { "hops" };
+    public static final Flag FLAG_RELEVANCE_HOPS =
+            new Flag("Proving", "relevanceHops",
+                    "Start each VC with the theorems this many hops away from "
+                            + "its goal. Negative values use every theorem.",
+                    RELEVANCE_HOPS_ARGS, Flag.Type.HIDDEN);
     private final List<VerificationConditionCongruenceClosureImpl> m_ccVCs;
     private final List<TheoremCongruenceClosureImpl> m_theorems;
     private final CompileEnvironment m_environment;
@@ -65,11 +76,19 @@ public final class CongruenceClassProver {
     private final PerVCProverModel[] myModels;
     private final int numUsesBeforeQuit; // weird bug if this isn't final
     private final int DEFAULTTRIES = -1;
+    private final int DEFAULTRELEVANCEHOPS = 2;
+    private final int m_relevanceHops;
+    private final TheoremRelevanceIndex m_relevanceIndex;
     private String m_results;
     private boolean printVCEachStep = false;
     private ProverListener myProverListener;
     private long myTimeout;
     private long totalTime = 0;
+    private ProofCache m_proofCache;
+    private final List<String> m_proofCacheKeys;
+    private int m_numTheoremsAvailable = 0;
+    private int m_numTheoremsConverted = 0;
+    private int m_numTheoremsBuilt = 0;
 
     public CongruenceClassProver(TypeGraph g, List<VC> vcs, ModuleScope scope,
             CompileEnvironment environment, ProverListener listener) {
@@ -94,6 +113,7 @@ public final class CongruenceClassProver {
         else {
             numUsesBeforeQuit = DEFAULTTRIES;
         }
+        m_relevanceHops = getRelevanceHops(environment);
 
         ///////////////////////////////////////////////////////////////
         totalTime = System.currentTimeMillis();
@@ -148,13 +168,38 @@ public final class CongruenceClassProver {
             myModels[i++] = (new PerVCProverModel(g, vc.getName(), vc, null));
 
         }
+        // Theorems can only be applied to a VC that already contains all of
+        // their non quantified symbols, and applying one never adds a symbol
+        // the VC doesn't already have. So we only build congruence closures
+        // for the theorems whose symbols all appear in some VC.
+        // Every imported theorem is still converted to a PExp and run
+        // through replacePExp first. The symbol names only exist after the
+        // conversion (they carry their types and replacePExp rewrites some
+        // operators), and the prioritizer needs the symbols of every
+        // theorem, not just the ones we build.
+        Set<String> vcSymbols = new HashSet<String>();
+        for (VerificationConditionCongruenceClosureImpl vcc : m_ccVCs) {
+            vcSymbols.addAll(vcc.getRegistry().m_symbolToIndex.keySet());
+        }
         m_nonQuantifiedTheoremSymbols = new HashSet<String>();
         for (TheoremEntry e : theoremEntries) {
             PExp assertion =
                     Utilities.replacePExp(e.getAssertion(), m_typeGraph, z, n);
             String eName = e.getName();
-            if (assertion.getTopLevelOperation().equals("=B")
-                    && assertion.getQuantifiedVariables().size() > 0) {
+            m_numTheoremsAvailable++;
+            m_numTheoremsConverted++;
+            boolean isEquality = assertion.getTopLevelOperation().equals("=B")
+                    && assertion.getQuantifiedVariables().size() > 0;
+            Set<String> required = TheoremCongruenceClosureImpl
+                    .getNonQuantifiedSymbols(assertion);
+            if (!isEquality) {
+                m_nonQuantifiedTheoremSymbols.addAll(required);
+            }
+            if (!vcSymbols.containsAll(required)) {
+                continue;
+            }
+            m_numTheoremsBuilt++;
+            if (isEquality) {
                 addEqualityTheorem(true, assertion, eName + "_left"); // match left
                 addEqualityTheorem(false, assertion, eName + "_right"); // match right
                 // m_theorems.add(new TheoremCongruenceClosureImpl(g, assertion, assertion, assertion,
@@ -177,18 +222,42 @@ public final class CongruenceClassProver {
                             eName);
                 }
                 m_theorems.add(t);
-                m_nonQuantifiedTheoremSymbols
-                        .addAll(t.getNonQuantifiedSymbols());
                 // addContrapositive(assertion, eName);
             }
         }
         if (n != null && z != null) {
             sumConversion(n, z);
         }
+        m_relevanceIndex = new TheoremRelevanceIndex(m_theorems);
         m_environment = environment;
         m_scope = scope;
         m_results = "";
 
+        // Look up the normalized form of each VC in the proof cache
+        m_proofCacheKeys = new ArrayList<String>();
+        if (environment.flags.isFlagSet(FLAG_PROOF_CACHE)) {
+            StringBuilder library = new StringBuilder();
+            library.append("timeout=" + myTimeout + "\n");
+            library.append("relevanceHops=" + m_relevanceHops + "\n");
+            List<String> theoremStrings = new ArrayList<String>();
+            for (TheoremEntry e : theoremEntries) {
+                theoremStrings.add(e.getName() + ": " + e.getAssertion());
+            }
+            Collections.sort(theoremStrings);
+            for (String t : theoremStrings) {
+                library.append(t + "\n");
+            }
+
+            m_proofCache =
+                    new ProofCache(
+                            new File(environment.flags.getFlagArgument(
+                                    FLAG_PROOF_CACHE, "fileName")),
+                            library.toString());
+            for (VC vc : vcs) {
+                m_proofCacheKeys.add(
+                        m_proofCache.getKey(vc, m_nonQuantifiedTheoremSymbols));
+            }
+        }
     }
 
     // Temporarily coding conversion theorem for natural / integer addition
@@ -223,6 +292,28 @@ public final class CongruenceClassProver {
                 VCGenerator.FLAG_ALTVERIFY_VC);
         FlagDependencies.addRequires(CongruenceClassProver.FLAG_NUMTRIES,
                 CongruenceClassProver.FLAG_PROVE);
+        FlagDependencies.addRequires(CongruenceClassProver.FLAG_PROOF_CACHE,
+                CongruenceClassProver.FLAG_PROVE);
+        FlagDependencies.addRequires(CongruenceClassProver.FLAG_RELEVANCE_HOPS,
+                CongruenceClassProver.FLAG_PROVE);
+    }
+
+    // Negative values are allowed, they mean every theorem is relevant.
+    private int getRelevanceHops(CompileEnvironment environment) {
+        int hops = DEFAULTRELEVANCEHOPS;
+        if (environment.flags.isFlagSet(FLAG_RELEVANCE_HOPS)) {
+            String hopsArg = environment.flags
+                    .getFlagArgument(FLAG_RELEVANCE_HOPS, "hops");
+            try {
+                hops = Integer.parseInt(hopsArg);
+            }
+            catch (NumberFormatException nfe) {
+                throw new IllegalArgumentException(
+                        "Invalid number of relevance hops: " + hopsArg, nfe);
+            }
+        }
+
+        return hops;
     }
 
     private void addEqualityTheorem(boolean matchLeft, PExp theorem,
@@ -299,8 +390,24 @@ public final class CongruenceClassProver {
                 ++i;
                 continue;
             }
-            VerificationConditionCongruenceClosureImpl.STATUS proved =
-                    prove(vcc);
+            VerificationConditionCongruenceClosureImpl.STATUS proved;
+            String cacheKey =
+                    m_proofCache != null ? m_proofCacheKeys.get(i) : null;
+            ProofCache.Result cached =
+                    cacheKey != null ? m_proofCache.get(cacheKey) : null;
+            if (cached != null) {
+                proved = cached.status;
+                m_results += cached.trace;
+                whyQuit += " (cached)";
+            }
+            else {
+                int traceStart = m_results.length();
+                proved = prove(vcc);
+                if (cacheKey != null) {
+                    m_proofCache.put(cacheKey, proved,
+                            m_results.substring(traceStart));
+                }
+            }
             if (proved.equals(
                     VerificationConditionCongruenceClosureImpl.STATUS.PROVED)) {
                 whyQuit += " Proved ";
@@ -335,9 +442,17 @@ public final class CongruenceClassProver {
         totalTime = System.currentTimeMillis() - totalTime;
         summary +=
                 "Elapsed time from construction: " + totalTime + " ms" + "\n";
+        summary += "Theorems converted: " + m_numTheoremsConverted + " of "
+                + m_numTheoremsAvailable + "\n";
+        summary += "Theorem closures built: " + m_numTheoremsBuilt + " of "
+                + m_numTheoremsAvailable + "\n";
         String div = divLine("Summary");
         summary = div + summary + div;
 
+        if (m_proofCache != null) {
+            m_proofCache.save();
+        }
+
         if (!m_environment.isWebIDEFlagSet()) {
             if (!FlagManager.getInstance().isFlagSet("nodebug")) {
                 System.out.println(m_results + summary);
@@ -371,9 +486,26 @@ public final class CongruenceClassProver {
      */
     protected VerificationConditionCongruenceClosureImpl.STATUS
             prove(VerificationConditionCongruenceClosureImpl vcc) {
+        // Start with the theorems related to the goal. Every time a pass over
+        // them makes no progress, look one hop further, and once that stops
+        // finding new theorems, fall back to the whole library.
+        int hops = m_relevanceHops;
+        Set<TheoremCongruenceClosureImpl> candidates;
+        if (hops < 0) {
+            candidates = new HashSet<TheoremCongruenceClosureImpl>(m_theorems);
+        }
+        else {
+            candidates = m_relevanceIndex
+                    .getRelevantTheorems(vcc.getGoalSymbols(), hops);
+        }
+        boolean usingAllTheorems = candidates.size() == m_theorems.size();
         ArrayList<TheoremCongruenceClosureImpl> theoremsForThisVC =
                 new ArrayList<TheoremCongruenceClosureImpl>();
-        theoremsForThisVC.addAll(m_theorems);
+        for (TheoremCongruenceClosureImpl t : m_theorems) {
+            if (candidates.contains(t)) {
+                theoremsForThisVC.add(t);
+            }
+        }
         long startTime = System.currentTimeMillis();
         long endTime = myTimeout + startTime;
         Map<String, Integer> theoremAppliedCount =
@@ -383,6 +515,10 @@ public final class CongruenceClassProver {
         String div = divLine(vcc.m_name);
         String theseResults =
                 div + ("Before application of theorems: " + vcc + "\n");
+        if (!usingAllTheorems) {
+            theseResults += "Relevant theorems within " + hops + " hops: "
+                    + candidates.size() + " of " + m_theorems.size() + "\n\n";
+        }
 
         int iteration = 0;
         // ++++++ Create new PQ for instantiated theorems
@@ -455,6 +591,36 @@ public final class CongruenceClassProver {
                             + "ms]\n\n";
                 }
             }
+            if (num_Theorems_chosen == 0 && !usingAllTheorems) {
+                Set<TheoremCongruenceClosureImpl> wider = m_relevanceIndex
+                        .getRelevantTheorems(vcc.getGoalSymbols(), ++hops);
+                if (wider.size() == candidates.size()) {
+                    wider = new HashSet<TheoremCongruenceClosureImpl>(
+                            m_theorems);
+                    usingAllTheorems = true;
+                    theseResults += "Relevant theorems exhausted, using all "
+                            + m_theorems.size() + " theorems\n\n";
+                }
+                else {
+                    theseResults += "Relevant theorems within " + hops
+                            + " hops: " + wider.size() + " of "
+                            + m_theorems.size() + "\n\n";
+                }
+                // Keep the theorems in library order, so the prioritizer sees
+                // them in the same order as when they are all used from the
+                // start
+                Set<TheoremCongruenceClosureImpl> remaining =
+                        new HashSet<TheoremCongruenceClosureImpl>(
+                                theoremsForThisVC);
+                theoremsForThisVC.clear();
+                for (TheoremCongruenceClosureImpl t : m_theorems) {
+                    if (remaining.contains(t)
+                            || (wider.contains(t) && !candidates.contains(t))) {
+                        theoremsForThisVC.add(t);
+                    }
+                }
+                candidates = wider;
+            }
         }
         m_results += theseResults + div;
         return vcc.isProved();
@@ -31,6 +31,10 @@ public class ConjunctionOfNormalizedAtomicExpressions {
     private String m_current_justification = "";
     protected final Map<Integer, Map<Integer, Set<NormalizedAtomicExpression>>> m_useMap;
     protected final VerificationConditionCongruenceClosureImpl m_VC;
+    // Pairs of symbols waiting to be merged, pushed two at a time
+    private final Stack<Integer> m_pendingMerges = new Stack<Integer>();
+    // True while an expression is being added; merges are only queued
+    private boolean m_deferMerges = false;
 
     /**
      * @param registry the Registry symbols contained in the conjunction will
@@ -122,36 +126,44 @@ public class ConjunctionOfNormalizedAtomicExpressions {
         }
     }
 
-    // Top level
+    // Top level. The merges the expression implies are queued while its
+    // atoms are inserted, then processed together.
     protected String addExpression(PExp expression) {
         if (m_evaluates_to_false || (m_timeToEnd > 0
                 && System.currentTimeMillis() > m_timeToEnd)) {
             return "";
         }
+        m_deferMerges = true;
+        try {
+            queueExpression(expression);
+        }
+        finally {
+            m_deferMerges = false;
+        }
+        return processPendingMerges();
+    }
+
+    private void queueExpression(PExp expression) {
         String name = expression.getTopLevelOperation();
 
         if (name.equals("=B")) {
             int lhs = addFormula(expression.getSubExpressions().get(0));
             int rhs = addFormula(expression.getSubExpressions().get(1));
-            return mergeOperators(lhs, rhs);
+            mergeOperators(lhs, rhs);
         }
         else if (name.equals("andB")) {
-            String r = "";
-            r += addExpression(expression.getSubExpressions().get(0));
-            r += addExpression(expression.getSubExpressions().get(1));
-            return r;
+            queueExpression(expression.getSubExpressions().get(0));
+            queueExpression(expression.getSubExpressions().get(1));
         }
         else {
             MTType type = expression.getType();
             int root = addFormula(expression);
             if (m_evaluates_to_false)
-                return "";
+                return;
             if (type.isBoolean()) {
-                return mergeOperators(m_registry.getIndexForSymbol("true"),
-                        root);
+                mergeOperators(m_registry.getIndexForSymbol("true"), root);
             }
         }
-        return "";
     }
 
     // adds a particular symbol to the registry
@@ -201,10 +213,29 @@ public class ConjunctionOfNormalizedAtomicExpressions {
      * otherwise return root representative.
      */
     protected int addFormula(PExp formula) {
+        if (m_deferMerges) {
+            return queueFormula(formula);
+        }
+        int root;
+        m_deferMerges = true;
+        try {
+            root = queueFormula(formula);
+        }
+        finally {
+            m_deferMerges = false;
+        }
+        processPendingMerges();
+        if (root < 0) {
+            return root;
+        }
+        return m_registry.findAndCompress(root);
+    }
+
+    private int queueFormula(PExp formula) {
         if (formula.getTopLevelOperation().equals("=B")) {
-            int lhs = addFormula(formula.getSubExpressions().get(0));
+            int lhs = queueFormula(formula.getSubExpressions().get(0));
             PExp r = formula.getSubExpressions().get(1);
-            int rhs = addFormula(r);
+            int rhs = queueFormula(r);
             lhs = m_registry.findAndCompress(lhs);
             rhs = m_registry.findAndCompress(rhs);
             // This prevents matching of (i=i)=true, which is not built in
@@ -239,7 +270,7 @@ public class ConjunctionOfNormalizedAtomicExpressions {
         PExpSubexpressionIterator it = formula.getSubExpressionIterator();
         while (it.hasNext()) {
             PExp p = it.next();
-            int root = addFormula(p);
+            int root = queueFormula(p);
             ne[pos++] = root;
         }
         NormalizedAtomicExpression newExpr =
@@ -257,6 +288,8 @@ public class ConjunctionOfNormalizedAtomicExpressions {
      *        if no match of the side is found. Otherwise current root is
      *        returned.
      * @return current integer value of root symbol that represents the input.
+     *         Merges this implies are queued, so the root may be merged
+     *         into another one once they are processed.
      */
     private int addAtomicFormula(NormalizedAtomicExpression atomicFormula) {
         // Return root if atomic formula is present
@@ -278,67 +311,116 @@ public class ConjunctionOfNormalizedAtomicExpressions {
         }
         int rhs = m_registry.makeSymbol(rangeType, isVar);
         atomicFormula.writeToRoot(rhs);
-        Stack<Integer> hTank = new Stack<Integer>();
-        applyBuiltInLogic(atomicFormula, hTank);
+        applyBuiltInLogic(atomicFormula, m_pendingMerges);
         addExprToSet(atomicFormula);
-        while (!hTank.isEmpty()) {
-            mergeOperators(hTank.pop(), hTank.pop());
-        }
-        return m_registry.findAndCompress(rhs);
+        return rhs;
 
     }
 
     protected String mergeOperators(int a, int b) {
+        m_pendingMerges.push(a);
+        m_pendingMerges.push(b);
+        if (m_deferMerges) {
+            return "";
+        }
+        return processPendingMerges();
+    }
+
+    // Processes the queued merges in rounds. A round first unions every
+    // queued pair, then re-canonicalizes each atom that used a merged away
+    // symbol once, no matter how many of its symbols were merged away. The
+    // congruences and built in logic this finds are queued for the next round.
+    private String processPendingMerges() {
         int t = m_registry.getIndexForSymbol("true");
         int f = m_registry.getIndexForSymbol("false");
 
-        String rString = "";
-        if (m_evaluates_to_false || (m_timeToEnd > 0
-                && System.currentTimeMillis() > m_timeToEnd)) {
-            return rString;
+        StringBuilder rString = new StringBuilder();
+        while (!m_pendingMerges.empty()) {
+            List<Integer> mergedAway = new ArrayList<Integer>();
+            while (!m_pendingMerges.empty()) {
+                if (m_evaluates_to_false || (m_timeToEnd > 0
+                        && System.currentTimeMillis() > m_timeToEnd)) {
+                    m_pendingMerges.clear();
+                    return rString.toString();
+                }
+                int opB = m_registry.findAndCompress(m_pendingMerges.pop());
+                int opA = m_registry.findAndCompress(m_pendingMerges.pop());
+                if (opA == opB)
+                    continue;
+                // Want to replace quantified vars with constant if it is equal to the constant
+                int keeper = chooseSymbolToKeep(opA, opB);
+                if (keeper == opB) {
+                    int temp = opA;
+                    opA = opB;
+                    opB = temp;
+                }
+                if ((opA == t && opB == f)) {
+                    m_evaluates_to_false = true;
+                    m_pendingMerges.clear();
+                    return "contradiction detected " + rString;
+                }
+                rString.append(m_registry.getSymbolForIndex(opA)).append("/")
+                        .append(m_registry.getSymbolForIndex(opB)).append(",");
+                String bstring = m_registry.getSymbolForIndex(opB);
+                if (m_VC != null && m_VC.m_goal.contains(bstring)) {
+                    m_VC.m_goal.remove(bstring);
+                    m_VC.m_goal.add(m_registry.getSymbolForIndex(opA));
+                }
+                m_registry.substitute(opA, opB);
+                mergedAway.add(opB);
+            }
+            recanonicalizeUses(mergedAway);
         }
-        a = m_registry.findAndCompress(a);
-        b = m_registry.findAndCompress(b);
-        if (a == b)
-            return "";
-        Stack<Integer> holdingTank = new Stack<Integer>();
-        holdingTank.push(a);
-        holdingTank.push(b);
-
-        while (holdingTank != null && !holdingTank.empty()) {
-            if (m_evaluates_to_false || (m_timeToEnd > 0
-                    && System.currentTimeMillis() > m_timeToEnd)) {
-                return rString;
-            }
-            int opB = m_registry.findAndCompress(holdingTank.pop());
-            int opA = m_registry.findAndCompress(holdingTank.pop());
-            if (opA == opB)
-                continue;
-            // Want to replace quantified vars with constant if it is equal to the constant
-            int keeper = chooseSymbolToKeep(opA, opB);
-            if (keeper == opB) {
-                int temp = opA;
-                opA = opB;
-                opB = temp;
-            }
-            if ((opA == t && opB == f)) {
-                m_evaluates_to_false = true;
-                return "contradiction detected " + rString;
-            }
-            rString += m_registry.getSymbolForIndex(opA) + "/"
-                    + m_registry.getSymbolForIndex(opB) + ",";
-            Stack<Integer> mResult = mergeOnlyArgumentOperators(opA, opB);
-            String bstring = m_registry.getSymbolForIndex(opB);
-            if (m_VC != null && m_VC.m_goal.contains(bstring)) {
-                m_VC.m_goal.remove(bstring);
-                m_VC.m_goal.add(m_registry.getSymbolForIndex(opA));
-            }
-            m_registry.substitute(opA, opB);
-            if (mResult != null)
-                holdingTank.addAll(mResult);
+        return rString.toString();
+    }
 
+    // Rewrites the atoms that use the merged away symbols in terms of their
+    // roots. Merges found are pushed onto m_pendingMerges.
+    private void recanonicalizeUses(List<Integer> mergedAway) {
+        // The use map isn't cleaned up when an atom is replaced, so only
+        // keep the atoms that are still in the conjunction.
+        Set<NormalizedAtomicExpression> uses =
+                new LinkedHashSet<NormalizedAtomicExpression>();
+        for (int b : mergedAway) {
+            Map<Integer, Set<NormalizedAtomicExpression>> bUses =
+                    m_useMap.remove(b);
+            if (bUses == null)
+                continue;
+            for (Set<NormalizedAtomicExpression> atPos : bUses.values()) {
+                for (NormalizedAtomicExpression nm : atPos) {
+                    if (m_expSet.get(nm) == nm) {
+                        uses.add(nm);
+                    }
+                }
+            }
+        }
+        for (NormalizedAtomicExpression nm : uses) {
+            int root = m_registry.findAndCompress(nm.readRoot());
+            NormalizedAtomicExpression ne = nm.rootOps();
+            if (ne.equals(nm)) {
+                // no change in atom, so only root changed
+                nm.writeToRoot(root);
+                addMapUse(root, nm);
+                applyBuiltInLogic(nm, m_pendingMerges);
+            }
+            else {
+                removeExprFromSet(nm);
+                // Check for existence of the rewritten atom in conj. Add new cong if roots are different.
+                NormalizedAtomicExpression existing = m_expSet.get(ne);
+                if (existing != null) {
+                    int neroot = existing.readRoot();
+                    if (m_registry.findAndCompress(neroot) != root) {
+                        m_pendingMerges.push(root);
+                        m_pendingMerges.push(neroot);
+                    }
+                }
+                else {
+                    ne.writeToRoot(root);
+                    addExprToSet(ne);
+                    applyBuiltInLogic(ne, m_pendingMerges);
+                }
+            }
         }
-        return rString;
     }
 
     // need to choose literals over vars for theorem matching purposes
@@ -411,10 +493,27 @@ public class ConjunctionOfNormalizedAtomicExpressions {
         // =,true,false,not. recorded first in reg. logic relation args (and, or, =) are ordered.
 
         int arg2 = nm.readPosition(2);
-        // arity 2 guard: return if all constant
+        // arity 2 guard: return if all constant. The arguments and the root
+        // can become constant in the same round of merges, so check the
+        // value first.
         if ((arg1 == tr || arg1 == fl) && (arg2 == tr || arg2 == fl)
-                && (rhs == tr || rhs == fl))
+                && (rhs == tr || rhs == fl)) {
+            int value = -1;
+            if (op.equals("andB")) {
+                value = (arg1 == tr && arg2 == tr) ? tr : fl;
+            }
+            else if (op.equals("orB")) {
+                value = (arg1 == tr || arg2 == tr) ? tr : fl;
+            }
+            else if (op.equals("=B")) {
+                value = (arg1 == arg2) ? tr : fl;
+            }
+            if (value >= 0 && value != rhs) {
+                tank.push(value);
+                tank.push(rhs);
+            }
             return;
+        }
         // guard: return if all var and op is not equals or or
         if (!(op.equals("=B") || op.equals("orB")) && arg1 != tr && arg1 != fl
                 && (arg2 != tr && arg2 != fl) && (rhs != tr && rhs != fl))
@@ -511,6 +610,16 @@ public class ConjunctionOfNormalizedAtomicExpressions {
             return;
         }
         if (op.equals("=B")) {
+            // all vars, or a root that became constant in the same round
+            // of merges as the arguments became equal
+            if (arg1 == arg2) {
+                // (p = p) = q |= t/q
+                if (tr != rhs) {
+                    tank.push(tr);
+                    tank.push(rhs);
+                }
+                return;
+            }
             // constant t rhs
             if (rhs == tr) {
                 // (p = q) = t |= p/q
@@ -550,12 +659,6 @@ public class ConjunctionOfNormalizedAtomicExpressions {
                 }
                 return;
             }
-            // all vars
-            if (arg1 == arg2) {
-                // (p = p) = q
-                tank.push(tr);
-                tank.push(rhs);
-            }
             return;
         }
         return;
@@ -581,56 +684,6 @@ public class ConjunctionOfNormalizedAtomicExpressions {
         return rSet;
     }
 
-    // Return list of modified predicates by their position. Only these can cause new merges.
-    // b is replaced by a
-    protected Stack<Integer> mergeOnlyArgumentOperators(int a, int b) {
-        if (m_evaluates_to_false || (m_timeToEnd > 0
-                && System.currentTimeMillis() > m_timeToEnd)) {
-            return null;
-        }
-        if (m_useMap.get(b) == null) {
-            return null;
-        }
-        Stack<Integer> coincidentalMergeHoldingTank = new Stack<Integer>();
-        // todo: make sure m_useMap reflects root usage of b
-        Set<NormalizedAtomicExpression> bUses = getUses(b);
-        m_useMap.remove(b);
-        nextUse: for (NormalizedAtomicExpression nm : bUses) {
-            int oldRoot = nm.readRoot();
-            assert oldRoot > 0;
-            NormalizedAtomicExpression ne = nm.replaceOperator(b, a); // also changes root if b
-            if (nm == ne) {
-                // no change in atom, so only root is b
-                assert oldRoot == b;
-                addMapUse(a, nm);
-                applyBuiltInLogic(nm, coincidentalMergeHoldingTank);
-
-            }
-            else {
-                assert ne != nm;
-                assert ne.hashCode() != nm.hashCode();
-                removeExprFromSet(nm);
-                // Check for existence of the rewritten atom in conj. Add new cong if roots are different.
-                if (m_expSet.containsKey(ne)) {
-                    ne = m_expSet.get(ne);
-                    int neroot = ne.readRoot();
-                    if (oldRoot != neroot && !((oldRoot == a || oldRoot == b)
-                            && (neroot == a || neroot == b))) {
-                        // dont put a and b on stack, already doing a/b
-                        coincidentalMergeHoldingTank.push(oldRoot);
-                        coincidentalMergeHoldingTank.push(neroot);
-                    }
-                }
-                else {
-                    ne.writeToRoot(oldRoot);
-                    addExprToSet(ne);
-                    applyBuiltInLogic(ne, coincidentalMergeHoldingTank);
-                }
-            }
-        }
-        return coincidentalMergeHoldingTank;
-    }
-
     protected Set<NormalizedAtomicExpression>
             multiKeyUseMapSearch(Set<String> keys) {
 
@@ -0,0 +1,308 @@
+/*
+ * ProofCache.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.r2jt.congruenceclassprover;
+
+import edu.clemson.cs.r2jt.rewriteprover.VC;
+import edu.clemson.cs.r2jt.rewriteprover.absyn.PExp;
+import edu.clemson.cs.r2jt.rewriteprover.absyn.PSymbol;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * <p>
+ * A <code>ProofCache</code> remembers the result of proving a VC, along with
+ * the proof trace, across runs of the {@link CongruenceClassProver}.
+ * </p>
+ *
+ * <p>
+ * VCs are looked up by their normalized form: the antecedents and the
+ * consequents are put in a canonical order and every symbol that doesn't
+ * appear in the theorem library is renamed in order of appearance. Such
+ * symbols are uninterpreted as far as the prover is concerned, so VCs that
+ * only differ in their names (the facility and initialization obligations
+ * repeated for every facility, for example) share a cache entry. The key
+ * also includes a fingerprint of the theorem library and the prover
+ * settings, so changing either of them starts over.
+ * </p>
+ */
+public class ProofCache {
+
+    /**
+     * <p>
+     * The cached result for a VC.
+     * </p>
+     */
+    public static class Result {
+
+        public final VerificationConditionCongruenceClosureImpl.STATUS status;
+        public final String trace;
+
+        public Result(VerificationConditionCongruenceClosureImpl.STATUS status,
+                String trace) {
+            this.status = status;
+            this.trace = trace;
+        }
+    }
+
+    private static final String RENAMED_PREFIX = "¢n";
+
+    private final File myFile;
+    private final String myLibraryFingerprint;
+    private final Properties myResults;
+    private boolean myChangedFlag = false;
+
+    /**
+     * <p>
+     * Creates a cache backed by <code>file</code>, loading any results saved
+     * by an earlier run. A missing or unreadable file gives an empty cache.
+     * </p>
+     *
+     * @param file The file the results are saved to.
+     * @param libraryFingerprint A string that identifies the theorem library
+     *        and the prover settings.
+     */
+    public ProofCache(File file, String libraryFingerprint) {
+        myFile = file;
+        myLibraryFingerprint = digest(libraryFingerprint);
+        myResults = new Properties();
+
+        if (file.exists()) {
+            try (InputStream in = new FileInputStream(file)) {
+                myResults.load(in);
+            }
+            catch (IOException | IllegalArgumentException e) {
+                myResults.clear();
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the key for <code>vc</code>, or <code>null</code> if the VC
+     * contains something we don't know how to normalize.
+     * </p>
+     *
+     * @param vc A VC whose expressions have all been converted to
+     *        {@link PSymbol PSymbol}s.
+     * @param theoremSymbols The non-quantified symbols used by the theorem
+     *        library. These keep their names.
+     */
+    public String getKey(VC vc, Set<String> theoremSymbols) {
+        List<PSymbol> antecedents =
+                sortByShape(vc.getAntecedent(), theoremSymbols);
+        List<PSymbol> consequents =
+                sortByShape(vc.getConsequent(), theoremSymbols);
+        if (antecedents == null || consequents == null) {
+            return null;
+        }
+
+        Map<String, String> renaming = new HashMap<String, String>();
+        StringBuilder sb = new StringBuilder(myLibraryFingerprint);
+        sb.append("\n");
+        for (PSymbol p : antecedents) {
+            normalize(p, theoremSymbols, renaming, sb);
+            sb.append(";\n");
+        }
+        sb.append("==>\n");
+        for (PSymbol p : consequents) {
+            normalize(p, theoremSymbols, renaming, sb);
+            sb.append(";\n");
+        }
+
+        return digest(sb.toString());
+    }
+
+    /**
+     * <p>
+     * Returns the cached result for <code>key</code>, or <code>null</code> if
+     * there isn't one.
+     * </p>
+     */
+    public synchronized Result get(String key) {
+        Result result = null;
+        String value = myResults.getProperty(key);
+        if (value != null) {
+            int split = value.indexOf('\n');
+            try {
+                result = new Result(
+                        VerificationConditionCongruenceClosureImpl.STATUS
+                                .valueOf(value.substring(0, split)),
+                        value.substring(split + 1));
+            }
+            catch (IllegalArgumentException
+                    | StringIndexOutOfBoundsException e) {
+                result = null;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * <p>
+     * Remembers the result of proving the VC with the given key.
+     * </p>
+     */
+    public synchronized void put(String key,
+            VerificationConditionCongruenceClosureImpl.STATUS status,
+            String trace) {
+        myResults.setProperty(key, status.name() + "\n" + trace);
+        myChangedFlag = true;
+    }
+
+    /**
+     * <p>
+     * Writes the results back to the file if anything changed.
+     * </p>
+     */
+    public synchronized void save() throws IOException {
+        if (myChangedFlag) {
+            try (OutputStream out = new FileOutputStream(myFile)) {
+                myResults.store(out, "Congruence closure proof cache");
+            }
+            myChangedFlag = false;
+        }
+    }
+
+    /**
+     * <p>
+     * Orders the expressions by their shape, which is their string form with
+     * every renamable symbol replaced by its type. Expressions with the same
+     * shape keep their original order.
+     * </p>
+     */
+    private static List<PSymbol> sortByShape(Iterable<PExp> exps,
+            final Set<String> theoremSymbols) {
+        final Map<PSymbol, String> shapes =
+                new IdentityHashMap<PSymbol, String>();
+        List<PSymbol> result = new ArrayList<PSymbol>();
+        for (PExp e : exps) {
+            if (!isAllPSymbols(e)) {
+                return null;
+            }
+
+            PSymbol p = (PSymbol) e;
+            StringBuilder shape = new StringBuilder();
+            normalize(p, theoremSymbols, null, shape);
+            shapes.put(p, shape.toString());
+            result.add(p);
+        }
+
+        Collections.sort(result, new Comparator<PSymbol>() {
+
+            @Override
+            public int compare(PSymbol o1, PSymbol o2) {
+                return shapes.get(o1).compareTo(shapes.get(o2));
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * <p>
+     * Appends the normalized form of <code>p</code>. If <code>renaming</code>
+     * is <code>null</code>, every renamable symbol is written as just its type.
+     * </p>
+     */
+    private static void normalize(PSymbol p, Set<String> theoremSymbols,
+            Map<String, String> renaming, StringBuilder sb) {
+        String name = p.name;
+        if (isRenamable(p, theoremSymbols)) {
+            if (renaming == null) {
+                name = RENAMED_PREFIX;
+            }
+            else {
+                String newName = renaming.get(name);
+                if (newName == null) {
+                    newName = RENAMED_PREFIX + renaming.size();
+                    renaming.put(name, newName);
+                }
+                name = newName;
+            }
+        }
+
+        sb.append(name);
+        sb.append(":");
+        sb.append(p.getType());
+        if (p.quantification != PSymbol.Quantification.NONE) {
+            sb.append(":");
+            sb.append(p.quantification.name());
+        }
+
+        if (p.arguments.size() > 0) {
+            sb.append("(");
+            Iterator<PExp> args = p.arguments.iterator();
+            while (args.hasNext()) {
+                normalize((PSymbol) args.next(), theoremSymbols, renaming, sb);
+                if (args.hasNext()) {
+                    sb.append(",");
+                }
+            }
+            sb.append(")");
+        }
+    }
+
+    /**
+     * <p>
+     * Only variables and constants the theorem library doesn't know about
+     * can be renamed. Function names are never renamed, since the prover
+     * treats some of them specially.
+     * </p>
+     */
+    private static boolean isRenamable(PSymbol p, Set<String> theoremSymbols) {
+        return (p.arguments.size() == 0) && !p.name.isEmpty() && !p.isLiteral()
+                && !theoremSymbols.contains(p.name)
+                && !Character.isDigit(p.name.charAt(0));
+    }
+
+    private static boolean isAllPSymbols(PExp e) {
+        if (!(e instanceof PSymbol)) {
+            return false;
+        }
+
+        for (PExp arg : ((PSymbol) e).arguments) {
+            if (!isAllPSymbols(arg)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static String digest(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash =
+                    digest.digest(text.getBytes(Charset.forName("UTF-8")));
+
+            StringBuilder sb = new StringBuilder();
+            for (byte b : hash) {
+                sb.append(String.format("%02x", b));
+            }
+
+            return sb.toString();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -103,34 +103,42 @@ public class TheoremCongruenceClosureImpl {
 
     public Set<String> getNonQuantifiedSymbols() {
         if (m_all_literals == null) {
-            m_all_literals = ((PSymbol) m_theorem).getNonQuantifiedSymbols();
-
-            m_all_literals.remove("=B");
-            m_all_literals.remove("andB");
-            m_all_literals.remove("impliesB");
-            m_all_literals.remove("true");
-            m_all_literals.remove("false");
-            m_all_literals.remove("/=B");
-            m_all_literals.remove("Empty_String");
-            m_all_literals.remove("0");
-            m_all_literals.remove("1");
-            m_all_literals.remove("2");
-            m_all_literals.remove("3");
-            m_all_literals.remove("4");
-            m_all_literals.remove("5");
-            m_all_literals.remove("6");
-            m_all_literals.remove("7");
-            m_all_literals.remove("8");
-            m_all_literals.remove("9");
-            m_all_literals.remove("orB");
-            m_all_literals.remove("+Z");
-            m_all_literals.remove("+N");
+            m_all_literals = getNonQuantifiedSymbols(m_theorem);
         }
 
         return m_all_literals;
 
     }
 
+    // The symbols a VC must contain before the theorem can be applied to it.
+    // Symbols the prover builds in are left out.
+    public static Set<String> getNonQuantifiedSymbols(PExp theorem) {
+        Set<String> literals = ((PSymbol) theorem).getNonQuantifiedSymbols();
+
+        literals.remove("=B");
+        literals.remove("andB");
+        literals.remove("impliesB");
+        literals.remove("true");
+        literals.remove("false");
+        literals.remove("/=B");
+        literals.remove("Empty_String");
+        literals.remove("0");
+        literals.remove("1");
+        literals.remove("2");
+        literals.remove("3");
+        literals.remove("4");
+        literals.remove("5");
+        literals.remove("6");
+        literals.remove("7");
+        literals.remove("8");
+        literals.remove("9");
+        literals.remove("orB");
+        literals.remove("+Z");
+        literals.remove("+N");
+
+        return literals;
+    }
+
     public int applyTo(VerificationConditionCongruenceClosureImpl vc,
             long endTime) {
         Set<Map<String, String>> sResults;
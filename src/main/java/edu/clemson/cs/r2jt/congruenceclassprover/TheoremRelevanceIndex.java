@@ -0,0 +1,88 @@
+/*
+ * TheoremRelevanceIndex.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.r2jt.congruenceclassprover;
+
+import java.util.*;
+
+/**
+ * <p>
+ * A <code>TheoremRelevanceIndex</code> maps every symbol to the theorems
+ * that mention it, so the {@link CongruenceClassProver} can start each VC
+ * with the theorems related to its goal instead of the whole library.
+ * </p>
+ *
+ * <p>
+ * A theorem is one hop away from a set of symbols if it mentions one of
+ * them. The theorems within <code>k</code> hops are the ones one hop away
+ * from the goal symbols, plus the ones one hop away from the symbols of the
+ * theorems within <code>k - 1</code> hops. Symbols the prover builds in are
+ * left out, since they would connect every theorem to every other one.
+ * </p>
+ */
+public class TheoremRelevanceIndex {
+
+    private final Map<String, List<TheoremCongruenceClosureImpl>> mySymbolToTheorems;
+
+    public TheoremRelevanceIndex(List<TheoremCongruenceClosureImpl> theorems) {
+        mySymbolToTheorems =
+                new HashMap<String, List<TheoremCongruenceClosureImpl>>();
+        for (TheoremCongruenceClosureImpl t : theorems) {
+            for (String s : t.getNonQuantifiedSymbols()) {
+                List<TheoremCongruenceClosureImpl> bucket =
+                        mySymbolToTheorems.get(s);
+                if (bucket == null) {
+                    bucket = new ArrayList<TheoremCongruenceClosureImpl>();
+                    mySymbolToTheorems.put(s, bucket);
+                }
+                bucket.add(t);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the theorems within <code>hops</code> hops of
+     * <code>symbols</code>.
+     * </p>
+     */
+    public Set<TheoremCongruenceClosureImpl>
+            getRelevantTheorems(Collection<String> symbols, int hops) {
+        Set<TheoremCongruenceClosureImpl> result =
+                new HashSet<TheoremCongruenceClosureImpl>();
+        Set<String> seen = new HashSet<String>(symbols);
+        Collection<String> frontier = new ArrayList<String>(seen);
+        for (int i = 0; i < hops && !frontier.isEmpty(); i++) {
+            Set<String> next = new HashSet<String>();
+            for (String s : frontier) {
+                List<TheoremCongruenceClosureImpl> bucket =
+                        mySymbolToTheorems.get(s);
+                if (bucket == null) {
+                    continue;
+                }
+                for (TheoremCongruenceClosureImpl t : bucket) {
+                    if (result.add(t)) {
+                        for (String ts : t.getNonQuantifiedSymbols()) {
+                            if (seen.add(ts)) {
+                                next.add(ts);
+                            }
+                        }
+                    }
+                }
+            }
+            frontier = next;
+        }
+
+        return result;
+    }
+
+}
@@ -37,6 +37,7 @@ public class VerificationConditionCongruenceClosureImpl {
     private final MTType m_z;
     private final MTType m_n;
     protected final Set<String> m_goal;
+    private final Set<String> m_goalSymbols;
 
     public static enum STATUS {
         FALSE_ASSUMPTION, STILL_EVALUATING, PROVED, UNPROVABLE
@@ -59,6 +60,7 @@ public class VerificationConditionCongruenceClosureImpl {
         m_conjunction =
                 new ConjunctionOfNormalizedAtomicExpressions(m_registry, this);
         m_goal = new HashSet<String>();
+        m_goalSymbols = new HashSet<String>();
         addPExp(m_consequent.iterator(), false);
         addPExp(m_antecedent.iterator(), true);
 
@@ -115,6 +117,11 @@ public class VerificationConditionCongruenceClosureImpl {
         return m_registry;
     }
 
+    // Symbols that appear in the consequent, used to find relevant theorems
+    public Set<String> getGoalSymbols() {
+        return m_goalSymbols;
+    }
+
     public STATUS isProved() {
         if (m_conjunction.m_evaluates_to_false) {
             return STATUS.FALSE_ASSUMPTION; // this doesn't mean P->Q = False, it just means P = false
@@ -135,6 +142,7 @@ public class VerificationConditionCongruenceClosureImpl {
                 m_conjunction.addExpression(curr);
             }
             else {
+                m_goalSymbols.addAll(curr.getSymbolNames());
                 // Temp: replace with eliminate()
                 if (curr.getTopLevelOperation().equals("orB")) {
                     addGoal(m_registry.getSymbolForIndex(m_conjunction
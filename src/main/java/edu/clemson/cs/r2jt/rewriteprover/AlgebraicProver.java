@@ -43,11 +43,18 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
 
@@ -61,6 +68,15 @@ public class AlgebraicProver {
             "Verify target file with RESOLVE's integrated prover.";
     private static final String FLAG_DESC_INTERACTIVE =
             "Start the prover in interactive mode.";
+    private static final String FLAG_DESC_PORTFOLIO =
+            "Run several differently configured provers on each VC at the "
+                    + "same time and keep the first proof.";
+    private static final String FLAG_DESC_PARALLEL =
+            "Prove several VCs at the same time. Only available when there "
+                    + "is no GUI.";
+    private static final String FLAG_DESC_TRANSPOSITIONS =
+            "Remember which proof states have already been explored so they "
+                    + "aren't explored again when reached by another path.";
     /**
      * <p>
      * The main prover flag. Causes the integrated prover to attempt to dispatch
@@ -76,12 +92,46 @@ public class AlgebraicProver {
      */
     public static final Flag FLAG_INTERACTIVE = new Flag(
             Prover.FLAG_SECTION_NAME, "interactive", FLAG_DESC_INTERACTIVE);
+    /**
+     * <p>
+     * Makes the prover run a {@link PortfolioProver PortfolioProver} on each
+     * VC. Only available when there is no GUI.
+     * </p>
+     */
+    public static final Flag FLAG_PORTFOLIO = new Flag(Prover.FLAG_SECTION_NAME,
+            "portfolio", FLAG_DESC_PORTFOLIO, Flag.Type.HIDDEN);
+    /**
+     * <p>
+     * Makes the prover work on one VC per processor instead of proving them
+     * one after the other. Results are still reported in VC order.
+     * </p>
+     */
+    public static final Flag FLAG_PARALLEL = new Flag(Prover.FLAG_SECTION_NAME,
+            "parallelprove", FLAG_DESC_PARALLEL, Flag.Type.HIDDEN);
+    /**
+     * <p>
+     * Makes every {@link AutomatedProver AutomatedProver} keep a
+     * transposition table of the proof states it has completely explored.
+     * </p>
+     */
+    public static final Flag FLAG_TRANSPOSITIONS =
+            new Flag(Prover.FLAG_SECTION_NAME, "transpositions",
+                    FLAG_DESC_TRANSPOSITIONS, Flag.Type.HIDDEN);
 
     public static void setUpFlags() {
         FlagDependencies.addExcludes(FLAG_PROVE, Prover.FLAG_PROVE);
         FlagDependencies.addExcludes(FLAG_PROVE, Prover.FLAG_LEGACY_PROVE);
 
         FlagDependencies.addImplies(FLAG_PROVE, Prover.FLAG_SOME_PROVER);
+
+        FlagDependencies.addRequires(FLAG_PORTFOLIO, FLAG_PROVE);
+        FlagDependencies.addRequires(FLAG_PORTFOLIO, Prover.FLAG_NOGUI);
+
+        FlagDependencies.addRequires(FLAG_PARALLEL, FLAG_PROVE);
+        FlagDependencies.addRequires(FLAG_PARALLEL, Prover.FLAG_NOGUI);
+        FlagDependencies.addExcludes(FLAG_PARALLEL, FLAG_INTERACTIVE);
+
+        FlagDependencies.addRequires(FLAG_TRANSPOSITIONS, FLAG_PROVE);
     }
 
     private final NextVC NEXT_VC = new NextVC();
@@ -89,9 +139,12 @@ public class AlgebraicProver {
     private final StepProver STEP_PROVER = new StepProver();
     private final GoInteractive GO_INTERACTIVE = new GoInteractive();
     private final GoAutomatic GO_AUTOMATIC = new GoAutomatic();
+    private final Object BATCH_LOCK = new Object();
+    private boolean myBatchCancelledFlag = false;
     private int myVCIndex;
     private final PerVCProverModel[] myModels;
     private final AutomatedProver[] myAutomatedProvers;
+    private final PortfolioProver[] myPortfolioProvers;
     private final List<VC> myVCs;
     private final TypeGraph myTypeGraph;
     private final ImmutableList<Theorem> myTheoremLibrary;
@@ -112,6 +165,7 @@ public class AlgebraicProver {
         myInstanceEnvironment = environment;
         myModels = new PerVCProverModel[vcs.size()];
         myAutomatedProvers = new AutomatedProver[vcs.size()];
+        myPortfolioProvers = new PortfolioProver[vcs.size()];
         myModuleScope = scope;
 
         if (environment.flags.isFlagSet(Prover.FLAG_TIMEOUT)) {
@@ -198,6 +252,12 @@ public class AlgebraicProver {
     }
 
     public synchronized void start() throws IOException {
+        if (myUI == null && !myInteractiveModeFlag
+                && myInstanceEnvironment.flags.isFlagSet(FLAG_PARALLEL)) {
+            startBatch();
+            return;
+        }
+
         myWorkingThread = Thread.currentThread();
         myRunningFlag = true;
         while (myRunningFlag) {
@@ -207,7 +267,12 @@ public class AlgebraicProver {
             // This will block until it either finishes proving or is told to
             // stop by, e.g., a "pause" action
             if (!myInteractiveModeFlag) {
-                myAutomatedProvers[myVCIndex].start();
+                if (myInstanceEnvironment.flags.isFlagSet(FLAG_PORTFOLIO)) {
+                    startPortfolio(myVCIndex);
+                }
+                else {
+                    myAutomatedProvers[myVCIndex].start();
+                }
             }
             if (!FlagManager.getInstance().isFlagSet("nodebug")) {
                 System.out.println("AlgebraicProver - Out -- Interactive: "
@@ -289,6 +354,126 @@ public class AlgebraicProver {
         myWorkingThread = null;
     }
 
+    /**
+     * <p>
+     * Proves every VC without stopping, one VC per worker thread. Each worker
+     * has its own {@link PerVCProverModel PerVCProverModel} and
+     * {@link AutomatedProver AutomatedProver}. The workers share the theorem
+     * library and the module scope, which they only read, and the
+     * {@link TypeGraph TypeGraph} along with the caches of its math types,
+     * which are safe to use from several threads. Each prover stops on its
+     * own once its timeout runs out, and all of them are cancelled if we are
+     * interrupted. The {@link ProverListener ProverListener}s hear about the
+     * VCs in order, no matter which one finishes first.
+     * </p>
+     */
+    private void startBatch() throws IOException {
+        int threads = Math.min(myVCs.size(),
+                Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results =
+                new ArrayList<Future<Integer>>(myVCs.size());
+        for (int i = 0; i < myVCs.size(); i++) {
+            final int index = i;
+            results.add(pool.submit(new Callable<Integer>() {
+
+                @Override
+                public Integer call() {
+                    synchronized (BATCH_LOCK) {
+                        if (myBatchCancelledFlag) {
+                            return index;
+                        }
+                        initializeVC(index);
+                    }
+
+                    if (myInstanceEnvironment.flags.isFlagSet(FLAG_PORTFOLIO)) {
+                        startPortfolio(index);
+                    }
+                    else {
+                        myAutomatedProvers[index].start();
+                    }
+                    return index;
+                }
+            }));
+        }
+
+        boolean finished = false;
+        boolean interrupted = false;
+        try {
+            for (Future<Integer> result : results) {
+                int index = result.get();
+                boolean proved = myModels[index].noConsequents();
+                for (ProverListener l : myProverListeners) {
+                    l.vcResult(proved, myModels[index], new Metrics(
+                            myAutomatedProvers[index].getLastStartLength(),
+                            myTimeout));
+                }
+            }
+            finished = true;
+        }
+        catch (InterruptedException ie) {
+            interrupted = true;
+        }
+        catch (ExecutionException ee) {
+            throw new RuntimeException(ee.getCause());
+        }
+        finally {
+            // Anything still running was either interrupted or is no longer
+            // needed since another VC failed
+            if (!finished) {
+                synchronized (BATCH_LOCK) {
+                    myBatchCancelledFlag = true;
+                    for (AutomatedProver prover : myAutomatedProvers) {
+                        if (prover != null) {
+                            prover.cancel();
+                        }
+                    }
+                    for (PortfolioProver portfolio : myPortfolioProvers) {
+                        if (portfolio != null) {
+                            portfolio.cancel();
+                        }
+                    }
+                }
+            }
+
+            pool.shutdown();
+            try {
+                while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                    // Cancelled provers stop after their current step
+                }
+            }
+            catch (InterruptedException ie) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        else if (!myInstanceEnvironment.isWebIDEFlagSet()) {
+            outputProofFile();
+        }
+    }
+
+    private void startPortfolio(int index) {
+        PortfolioProver portfolio = new PortfolioProver(myModels[index],
+                myAutomatedProvers[index], myTypeGraph, myVCs.get(index),
+                myTheoremLibrary, myModuleScope, myTimeout);
+
+        // The batch may have been cancelled while we created the portfolio
+        synchronized (BATCH_LOCK) {
+            if (myBatchCancelledFlag) {
+                portfolio.cancel();
+            }
+            myPortfolioProvers[index] = portfolio;
+        }
+        portfolio.start();
+
+        // Keep whichever prover found the proof so we can report its steps
+        myModels[index] = portfolio.getModel();
+        myAutomatedProvers[index] = portfolio.getAutomatedProver();
+    }
+
     private void outputProofFile() throws IOException {
         FileWriter w = new FileWriter(new File(proofFileName()));
 
@@ -402,14 +587,7 @@ public class AlgebraicProver {
 
         myVCIndex = index;
 
-        if (myModels[myVCIndex] == null) {
-            myModels[myVCIndex] = new PerVCProverModel(myTypeGraph,
-                    myVCs.get(myVCIndex).getName(), myVCs.get(myVCIndex),
-                    myTheoremLibrary);
-            myAutomatedProvers[myVCIndex] =
-                    new AutomatedProver(myModels[myVCIndex], myTheoremLibrary,
-                            myModuleScope, myTimeout);
-        }
+        initializeVC(myVCIndex);
 
         if (myUI != null) {
             Runnable setModel = new Runnable() {
@@ -445,6 +623,16 @@ public class AlgebraicProver {
         }
     }
 
+    private void initializeVC(int index) {
+        if (myModels[index] == null) {
+            myModels[index] = new PerVCProverModel(myTypeGraph,
+                    myVCs.get(index).getName(), myVCs.get(index),
+                    myTheoremLibrary);
+            myAutomatedProvers[index] = new AutomatedProver(myModels[index],
+                    myTheoremLibrary, myModuleScope, myTimeout);
+        }
+    }
+
     private String proofFileName() {
         File file = myInstanceEnvironment.getTargetFile();
         ModuleID cid = myInstanceEnvironment.getModuleID(file);
@@ -29,6 +29,7 @@ import edu.clemson.cs.r2jt.rewriteprover.automators.VariablePropagator;
 import edu.clemson.cs.r2jt.rewriteprover.model.Conjunct;
 import edu.clemson.cs.r2jt.rewriteprover.model.LocalTheorem;
 import edu.clemson.cs.r2jt.rewriteprover.model.PerVCProverModel;
+import edu.clemson.cs.r2jt.rewriteprover.model.ProofState;
 import edu.clemson.cs.r2jt.rewriteprover.model.Theorem;
 import edu.clemson.cs.r2jt.rewriteprover.proofsteps.ProofStep;
 import edu.clemson.cs.r2jt.rewriteprover.transformations.NoOpLabel;
@@ -45,10 +46,12 @@ import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Set;
 import javax.swing.SwingUtilities;
@@ -81,9 +84,11 @@ public class AutomatedProver {
     public static final boolean H_BEST_FIRST_CONSEQUENT_EXPLORATION = true;
     public static final String SEARCH_START_LABEL =
             "--- Done Minimizing Consequent ---";
+    public static final int DEFAULT_TETHER_LENGTH = 3;
     private final PerVCProverModel myModel;
     private final ImmutableList<Theorem> myTheoremLibrary;
-    private boolean myRunningFlag = true;
+    private volatile boolean myRunningFlag = true;
+    private volatile boolean myCancelledFlag = false;
     private final Deque<Automator> myAutomatorStack =
             new ArrayDeque<Automator>(20);
     private boolean myPrepForUIUpdateFlag = false;
@@ -94,6 +99,10 @@ public class AutomatedProver {
     private MainProofFitnessFunction myMainProofFitnessFunction;
     private AntecedentDeveloperFitnessFunction myAntecedentDeveloperFitnessFunction;
     private final Set<String> myVariableSymbols;
+    // Remembers which proof states have already been explored (and how deep)
+    // so that we don't explore them again when we reach them by a different
+    // path. This is null unless the transpositions flag is set.
+    private final Map<ProofState, Integer> myTranspositionTable;
     private final int myTimeout;
     private long myStartTime;
     private long myEndTime;
@@ -101,12 +110,35 @@ public class AutomatedProver {
     public AutomatedProver(PerVCProverModel m,
             ImmutableList<Theorem> theoremLibrary, ModuleScope moduleScope,
             int timeout) {
+        this(m, theoremLibrary, moduleScope, timeout, DEFAULT_TETHER_LENGTH,
+                H_BEST_FIRST_CONSEQUENT_EXPLORATION);
+    }
+
+    /**
+     * <p>
+     * Creates a prover that explores the consequent with the given tether
+     * length. If <code>bestFirst</code> is <code>false</code>, the consequent
+     * transformations are tried in theorem library order rather than being
+     * ordered by the main proof fitness function.
+     * </p>
+     */
+    public AutomatedProver(PerVCProverModel m,
+            ImmutableList<Theorem> theoremLibrary, ModuleScope moduleScope,
+            int timeout, int tetherLength, boolean bestFirst) {
         myModel = m;
         myMainProofFitnessFunction = new MainProofFitnessFunction(m);
         myAntecedentDeveloperFitnessFunction =
                 new AntecedentDeveloperFitnessFunction(m);
         myTimeout = timeout;
 
+        if (FlagManager.getInstance()
+                .isFlagSet(AlgebraicProver.FLAG_TRANSPOSITIONS)) {
+            myTranspositionTable = new HashMap<ProofState, Integer>();
+        }
+        else {
+            myTranspositionTable = null;
+        }
+
         // This looks weird but suppresses a "leaked this" warning
         AutomatedProver p = this;
         m.setAutomatedProver(p);
@@ -125,8 +157,15 @@ public class AutomatedProver {
             System.out.println(
                     "###################### consequent transformations");
         }
-        List<Transformation> consequentTransformations = orderByFitnessFunction(
-                myTheoremLibrary, myMainProofFitnessFunction);
+        List<Transformation> consequentTransformations;
+        if (bestFirst) {
+            consequentTransformations = orderByFitnessFunction(myTheoremLibrary,
+                    myMainProofFitnessFunction);
+        }
+        else {
+            consequentTransformations = filterByFitnessFunction(
+                    myTheoremLibrary, myMainProofFitnessFunction);
+        }
         if (!FlagManager.getInstance()
                 .isFlagSet(ResolveCompiler.FLAG_NO_DEBUG)) {
             System.out.println(
@@ -169,7 +208,8 @@ public class AutomatedProver {
         steps.add(new ApplyN(new NoOpLabel(this, SEARCH_START_LABEL), 1));
 
         steps.add(Simplify.INSTANCE);
-        steps.add(new MainProofLevel(m, 3, consequentTransformations));
+        steps.add(new MainProofLevel(m, tetherLength, consequentTransformations,
+                myTranspositionTable));
 
         myAutomatorStack.push(new PushSequence(steps));
     }
@@ -221,6 +261,21 @@ public class AutomatedProver {
         return transformations;
     }
 
+    private List<Transformation> filterByFitnessFunction(
+            Iterable<Theorem> theorems, FitnessFunction<Transformation> f) {
+
+        List<Transformation> transformations = new LinkedList<Transformation>();
+        for (Theorem t : theorems) {
+            for (Transformation transformation : t.getTransformations()) {
+                if (f.calculateFitness(transformation) >= 0) {
+                    transformations.add(transformation);
+                }
+            }
+        }
+
+        return transformations;
+    }
+
     private Set<String> determineVariableSymbols(PerVCProverModel model,
             ModuleScope moduleScope) {
 
@@ -361,7 +416,7 @@ public class AutomatedProver {
             }
             long stopTime = System.currentTimeMillis() + myTimeout;
             myRunningFlag = true;
-            while (myRunningFlag && (myTimeout == -1
+            while (myRunningFlag && !myCancelledFlag && (myTimeout == -1
                     || System.currentTimeMillis() < stopTime)) {
                 workerStep();
             }
@@ -413,6 +468,19 @@ public class AutomatedProver {
         }
     }
 
+    /**
+     * <p>
+     * Stops this prover for good. Unlike {@link #pause() pause()}, a cancelled
+     * prover will not start searching again if {@link #start() start()} is
+     * called afterwards. This is used to stop the losing provers of a
+     * {@link PortfolioProver PortfolioProver}.
+     * </p>
+     */
+    public void cancel() {
+        myCancelledFlag = true;
+        pause();
+    }
+
     /**
      * <p>
      * markToPause is like {@link #pause() pause()} except that it does not
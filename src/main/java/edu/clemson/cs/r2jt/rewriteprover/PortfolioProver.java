@@ -0,0 +1,178 @@
+/*
+ * PortfolioProver.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.r2jt.rewriteprover;
+
+import edu.clemson.cs.r2jt.rewriteprover.immutableadts.ImmutableList;
+import edu.clemson.cs.r2jt.rewriteprover.model.PerVCProverModel;
+import edu.clemson.cs.r2jt.rewriteprover.model.Theorem;
+import edu.clemson.cs.r2jt.typeandpopulate.ModuleScope;
+import edu.clemson.cs.r2jt.typereasoning.TypeGraph;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A <code>PortfolioProver</code> runs several differently parameterized
+ * {@link AutomatedProver AutomatedProver}s on the same VC at the same time and
+ * keeps the first one that finds a proof. The others are cancelled.
+ * </p>
+ *
+ * <p>
+ * Each prover works on its own {@link PerVCProverModel PerVCProverModel}. The
+ * provers share the theorem library, which they only read, and the
+ * {@link TypeGraph TypeGraph} along with the equality caches of its math
+ * types. The type graph keeps its caches in concurrent collections and gives
+ * each thread its own reasoning resources, so it can be shared safely.
+ * </p>
+ */
+public class PortfolioProver {
+
+    /**
+     * <p>
+     * The tether length and whether or not to order the consequent
+     * transformations using the fitness function for each prover. The first
+     * entry is the default configuration.
+     * </p>
+     */
+    private static final int[] TETHER_LENGTHS =
+            { AutomatedProver.DEFAULT_TETHER_LENGTH, 2, 4 };
+    private static final boolean[] BEST_FIRST = { true, false, true };
+
+    private final PerVCProverModel[] myModels;
+    private final AutomatedProver[] myProvers;
+    private int myWinner = 0;
+
+    /**
+     * <p>
+     * Creates a portfolio for the given VC. The provided model and prover are
+     * used for the default configuration.
+     * </p>
+     */
+    public PortfolioProver(PerVCProverModel defaultModel,
+            AutomatedProver defaultProver, TypeGraph g, VC vc,
+            ImmutableList<Theorem> theoremLibrary, ModuleScope moduleScope,
+            int timeout) {
+        myModels = new PerVCProverModel[TETHER_LENGTHS.length];
+        myProvers = new AutomatedProver[TETHER_LENGTHS.length];
+
+        myModels[0] = defaultModel;
+        myProvers[0] = defaultProver;
+        for (int i = 1; i < myModels.length; i++) {
+            myModels[i] =
+                    new PerVCProverModel(g, vc.getName(), vc, theoremLibrary);
+            myProvers[i] = new AutomatedProver(myModels[i], theoremLibrary,
+                    moduleScope, timeout, TETHER_LENGTHS[i], BEST_FIRST[i]);
+        }
+    }
+
+    /**
+     * <p>
+     * Runs every prover in the portfolio until one of them proves the VC or
+     * all of them are done searching.
+     * </p>
+     *
+     * @return <code>true</code> if the VC was proved.
+     */
+    public boolean start() {
+        int threads = Math.min(myProvers.length,
+                Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CompletionService<Integer> results =
+                new ExecutorCompletionService<Integer>(pool);
+
+        for (int i = 0; i < myProvers.length; i++) {
+            final int index = i;
+            results.submit(new Callable<Integer>() {
+
+                @Override
+                public Integer call() {
+                    myProvers[index].start();
+                    return index;
+                }
+            });
+        }
+
+        boolean proved = false;
+        try {
+            for (int i = 0; i < myProvers.length && !proved; i++) {
+                int index = results.take().get();
+                if (myModels[index].noConsequents()) {
+                    myWinner = index;
+                    proved = true;
+                }
+            }
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException ee) {
+            throw new RuntimeException(ee.getCause());
+        }
+        finally {
+            for (int i = 0; i < myProvers.length; i++) {
+                if (i != myWinner || !proved) {
+                    myProvers[i].cancel();
+                }
+            }
+
+            pool.shutdown();
+            try {
+                while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                    // Cancelled provers stop after their current step
+                }
+            }
+            catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return proved;
+    }
+
+    /**
+     * <p>
+     * Cancels every prover in the portfolio. A running {@link #start()}
+     * returns once they have all stopped.
+     * </p>
+     */
+    public void cancel() {
+        for (AutomatedProver prover : myProvers) {
+            prover.cancel();
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the model of the prover that found a proof, or the model of the
+     * default configuration if none of them did.
+     * </p>
+     */
+    public PerVCProverModel getModel() {
+        return myModels[myWinner];
+    }
+
+    /**
+     * <p>
+     * Returns the prover that found a proof, or the prover with the default
+     * configuration if none of them did.
+     * </p>
+     */
+    public AutomatedProver getAutomatedProver() {
+        return myProvers[myWinner];
+    }
+}
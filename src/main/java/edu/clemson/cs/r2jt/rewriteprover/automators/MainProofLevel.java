@@ -18,12 +18,14 @@ import edu.clemson.cs.r2jt.rewriteprover.AutomatedProver;
 import edu.clemson.cs.r2jt.rewriteprover.model.Theorem;
 import edu.clemson.cs.r2jt.rewriteprover.applications.Application;
 import edu.clemson.cs.r2jt.rewriteprover.model.PerVCProverModel;
+import edu.clemson.cs.r2jt.rewriteprover.model.ProofState;
 import edu.clemson.cs.r2jt.rewriteprover.transformations.Transformation;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -53,6 +55,17 @@ import java.util.Set;
  * further levels, but
  * simply pop itself off the stack.
  * </p>
+ *
+ * <p>
+ * All the levels spawned for a VC can share a transposition table that maps
+ * each {@link ProofState ProofState} that has been completely explored to the
+ * largest tether length it was explored with. A level doesn't spawn a
+ * sub-level for a state that has already been explored at least that deep,
+ * since doing so cannot find anything new. A level whose search was cut short
+ * by cycle detection, directly or in one of its sub-levels, has not been
+ * completely explored and is not recorded, since the same state reached by
+ * another path might not be cut.
+ * </p>
  */
 public class MainProofLevel implements Automator {
 
@@ -70,8 +83,28 @@ public class MainProofLevel implements Automator {
 
     private final Set<Integer> myPreviousProofStates;
 
+    /**
+     * <p>
+     * The transposition table, or <code>null</code> if transpositions aren't
+     * being detected.
+     * </p>
+     */
+    private final Map<ProofState, Integer> myExploredProofStates;
+
+    private final MainProofLevel myParent;
+
+    private ProofState myProofState;
+
     private boolean myDetectedCycleFlag;
 
+    /**
+     * <p>
+     * Set when cycle detection kept this level or one of its sub-levels from
+     * exploring some state.
+     * </p>
+     */
+    private boolean myIncompleteFlag;
+
     public MainProofLevel(PerVCProverModel model, int tetherLength,
             Iterable<Transformation> transformations) {
         this(model, tetherLength, transformations, new HashSet<Integer>());
@@ -80,11 +113,29 @@ public class MainProofLevel implements Automator {
     public MainProofLevel(PerVCProverModel model, int tetherLength,
             Iterable<Transformation> transformations,
             Set<Integer> previousProofStates) {
+        this(model, tetherLength, transformations, previousProofStates, null,
+                null);
+    }
+
+    public MainProofLevel(PerVCProverModel model, int tetherLength,
+            Iterable<Transformation> transformations,
+            Map<ProofState, Integer> exploredProofStates) {
+        this(model, tetherLength, transformations, new HashSet<Integer>(),
+                exploredProofStates, null);
+    }
+
+    private MainProofLevel(PerVCProverModel model, int tetherLength,
+            Iterable<Transformation> transformations,
+            Set<Integer> previousProofStates,
+            Map<ProofState, Integer> exploredProofStates,
+            MainProofLevel parent) {
 
         myModel = model;
         myTetherLength = tetherLength;
         myTransformations = transformations;
         myPreviousProofStates = previousProofStates;
+        myExploredProofStates = exploredProofStates;
+        myParent = parent;
 
         myCurrentApplications =
                 DummyIterator.getInstance(myCurrentApplications);
@@ -120,11 +171,45 @@ public class MainProofLevel implements Automator {
         myDetectedCycleFlag = false;
     }
 
+    /**
+     * <p>
+     * Answers whether or not the given proof state has already been
+     * completely explored with at least the given tether length.
+     * </p>
+     */
+    private boolean alreadyExplored(ProofState proofState, int tetherLength) {
+        Integer exploredLength = myExploredProofStates.get(proofState);
+
+        return exploredLength != null && exploredLength >= tetherLength;
+    }
+
+    /**
+     * <p>
+     * Records that every application from this level's proof state has been
+     * tried without finding a proof. If the search was cut short by cycle
+     * detection, the state is not recorded and the parent level is told that
+     * its search was cut short as well.
+     * </p>
+     */
+    private void markExplored() {
+        if (myIncompleteFlag) {
+            if (myParent != null) {
+                myParent.myIncompleteFlag = true;
+            }
+        }
+        else if (!alreadyExplored(myProofState, myTetherLength)) {
+            myExploredProofStates.put(myProofState, myTetherLength);
+        }
+    }
+
     @Override
     public void step(Deque<Automator> stack, PerVCProverModel model) {
         if (myTransformationsIterator == null) {
             prepTransformationIterator();
             myPreviousProofStates.add(model.implicationHashCode());
+            if (myExploredProofStates != null) {
+                myProofState = model.getProofState();
+            }
             myRestore = new Restore(model, this);
         }
 
@@ -143,6 +228,9 @@ public class MainProofLevel implements Automator {
                 myCurrentApplications.next().apply(model);
             }
             else {
+                if (myExploredProofStates != null) {
+                    markExplored();
+                }
                 stack.pop();
             }
             break;
@@ -158,9 +246,17 @@ public class MainProofLevel implements Automator {
                     AutomatedProver.H_DETECT_CYCLES && myPreviousProofStates
                             .contains(myModel.implicationHashCode());
 
-            if (myTetherLength > 0 && !myDetectedCycleFlag) {
-                stack.push(new MainProofLevel(myModel, myTetherLength - 1,
-                        myTransformations, myPreviousProofStates));
+            if (myTetherLength > 0) {
+                if (myDetectedCycleFlag) {
+                    myIncompleteFlag = true;
+                }
+                else if (myExploredProofStates == null
+                        || !alreadyExplored(myModel.getProofState(),
+                                myTetherLength - 1)) {
+                    stack.push(new MainProofLevel(myModel, myTetherLength - 1,
+                            myTransformations, myPreviousProofStates,
+                            myExploredProofStates, this));
+                }
             }
             break;
         default:
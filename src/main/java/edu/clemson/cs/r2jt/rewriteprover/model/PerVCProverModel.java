@@ -863,6 +863,17 @@ public final class PerVCProverModel {
         return myLocalTheoremsHash + (51 * myConsequentsHash);
     }
 
+    /**
+     * <p>
+     * Returns a snapshot of the current antecedents and consequents. Unlike
+     * the value of {@link #implicationHashCode()}, two snapshots are only
+     * equal when they describe the same implication.
+     * </p>
+     */
+    public ProofState getProofState() {
+        return new ProofState(myLocalTheoremsSet, myConsequents);
+    }
+
     private class BinderSatisfyingIterator implements Iterator<BindResult> {
 
         private final Binder myFirstBinder;
@@ -0,0 +1,72 @@
+/*
+ * ProofState.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.r2jt.rewriteprover.model;
+
+import edu.clemson.cs.r2jt.rewriteprover.absyn.PExp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * An immutable snapshot of the implication a {@link PerVCProverModel
+ * PerVCProverModel} is trying to prove: the multiset of its local theorems and
+ * the multiset of its consequents. Two snapshots are equal exactly when the
+ * models held the same antecedents and consequents, regardless of the order
+ * they were introduced in, so unlike
+ * {@link PerVCProverModel#implicationHashCode()} it can be used as the key of
+ * a table of proof states.
+ * </p>
+ */
+public final class ProofState {
+
+    private final Map<PExp, Integer> myAntecedents;
+    private final Map<PExp, Integer> myConsequents;
+    private final int myHashCode;
+
+    ProofState(Map<PExp, Integer> antecedents,
+            Iterable<Consequent> consequents) {
+        myAntecedents = new HashMap<PExp, Integer>(antecedents);
+
+        myConsequents = new HashMap<PExp, Integer>();
+        for (Consequent c : consequents) {
+            PExp exp = c.getExpression();
+            Integer count = myConsequents.get(exp);
+            if (count == null) {
+                count = 0;
+            }
+
+            myConsequents.put(exp, count + 1);
+        }
+
+        myHashCode = myAntecedents.hashCode() + 51 * myConsequents.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        boolean result = (o instanceof ProofState);
+
+        if (result) {
+            ProofState oAsProofState = (ProofState) o;
+            result = (myHashCode == oAsProofState.myHashCode)
+                    && myAntecedents.equals(oAsProofState.myAntecedents)
+                    && myConsequents.equals(oAsProofState.myConsequents);
+        }
+
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return myHashCode;
+    }
+}
@@ -17,9 +17,9 @@ import java.util.Map;
 
 import edu.clemson.cs.r2jt.typereasoning.TypeGraph;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * <p>
@@ -30,16 +30,24 @@ public abstract class MTType {
 
     protected final TypeGraph myTypeGraph;
 
-    private final Set<Object> myKnownAlphaEquivalencies = new HashSet<Object>();
+    // Types are shared by every prover using the same type graph, so these
+    // caches can be filled by several threads.
+    private final Set<Object> myKnownAlphaEquivalencies =
+            Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
     private final Map<MTType, Map<String, MTType>> myKnownSyntacticSubtypeBindings =
-            new HashMap<MTType, Map<String, MTType>>();
+            new ConcurrentHashMap<MTType, Map<String, MTType>>();
+
+    private static final AtomicIntegerFieldUpdater<MTType> EQUALS_DEPTH =
+            AtomicIntegerFieldUpdater.newUpdater(MTType.class, "myEqualsDepth");
 
     /**
      * <p>
-     * Allows us to detect if we're getting into an equals-loop.
+     * Allows us to detect if we're getting into an equals-loop. This counts
+     * the <code>equals</code> calls in progress on every thread, so another
+     * thread comparing this type only makes us skip the cache.
      * </p>
      */
-    private int myEqualsDepth = 0;
+    private volatile int myEqualsDepth = 0;
 
     public MTType(TypeGraph typeGraph) {
         myTypeGraph = typeGraph;
@@ -92,7 +100,7 @@ public abstract class MTType {
      */
     @Override
     public final boolean equals(Object o) {
-        myEqualsDepth++;
+        int equalsDepth = EQUALS_DEPTH.incrementAndGet(this);
 
         boolean result;
 
@@ -102,7 +110,7 @@ public abstract class MTType {
         else {
             // We only check our cache if we're at the first level of equals
             // comparison to avoid an infinite recursive loop
-            result = (myEqualsDepth == 1)
+            result = (equalsDepth == 1)
                     && myKnownAlphaEquivalencies.contains(o);
 
             if (!result) {
@@ -110,7 +118,7 @@ public abstract class MTType {
                     // All 'equals' logic should be put into AlphaEquivalencyChecker!
                     // Don't override equals!
                     AlphaEquivalencyChecker alphaEq =
-                            myTypeGraph.threadResources.alphaChecker;
+                            myTypeGraph.threadResources.get().alphaChecker;
                     alphaEq.reset();
 
                     alphaEq.visit(this, (MTType) o);
@@ -123,13 +131,13 @@ public abstract class MTType {
 
                 // We only cache our answer at the first level to avoid an
                 // infinite equals loop
-                if ((myEqualsDepth == 1) && result) {
+                if ((equalsDepth == 1) && result) {
                     myKnownAlphaEquivalencies.add(o);
                 }
             }
         }
 
-        myEqualsDepth--;
+        EQUALS_DEPTH.decrementAndGet(this);
 
         return result;
     }
@@ -139,10 +147,8 @@ public abstract class MTType {
 
         Map<String, MTType> result;
 
-        if (myKnownSyntacticSubtypeBindings.containsKey(o)) {
-            result = myKnownSyntacticSubtypeBindings.get(o);
-        }
-        else {
+        result = myKnownSyntacticSubtypeBindings.get(o);
+        if (result == null) {
             SyntacticSubtypeChecker checker =
                     new SyntacticSubtypeChecker(myTypeGraph);
 
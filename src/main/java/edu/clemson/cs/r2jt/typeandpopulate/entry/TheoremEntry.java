@@ -28,19 +28,27 @@ import java.util.Map;
  */
 public class TheoremEntry extends SymbolTableEntry {
 
+    // Built the first time a prover asks for it, so populating doesn't pay
+    // for it. The congruence class prover asks for every imported theorem.
     private PExp myAssertionAsPExp;
+    private final MathAssertionDec myDefiningElement;
     private MathSymbolEntry myMathSymbolAlterEgo;
 
     public TheoremEntry(TypeGraph g, String name,
             MathAssertionDec definingElement, ModuleIdentifier sourceModule) {
         super(name, definingElement, sourceModule);
-        myAssertionAsPExp = PExp.buildPExp(definingElement.getAssertion());
+        myDefiningElement = definingElement;
 
         myMathSymbolAlterEgo = new MathSymbolEntry(g, name, Quantification.NONE,
                 definingElement, g.BOOLEAN, null, null, null, sourceModule);
     }
 
-    public PExp getAssertion() {
+    public synchronized PExp getAssertion() {
+        if (myAssertionAsPExp == null) {
+            myAssertionAsPExp =
+                    PExp.buildPExp(myDefiningElement.getAssertion());
+        }
+
         return myAssertionAsPExp;
     }
 
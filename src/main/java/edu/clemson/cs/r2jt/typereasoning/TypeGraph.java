@@ -37,6 +37,7 @@ import edu.clemson.cs.r2jt.data.PosSymbol;
 import edu.clemson.cs.r2jt.data.Symbol;
 import edu.clemson.cs.r2jt.typeandpopulate.Populator;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a directed graph of types, where edges between types indicate a
@@ -51,13 +52,18 @@ public class TypeGraph {
      * reasoning. This really
      * doesn't belong here, but anything that's reasoning about types should
      * already have access to a
-     * type graph, and only one type graph is created per thread, so this is a
-     * convenient place to put
-     * it.
+     * type graph, so this is a convenient place to put it. Several provers
+     * can share a type graph, so each thread gets its own copy.
      * </p>
      */
-    public final PerThreadReasoningResources threadResources =
-            new PerThreadReasoningResources();
+    public final ThreadLocal<PerThreadReasoningResources> threadResources =
+            new ThreadLocal<PerThreadReasoningResources>() {
+
+                @Override
+                protected PerThreadReasoningResources initialValue() {
+                    return new PerThreadReasoningResources();
+                }
+            };
 
     private final ExpValuePathStrategy EXP_VALUE_PATH =
             new ExpValuePathStrategy();
@@ -104,16 +110,18 @@ public class TypeGraph {
             new MTFunction(this, BOOLEAN, BOOLEAN, BOOLEAN);
     public final MTFunction NOT = new MTFunction(this, BOOLEAN, BOOLEAN);
 
-    private final HashMap<MTType, TypeNode> myTypeNodes;
+    private final ConcurrentHashMap<MTType, TypeNode> myTypeNodes;
 
     private final Set<EstablishedRelationship> myEstablishedSubtypes =
-            new HashSet<EstablishedRelationship>();
+            Collections.newSetFromMap(
+                    new ConcurrentHashMap<EstablishedRelationship, Boolean>());
 
     private final Set<EstablishedRelationship> myEstablishedElements =
-            new HashSet<EstablishedRelationship>();
+            Collections.newSetFromMap(
+                    new ConcurrentHashMap<EstablishedRelationship, Boolean>());
 
     public TypeGraph() {
-        this.myTypeNodes = new HashMap<MTType, TypeNode>();
+        this.myTypeNodes = new ConcurrentHashMap<MTType, TypeNode>();
     }
 
     private Map<MTType, Map<String, MTType>>
@@ -895,8 +903,11 @@ public class TypeGraph {
         TypeNode result = myTypeNodes.get(t);
 
         if (result == null) {
-            result = new TypeNode(this, t);
-            myTypeNodes.put(t, result);
+            TypeNode newNode = new TypeNode(this, t);
+            result = myTypeNodes.putIfAbsent(t, newNode);
+            if (result == null) {
+                result = newNode;
+            }
         }
 
         return result;
@@ -16,6 +16,8 @@ import edu.clemson.cs.r2jt.typeandpopulate.TypeMismatchException;
 import edu.clemson.cs.r2jt.typeandpopulate.NoSolutionException;
 import edu.clemson.cs.r2jt.typeandpopulate.MTType;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import edu.clemson.cs.r2jt.absyn.Exp;
 
@@ -28,12 +30,13 @@ public class TypeNode {
             new MTTypeValuePathStrategy();
 
     private MTType myType;
-    private Map<MTType, Set<TypeRelationship>> myRelationships;
+    private ConcurrentMap<MTType, Set<TypeRelationship>> myRelationships;
     private final TypeGraph myTypeGraph;
 
     public TypeNode(TypeGraph g, MTType type) {
         myType = type;
-        myRelationships = new HashMap<MTType, Set<TypeRelationship>>();
+        myRelationships =
+                new ConcurrentHashMap<MTType, Set<TypeRelationship>>();
         myTypeGraph = g;
     }
 
@@ -152,8 +155,13 @@ public class TypeNode {
         Set<TypeRelationship> bucket =
                 myRelationships.get(relationship.getDestinationType());
         if (bucket == null) {
-            bucket = new HashSet<TypeRelationship>();
-            myRelationships.put(relationship.getDestinationType(), bucket);
+            Set<TypeRelationship> newBucket = Collections.newSetFromMap(
+                    new ConcurrentHashMap<TypeRelationship, Boolean>());
+            bucket = myRelationships
+                    .putIfAbsent(relationship.getDestinationType(), newBucket);
+            if (bucket == null) {
+                bucket = newBucket;
+            }
         }
 
         bucket.add(relationship);
@@ -0,0 +1,308 @@
+/*
+ * ParsimoniousVCIndex.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.r2jt.vcgeneration;
+
+import edu.clemson.cs.r2jt.absyn.DotExp;
+import edu.clemson.cs.r2jt.absyn.EqualsExp;
+import edu.clemson.cs.r2jt.absyn.Exp;
+import edu.clemson.cs.r2jt.absyn.VarExp;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * A <code>ParsimoniousVCIndex</code> remembers what we know about the assume
+ * expressions of an assertive code block while we form the parsimonious VC
+ * for each of the confirm expressions.
+ * </p>
+ *
+ * <p>
+ * Every assume expression is analyzed once and each equality remembers the
+ * result of substituting it into the other assume expressions. The assume
+ * expressions are never modified in place, so the confirm expressions that
+ * end up making the same substitutions share the resulting expressions
+ * instead of computing them again.
+ * </p>
+ */
+class ParsimoniousVCIndex {
+
+    private final Map<Exp, Equality> myEqualities;
+
+    /**
+     * <p>
+     * Creates an empty index.
+     * </p>
+     */
+    ParsimoniousVCIndex() {
+        myEqualities = new IdentityHashMap<Exp, Equality>();
+    }
+
+    /**
+     * <p>
+     * Substitutes the replaceable equalities in <code>assumeExpList</code>
+     * into <code>confirmExp</code> and into each other. The assume expressions
+     * that still need to be considered by the parsimonious step are added to
+     * <code>remAssumeExpList</code>.
+     * </p>
+     *
+     * @param confirmExp One of the conjunct confirm expressions.
+     * @param assumeExpList The list of conjunct assume expressions. It isn't
+     *        modified.
+     * @param isStipulate Boolean to indicate whether it is a stipulate assume
+     *        clause and we need to keep the assume statement.
+     * @param remAssumeExpList The list the remaining assume expressions are
+     *        added to.
+     *
+     * @return The substituted confirm expression.
+     */
+    Exp substitute(Exp confirmExp, List<Exp> assumeExpList, boolean isStipulate,
+            List<Exp> remAssumeExpList) {
+        Exp currentConfirmExp = confirmExp;
+
+        // Substitutions never modify the assume expressions in place,
+        // so we don't need a deep copy of the assume expression list.
+        List<Exp> assumeExpCopyList = new ArrayList<Exp>(assumeExpList);
+
+        // Loop through each assume expression
+        for (int j = 0; j < assumeExpCopyList.size(); j++) {
+            Exp currentAssumeExp = assumeExpCopyList.get(j);
+            Exp tmp = currentConfirmExp;
+            boolean hasVerificationVar = false;
+            boolean doneReplacement = false;
+
+            // Attempts to simplify equality expressions
+            Equality equality = getEquality(currentAssumeExp);
+            if (equality != null) {
+                hasVerificationVar = equality.hasVerificationVar();
+
+                // If both the left and right are replaceable, we only
+                // substitute when the left hand side is a verification
+                // or a conceptual variable. In that case, we know the
+                // right hand side is the only one that makes sense
+                // in the current context.
+                if (equality.isSubstitution()) {
+                    // Create a temp expression where the replaceable side
+                    // is replaced with the other side.
+                    tmp = Utilities.replace(currentConfirmExp,
+                            equality.getOld(), equality.getReplacement());
+
+                    // Check to see if something has been replaced
+                    doneReplacement = !tmp.equals(currentConfirmExp);
+
+                    if (doneReplacement || !equality.requiresConfirmChange()) {
+                        // Replace all instances in the assume
+                        // expressions we have already processed.
+                        for (int k = 0; k < remAssumeExpList.size(); k++) {
+                            remAssumeExpList.set(k, equality
+                                    .substitute(remAssumeExpList.get(k)));
+                        }
+
+                        // Replace all instances in the assume
+                        // expressions we haven't processed.
+                        for (int k = j + 1; k < assumeExpCopyList.size(); k++) {
+                            assumeExpCopyList.set(k, equality
+                                    .substitute(assumeExpCopyList.get(k)));
+                        }
+                    }
+                }
+            }
+
+            // Check to see if this is a stipulate assume clause
+            // If yes, we keep the current assume expression.
+            if (isStipulate) {
+                remAssumeExpList.add(currentAssumeExp);
+            }
+            else {
+                // Update the current confirm expression
+                // if we did a replacement.
+                if (doneReplacement) {
+                    currentConfirmExp = tmp;
+                }
+                else {
+                    // Check to see if this a verification
+                    // variable. If yes, we don't keep this assume.
+                    // Otherwise, we need to store this for the
+                    // step that generates the parsimonious vcs.
+                    if (!hasVerificationVar) {
+                        remAssumeExpList.add(currentAssumeExp);
+                    }
+                }
+            }
+        }
+
+        return currentConfirmExp;
+    }
+
+    /**
+     * <p>
+     * Returns the analysis of <code>assumeExp</code>, or <code>null</code> if
+     * it isn't an equality.
+     * </p>
+     *
+     * @param assumeExp One of the (possibly substituted) assume expressions.
+     *
+     * @return An {@link Equality} or <code>null</code>.
+     */
+    Equality getEquality(Exp assumeExp) {
+        if (!myEqualities.containsKey(assumeExp)) {
+            Equality equality = null;
+            if (assumeExp instanceof EqualsExp && ((EqualsExp) assumeExp)
+                    .getOperator() == EqualsExp.EQUAL) {
+                equality = new Equality((EqualsExp) assumeExp);
+            }
+            myEqualities.put(assumeExp, equality);
+        }
+
+        return myEqualities.get(assumeExp);
+    }
+
+    /**
+     * <p>
+     * An assume expression of the form <code>left = right</code>.
+     * </p>
+     */
+    static class Equality {
+
+        private final boolean myHasVerificationVar;
+        private final boolean myIsConceptualVar;
+        private final boolean myIsLeftReplaceable;
+        private final boolean myIsRightReplaceable;
+        private final EqualsExp myExp;
+
+        /**
+         * <p>
+         * The result of substituting this equality into other expressions,
+         * keyed by the (identity of the) expressions.
+         * </p>
+         */
+        private final Map<Exp, Exp> mySubstitutions;
+
+        private Equality(EqualsExp exp) {
+            myExp = exp;
+            myIsLeftReplaceable =
+                    Utilities.containsReplaceableExp(exp.getLeft());
+            myIsRightReplaceable =
+                    Utilities.containsReplaceableExp(exp.getRight());
+            mySubstitutions = new IdentityHashMap<Exp, Exp>();
+
+            // Check to see if we have P_val or Cum_Dur
+            boolean hasVerificationVar = false;
+            boolean isConceptualVar = false;
+            if (exp.getLeft() instanceof VarExp) {
+                hasVerificationVar = isVerificationVar(
+                        ((VarExp) exp.getLeft()).getName().getName());
+            }
+            // Check to see if we have Conc.[expression]
+            else if (exp.getLeft() instanceof DotExp) {
+                isConceptualVar =
+                        ((DotExp) exp.getLeft()).containsVar("Conc", false);
+            }
+            myHasVerificationVar = hasVerificationVar;
+            myIsConceptualVar = isConceptualVar;
+        }
+
+        /**
+         * <p>
+         * Returns whether the left hand side is <code>P_val</code> or
+         * <code>Cum_Dur</code>.
+         * </p>
+         */
+        boolean hasVerificationVar() {
+            return myHasVerificationVar;
+        }
+
+        /**
+         * <p>
+         * Returns whether we should substitute using this equality at all. If
+         * both sides are replaceable, we only know which one makes sense in
+         * the current context when the left hand side is a verification or a
+         * conceptual variable.
+         * </p>
+         */
+        boolean isSubstitution() {
+            if (myIsLeftReplaceable && myIsRightReplaceable) {
+                return myHasVerificationVar || myIsConceptualVar;
+            }
+
+            return myIsLeftReplaceable || myIsRightReplaceable;
+        }
+
+        /**
+         * <p>
+         * Returns whether the other assume expressions should only be
+         * substituted when the confirm expression changes.
+         * </p>
+         */
+        boolean requiresConfirmChange() {
+            return myIsLeftReplaceable && myIsRightReplaceable;
+        }
+
+        /**
+         * <p>
+         * Returns the side of the equality that gets replaced.
+         * </p>
+         */
+        Exp getOld() {
+            return myIsLeftReplaceable ? myExp.getLeft() : myExp.getRight();
+        }
+
+        /**
+         * <p>
+         * Returns the side of the equality that replaces the other one.
+         * </p>
+         */
+        Exp getReplacement() {
+            return myIsLeftReplaceable ? myExp.getRight() : myExp.getLeft();
+        }
+
+        /**
+         * <p>
+         * Substitutes this equality into one of the other assume expressions.
+         * The same result is returned every time we are asked to substitute
+         * into the same expression.
+         * </p>
+         *
+         * @param exp An assume expression.
+         *
+         * @return The substituted expression.
+         */
+        Exp substitute(Exp exp) {
+            Exp result = mySubstitutions.get(exp);
+            if (result == null) {
+                result = Utilities.replace(exp, getOld(), getReplacement());
+                mySubstitutions.put(exp, result);
+            }
+
+            return result;
+        }
+
+        /**
+         * <p>
+         * Checks the name against <code>\?*P_val</code> and
+         * <code>\?*Cum_Dur</code> without using a regular expression.
+         * </p>
+         */
+        private static boolean isVerificationVar(String name) {
+            int start = 0;
+            while (start < name.length() && name.charAt(start) == '?') {
+                start++;
+            }
+
+            String baseName = name.substring(start);
+
+            return baseName.equals("P_val") || baseName.equals("Cum_Dur");
+        }
+    }
+}
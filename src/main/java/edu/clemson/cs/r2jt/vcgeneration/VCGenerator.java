@@ -71,6 +71,14 @@ public class VCGenerator extends TreeWalkerVisitor {
      */
     private AssertiveCode myCurrentAssertiveCode;
 
+    /**
+     * <p>
+     * What we know about the assume expressions in the current assertion.
+     * Every assume statement in an assertion uses the same index.
+     * </p>
+     */
+    private ParsimoniousVCIndex myParsimoniousVCIndex;
+
     /**
      * <p>
      * A map of facility instantiated types to a list of formal and actual
@@ -1376,206 +1384,28 @@ public class VCGenerator extends TreeWalkerVisitor {
      */
     private Exp formParsimoniousVC(List<Exp> confirmExpList,
             List<Exp> assumeExpList, boolean isStipulate) {
-        // Loop through each confirm expression
-        for (int i = 0; i < confirmExpList.size(); i++) {
-            Exp currentConfirmExp = confirmExpList.get(i);
-
-            // Make a deep copy of the assume expression list
-            List<Exp> assumeExpCopyList = new ArrayList<Exp>();
-            for (Exp assumeExp : assumeExpList) {
-                assumeExpCopyList.add(Exp.copy(assumeExp));
-            }
-
+        // Loop through each confirm expression and form the return confirm
+        // statement as we go.
+        Exp retExp = myTypeGraph.getTrueVarExp();
+        for (Exp confirmExp : confirmExpList) {
             // Stores the remaining assume expressions
             // we have not substituted. Note that if the expression
             // is part of a stipulate assume statement, we keep
             // the assume no matter what.
             List<Exp> remAssumeExpList = new ArrayList<Exp>();
-
-            // Loop through each assume expression
-            for (int j = 0; j < assumeExpCopyList.size(); j++) {
-                Exp currentAssumeExp = assumeExpCopyList.get(j);
-                Exp tmp;
-                boolean hasVerificationVar = false;
-                boolean isConceptualVar = false;
-                boolean doneReplacement = false;
-
-                // Attempts to simplify equality expressions
-                if (currentAssumeExp instanceof EqualsExp
-                        && ((EqualsExp) currentAssumeExp)
-                                .getOperator() == EqualsExp.EQUAL) {
-                    EqualsExp equalsExp = (EqualsExp) currentAssumeExp;
-                    boolean isLeftReplaceable = Utilities
-                            .containsReplaceableExp(equalsExp.getLeft());
-                    boolean isRightReplaceable = Utilities
-                            .containsReplaceableExp(equalsExp.getRight());
-
-                    // Check to see if we have P_val or Cum_Dur
-                    if (equalsExp.getLeft() instanceof VarExp) {
-                        if (((VarExp) equalsExp.getLeft()).getName().getName()
-                                .matches("\\?*P_val")
-                                || ((VarExp) equalsExp.getLeft()).getName()
-                                        .getName().matches("\\?*Cum_Dur")) {
-                            hasVerificationVar = true;
-                        }
-                    }
-                    // Check to see if we have Conc.[expression]
-                    else if (equalsExp.getLeft() instanceof DotExp) {
-                        DotExp tempLeft = (DotExp) equalsExp.getLeft();
-                        isConceptualVar = tempLeft.containsVar("Conc", false);
-                    }
-
-                    // Check if both the left and right are replaceable
-                    if (isLeftReplaceable && isRightReplaceable) {
-                        // Only check for verification variable on the left
-                        // hand side. If that is the case, we know the
-                        // right hand side is the only one that makes sense
-                        // in the current context, therefore we do the
-                        // substitution.
-                        if (hasVerificationVar || isConceptualVar) {
-                            tmp = Utilities.replace(currentConfirmExp,
-                                    equalsExp.getLeft(), equalsExp.getRight());
-
-                            // Check to see if something has been replaced
-                            if (!tmp.equals(currentConfirmExp)) {
-                                // Replace all instances of the left side in
-                                // the assume expressions we have already processed.
-                                for (int k = 0; k < remAssumeExpList
-                                        .size(); k++) {
-                                    Exp newAssumeExp = Utilities.replace(
-                                            remAssumeExpList.get(k),
-                                            equalsExp.getLeft(),
-                                            equalsExp.getRight());
-                                    remAssumeExpList.set(k, newAssumeExp);
-                                }
-
-                                // Replace all instances of the left side in
-                                // the assume expressions we haven't processed.
-                                for (int k = j + 1; k < assumeExpCopyList
-                                        .size(); k++) {
-                                    Exp newAssumeExp = Utilities.replace(
-                                            assumeExpCopyList.get(k),
-                                            equalsExp.getLeft(),
-                                            equalsExp.getRight());
-                                    assumeExpCopyList.set(k, newAssumeExp);
-                                }
-
-                                doneReplacement = true;
-                            }
-                        }
-                        else {
-                            // Don't do any substitutions, we don't know
-                            // which makes sense in the current context.
-                            tmp = currentConfirmExp;
-                        }
-                    }
-                    // Check if left hand side is replaceable
-                    else if (isLeftReplaceable) {
-                        // Create a temp expression where left is replaced with the right
-                        tmp = Utilities.replace(currentConfirmExp,
-                                equalsExp.getLeft(), equalsExp.getRight());
-
-                        // Check to see if something has been replaced
-                        if (!tmp.equals(currentConfirmExp)) {
-                            doneReplacement = true;
-                        }
-
-                        // Replace all instances of the left side in
-                        // the assume expressions we have already processed.
-                        for (int k = 0; k < remAssumeExpList.size(); k++) {
-                            Exp newAssumeExp = Utilities.replace(
-                                    remAssumeExpList.get(k),
-                                    equalsExp.getLeft(), equalsExp.getRight());
-                            remAssumeExpList.set(k, newAssumeExp);
-                        }
-
-                        // Replace all instances of the left side in
-                        // the assume expressions we haven't processed.
-                        for (int k = j + 1; k < assumeExpCopyList.size(); k++) {
-                            Exp newAssumeExp = Utilities.replace(
-                                    assumeExpCopyList.get(k),
-                                    equalsExp.getLeft(), equalsExp.getRight());
-                            assumeExpCopyList.set(k, newAssumeExp);
-                        }
-                    }
-                    // Only right hand side is replaceable
-                    else if (isRightReplaceable) {
-                        // Create a temp expression where right is replaced with the left
-                        tmp = Utilities.replace(currentConfirmExp,
-                                equalsExp.getRight(), equalsExp.getLeft());
-
-                        // Check to see if something has been replaced
-                        if (!tmp.equals(currentConfirmExp)) {
-                            doneReplacement = true;
-                        }
-
-                        // Replace all instances of the right side in
-                        // the assume expressions we have already processed.
-                        for (int k = 0; k < remAssumeExpList.size(); k++) {
-                            Exp newAssumeExp = Utilities.replace(
-                                    remAssumeExpList.get(k),
-                                    equalsExp.getRight(), equalsExp.getLeft());
-                            remAssumeExpList.set(k, newAssumeExp);
-                        }
-
-                        // Replace all instances of the right side in
-                        // the assume expressions we haven't processed.
-                        for (int k = j + 1; k < assumeExpCopyList.size(); k++) {
-                            Exp newAssumeExp = Utilities.replace(
-                                    assumeExpCopyList.get(k),
-                                    equalsExp.getRight(), equalsExp.getLeft());
-                            assumeExpCopyList.set(k, newAssumeExp);
-                        }
-                    }
-                    // Both sides are not replaceable
-                    else {
-                        tmp = currentConfirmExp;
-                    }
-                }
-                else {
-                    tmp = currentConfirmExp;
-                }
-
-                // Check to see if this is a stipulate assume clause
-                // If yes, we keep a copy of the current
-                // assume expression.
-                if (isStipulate) {
-                    remAssumeExpList.add(Exp.copy(currentAssumeExp));
-                }
-                else {
-                    // Update the current confirm expression
-                    // if we did a replacement.
-                    if (doneReplacement) {
-                        currentConfirmExp = tmp;
-                    }
-                    else {
-                        // Check to see if this a verification
-                        // variable. If yes, we don't keep this assume.
-                        // Otherwise, we need to store this for the
-                        // step that generates the parsimonious vcs.
-                        if (!hasVerificationVar) {
-                            remAssumeExpList.add(Exp.copy(currentAssumeExp));
-                        }
-                    }
-                }
-            }
+            Exp currentConfirmExp = myParsimoniousVCIndex.substitute(confirmExp,
+                    assumeExpList, isStipulate, remAssumeExpList);
 
             // Use the remaining assume expression list
             // Create a new implies expression if there are common symbols
             // in the assume and in the confirm. (Parsimonious step)
             Exp newConfirmExp = formImplies(currentConfirmExp, remAssumeExpList,
                     isStipulate);
-            confirmExpList.set(i, newConfirmExp);
-        }
-
-        // Form the return confirm statement
-        Exp retExp = myTypeGraph.getTrueVarExp();
-        for (Exp e : confirmExpList) {
             if (retExp.isLiteralTrue()) {
-                retExp = e;
+                retExp = newConfirmExp;
             }
             else {
-                retExp = myTypeGraph.formConjunct(retExp, e);
+                retExp = myTypeGraph.formConjunct(retExp, newConfirmExp);
             }
         }
 
@@ -1841,6 +1671,7 @@ public class VCGenerator extends TreeWalkerVisitor {
             // Set the incoming assertive code as our current assertive
             // code we are working on.
             myCurrentAssertiveCode = myIncAssertiveCodeStack.pop();
+            myParsimoniousVCIndex = new ParsimoniousVCIndex();
 
             myVCBuffer.append("\n***********************");
             myVCBuffer.append("***********************\n");
@@ -1869,6 +1700,7 @@ public class VCGenerator extends TreeWalkerVisitor {
 
             // Set the current assertive code to null
             myCurrentAssertiveCode = null;
+            myParsimoniousVCIndex = null;
         }
     }
 
@@ -0,0 +1,490 @@
+/*
+ * InMemoryJavaCompiler.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.archiving;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.*;
+import javax.tools.*;
+
+/**
+ * <p>
+ * This class compiles {@code Java} source code that is stored in strings and
+ * keeps the resulting class files in memory. Previously compiled classes can
+ * be supplied as the class path, so nothing is ever read from or written to
+ * disk.
+ * </p>
+ *
+ * <p>
+ * Creating a {@link JavaCompiler} and its file manager is expensive, so there
+ * is only one instance of this class per process. Compilation requests are
+ * processed one at a time.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class InMemoryJavaCompiler {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The options we pass to the {@code Java} compiler. The translated code
+     * doesn't use annotation processors, so we don't need to search for them.
+     * </p>
+     */
+    private static final List<String> COMPILE_OPTIONS =
+            Collections.singletonList("-proc:none");
+
+    /**
+     * <p>
+     * The system {@code Java} compiler.
+     * </p>
+     */
+    private final JavaCompiler myCompiler;
+
+    /**
+     * <p>
+     * The file manager used to locate the {@code Java} platform classes.
+     * </p>
+     */
+    private final StandardJavaFileManager myStandardFileManager;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>
+     * The shared instance. This is {@code null} until someone requests it.
+     * </p>
+     */
+    private static InMemoryJavaCompiler ourInstance = null;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This creates a compiler that only knows about the {@code Java} platform
+     * classes.
+     * </p>
+     *
+     * @param compiler The system {@code Java} compiler.
+     *
+     * @throws IOException There was an error setting up the class path.
+     */
+    private InMemoryJavaCompiler(JavaCompiler compiler) throws IOException {
+        myCompiler = compiler;
+        myStandardFileManager = compiler.getStandardFileManager(null,
+                Locale.getDefault(), null);
+
+        // Everything else comes from memory
+        myStandardFileManager.setLocation(StandardLocation.CLASS_PATH,
+                Collections.<File> emptyList());
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method returns the shared compiler instance.
+     * </p>
+     *
+     * @return The {@link InMemoryJavaCompiler}, or {@code null} if this
+     *         {@code JVM} doesn't provide a {@code Java} compiler.
+     *
+     * @throws IOException There was an error setting up the compiler.
+     */
+    public static synchronized InMemoryJavaCompiler getInstance()
+            throws IOException {
+        if (ourInstance == null) {
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            if (compiler != null) {
+                ourInstance = new InMemoryJavaCompiler(compiler);
+            }
+        }
+
+        return ourInstance;
+    }
+
+    /**
+     * <p>
+     * This method compiles the specified source code.
+     * </p>
+     *
+     * @param sources A map from binary class names to their source code.
+     * @param classPath A map from binary class names to previously compiled
+     *        class files that {@code sources} can use.
+     * @param diagnostics A listener for the compiler's error and warning
+     *        messages.
+     *
+     * @return A map from binary class names to class files for all the
+     *         classes declared in {@code sources}, or {@code null} if there
+     *         were compilation errors.
+     */
+    public final synchronized Map<String, byte[]> compile(
+            Map<String, String> sources, Map<String, byte[]> classPath,
+            DiagnosticListener<? super JavaFileObject> diagnostics) {
+        List<JavaFileObject> compilationUnits = new ArrayList<>();
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            compilationUnits.add(
+                    new SourceFileObject(source.getKey(), source.getValue()));
+        }
+
+        MemoryFileManager fileManager =
+                new MemoryFileManager(myStandardFileManager, classPath);
+        Boolean success = myCompiler.getTask(null, fileManager, diagnostics,
+                COMPILE_OPTIONS, null, compilationUnits).call();
+
+        Map<String, byte[]> result = null;
+        if (success) {
+            result = new LinkedHashMap<>();
+            for (ClassFileObject classFile : fileManager.getOutputFiles()) {
+                result.put(classFile.getBinaryName(), classFile.getBytes());
+            }
+        }
+
+        return result;
+    }
+
+    // ===========================================================
+    // Helper Classes
+    // ===========================================================
+
+    /**
+     * <p>
+     * A class file that is stored in memory.
+     * </p>
+     */
+    private static class ClassFileObject extends SimpleJavaFileObject {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /**
+         * <p>
+         * The class's binary name.
+         * </p>
+         */
+        private final String myBinaryName;
+
+        /**
+         * <p>
+         * The contents of the class file. This is {@code null} until the
+         * compiler writes it.
+         * </p>
+         */
+        private byte[] myBytes;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>
+         * This creates a class file with the specified contents.
+         * </p>
+         *
+         * @param binaryName The class's binary name.
+         * @param bytes The contents of the class file.
+         */
+        ClassFileObject(String binaryName, byte[] bytes) {
+            super(URI.create("mem:///" + binaryName.replace('.', '/')
+                    + Kind.CLASS.extension), Kind.CLASS);
+            myBinaryName = binaryName;
+            myBytes = bytes;
+        }
+
+        // ===========================================================
+        // Public Methods
+        // ===========================================================
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final InputStream openInputStream() {
+            return new ByteArrayInputStream(myBytes);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    myBytes = toByteArray();
+                }
+            };
+        }
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>
+         * This method returns the class's binary name.
+         * </p>
+         *
+         * @return The binary name.
+         */
+        final String getBinaryName() {
+            return myBinaryName;
+        }
+
+        /**
+         * <p>
+         * This method returns the contents of the class file.
+         * </p>
+         *
+         * @return The class file's bytes.
+         */
+        final byte[] getBytes() {
+            return myBytes;
+        }
+
+    }
+
+    /**
+     * <p>
+     * A file manager that reads class files from and writes class files to
+     * memory. Everything else is handled by the standard file manager.
+     * </p>
+     */
+    private static class MemoryFileManager
+            extends
+                ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /**
+         * <p>
+         * The class files that can be used by the sources being compiled,
+         * grouped by package name.
+         * </p>
+         */
+        private final Map<String, List<JavaFileObject>> myClassPath;
+
+        /**
+         * <p>
+         * The class files created by the compiler.
+         * </p>
+         */
+        private final List<ClassFileObject> myOutputFiles;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>
+         * This creates a file manager for a single compilation task.
+         * </p>
+         *
+         * @param fileManager The standard file manager.
+         * @param classPath A map from binary class names to previously
+         *        compiled class files.
+         */
+        MemoryFileManager(StandardJavaFileManager fileManager,
+                Map<String, byte[]> classPath) {
+            super(fileManager);
+            myClassPath = new HashMap<>();
+            myOutputFiles = new ArrayList<>();
+
+            for (Map.Entry<String, byte[]> classFile : classPath.entrySet()) {
+                String packageName = getPackageName(classFile.getKey());
+                List<JavaFileObject> packageFiles =
+                        myClassPath.get(packageName);
+                if (packageFiles == null) {
+                    packageFiles = new ArrayList<>();
+                    myClassPath.put(packageName, packageFiles);
+                }
+
+                packageFiles.add(new ClassFileObject(classFile.getKey(),
+                        classFile.getValue()));
+            }
+        }
+
+        // ===========================================================
+        // Public Methods
+        // ===========================================================
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final JavaFileObject getJavaFileForOutput(Location location,
+                String className, JavaFileObject.Kind kind, FileObject sibling)
+                throws IOException {
+            if (kind != JavaFileObject.Kind.CLASS) {
+                return super.getJavaFileForOutput(location, className, kind,
+                        sibling);
+            }
+
+            ClassFileObject classFile = new ClassFileObject(className, null);
+            myOutputFiles.add(classFile);
+
+            return classFile;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final String inferBinaryName(Location location,
+                JavaFileObject file) {
+            if (file instanceof ClassFileObject) {
+                return ((ClassFileObject) file).getBinaryName();
+            }
+
+            return super.inferBinaryName(location, file);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final Iterable<JavaFileObject> list(Location location,
+                String packageName, Set<JavaFileObject.Kind> kinds,
+                boolean recurse)
+                throws IOException {
+            Iterable<JavaFileObject> files =
+                    super.list(location, packageName, kinds, recurse);
+            if (location != StandardLocation.CLASS_PATH
+                    || !kinds.contains(JavaFileObject.Kind.CLASS)) {
+                return files;
+            }
+
+            List<JavaFileObject> result = new ArrayList<>();
+            for (JavaFileObject file : files) {
+                result.add(file);
+            }
+
+            for (Map.Entry<String, List<JavaFileObject>> entry : myClassPath
+                    .entrySet()) {
+                String name = entry.getKey();
+                if (name.equals(packageName)
+                        || (recurse && name.startsWith(packageName + "."))) {
+                    result.addAll(entry.getValue());
+                }
+            }
+
+            return result;
+        }
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>
+         * This method returns the class files created by the compiler.
+         * </p>
+         *
+         * @return A list of class files.
+         */
+        final List<ClassFileObject> getOutputFiles() {
+            return myOutputFiles;
+        }
+
+        // ===========================================================
+        // Private Methods
+        // ===========================================================
+
+        /**
+         * <p>
+         * An helper method that returns the package name of a class.
+         * </p>
+         *
+         * @param binaryName The class's binary name.
+         *
+         * @return The package name, which is the empty string for classes in
+         *         the default package.
+         */
+        private static String getPackageName(String binaryName) {
+            int lastDot = binaryName.lastIndexOf('.');
+            return (lastDot < 0) ? "" : binaryName.substring(0, lastDot);
+        }
+
+    }
+
+    /**
+     * <p>
+     * A source file whose contents are stored in a string.
+     * </p>
+     */
+    private static class SourceFileObject extends SimpleJavaFileObject {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /**
+         * <p>
+         * The source code.
+         * </p>
+         */
+        private final String mySource;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>
+         * This creates a source file for the specified class.
+         * </p>
+         *
+         * @param binaryName The binary name of the top level class.
+         * @param source The source code.
+         */
+        SourceFileObject(String binaryName, String source) {
+            super(URI.create("string:///" + binaryName.replace('.', '/')
+                    + Kind.SOURCE.extension), Kind.SOURCE);
+            mySource = source;
+        }
+
+        // ===========================================================
+        // Public Methods
+        // ===========================================================
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return mySource;
+        }
+
+    }
+
+}
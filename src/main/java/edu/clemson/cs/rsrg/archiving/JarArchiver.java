@@ -0,0 +1,432 @@
+/*
+ * JarArchiver.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.archiving;
+
+import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.init.flag.Flag;
+import edu.clemson.cs.rsrg.init.flag.FlagDependencies;
+import edu.clemson.cs.rsrg.statushandling.StatusHandler;
+import edu.clemson.cs.rsrg.translation.AbstractTranslator;
+import edu.clemson.cs.rsrg.translation.targets.JavaTranslator;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+
+/**
+ * <p>
+ * This class compiles the {@code Java} code generated by the
+ * {@link JavaTranslator} and assembles an executable jar without creating any
+ * temporary files. The {@code RESOLVE} runtime classes are compiled from the
+ * workspace the first time they are needed and then reused by every
+ * subsequent request for the same workspace.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class JarArchiver {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The {@code RESOLVE} runtime source files relative to the workspace
+     * directory.
+     * </p>
+     */
+    private static final String[] RUNTIME_SOURCES = {
+            "RESOLVE/RESOLVE_BASE.java", "RESOLVE/RESOLVE_BASE_EXT.java",
+            "RESOLVE/RESOLVE_INTERFACE.java", "RESOLVE/RType.java",
+            "RESOLVE/RTypeWrapper.java", "RESOLVE/TextIO.java",
+            "RESOLVE/Main/Concepts/Standard/Boolean_Template/Boolean_Template.java",
+            "RESOLVE/Main/Concepts/Standard/Boolean_Template/Std_Boolean_Realiz.java",
+            "RESOLVE/Main/Concepts/Standard/Char_Str_Template/Char_Str_Template.java",
+            "RESOLVE/Main/Concepts/Standard/Char_Str_Template/Std_Char_Str_Realiz.java",
+            "RESOLVE/Main/Concepts/Standard/Character_Template/Character_Template.java",
+            "RESOLVE/Main/Concepts/Standard/Character_Template/Std_Character_Realiz.java",
+            "RESOLVE/Main/Concepts/Standard/Integer_Template/Integer_Template.java",
+            "RESOLVE/Main/Concepts/Standard/Integer_Template/Std_Integer_Realiz.java",
+            "RESOLVE/Main/Concepts/Standard/io/Seq_Input_Template.java",
+            "RESOLVE/Main/Concepts/Standard/io/Std_Seq_Input_Realiz.java",
+            "RESOLVE/Main/Concepts/Standard/io/Seq_Output_Template.java",
+            "RESOLVE/Main/Concepts/Standard/io/Std_Seq_Output_Realiz.java",
+            "RESOLVE/Main/Concepts/Standard/Static_Array_Template/Std_Array_Realiz.java",
+            "RESOLVE/Main/Concepts/Standard/Location_Linking_Template_1/Std_Location_Linking_Realiz.java" };
+
+    /**
+     * <p>
+     * The current job's compilation environment that stores all necessary
+     * objects and flags.
+     * </p>
+     */
+    private final CompileEnvironment myCompileEnvironment;
+
+    /**
+     * <p>
+     * This is the status handler for the RESOLVE compiler.
+     * </p>
+     */
+    private final StatusHandler myStatusHandler;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>
+     * A map from workspace directories to their compiled runtime classes.
+     * </p>
+     */
+    private static final Map<String, RuntimeClasses> ourRuntimeClasses =
+            new HashMap<>();
+
+    // ===========================================================
+    // Flag Strings
+    // ===========================================================
+
+    /**
+     * <p>
+     * The name of the archiving section.
+     * </p>
+     */
+    private static final String FLAG_SECTION_NAME = "Archiving";
+
+    /**
+     * <p>
+     * The description of the create jar flag.
+     * </p>
+     */
+    private static final String FLAG_DESC_CREATE_JAR =
+            "Create an executable jar from a RESOLVE Facility.";
+
+    // ===========================================================
+    // Flags
+    // ===========================================================
+
+    /**
+     * <p>
+     * Tells the compiler to translate the facility and all the modules it
+     * uses to {@code Java} and package them into an executable jar.
+     * </p>
+     */
+    public static final Flag FLAG_CREATE_JAR =
+            new Flag(FLAG_SECTION_NAME, "createJar", FLAG_DESC_CREATE_JAR);
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This creates an archiver for the current job.
+     * </p>
+     *
+     * @param compileEnvironment The current job's compilation environment that
+     *        stores all necessary objects and flags.
+     */
+    public JarArchiver(CompileEnvironment compileEnvironment) {
+        myCompileEnvironment = compileEnvironment;
+        myStatusHandler = compileEnvironment.getStatusHandler();
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method compiles the specified source code against the
+     * {@code RESOLVE} runtime classes. Any errors are reported to the status
+     * handler.
+     * </p>
+     *
+     * @param sources A map from binary class names to their source code.
+     *
+     * @return A map from binary class names to class files for the runtime
+     *         classes and all the classes declared in {@code sources}, or
+     *         {@code null} if we couldn't compile them.
+     */
+    public final Map<String, byte[]> compile(Map<String, String> sources) {
+        Map<String, byte[]> result = null;
+        try {
+            InMemoryJavaCompiler compiler = InMemoryJavaCompiler.getInstance();
+            if (compiler == null) {
+                myStatusHandler.error(null,
+                        "Archiver error: Java compiler is null");
+            }
+            else {
+                Map<String, byte[]> runtimeClasses =
+                        getRuntimeClasses(compiler);
+                if (runtimeClasses != null) {
+                    DiagnosticCollector<JavaFileObject> diagnostics =
+                            new DiagnosticCollector<>();
+                    Map<String, byte[]> classes = compiler.compile(sources,
+                            runtimeClasses, diagnostics);
+                    if (classes != null) {
+                        result = new LinkedHashMap<>(runtimeClasses);
+                        result.putAll(classes);
+                    }
+                    else {
+                        reportDiagnostics(diagnostics);
+                    }
+                }
+            }
+        }
+        catch (IOException ioe) {
+            myStatusHandler.error(null, "Archiver error: " + ioe.getMessage());
+        }
+
+        return result;
+    }
+
+    /**
+     * <p>
+     * This method sets up dependencies between archiver flags.
+     * </p>
+     */
+    public static void setUpFlags() {
+        FlagDependencies.addImplies(FLAG_CREATE_JAR,
+                JavaTranslator.JAVA_FLAG_TRANSLATE);
+        FlagDependencies.addImplies(FLAG_CREATE_JAR,
+                AbstractTranslator.FLAG_TRANSLATE);
+    }
+
+    /**
+     * <p>
+     * This method writes an executable jar containing the specified class
+     * files to {@code out}. The caller is responsible for closing
+     * {@code out}.
+     * </p>
+     *
+     * @param classes A map from binary class names to class files.
+     * @param entryClass The binary name of the class with the {@code main}
+     *        method.
+     * @param out The stream where we write the jar.
+     *
+     * @throws IOException There was an error writing the jar.
+     */
+    public static void writeJar(Map<String, byte[]> classes, String entryClass,
+            OutputStream out)
+            throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION,
+                "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS,
+                entryClass);
+
+        JarOutputStream jarOut = new JarOutputStream(out, manifest);
+        for (Map.Entry<String, byte[]> classFile : classes.entrySet()) {
+            jarOut.putNextEntry(new JarEntry(
+                    classFile.getKey().replace('.', '/') + ".class"));
+            jarOut.write(classFile.getValue());
+            jarOut.closeEntry();
+        }
+        jarOut.finish();
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that returns the compiled runtime classes for the
+     * current workspace, compiling them if we haven't done so or if any of the
+     * runtime source files have changed.
+     * </p>
+     *
+     * @param compiler The compiler.
+     *
+     * @return A map from binary class names to class files, or {@code null} if
+     *         we couldn't compile the runtime classes.
+     *
+     * @throws IOException There was an error reading the runtime source files.
+     */
+    private Map<String, byte[]> getRuntimeClasses(InMemoryJavaCompiler compiler)
+            throws IOException {
+        File workspaceDir = myCompileEnvironment.getWorkspaceDir();
+
+        synchronized (ourRuntimeClasses) {
+            RuntimeClasses runtimeClasses =
+                    ourRuntimeClasses.get(workspaceDir.getAbsolutePath());
+            if (runtimeClasses == null
+                    || !runtimeClasses.isUpToDate(workspaceDir)) {
+                Map<String, String> sources = new LinkedHashMap<>();
+                Map<String, Long> timestamps = new HashMap<>();
+                for (String sourceName : RUNTIME_SOURCES) {
+                    File sourceFile = new File(workspaceDir, sourceName);
+                    if (!sourceFile.isFile()) {
+                        myStatusHandler.error(null,
+                                "Archiver error: Cannot find the RESOLVE runtime file: "
+                                        + sourceFile);
+                        return null;
+                    }
+
+                    sources.put(getBinaryName(sourceName),
+                            new String(Files.readAllBytes(sourceFile.toPath()),
+                                    Charset.forName("UTF-8")));
+                    timestamps.put(sourceName, sourceFile.lastModified());
+                }
+
+                DiagnosticCollector<JavaFileObject> diagnostics =
+                        new DiagnosticCollector<>();
+                Map<String, byte[]> classes = compiler.compile(sources,
+                        Collections.<String, byte[]> emptyMap(), diagnostics);
+                if (classes == null) {
+                    reportDiagnostics(diagnostics);
+                    return null;
+                }
+
+                runtimeClasses = new RuntimeClasses(
+                        Collections.unmodifiableMap(classes), timestamps);
+                ourRuntimeClasses.put(workspaceDir.getAbsolutePath(),
+                        runtimeClasses);
+            }
+
+            return runtimeClasses.getClasses();
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that converts a source file path relative to the
+     * workspace directory to a binary class name.
+     * </p>
+     *
+     * @param sourceName A path relative to the workspace directory.
+     *
+     * @return The binary name of the class declared in the file.
+     */
+    private static String getBinaryName(String sourceName) {
+        return sourceName.substring(0, sourceName.lastIndexOf(".java"))
+                .replace('/', '.');
+    }
+
+    /**
+     * <p>
+     * An helper method that reports the compiler's error messages.
+     * </p>
+     *
+     * @param diagnostics The compiler's messages.
+     */
+    private void
+            reportDiagnostics(DiagnosticCollector<JavaFileObject> diagnostics) {
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics
+                .getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                myStatusHandler.error(null,
+                        "Javac Error: " + diagnostic.toString());
+            }
+        }
+    }
+
+    // ===========================================================
+    // Helper Classes
+    // ===========================================================
+
+    /**
+     * <p>
+     * The compiled runtime classes for a workspace.
+     * </p>
+     */
+    private static class RuntimeClasses {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /**
+         * <p>
+         * A map from binary class names to class files.
+         * </p>
+         */
+        private final Map<String, byte[]> myClasses;
+
+        /**
+         * <p>
+         * The last modified time of each runtime source file when we compiled
+         * them.
+         * </p>
+         */
+        private final Map<String, Long> myTimestamps;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>
+         * This stores the runtime classes for a workspace.
+         * </p>
+         *
+         * @param classes A map from binary class names to class files.
+         * @param timestamps The last modified time of each runtime source
+         *        file.
+         */
+        RuntimeClasses(Map<String, byte[]> classes,
+                Map<String, Long> timestamps) {
+            myClasses = classes;
+            myTimestamps = timestamps;
+        }
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>
+         * This method returns the compiled runtime classes.
+         * </p>
+         *
+         * @return A map from binary class names to class files.
+         */
+        final Map<String, byte[]> getClasses() {
+            return myClasses;
+        }
+
+        /**
+         * <p>
+         * This method checks to see if none of the runtime source files have
+         * changed since we compiled them.
+         * </p>
+         *
+         * @param workspaceDir The workspace directory.
+         *
+         * @return {@code true} if the classes are up to date, {@code false}
+         *         otherwise.
+         */
+        final boolean isUpToDate(File workspaceDir) {
+            for (Map.Entry<String, Long> timestamp : myTimestamps.entrySet()) {
+                File sourceFile = new File(workspaceDir, timestamp.getKey());
+                if (sourceFile.lastModified() != timestamp.getValue()) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+    }
+
+}
@@ -33,7 +33,9 @@ import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
 import edu.clemson.cs.rsrg.treewalk.TreeWalkerStackVisitor;
 import org.stringtemplate.v4.ST;
 import org.stringtemplate.v4.STGroup;
-import java.util.HashMap;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -45,6 +47,14 @@ import java.util.Map;
  * {@link TreeWalkerStackVisitor}.
  * </p>
  *
+ * <p>
+ * The nodes and edges can either be added to a string template model or
+ * written straight to a {@link PrintWriter}. When we write them as we go, the
+ * memory we use only depends on the depth of the tree. We can also limit the
+ * output to the nodes within a certain depth and/or to the subtree of a
+ * declaration.
+ * </p>
+ *
  * @author Chuck Cook
  * @author Yu-Shan Sun
  * @version 2.0
@@ -57,10 +67,20 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
 
     /**
      * <p>
-     * Map from each element in the tree to its associated node number.
+     * The maximum depth of the nodes we output, or {@code -1} if there is no
+     * limit. The depth is counted from the root of the tree or from
+     * the declaration we are exporting.
      * </p>
      */
-    private final Map<ResolveConceptualElement, Integer> myElementToNodeNumMap;
+    private final int myMaxDepth;
+
+    /**
+     * <p>
+     * String template for the base Graphviz model. This is {@code null} if we
+     * are writing the nodes and edges to {@link #myWriter}.
+     * </p>
+     */
+    private final ST myModel;
 
     /**
      * <p>
@@ -71,10 +91,27 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
 
     /**
      * <p>
-     * String template for the base Graphviz model.
+     * The node numbers for the elements we are currently visiting. Elements
+     * that we don't output have the node number {@code -1}.
      * </p>
      */
-    private final ST myModel;
+    private final Deque<Integer> myNodeNumStack;
+
+    /**
+     * <p>
+     * The name of the declaration we are exporting, or {@code null} if we are
+     * exporting the entire tree.
+     * </p>
+     */
+    private final String myRootDecName;
+
+    /**
+     * <p>
+     * The depth of the declaration we are exporting if we are currently
+     * inside it, {@code -1} otherwise.
+     * </p>
+     */
+    private int myRootDepth;
 
     /**
      * <p>
@@ -83,6 +120,14 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
      */
     private final STGroup mySTGroup;
 
+    /**
+     * <p>
+     * The writer for the nodes and edges. This is {@code null} if we are
+     * adding them to {@link #myModel}.
+     * </p>
+     */
+    private final PrintWriter myWriter;
+
     // ===========================================================
     // Constructors
     // ===========================================================
@@ -97,10 +142,69 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
      * @param model The model we are going be generating.
      */
     public GenerateGraphvizModel(STGroup stGroup, ST model) {
-        myElementToNodeNumMap = new HashMap<>();
+        this(stGroup, model, null, -1, null);
+    }
+
+    /**
+     * <p>
+     * This creates an object that overrides methods to generate a Graphviz
+     * model file that only contains part of the tree.
+     * </p>
+     *
+     * @param stGroup The string template file.
+     * @param model The model we are going be generating.
+     * @param maxDepth The maximum depth of the nodes we output, or {@code -1}
+     *        if there is no limit.
+     * @param rootDecName The name of the declaration we are exporting, or
+     *        {@code null} if we are exporting the entire tree.
+     */
+    public GenerateGraphvizModel(STGroup stGroup, ST model, int maxDepth,
+            String rootDecName) {
+        this(stGroup, model, null, maxDepth, rootDecName);
+    }
+
+    /**
+     * <p>
+     * This creates an object that overrides methods to write the nodes and
+     * edges of a Graphviz model file as soon as we visit them. The caller is
+     * responsible for writing the beginning and the end of the file.
+     * </p>
+     *
+     * @param stGroup The string template file.
+     * @param writer The writer for the nodes and edges.
+     * @param maxDepth The maximum depth of the nodes we output, or {@code -1}
+     *        if there is no limit.
+     * @param rootDecName The name of the declaration we are exporting, or
+     *        {@code null} if we are exporting the entire tree.
+     */
+    public GenerateGraphvizModel(STGroup stGroup, PrintWriter writer,
+            int maxDepth, String rootDecName) {
+        this(stGroup, null, writer, maxDepth, rootDecName);
+    }
+
+    /**
+     * <p>
+     * An helper constructor that stores all the settings.
+     * </p>
+     *
+     * @param stGroup The string template file.
+     * @param model The model we are going be generating or {@code null}.
+     * @param writer The writer for the nodes and edges or {@code null}.
+     * @param maxDepth The maximum depth of the nodes we output, or {@code -1}
+     *        if there is no limit.
+     * @param rootDecName The name of the declaration we are exporting, or
+     *        {@code null} if we are exporting the entire tree.
+     */
+    private GenerateGraphvizModel(STGroup stGroup, ST model, PrintWriter writer,
+            int maxDepth, String rootDecName) {
+        myMaxDepth = maxDepth;
         myModel = model;
         myNodeNum = 0;
+        myNodeNumStack = new ArrayDeque<>();
+        myRootDecName = rootDecName;
+        myRootDepth = -1;
         mySTGroup = stGroup;
+        myWriter = writer;
     }
 
     // ===========================================================
@@ -121,22 +225,39 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
      */
     @Override
     public void preAnyStack(ResolveConceptualElement data) {
+        // Check to see if we are entering the declaration we are exporting
+        int depth = myNodeNumStack.size();
+        if (myRootDecName != null && myRootDepth == -1 && data instanceof Dec
+                && ((Dec) data).getName() != null
+                && myRootDecName.equals(((Dec) data).getName().getName())) {
+            myRootDepth = depth;
+        }
+
+        // Elements we don't output don't get a node number
+        if (!isOutputDepth(depth)) {
+            myNodeNumStack.push(-1);
+            return;
+        }
+
         // Get a new node number
         myNodeNum++;
 
-        // If we have a parent, we need to add an edge
-        ResolveConceptualElement parent = getParent();
-        if (parent != null) {
-            int parentNum = myElementToNodeNumMap.get(parent);
-
+        // If we have a parent we output, we need to add an edge
+        Integer parentNum = myNodeNumStack.peek();
+        if (parentNum != null && parentNum != -1) {
             // Add a new edge using our string template
             ST edge = mySTGroup.getInstanceOf("outputGraphvizEdges")
                     .add("parentNodeNum", parentNum).add("nodeNum", myNodeNum);
-            myModel.add("edges", edge);
+            if (myWriter != null) {
+                myWriter.println("    " + edge.render());
+            }
+            else {
+                myModel.add("edges", edge);
+            }
         }
 
-        // Put the current node number into the map
-        myElementToNodeNumMap.put(data, myNodeNum);
+        // Keep track of the current node number
+        myNodeNumStack.push(myNodeNum);
     }
 
     /**
@@ -150,12 +271,18 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     public void postAnyStack(ResolveConceptualElement data) {
         // Add a new node using our string template
         if (data instanceof VirtualListNode) {
-            ST node = createNode(myElementToNodeNumMap.get(data),
-                    data.getClass().getSimpleName(), true);
+            ST node = createNode(getNodeNum(), data.getClass().getSimpleName(),
+                    true);
 
             node.add("nodeData",
                     ((VirtualListNode) data).getListType().getSimpleName());
-            myModel.add("nodes", node);
+            addNode(node);
+        }
+
+        // We are done with this element
+        myNodeNumStack.pop();
+        if (myRootDepth == myNodeNumStack.size()) {
+            myRootDepth = -1;
         }
     }
 
@@ -174,8 +301,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postDec(Dec e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
         String data;
 
         if (e instanceof MathAssertionDec) {
@@ -210,7 +336,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
         }
 
         node.add("nodeData", data);
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     // -----------------------------------------------------------
@@ -228,11 +354,10 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postDefinitionBodyItem(DefinitionBodyItem e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         node.add("nodeData", "=");
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     // -----------------------------------------------------------
@@ -250,13 +375,12 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postUsesItem(UsesItem e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         // Add the imported module name
         node.add("nodeData", e.getName().getName());
 
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     // -----------------------------------------------------------
@@ -275,13 +399,12 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     public void
             postPerformanceSpecInitFinalItem(PerformanceSpecInitFinalItem e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         // Add the item type
         node.add("nodeData", e.getClauseType().name());
 
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     /**
@@ -295,13 +418,12 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postSpecInitFinalItem(SpecInitFinalItem e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         // Add the item type
         node.add("nodeData", e.getClauseType().name());
 
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     // -----------------------------------------------------------
@@ -319,13 +441,12 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postFacilityInitFinalItem(FacilityInitFinalItem e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         // Add the item type
         node.add("nodeData", e.getItemType().name());
 
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     /**
@@ -339,13 +460,12 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postRealizInitFinalItem(RealizInitFinalItem e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         // Add the item type
         node.add("nodeData", e.getItemType().name());
 
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     // -----------------------------------------------------------
@@ -363,8 +483,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
      */
     @Override
     public void postLoopVerificationItem(LoopVerificationItem e) {
-        myModel.add("nodes", createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), false));
+        addNode(createNode(getNodeNum(), e.getClass().getSimpleName(), false));
     }
 
     // -----------------------------------------------------------
@@ -381,8 +500,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
      */
     @Override
     public void postModuleArgumentItem(ModuleArgumentItem e) {
-        myModel.add("nodes", createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), false));
+        addNode(createNode(getNodeNum(), e.getClass().getSimpleName(), false));
     }
 
     /**
@@ -397,15 +515,14 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postEnhancementSpecItem(EnhancementSpecItem e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         StringBuffer sb = new StringBuffer();
         sb.append("Concept Enhancement: ");
         sb.append(e.getName().getName());
         node.add("nodeData", sb.toString());
 
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     /**
@@ -420,8 +537,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postEnhancementSpecRealizItem(EnhancementSpecRealizItem e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         StringBuffer sb = new StringBuffer();
         sb.append("Enhancement: ");
@@ -430,7 +546,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
         sb.append(e.getEnhancementRealizName().getName());
         node.add("nodeData", sb.toString());
 
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     // -----------------------------------------------------------
@@ -460,16 +576,15 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
                 data = ty.getQualifier() + "::" + data;
             }
 
-            node = createNode(myElementToNodeNumMap.get(e),
-                    e.getClass().getSimpleName(), true);
+            node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
             node.add("nodeData", data);
         }
         else {
-            node = createNode(myElementToNodeNumMap.get(e),
-                    e.getClass().getSimpleName(), false);
+            node = createNode(getNodeNum(), e.getClass().getSimpleName(),
+                    false);
         }
 
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     // -----------------------------------------------------------
@@ -489,8 +604,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postAssertionClause(AssertionClause e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         StringBuffer sb = new StringBuffer();
         sb.append(e.getClauseType().name());
@@ -499,7 +613,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
         }
 
         node.add("nodeData", sb.toString());
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     // -----------------------------------------------------------
@@ -523,24 +637,22 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
         ST node;
 
         if (e instanceof ConfirmStmt) {
-            node = createNode(myElementToNodeNumMap.get(e),
-                    e.getClass().getSimpleName(), true);
+            node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
             node.add("nodeData",
                     "SIMPLIFY: " + ((ConfirmStmt) e).getSimplify());
         }
         else if (e instanceof MemoryStmt) {
-            node = createNode(myElementToNodeNumMap.get(e),
-                    e.getClass().getSimpleName(), true);
+            node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
             node.add("nodeData", ((MemoryStmt) e).getStatementType().name());
         }
         else {
-            node = createNode(myElementToNodeNumMap.get(e),
-                    e.getClass().getSimpleName(), false);
+            node = createNode(getNodeNum(), e.getClass().getSimpleName(),
+                    false);
         }
 
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     // -----------------------------------------------------------
@@ -559,8 +671,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postCrossTypeExp(CrossTypeExp e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         StringBuffer sb = new StringBuffer();
 
@@ -580,7 +691,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
         }
 
         node.add("nodeData", sb.toString());
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     /**
@@ -597,8 +708,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postFunctionExp(FunctionExp e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         String data = e.getOperatorAsString();
         if (e.getQualifier() != null) {
@@ -610,7 +720,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
         }
 
         node.add("nodeData", data);
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     /**
@@ -625,8 +735,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postInfixExp(InfixExp e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         String data = escapeSpecialChars(e.getOperatorAsString().toCharArray());
         if (e.getQualifier() != null) {
@@ -634,7 +743,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
         }
 
         node.add("nodeData", data);
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     /**
@@ -648,8 +757,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postOutfixExp(OutfixExp e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         StringBuffer sb = new StringBuffer();
         sb.append("&nbsp;");
@@ -657,7 +765,7 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
         sb.append("&nbsp;");
 
         node.add("nodeData", sb.toString());
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     /**
@@ -671,11 +779,10 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postQuantExp(QuantExp e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         node.add("nodeData", e.getQuantification().name());
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     /**
@@ -689,11 +796,10 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postTypeAssertionExp(TypeAssertionExp e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         node.add("nodeData", ":");
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     /**
@@ -712,12 +818,12 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
                 && !(e instanceof QuantExp) && !(e instanceof FunctionExp)
                 && !(e instanceof OutfixExp) && !(e instanceof CrossTypeExp)) {
             // Create the new node
-            ST node = createNode(myElementToNodeNumMap.get(e),
-                    e.getClass().getSimpleName(), true);
+            ST node = createNode(getNodeNum(), e.getClass().getSimpleName(),
+                    true);
 
             node.add("nodeData",
                     escapeSpecialChars(e.asString(0, 0).toCharArray()));
-            myModel.add("nodes", node);
+            addNode(node);
         }
     }
 
@@ -737,12 +843,11 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     @Override
     public void postProgramExp(ProgramExp e) {
         // Create the new node
-        ST node = createNode(myElementToNodeNumMap.get(e),
-                e.getClass().getSimpleName(), true);
+        ST node = createNode(getNodeNum(), e.getClass().getSimpleName(), true);
 
         node.add("nodeData",
                 escapeSpecialChars(e.asString(0, 0).toCharArray()));
-        myModel.add("nodes", node);
+        addNode(node);
     }
 
     // ===========================================================
@@ -755,8 +860,16 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
      * </p>
      *
      * @return String template rendering of the model.
+     *
+     * @throws IllegalStateException We wrote the nodes and edges to a
+     *         {@link PrintWriter} instead.
      */
     public final String getCompleteModel() {
+        if (myModel == null) {
+            throw new IllegalStateException(
+                    "The model was written to a PrintWriter.");
+        }
+
         return myModel.render();
     }
 
@@ -764,6 +877,25 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
     // Private Methods
     // ===========================================================
 
+    /**
+     * <p>
+     * An helper method that outputs a node if the element we are currently
+     * visiting should be in the model.
+     * </p>
+     *
+     * @param node The ST for "node".
+     */
+    private void addNode(ST node) {
+        if (getNodeNum() != -1) {
+            if (myWriter != null) {
+                myWriter.println("    " + node.render());
+            }
+            else {
+                myModel.add("nodes", node);
+            }
+        }
+    }
+
     /**
      * <p>
      * An helper method to create a new node using string template.
@@ -782,6 +914,42 @@ public class GenerateGraphvizModel extends TreeWalkerStackVisitor {
                 .add("hasNodeData", hasData);
     }
 
+    /**
+     * <p>
+     * An helper method that returns the node number of the element we are
+     * currently visiting.
+     * </p>
+     *
+     * @return The node number, or {@code -1} if the element isn't in the
+     *         model.
+     */
+    private int getNodeNum() {
+        return myNodeNumStack.peek();
+    }
+
+    /**
+     * <p>
+     * An helper method that checks to see if an element at the specified
+     * depth should be in the model.
+     * </p>
+     *
+     * @param depth The number of ancestors of the element.
+     *
+     * @return {@code true} if it should be in the model, {@code false}
+     *         otherwise.
+     */
+    private boolean isOutputDepth(int depth) {
+        int relativeDepth = depth;
+        if (myRootDecName != null) {
+            if (myRootDepth == -1) {
+                return false;
+            }
+            relativeDepth = depth - myRootDepth;
+        }
+
+        return myMaxDepth == -1 || relativeDepth <= myMaxDepth;
+    }
+
     /**
      * <p>
      * An helper method to escape special characters.
@@ -16,6 +16,8 @@ import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
 import edu.clemson.cs.rsrg.init.file.ResolveFileBasicInfo;
 import edu.clemson.cs.rsrg.init.output.FileOutputListener;
 import edu.clemson.cs.rsrg.init.output.OutputListener;
+import edu.clemson.cs.rsrg.init.output.VCOutputWriter;
+import edu.clemson.cs.rsrg.init.profiling.ProfileReportWriter;
 import edu.clemson.cs.rsrg.statushandling.StatusHandler;
 import edu.clemson.cs.rsrg.statushandling.WriterStatusHandler;
 import edu.clemson.cs.rsrg.statushandling.exception.FlagDependencyException;
@@ -26,6 +28,8 @@ import edu.clemson.cs.rsrg.misc.Utilities;
 import edu.clemson.cs.rsrg.typeandpopulate.symboltables.ScopeRepository;
 import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
+import edu.clemson.cs.rsrg.vcgeneration.VCGenerator;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
@@ -79,6 +83,23 @@ public class CompileEnvironment {
      */
     private final Map<ModuleIdentifier, File> myExternalRealizFiles;
 
+    /**
+     * <p>
+     * This map stores the final {@link VerificationCondition
+     * VerificationConditions} for each module we have generated (or loaded)
+     * {@code VCs} for.
+     * </p>
+     */
+    private final Map<ModuleIdentifier, List<VerificationCondition>> myGeneratedVCs;
+
+    /**
+     * <p>
+     * This map stores the translated {@code Java} source code for each module
+     * we need to package into a jar.
+     * </p>
+     */
+    private final Map<ModuleIdentifier, String> myJavaTranslations;
+
     /**
      * <p>
      * This is the default status handler for the RESOLVE compiler.
@@ -163,6 +184,8 @@ public class CompileEnvironment {
         flags = new FlagManager(args);
         myCompilingModules = new LinkedHashMap<>();
         myExternalRealizFiles = new LinkedHashMap<>();
+        myGeneratedVCs = new HashMap<>();
+        myJavaTranslations = new LinkedHashMap<>();
         myIncompleteModules = new LinkedList<>();
         myOutputListeners = new LinkedList<>();
         myUserFileMap = new LinkedHashMap<>();
@@ -194,9 +217,31 @@ public class CompileEnvironment {
         }
         myStatusHandler = statusHandler;
 
+        // Check for the profile report format
+        ProfileReportWriter.Format profileFormat =
+                ProfileReportWriter.Format.JSON;
+        if (flags.isFlagSet(ResolveCompiler.FLAG_PROFILE)) {
+            String format = flags.getFlagArgument(ResolveCompiler.FLAG_PROFILE,
+                    "format");
+            try {
+                profileFormat = ProfileReportWriter.Format
+                        .valueOf(format.toUpperCase());
+            }
+            catch (IllegalArgumentException e) {
+                throw new FlagDependencyException("Unknown profile format: "
+                        + format + ". Expected json or csv.");
+            }
+        }
+
         // Add a default file listener if we didn't specify no file output
         if (!flags.isFlagSet(ResolveCompiler.FLAG_NO_FILE_OUTPUT)) {
-            myOutputListeners.add(new FileOutputListener(myStatusHandler));
+            VCOutputWriter.Format vcFormat = VCOutputWriter.Format.DEFAULT;
+            if (flags.isFlagSet(VCGenerator.FLAG_COMPACT_VC_OUTPUT)) {
+                vcFormat = VCOutputWriter.Format.COMPACT;
+            }
+
+            myOutputListeners.add(new FileOutputListener(myStatusHandler,
+                    vcFormat, profileFormat));
         }
 
         // Debugging information
@@ -227,6 +272,34 @@ public class CompileEnvironment {
         myExternalRealizFiles.put(id, file);
     }
 
+    /**
+     * <p>
+     * Stores the final {@link VerificationCondition VerificationConditions}
+     * for the specified module.
+     * </p>
+     *
+     * @param id The ID for the {@link ResolveFile} the {@code VCs} belong to.
+     * @param vcs A list of final {@link VerificationCondition
+     *        VerificationConditions}.
+     */
+    public final void addGeneratedVCs(ModuleIdentifier id,
+            List<VerificationCondition> vcs) {
+        myGeneratedVCs.put(id, vcs);
+    }
+
+    /**
+     * <p>
+     * Stores the translated {@code Java} source code for the specified module.
+     * </p>
+     *
+     * @param id The ID for the {@link ResolveFile} that was translated.
+     * @param javaTranslation The translated {@code Java} source code.
+     */
+    public final void addJavaTranslation(ModuleIdentifier id,
+            String javaTranslation) {
+        myJavaTranslations.put(id, javaTranslation);
+    }
+
     /**
      * <p>
      * Adds a new listener object.
@@ -293,6 +366,17 @@ public class CompileEnvironment {
         return myCompilingModules.containsKey(id);
     }
 
+    /**
+     * <p>
+     * Returns all the externally realized files.
+     * </p>
+     *
+     * @return A map from module IDs to the externally realized files.
+     */
+    public final Map<ModuleIdentifier, File> getExternalRealizFiles() {
+        return Collections.unmodifiableMap(myExternalRealizFiles);
+    }
+
     /**
      * <p>
      * Returns the file associated with the specified id.
@@ -306,6 +390,57 @@ public class CompileEnvironment {
         return myCompilingModules.get(id).getValue();
     }
 
+    /**
+     * <p>
+     * Returns all the files we have currently seen.
+     * </p>
+     *
+     * @return A list of {@link ResolveFile ResolveFiles}.
+     */
+    public final List<ResolveFile> getFiles() {
+        List<ResolveFile> files = new ArrayList<>();
+        for (AbstractMap.SimpleEntry<ModuleDec, ResolveFile> entry : myCompilingModules
+                .values()) {
+            files.add(entry.getValue());
+        }
+
+        return files;
+    }
+
+    /**
+     * <p>
+     * Returns the final {@link VerificationCondition VerificationConditions}
+     * for the specified module.
+     * </p>
+     *
+     * @param id The ID for the {@link ResolveFile} the {@code VCs} belong to.
+     *
+     * @return A list of final {@link VerificationCondition
+     *         VerificationConditions} or an empty list if we haven't generated
+     *         any {@code VCs} for this module.
+     */
+    public final List<VerificationCondition>
+            getGeneratedVCs(ModuleIdentifier id) {
+        List<VerificationCondition> vcs = myGeneratedVCs.get(id);
+        if (vcs == null) {
+            vcs = Collections.emptyList();
+        }
+
+        return vcs;
+    }
+
+    /**
+     * <p>
+     * Returns the translated {@code Java} source code for all the modules we
+     * need to package into a jar, in the order they were translated.
+     * </p>
+     *
+     * @return A map from module IDs to the translated source code.
+     */
+    public final Map<ModuleIdentifier, String> getJavaTranslations() {
+        return Collections.unmodifiableMap(myJavaTranslations);
+    }
+
     /**
      * <p>
      * Returns the {@link ModuleDec} associated with the specified id.
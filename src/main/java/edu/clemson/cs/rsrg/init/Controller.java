@@ -13,19 +13,21 @@
 package edu.clemson.cs.rsrg.init;
 
 import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
+import edu.clemson.cs.rsrg.archiving.JarArchiver;
 import edu.clemson.cs.rsrg.init.file.FileLocator;
 import edu.clemson.cs.rsrg.init.file.ModuleType;
 import edu.clemson.cs.rsrg.init.file.ResolveFile;
 import edu.clemson.cs.rsrg.init.file.ResolveFileBasicInfo;
+import edu.clemson.cs.rsrg.init.output.OutputListener;
+import edu.clemson.cs.rsrg.init.output.ProfileOutputListener;
 import edu.clemson.cs.rsrg.init.pipeline.*;
+import edu.clemson.cs.rsrg.init.profiling.CompileProfiler;
+import edu.clemson.cs.rsrg.init.profiling.CompileProfiler.Phase;
+import edu.clemson.cs.rsrg.init.profiling.PhaseProfile;
 import edu.clemson.cs.rsrg.misc.Utilities;
-import edu.clemson.cs.rsrg.parsing.ResolveLexer;
-import edu.clemson.cs.rsrg.parsing.ResolveParser;
-import edu.clemson.cs.rsrg.parsing.TreeBuildingListener;
-import edu.clemson.cs.rsrg.parsing.data.ResolveTokenFactory;
+import edu.clemson.cs.rsrg.parsing.ModuleHeaderScanner;
+import edu.clemson.cs.rsrg.parsing.ParsingService;
 import edu.clemson.cs.rsrg.prover.CongruenceClassProver;
-import edu.clemson.cs.rsrg.statushandling.AntlrLexerErrorListener;
-import edu.clemson.cs.rsrg.statushandling.AntlrParserErrorListener;
 import edu.clemson.cs.rsrg.statushandling.StatusHandler;
 import edu.clemson.cs.rsrg.statushandling.exception.*;
 import edu.clemson.cs.rsrg.translation.AbstractTranslator;
@@ -37,9 +39,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import org.antlr.v4.runtime.*;
-import org.antlr.v4.runtime.atn.PredictionMode;
-import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import java.util.concurrent.Future;
 import org.jgrapht.Graphs;
 import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
@@ -65,25 +65,26 @@ class Controller {
 
     /**
      * <p>
-     * This is the lexer error listener for all ANTLR4 related objects.
+     * The current job's compilation environment that stores all necessary
+     * objects and flags.
      * </p>
      */
-    private final AntlrLexerErrorListener myAntlrLexerErrorListener;
+    private final CompileEnvironment myCompileEnvironment;
 
     /**
      * <p>
-     * This is the parser error listener for all ANTLR4 related objects.
+     * The service that builds the {@link ModuleDec} for each file.
      * </p>
      */
-    private final AntlrParserErrorListener myAntlrParserErrorListener;
+    private final ParsingService myParsingService;
 
     /**
      * <p>
-     * The current job's compilation environment that stores all necessary
-     * objects and flags.
+     * The profiler that measures each phase of each module. It doesn't
+     * record anything unless profiling was requested.
      * </p>
      */
-    private final CompileEnvironment myCompileEnvironment;
+    private final CompileProfiler myProfiler;
 
     /**
      * <p>
@@ -103,6 +104,21 @@ class Controller {
     // Objects
     // ===========================================================
 
+    /**
+     * <p>
+     * The imported modules we have parsed (or are parsing) ahead of time, but
+     * haven't been added to the compile environment.
+     * </p>
+     */
+    private final Map<ModuleIdentifier, Future<ModuleDec>> myPrescannedModules;
+
+    /**
+     * <p>
+     * The files for the imported modules we found by scanning module headers.
+     * </p>
+     */
+    private final Map<ModuleIdentifier, ResolveFile> myPrescannedFiles;
+
     /**
      * <p>
      * This is a list of all externally realized file extensions accepted by the
@@ -132,12 +148,22 @@ class Controller {
     Controller(CompileEnvironment compileEnvironment) {
         myCompileEnvironment = compileEnvironment;
         myStatusHandler = compileEnvironment.getStatusHandler();
-        myAntlrLexerErrorListener =
-                new AntlrLexerErrorListener(myStatusHandler);
-        myAntlrParserErrorListener =
-                new AntlrParserErrorListener(myStatusHandler);
         mySymbolTable =
                 (MathSymbolTableBuilder) compileEnvironment.getSymbolTable();
+        myPrescannedModules = new HashMap<>();
+        myPrescannedFiles = new HashMap<>();
+        myProfiler = new CompileProfiler(compileEnvironment.flags
+                .isFlagSet(ResolveCompiler.FLAG_PROFILE));
+
+        // Imported files are parsed on the caller's thread
+        // unless we are asked to parse them in parallel.
+        int numThreads = 0;
+        if (compileEnvironment.flags
+                .isFlagSet(ResolveCompiler.FLAG_PARALLEL_PARSE)) {
+            numThreads = Runtime.getRuntime().availableProcessors();
+        }
+        myParsingService = new ParsingService(myStatusHandler,
+                compileEnvironment.getTypeGraph(), numThreads, myProfiler);
     }
 
     // ===========================================================
@@ -157,7 +183,9 @@ class Controller {
     final void compileTargetFile(ResolveFile file) {
         try {
             // Use ANTLR4 to build the AST
-            ModuleDec targetModule = createModuleAST(file);
+            // This is always done on the caller's thread, so the
+            // DFA cache is warmed up before any workers start parsing.
+            ModuleDec targetModule = myParsingService.parse(file);
 
             // Add this file to our compile environment
             myCompileEnvironment.constructRecord(file, targetModule);
@@ -172,7 +200,23 @@ class Controller {
             DefaultDirectedGraph<ModuleIdentifier, DefaultEdge> g =
                     new DefaultDirectedGraph<>(DefaultEdge.class);
             g.addVertex(new ModuleIdentifier(targetModule));
-            findDependencies(g, targetModule, file.getParentPath());
+            myProfiler.start(targetModule.getName().getName(),
+                    Phase.IMPORT_DISCOVERY);
+            try {
+                if (myCompileEnvironment.flags
+                        .isFlagSet(ResolveCompiler.FLAG_PRESCAN_IMPORTS)) {
+                    prescanDependencies(targetModule, file.getParentPath());
+                }
+                findDependencies(g, targetModule, file.getParentPath());
+            }
+            finally {
+                myProfiler.stop();
+            }
+
+            // Anything left over was found by the header scanner,
+            // but isn't really needed by any module.
+            myPrescannedModules.clear();
+            myPrescannedFiles.clear();
 
             // Perform different compilation tasks to each file
             for (ModuleIdentifier m : getCompileOrder(g)) {
@@ -183,7 +227,7 @@ class Controller {
                     RawASTOutputPipeline rawASTOutputPipe =
                             new RawASTOutputPipeline(myCompileEnvironment,
                                     mySymbolTable);
-                    rawASTOutputPipe.process(m);
+                    processModule(rawASTOutputPipe, m, Phase.RAW_AST_OUTPUT);
                 }
 
                 // Output AST to Graphviz dot file. (Only for argument files)
@@ -193,31 +237,46 @@ class Controller {
                     GraphicalASTOutputPipeline astOutputPipe =
                             new GraphicalASTOutputPipeline(myCompileEnvironment,
                                     mySymbolTable);
-                    astOutputPipe.process(m);
+                    processModule(astOutputPipe, m, Phase.GRAPHICAL_AST_OUTPUT);
                 }
 
                 // Type and populate symbol table
                 AnalysisPipeline analysisPipe = new AnalysisPipeline(
                         myCompileEnvironment, mySymbolTable);
-                analysisPipe.process(m);
+                processModule(analysisPipe, m, Phase.ANALYSIS);
 
                 // Translate source file to target file
+                // Creating a jar requires everything the target file uses.
                 if (myCompileEnvironment.flags
                         .isFlagSet(AbstractTranslator.FLAG_TRANSLATE)
-                        && m.equals(new ModuleIdentifier(targetModule))) {
+                        && (m.equals(new ModuleIdentifier(targetModule))
+                                || (myCompileEnvironment.flags
+                                        .isFlagSet(JarArchiver.FLAG_CREATE_JAR)
+                                        && isProgramModule(m)))) {
                     TranslatorPipeline translatorPipeline =
                             new TranslatorPipeline(myCompileEnvironment,
                                     mySymbolTable);
-                    translatorPipeline.process(m);
+                    processModule(translatorPipeline, m, Phase.TRANSLATION);
+                }
+
+                // Compile the translated files and create an executable jar
+                if (myCompileEnvironment.flags
+                        .isFlagSet(JarArchiver.FLAG_CREATE_JAR)
+                        && m.equals(new ModuleIdentifier(targetModule))) {
+                    ArchiverPipeline archiverPipeline = new ArchiverPipeline(
+                            myCompileEnvironment, mySymbolTable);
+                    processModule(archiverPipeline, m, Phase.ARCHIVING);
                 }
 
                 // Generate VCs
                 if (myCompileEnvironment.flags
                         .isFlagSet(VCGenerator.FLAG_VERIFY_VC)
+                        && !myCompileEnvironment.flags
+                                .isFlagSet(CongruenceClassProver.FLAG_LOAD_VCS)
                         && m.equals(new ModuleIdentifier(targetModule))) {
                     VCGenPipeline vcGenPipeline = new VCGenPipeline(
                             myCompileEnvironment, mySymbolTable);
-                    vcGenPipeline.process(m);
+                    processModule(vcGenPipeline, m, Phase.VC_GENERATION);
                 }
 
                 // Invoke Automated Prover (if requested)
@@ -226,11 +285,21 @@ class Controller {
                         && m.equals(new ModuleIdentifier(targetModule))) {
                     ProverPipeline proverPipeline = new ProverPipeline(
                             myCompileEnvironment, mySymbolTable);
-                    proverPipeline.process(m);
+                    processModule(proverPipeline, m, Phase.PROVING);
                 }
 
                 // Complete compilation for this module
                 myCompileEnvironment.completeRecord(m);
+
+                // The symbol table has everything the other modules need,
+                // so we only keep the target file's source code around.
+                // The AST can't be released yet, because the module's
+                // scope still refers to its ModuleDec.
+                if (myCompileEnvironment.flags
+                        .isFlagSet(ResolveCompiler.FLAG_BOUNDED_MEMORY)
+                        && !m.equals(new ModuleIdentifier(targetModule))) {
+                    myCompileEnvironment.getFile(m).releaseInputStream();
+                }
                 if (myCompileEnvironment.flags
                         .isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
                     myStatusHandler.info(null,
@@ -261,6 +330,19 @@ class Controller {
                 myStatusHandler.stopLogging();
             }
         }
+        finally {
+            if (myProfiler.isEnabled()) {
+                reportProfiles(file);
+            }
+
+            if (myCompileEnvironment.flags
+                    .isFlagSet(ResolveCompiler.FLAG_PARSER_STATS)
+                    && !myStatusHandler.hasStopped()) {
+                myStatusHandler.info(null, myParsingService.getStatistics());
+            }
+
+            myParsingService.shutdown();
+        }
     }
 
     // ===========================================================
@@ -280,6 +362,7 @@ class Controller {
      * @throws MiscErrorException We caught some kind of {@link IOException}.
      */
     private void addFileAsExternalImport(String importName) {
+        myProfiler.start(importName, Phase.FILE_LOOKUP);
         try {
             FileLocator l = new FileLocator(importName, NON_NATIVE_EXT);
             File workspaceDir = myCompileEnvironment.getWorkspaceDir();
@@ -314,75 +397,9 @@ class Controller {
         catch (IOException ioe) {
             throw new MiscErrorException(ioe.getMessage(), ioe.getCause());
         }
-    }
-
-    /**
-     * <p>
-     * This method uses the {@link ResolveFile} provided to construct a parser
-     * and create an ANTLR4
-     * module AST.
-     * </p>
-     *
-     * @param file The RESOLVE file that we are going to compile.
-     *
-     * @return The inner representation for a module. See {@link ModuleDec}.
-     *
-     * @throws MiscErrorException Some how we couldn't instantiate an
-     *         {@link CharStream}.
-     * @throws SourceErrorException There are errors in the source file.
-     */
-    private ModuleDec createModuleAST(ResolveFile file) {
-        CharStream input = file.getInputStream();
-        if (input == null) {
-            throw new MiscErrorException("CharStream null",
-                    new IllegalArgumentException());
-        }
-
-        // Create a RESOLVE language lexer
-        ResolveLexer lexer = new ResolveLexer(input);
-        ResolveTokenFactory factory = new ResolveTokenFactory(file);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(myAntlrLexerErrorListener);
-        lexer.setTokenFactory(factory);
-
-        // Create a RESOLVE language parser
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        ResolveParser parser = new ResolveParser(tokens);
-        parser.removeErrorListeners();
-        parser.addErrorListener(myAntlrParserErrorListener);
-        parser.setTokenFactory(factory);
-
-        // Two-Stage Parsing
-        // Reason: We might not need the full power of LL.
-        // The solution proposed by the ANTLR folks (found here:
-        // https://github.com/antlr/antlr4/blob/master/doc/faq/general.md)
-        // is to use SLL prediction mode first and switch to LL if it fails.
-        ParserRuleContext rootModuleCtx;
-        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
-        try {
-            rootModuleCtx = parser.module();
-        }
-        catch (Exception ex) {
-            tokens.seek(0);
-            parser.reset();
-            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
-            rootModuleCtx = parser.module();
-        }
-
-        // Check for any parsing errors
-        int numParserErrors = parser.getNumberOfSyntaxErrors();
-        if (numParserErrors != 0) {
-            throw new MiscErrorException("Found " + numParserErrors
-                    + " errors while parsing " + file.toString(),
-                    new IllegalStateException());
+        finally {
+            myProfiler.stop();
         }
-
-        // Build the intermediate representation
-        TreeBuildingListener v = new TreeBuildingListener(file,
-                myCompileEnvironment.getTypeGraph());
-        ParseTreeWalker.DEFAULT.walk(v, rootModuleCtx);
-
-        return v.getModule();
     }
 
     /**
@@ -425,9 +442,18 @@ class Controller {
                                     "Importing New Module: " + id.toString());
                         }
 
-                        ResolveFile file =
-                                findResolveFile(importRequest, parentPath);
-                        ModuleDec module = createModuleAST(file);
+                        // Use the module we parsed ahead of time (if any)
+                        ResolveFile file;
+                        ModuleDec module;
+                        if (myPrescannedModules.containsKey(id)) {
+                            file = myPrescannedFiles.get(id);
+                            module = ParsingService
+                                    .getModule(myPrescannedModules.remove(id));
+                        }
+                        else {
+                            file = findResolveFile(importRequest, parentPath);
+                            module = myParsingService.parse(file);
+                        }
                         if (module == null) {
                             // Import error
                             throw new ImportException("Invalid import: "
@@ -438,7 +464,15 @@ class Controller {
                         else {
                             // Construct a record and check this new module for dependencies
                             myCompileEnvironment.constructRecord(file, module);
-                            findDependencies(g, module, file.getParentPath());
+                            myProfiler.start(id.toString(),
+                                    Phase.IMPORT_DISCOVERY);
+                            try {
+                                findDependencies(g, module,
+                                        file.getParentPath());
+                            }
+                            finally {
+                                myProfiler.stop();
+                            }
                         }
                     }
                     else {
@@ -471,6 +505,60 @@ class Controller {
         }
     }
 
+    /**
+     * <p>
+     * This method finds all the import dependencies needed by the specified
+     * module using the {@link ModuleHeaderScanner} and then parses all the
+     * modules it found. Modules that are already in our compile environment
+     * are skipped.
+     * </p>
+     *
+     * <p>
+     * When we are parsing in parallel, each module has already been submitted
+     * to the {@link ParsingService} by the time the scanner is done, so
+     * scanning the rest of the imports overlaps with the parsing.
+     * </p>
+     *
+     * <p>
+     * The parsed modules are used by
+     * {@link #findDependencies(DefaultDirectedGraph, ModuleDec, Path)}, which
+     * still checks the actual dependencies of each module and parses anything
+     * the scanner might have missed.
+     * </p>
+     *
+     * @param root Current compiling module.
+     * @param parentPath The parent path if it is known. Otherwise, this can be
+     *        {@code null}.
+     *
+     * @throws CircularDependencyException Some of the source files form a
+     *         circular dependency.
+     * @throws SourceErrorException There are errors in the source file.
+     */
+    private void prescanDependencies(ModuleDec root, Path parentPath) {
+        myPrescannedModules.clear();
+        myPrescannedFiles.clear();
+
+        // Build the dependency graph using only the module headers
+        DefaultDirectedGraph<ModuleIdentifier, DefaultEdge> g =
+                new DefaultDirectedGraph<>(DefaultEdge.class);
+        ModuleIdentifier rootId = new ModuleIdentifier(root);
+        g.addVertex(rootId);
+        scanDependencies(g, rootId, root.getModuleDependencies(), parentPath);
+
+        // Parse everything we haven't submitted yet, starting with
+        // the modules that don't depend on anything else.
+        TopologicalOrderIterator<ModuleIdentifier, DefaultEdge> dependencies =
+                new TopologicalOrderIterator<>(new EdgeReversedGraph<>(g));
+        while (dependencies.hasNext()) {
+            ModuleIdentifier next = dependencies.next();
+            if (myPrescannedFiles.containsKey(next)
+                    && !myPrescannedModules.containsKey(next)) {
+                myPrescannedModules.put(next,
+                        myParsingService.submit(myPrescannedFiles.get(next)));
+            }
+        }
+    }
+
     /**
      * <p>
      * This method attempts to locate a file with the specified name.
@@ -495,6 +583,7 @@ class Controller {
         }
         // If not, use the file locator to locate our file
         else {
+            myProfiler.start(fileBasicInfo.getName(), Phase.FILE_LOOKUP);
             try {
                 // There might be files with the same name all throughout the workspace,
                 // so ideally we want to start from the innermost path possible.
@@ -507,13 +596,15 @@ class Controller {
                         // If our file's basic information contains a parent directory
                         // that matches a file we have already compiled, use that path
                         // instead of the parent path passed in.
-                        if (myCompileEnvironment
-                                .containsID(new ModuleIdentifier(
-                                        fileBasicInfo.getParentDirName()))) {
+                        ModuleIdentifier parentDirId = new ModuleIdentifier(
+                                fileBasicInfo.getParentDirName());
+                        if (myCompileEnvironment.containsID(parentDirId)) {
                             Files.walkFileTree(myCompileEnvironment
-                                    .getFile(new ModuleIdentifier(
-                                            fileBasicInfo.getParentDirName()))
-                                    .getParentPath(), l);
+                                    .getFile(parentDirId).getParentPath(), l);
+                        }
+                        else if (myPrescannedFiles.containsKey(parentDirId)) {
+                            Files.walkFileTree(myPrescannedFiles
+                                    .get(parentDirId).getParentPath(), l);
                         }
                         else {
                             Files.walkFileTree(parentPath, l);
@@ -544,6 +635,9 @@ class Controller {
             catch (IOException ioe) {
                 throw new MiscErrorException(ioe.getMessage(), ioe.getCause());
             }
+            finally {
+                myProfiler.stop();
+            }
         }
 
         return file;
@@ -578,6 +672,84 @@ class Controller {
         return result;
     }
 
+    /**
+     * <p>
+     * A recursive method to find all the import dependencies of a module
+     * using the {@link ModuleHeaderScanner}.
+     * </p>
+     *
+     * @param g The dependency graph built from the module headers.
+     * @param rootId Current scanned module.
+     * @param allImports The import dependencies of the current module.
+     * @param parentPath The parent path if it is known. Otherwise, this can be
+     *        {@code null}.
+     *
+     * @throws CircularDependencyException Some of the source files form a
+     *         circular dependency.
+     */
+    private void scanDependencies(
+            DefaultDirectedGraph<ModuleIdentifier, DefaultEdge> g,
+            ModuleIdentifier rootId,
+            Map<ResolveFileBasicInfo, Boolean> allImports, Path parentPath) {
+        for (ResolveFileBasicInfo importRequest : allImports.keySet()) {
+            // Don't try to import the built-in Cls_Theory or any
+            // externally realized files.
+            if (!importRequest.getName().equals("Cls_Theory")
+                    && !allImports.get(importRequest)) {
+                // Only need to deal with imports we haven't seen yet.
+                ModuleIdentifier id =
+                        new ModuleIdentifier(importRequest.getName());
+                if (!myCompileEnvironment.containsID(id)
+                        && !myPrescannedFiles.containsKey(id)) {
+                    ResolveFile file =
+                            findResolveFile(importRequest, parentPath);
+                    myPrescannedFiles.put(id, file);
+                    ModuleHeaderScanner scanner = new ModuleHeaderScanner(file);
+
+                    // Start parsing it while we scan the rest
+                    // The scanner and the parser read the same CharStream,
+                    // so this has to wait until the scanner is done with it.
+                    if (myCompileEnvironment.flags
+                            .isFlagSet(ResolveCompiler.FLAG_PARALLEL_PARSE)) {
+                        myPrescannedModules.put(id,
+                                myParsingService.submit(file));
+                    }
+
+                    scanDependencies(g, id, scanner.getModuleDependencies(),
+                            file.getParentPath());
+                }
+
+                // Check for circular dependency
+                if (pathExists(g, id, rootId)) {
+                    throw new CircularDependencyException(
+                            "Circular dependency detected: "
+                                    + importRequest.getName() + "<->"
+                                    + rootId.toString());
+                }
+
+                Graphs.addEdgeWithVertices(g, rootId, id);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that checks to see if a module contains code that can
+     * be translated. Theories and performance profiles only contain
+     * mathematics.
+     * </p>
+     *
+     * @param m A module we are compiling.
+     *
+     * @return {@code true} if {@code m} is a concept, enhancement,
+     *         realization or facility, {@code false} otherwise.
+     */
+    private boolean isProgramModule(ModuleIdentifier m) {
+        ModuleType type = myCompileEnvironment.getFile(m).getModuleType();
+
+        return type != ModuleType.THEORY && type != ModuleType.PROFILE;
+    }
+
     /**
      * <p>
      * This method is used to check for circular dependencies when importing
@@ -611,4 +783,44 @@ class Controller {
         }
         return false;
     }
+
+    /**
+     * <p>
+     * An helper method that runs a compilation pipeline on a module and
+     * records how much it cost.
+     * </p>
+     *
+     * @param pipeline The pipeline to run.
+     * @param m The module to process.
+     * @param phase The compilation phase this pipeline performs.
+     */
+    private void processModule(AbstractPipeline pipeline, ModuleIdentifier m,
+            Phase phase) {
+        myProfiler.start(m.toString(), phase);
+        try {
+            pipeline.process(m);
+        }
+        finally {
+            myProfiler.stop();
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that sends the recorded measurements to every
+     * {@link OutputListener} that is interested in them.
+     * </p>
+     *
+     * @param file The compiling RESOLVE file.
+     */
+    private void reportProfiles(ResolveFile file) {
+        List<PhaseProfile> profiles = myProfiler.getProfiles();
+        for (OutputListener listener : myCompileEnvironment
+                .getOutputListeners()) {
+            if (listener instanceof ProfileOutputListener) {
+                ((ProfileOutputListener) listener).profileResult(
+                        file.toString(), file.getName(), profiles);
+            }
+        }
+    }
 }
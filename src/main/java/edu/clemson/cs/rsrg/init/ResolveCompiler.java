@@ -12,19 +12,23 @@
  */
 package edu.clemson.cs.rsrg.init;
 
+import edu.clemson.cs.rsrg.archiving.JarArchiver;
 import edu.clemson.cs.rsrg.init.file.ModuleType;
 import edu.clemson.cs.rsrg.init.file.ResolveFile;
 import edu.clemson.cs.rsrg.init.file.ResolveFileBasicInfo;
 import edu.clemson.cs.rsrg.init.flag.Flag;
 import edu.clemson.cs.rsrg.init.flag.FlagDependencies;
 import edu.clemson.cs.rsrg.init.output.OutputListener;
+import edu.clemson.cs.rsrg.misc.STGroupRegistry;
 import edu.clemson.cs.rsrg.misc.Utilities;
+import edu.clemson.cs.rsrg.parsing.ParserWarmUp;
 import edu.clemson.cs.rsrg.prover.CongruenceClassProver;
 import edu.clemson.cs.rsrg.statushandling.SystemStdHandler;
 import edu.clemson.cs.rsrg.statushandling.StatusHandler;
 import edu.clemson.cs.rsrg.statushandling.exception.CompilerException;
 import edu.clemson.cs.rsrg.statushandling.exception.FlagDependencyException;
 import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.translation.AbstractTranslator;
 import edu.clemson.cs.rsrg.translation.targets.CTranslator;
 import edu.clemson.cs.rsrg.translation.targets.JavaTranslator;
 import edu.clemson.cs.rsrg.typeandpopulate.Populator;
@@ -118,12 +122,29 @@ public class ResolveCompiler {
             "Print the modules we are compiling.";
     private static final String FLAG_DESC_EXPORT_AST =
             "Exports the AST for the target file as a .dot file that can be viewed in Graphviz";
+    private static final String FLAG_DESC_EXPORT_AST_DEPTH =
+            "Only exports the AST nodes up to the specified depth.";
+    private static final String FLAG_DESC_EXPORT_AST_DEC =
+            "Only exports the AST for the declaration with the specified name.";
     private static final String FLAG_DESC_WORKSPACE_DIR =
             "Changes the workspace directory path.";
+    private static final String FLAG_DESC_PRESCAN_IMPORTS =
+            "Finds all imported modules by scanning their headers before parsing them.";
+    private static final String FLAG_DESC_PARALLEL_PARSE =
+            "Parses the imported modules on several threads while their headers are being scanned.";
+    private static final String FLAG_DESC_PARSER_STATS =
+            "Prints how often the parser had to fall back from SLL to LL prediction.";
+    private static final String FLAG_DESC_PROFILE =
+            "Writes the time and memory spent on each phase of each module as a json or csv report.";
+    private static final String FLAG_DESC_BOUNDED_MEMORY =
+            "Releases the source code of each imported module once it has been compiled.";
     private static final String FLAG_SECTION_GENERAL = "General";
     private static final String FLAG_SECTION_DEBUG = "Debugging";
 
     private static final String[] WORKSPACE_DIR_ARG_NAME = { "Path" };
+    private static final String[] PROFILE_ARG_NAME = { "format" };
+    private static final String[] EXPORT_AST_DEPTH_ARG_NAME = { "depth" };
+    private static final String[] EXPORT_AST_DEC_ARG_NAME = { "decName" };
 
     // ===========================================================
     // Flags
@@ -195,6 +216,26 @@ public class ResolveCompiler {
     static final Flag FLAG_EXPORT_AST = new Flag(FLAG_SECTION_GENERAL,
             "exportAST", FLAG_DESC_EXPORT_AST, Flag.Type.HIDDEN);
 
+    /**
+     * <p>
+     * Tell the compiler to leave the nodes deeper than the specified depth
+     * out of the Graphviz model for our AST.
+     * </p>
+     */
+    public static final Flag FLAG_EXPORT_AST_DEPTH = new Flag(
+            FLAG_SECTION_GENERAL, "exportASTDepth", FLAG_DESC_EXPORT_AST_DEPTH,
+            EXPORT_AST_DEPTH_ARG_NAME, Flag.Type.HIDDEN);
+
+    /**
+     * <p>
+     * Tell the compiler to only output the Graphviz model for a declaration in
+     * our AST.
+     * </p>
+     */
+    public static final Flag FLAG_EXPORT_AST_DEC = new Flag(
+            FLAG_SECTION_GENERAL, "exportASTDec", FLAG_DESC_EXPORT_AST_DEC,
+            EXPORT_AST_DEC_ARG_NAME, Flag.Type.HIDDEN);
+
     /**
      * <p>
      * Tells the compiler the RESOLVE workspace directory path.
@@ -203,6 +244,52 @@ public class ResolveCompiler {
     static final Flag FLAG_WORKSPACE_DIR = new Flag(FLAG_SECTION_GENERAL,
             "workspaceDir", FLAG_DESC_WORKSPACE_DIR, WORKSPACE_DIR_ARG_NAME);
 
+    /**
+     * <p>
+     * Tells the compiler to build the module dependency graph using only the
+     * tokens of each imported file and parse the imported files afterwards.
+     * </p>
+     */
+    static final Flag FLAG_PRESCAN_IMPORTS = new Flag(FLAG_SECTION_GENERAL,
+            "prescanImports", FLAG_DESC_PRESCAN_IMPORTS);
+
+    /**
+     * <p>
+     * Tells the compiler to parse each imported file on a worker thread as
+     * soon as the header scanner finds it.
+     * </p>
+     */
+    static final Flag FLAG_PARALLEL_PARSE = new Flag(FLAG_SECTION_GENERAL,
+            "parallelParse", FLAG_DESC_PARALLEL_PARSE);
+
+    /**
+     * <p>
+     * Tells the compiler to print the parser's prediction mode statistics.
+     * </p>
+     */
+    static final Flag FLAG_PARSER_STATS = new Flag(FLAG_SECTION_DEBUG,
+            "parserStats", FLAG_DESC_PARSER_STATS, Flag.Type.HIDDEN);
+
+    /**
+     * <p>
+     * Tells the compiler to measure the wall clock time, {@code CPU} time and
+     * allocated bytes for each phase of each module and report them in the
+     * specified format.
+     * </p>
+     */
+    public static final Flag FLAG_PROFILE = new Flag(FLAG_SECTION_GENERAL,
+            "profile", FLAG_DESC_PROFILE, PROFILE_ARG_NAME);
+
+    /**
+     * <p>
+     * Tells the compiler that it only needs to keep the target file's source
+     * code in memory. The source code of an imported module is released once
+     * we are done compiling it.
+     * </p>
+     */
+    static final Flag FLAG_BOUNDED_MEMORY = new Flag(FLAG_SECTION_GENERAL,
+            "boundedMemory", FLAG_DESC_BOUNDED_MEMORY);
+
     // ===========================================================
     // Constructors
     // ===========================================================
@@ -480,6 +567,12 @@ public class ResolveCompiler {
                         new MathSymbolTableBuilder(compileEnvironment);
                 compileEnvironment.setSymbolTable(symbolTable);
                 compileEnvironment.setTypeGraph(symbolTable.getTypeGraph());
+
+                // Start loading the templates we are going to need
+                preloadTemplateGroups(compileEnvironment);
+
+                // Start warming up the parser
+                ParserWarmUp.start();
             }
         }
         catch (FlagDependencyException fde) {
@@ -505,6 +598,50 @@ public class ResolveCompiler {
         return compileEnvironment;
     }
 
+    /**
+     * <p>
+     * This method starts loading the string template groups that the
+     * compilation tasks requested by the user are going to need, so they are
+     * ready by the time we have parsed and analyzed the modules.
+     * </p>
+     *
+     * @param compileEnvironment The current job's compilation environment that
+     *        stores all necessary
+     *        objects and flags.
+     */
+    private void preloadTemplateGroups(CompileEnvironment compileEnvironment) {
+        List<String> templateGroups = new ArrayList<>();
+        if (compileEnvironment.flags.isFlagSet(FLAG_EXPORT_AST)) {
+            templateGroups.add(STGroupRegistry.AST_OUTPUT);
+        }
+
+        if (compileEnvironment.flags
+                .isFlagSet(AbstractTranslator.FLAG_TRANSLATE)) {
+            if (compileEnvironment.flags
+                    .isFlagSet(JavaTranslator.JAVA_FLAG_TRANSLATE)
+                    || compileEnvironment.flags.isFlagSet(
+                            JavaTranslator.JAVA_FLAG_TRANSLATE_CLEAN)) {
+                templateGroups.add(STGroupRegistry.JAVA_TRANSLATION);
+            }
+            else {
+                templateGroups.add(STGroupRegistry.C_TRANSLATION);
+            }
+        }
+
+        if (compileEnvironment.flags.isFlagSet(VCGenerator.FLAG_VERIFY_VC)) {
+            if (!compileEnvironment.flags
+                    .isFlagSet(VCGenerator.FLAG_SKIP_VC_DETAILS)) {
+                templateGroups.add(STGroupRegistry.VC_VERBOSE_OUTPUT);
+            }
+
+            if (!compileEnvironment.flags.isFlagSet(FLAG_NO_FILE_OUTPUT)) {
+                templateGroups.add(STGroupRegistry.VC_OUTPUT);
+            }
+        }
+
+        STGroupRegistry.preload(templateGroups);
+    }
+
     /**
      * <p>
      * This prints the help message that prints out all the optional flags.
@@ -542,6 +679,7 @@ public class ResolveCompiler {
              */
             CTranslator.setUpFlags();
             JavaTranslator.setUpFlags();
+            JarArchiver.setUpFlags();
             Populator.setUpFlags();
             VCGenerator.setUpFlags();
             CongruenceClassProver.setUpFlags();
@@ -567,5 +705,15 @@ public class ResolveCompiler {
 
         // Print modules implies debug flag is on
         FlagDependencies.addImplies(FLAG_PRINT_MODULE, FLAG_DEBUG);
+
+        // Parsing in parallel needs the header scanner to find the files
+        FlagDependencies.addImplies(FLAG_PARALLEL_PARSE, FLAG_PRESCAN_IMPORTS);
+
+        // Parser statistics implies debug flag is on
+        FlagDependencies.addImplies(FLAG_PARSER_STATS, FLAG_DEBUG);
+
+        // Limiting the exported AST requires exporting the AST
+        FlagDependencies.addRequires(FLAG_EXPORT_AST_DEPTH, FLAG_EXPORT_AST);
+        FlagDependencies.addRequires(FLAG_EXPORT_AST_DEC, FLAG_EXPORT_AST);
     }
 }
@@ -12,9 +12,15 @@
  */
 package edu.clemson.cs.rsrg.init.file;
 
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
 
 /**
  * <p>
@@ -52,10 +58,11 @@ public class ResolveFile {
 
     /**
      * <p>
-     * Input stream that will contain all the RESOLVE source code.
+     * Input stream that will contain all the RESOLVE source code. This is
+     * {@code null} once the stream has been released.
      * </p>
      */
-    private final CharStream myInputStream;
+    private CharStream myInputStream;
 
     /**
      * <p>
@@ -135,8 +142,6 @@ public class ResolveFile {
             return false;
         if (!myFilePath.equals(that.myFilePath))
             return false;
-        if (!myInputStream.equals(that.myInputStream))
-            return false;
         if (!myModuleFileType.equals(that.myModuleFileType))
             return false;
         if (myParentPath != null ? !myParentPath.equals(that.myParentPath)
@@ -159,13 +164,28 @@ public class ResolveFile {
 
     /**
      * <p>
-     * Obtains the input stream that contains the source code.
+     * Obtains the input stream that contains the source code. If the stream
+     * has been released, we read the source code again from
+     * {@link #getFilePath()} and return a new stream without keeping it.
      * </p>
      *
      * @return An input stream for ANTLR4.
+     *
+     * @throws MiscErrorException The released source code couldn't be read
+     *         again.
      */
-    public final CharStream getInputStream() {
-        return myInputStream;
+    public final synchronized CharStream getInputStream() {
+        if (myInputStream != null) {
+            return myInputStream;
+        }
+
+        try {
+            return CharStreams.fromPath(Paths.get(myFilePath));
+        }
+        catch (IOException ioe) {
+            throw new MiscErrorException(
+                    "Cannot re-read the source code for: " + toString(), ioe);
+        }
     }
 
     /**
@@ -236,7 +256,6 @@ public class ResolveFile {
     public final int hashCode() {
         int result = myFileBasicInfo.hashCode();
         result = 31 * result + myFilePath.hashCode();
-        result = 31 * result + myInputStream.hashCode();
         result = 31 * result + myModuleFileType.hashCode();
         result = 31 * result
                 + (myParentPath != null ? myParentPath.hashCode() : 0);
@@ -244,6 +263,31 @@ public class ResolveFile {
         return result;
     }
 
+    /**
+     * <p>
+     * This method drops our reference to the input stream, so the source code
+     * can be reclaimed once nobody else is using it. Files that don't exist in
+     * our workspace (such as the ones created by the WebIDE/WebAPI) are never
+     * released, since we can't read them again.
+     * </p>
+     *
+     * @return {@code true} if the input stream has been released,
+     *         {@code false} otherwise.
+     */
+    public final synchronized boolean releaseInputStream() {
+        try {
+            if (myInputStream != null
+                    && Files.isRegularFile(Paths.get(myFilePath))) {
+                myInputStream = null;
+            }
+        }
+        catch (InvalidPathException e) {
+            // Not a file we can read again.
+        }
+
+        return myInputStream == null;
+    }
+
     /**
      * <p>
      * Returns the name of the file in string format.
@@ -0,0 +1,48 @@
+/*
+ * ArchiveOutputListener.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.output;
+
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * <p>
+ * A listener that receives the executable jars created by the compiler.
+ * {@link OutputListener OutputListeners} that also implement this interface
+ * are handed the jar as it is being written.
+ * </p>
+ *
+ * @version 1.0
+ */
+public interface ArchiveOutputListener {
+
+    /**
+     * <p>
+     * This method returns the stream where the compiler should write the
+     * executable jar. The compiler closes the stream when it is done.
+     * </p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are creating a
+     *        jar for.
+     * @param outputFileName A name for the output file.
+     *
+     * @return An {@link OutputStream} for the jar.
+     *
+     * @throws IOException There was an error opening the stream.
+     */
+    OutputStream openJarOutputStream(String inputFileName,
+            String outputFileName)
+            throws IOException;
+
+}
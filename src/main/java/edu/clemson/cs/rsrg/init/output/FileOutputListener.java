@@ -14,14 +14,14 @@ package edu.clemson.cs.rsrg.init.output;
 
 import edu.clemson.cs.rsrg.astoutput.GenerateGraphvizModel;
 import edu.clemson.cs.rsrg.init.file.ResolveFile;
-import edu.clemson.cs.rsrg.parsing.data.LocationDetailModel;
+import edu.clemson.cs.rsrg.init.profiling.PhaseProfile;
+import edu.clemson.cs.rsrg.init.profiling.ProfileReportWriter;
 import edu.clemson.cs.rsrg.prover.output.Metrics;
 import edu.clemson.cs.rsrg.prover.output.PerVCProverModel;
 import edu.clemson.cs.rsrg.statushandling.StatusHandler;
 import edu.clemson.cs.rsrg.translation.targets.CTranslator;
 import edu.clemson.cs.rsrg.translation.targets.JavaTranslator;
 import edu.clemson.cs.rsrg.vcgeneration.VCGenerator;
-import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.AssertiveCodeBlock;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
 import java.io.*;
@@ -31,9 +31,6 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Date;
 import java.util.List;
-import org.stringtemplate.v4.ST;
-import org.stringtemplate.v4.STGroup;
-import org.stringtemplate.v4.STGroupFile;
 
 /**
  * <p>
@@ -45,7 +42,13 @@ import org.stringtemplate.v4.STGroupFile;
  * @author Yu-Shan Sun
  * @version 1.0
  */
-public class FileOutputListener implements OutputListener {
+public class FileOutputListener
+        implements
+            OutputListener,
+            StreamingOutputListener,
+            ArchiveOutputListener,
+            GraphvizOutputListener,
+            ProfileOutputListener {
 
     // ===========================================================
     // Member Fields
@@ -58,6 +61,34 @@ public class FileOutputListener implements OutputListener {
      */
     private final StatusHandler myStatusHandler;
 
+    /**
+     * <p>
+     * The format used when writing profile reports.
+     * </p>
+     */
+    private final ProfileReportWriter.Format myProfileFormat;
+
+    /**
+     * <p>
+     * The name of the file we are currently streaming {@code VCs} to.
+     * </p>
+     */
+    private String myStreamingVCOutputFileName;
+
+    /**
+     * <p>
+     * The writer for the file we are currently streaming {@code VCs} to.
+     * </p>
+     */
+    private VCOutputWriter myStreamingVCWriter;
+
+    /**
+     * <p>
+     * The layout used when writing {@code VCs}.
+     * </p>
+     */
+    private final VCOutputWriter.Format myVCFormat;
+
     // ===========================================================
     // Constructors
     // ===========================================================
@@ -70,7 +101,42 @@ public class FileOutputListener implements OutputListener {
      * @param handler The status handler for the RESOLVE compiler.
      */
     public FileOutputListener(StatusHandler handler) {
+        this(handler, VCOutputWriter.Format.DEFAULT);
+    }
+
+    /**
+     * <p>
+     * This constructs a output listener to different {@link File Files} that
+     * uses the specified layout when writing {@code VCs}.
+     * </p>
+     *
+     * @param handler The status handler for the RESOLVE compiler.
+     * @param vcFormat The layout used when writing {@code VCs}.
+     */
+    public FileOutputListener(StatusHandler handler,
+            VCOutputWriter.Format vcFormat) {
+        this(handler, vcFormat, ProfileReportWriter.Format.JSON);
+    }
+
+    /**
+     * <p>
+     * This constructs a output listener to different {@link File Files} that
+     * uses the specified layout when writing {@code VCs} and the specified
+     * format when writing profile reports.
+     * </p>
+     *
+     * @param handler The status handler for the RESOLVE compiler.
+     * @param vcFormat The layout used when writing {@code VCs}.
+     * @param profileFormat The format used when writing profile reports.
+     */
+    public FileOutputListener(StatusHandler handler,
+            VCOutputWriter.Format vcFormat,
+            ProfileReportWriter.Format profileFormat) {
         myStatusHandler = handler;
+        myProfileFormat = profileFormat;
+        myStreamingVCOutputFileName = null;
+        myStreamingVCWriter = null;
+        myVCFormat = vcFormat;
     }
 
     // ===========================================================
@@ -131,6 +197,66 @@ public class FileOutputListener implements OutputListener {
         writeToFile(outputFileName + ".java", javaTranslation);
     }
 
+    /**
+     * <p>
+     * This method returns a stream that writes the executable jar to a file.
+     * </p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are creating a
+     *        jar for.
+     * @param outputFileName A name for the output file.
+     *
+     * @return An {@link OutputStream} for the jar.
+     *
+     * @throws IOException There was an error opening the file.
+     */
+    @Override
+    public final OutputStream openJarOutputStream(String inputFileName,
+            String outputFileName)
+            throws IOException {
+        return new BufferedOutputStream(
+                Files.newOutputStream(Paths.get(outputFileName + ".jar")));
+    }
+
+    /**
+     * <p>
+     * This method returns a buffered writer that writes the {@code Graphviz}
+     * model to a file.
+     * </p>
+     *
+     * @param outputFileName A name for the output file.
+     *
+     * @return A {@link Writer} for the model.
+     *
+     * @throws IOException There was an error opening the file.
+     */
+    @Override
+    public final Writer openASTGraphvizModelWriter(String outputFileName)
+            throws IOException {
+        return Files.newBufferedWriter(
+                Paths.get(outputFileName + "_ModuleDec.gv"),
+                Charset.forName("UTF-8"));
+    }
+
+    /**
+     * <p>
+     * This method writes the measurements recorded while compiling a target
+     * file to a report file.
+     * </p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are compiling.
+     * @param outputFileName A name for the output file.
+     * @param profiles The measurements for each module and phase.
+     */
+    @Override
+    public final void profileResult(String inputFileName, String outputFileName,
+            List<PhaseProfile> profiles) {
+        writeToFile(
+                outputFileName + ".profile." + myProfileFormat.getExtension(),
+                ProfileReportWriter.format(outputFileName, profiles,
+                        myProfileFormat));
+    }
+
     /**
      * <p>
      * This method outputs the provided results from the {@code CCProver}.
@@ -165,64 +291,93 @@ public class FileOutputListener implements OutputListener {
     public final void vcGeneratorResult(String inputFileName,
             String outputFileName, List<AssertiveCodeBlock> blocks,
             String verboseOutput) {
-        StringBuilder sb = new StringBuilder();
-
-        // String template to hold the VC generation details
-        STGroup group = new STGroupFile("templates/VCGenOutput.stg");
-        ST model = group.getInstanceOf("outputVCGenFile")
-                .add("fileName", inputFileName)
-                .add("dateGenerated", new Date());
-
-        // Add the VC output in human readable format
-        for (AssertiveCodeBlock block : blocks) {
-            // Obtain the final list of vcs
-            List<VerificationCondition> vcs = block.getVCs();
-            for (VerificationCondition vc : vcs) {
-                // Create a model for adding all the details
-                // associated with this VC.
-                LocationDetailModel detailModel = vc.getLocationDetailModel();
-                ST vcModel = group.getInstanceOf("outputVC");
-                vcModel.add("vcNum", vc.getName());
-
-                // Add additional detail if this VC has impacting reduction
-                if (vc.getHasImpactingReductionFlag()) {
-                    vcModel.add("hasImpactingReduction", true);
-                }
-
-                // Warn the user if are missing the LocationDetailModel
-                if (detailModel != null) {
-                    vcModel.add("location", detailModel.getDestinationLoc());
-                    vcModel.add("locationDetail",
-                            detailModel.getDetailMessage());
-                }
-                else {
-                    myStatusHandler.warning(vc.getLocation(),
-                            "[FileOutputListener] VC " + vc.getName()
-                                    + " is missing information about how this VC got generated.");
+        VCOutputWriter writer =
+                openVCOutputWriter(inputFileName, outputFileName);
+        if (writer != null) {
+            try {
+                // Write each of the VCs in the order they were generated
+                for (AssertiveCodeBlock block : blocks) {
+                    for (VerificationCondition vc : block.getVCs()) {
+                        writeVC(writer, vc);
+                    }
                 }
 
-                // Output the associated sequent
-                Sequent sequent = vc.getSequent();
-                ST sequentModel = group.getInstanceOf("outputSequent");
-                sequentModel.add("consequents", sequent.getConcequents());
-                sequentModel.add("antecedents", sequent.getAntecedents());
-
-                // Add this sequent to our vc model
-                vcModel.add("sequent", sequentModel.render());
-
-                // Add the VC to the model
-                model.add("vcs", vcModel.render());
+                // Append VC details with any verbose output
+                writer.writeDetails(verboseOutput);
+            }
+            catch (IOException ioe) {
+                reportWriteError(outputFileName + ".asrt");
+            }
+            finally {
+                closeVCOutputWriter(writer, outputFileName + ".asrt");
             }
         }
+    }
 
-        // Append the generated VC details from the model
-        sb.append(model.render());
+    /**
+     * <p>
+     * This method is invoked before the {@link VCGenerator} starts generating
+     * {@code VCs} for a module.
+     * </p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are generating
+     *        VCs for.
+     * @param outputFileName A name for the output file.
+     */
+    @Override
+    public final void vcGeneratorStarted(String inputFileName,
+            String outputFileName) {
+        myStreamingVCOutputFileName = outputFileName + ".asrt";
+        myStreamingVCWriter = openVCOutputWriter(inputFileName, outputFileName);
+    }
 
-        // Append VC details with any verbose output
-        sb.append(verboseOutput);
+    /**
+     * <p>
+     * This method outputs a {@link VerificationCondition} as soon as the
+     * {@link VCGenerator} has finalized it.
+     * </p>
+     *
+     * @param vc A final {@link VerificationCondition}.
+     */
+    @Override
+    public final void vcGenerated(VerificationCondition vc) {
+        if (myStreamingVCWriter != null) {
+            try {
+                writeVC(myStreamingVCWriter, vc);
+            }
+            catch (IOException ioe) {
+                reportWriteError(myStreamingVCOutputFileName);
+                closeVCOutputWriter(myStreamingVCWriter,
+                        myStreamingVCOutputFileName);
+                myStreamingVCWriter = null;
+            }
+        }
+    }
 
-        // Output the results to file
-        writeToFile(outputFileName + ".asrt", sb.toString());
+    /**
+     * <p>
+     * This method is invoked after the {@link VCGenerator} is done generating
+     * {@code VCs} for a module.
+     * </p>
+     *
+     * @param verboseOutput The verbose output string generated by the
+     *        {@link VCGenerator}.
+     */
+    @Override
+    public final void vcGeneratorFinished(String verboseOutput) {
+        if (myStreamingVCWriter != null) {
+            try {
+                myStreamingVCWriter.writeDetails(verboseOutput);
+            }
+            catch (IOException ioe) {
+                reportWriteError(myStreamingVCOutputFileName);
+            }
+            finally {
+                closeVCOutputWriter(myStreamingVCWriter,
+                        myStreamingVCOutputFileName);
+                myStreamingVCWriter = null;
+            }
+        }
     }
 
     /**
@@ -245,6 +400,92 @@ public class FileOutputListener implements OutputListener {
     // Private Methods
     // ===========================================================
 
+    /**
+     * <p>
+     * Closes the {@link VCOutputWriter} and reports any errors.
+     * </p>
+     *
+     * @param writer A {@code VC} output writer.
+     * @param outputFileName Output filename.
+     */
+    private void closeVCOutputWriter(VCOutputWriter writer,
+            String outputFileName) {
+        try {
+            writer.close();
+        }
+        catch (IOException ioe) {
+            reportWriteError(outputFileName);
+        }
+    }
+
+    /**
+     * <p>
+     * Opens a {@link VCOutputWriter} for the specified filename and writes the
+     * file header.
+     * </p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are generating
+     *        VCs for.
+     * @param outputFileName A name for the output file.
+     *
+     * @return A {@code VC} output writer or {@code null} if we couldn't open
+     *         the output file.
+     */
+    private VCOutputWriter openVCOutputWriter(String inputFileName,
+            String outputFileName) {
+        String fileName = outputFileName + ".asrt";
+        VCOutputWriter writer = null;
+        try {
+            writer = new VCOutputWriter(Paths.get(fileName), myVCFormat);
+            writer.writeHeader(inputFileName, new Date());
+        }
+        catch (IOException ioe) {
+            reportWriteError(fileName);
+            if (writer != null) {
+                closeVCOutputWriter(writer, fileName);
+                writer = null;
+            }
+        }
+
+        return writer;
+    }
+
+    /**
+     * <p>
+     * Reports an error while writing to the specified filename.
+     * </p>
+     *
+     * @param outputFileName Output filename.
+     */
+    private void reportWriteError(String outputFileName) {
+        myStatusHandler.error(null,
+                "[FileOutputListener] Error while writing to file: "
+                        + outputFileName);
+    }
+
+    /**
+     * <p>
+     * Writes a {@link VerificationCondition} using the specified
+     * {@link VCOutputWriter}.
+     * </p>
+     *
+     * @param writer A {@code VC} output writer.
+     * @param vc A final {@link VerificationCondition}.
+     *
+     * @throws IOException There was an error writing to the output file.
+     */
+    private void writeVC(VCOutputWriter writer, VerificationCondition vc)
+            throws IOException {
+        // Warn the user if are missing the LocationDetailModel
+        if (vc.getLocationDetailModel() == null) {
+            myStatusHandler.warning(vc.getLocation(), "[FileOutputListener] VC "
+                    + vc.getName()
+                    + " is missing information about how this VC got generated.");
+        }
+
+        writer.writeVC(vc);
+    }
+
     /**
      * <p>
      * Writes the content to the specified filename.
@@ -264,9 +505,7 @@ public class FileOutputListener implements OutputListener {
             writer.close();
         }
         catch (IOException ioe) {
-            myStatusHandler.error(null,
-                    "[FileOutputListener] Error while writing to file: "
-                            + outputFileName);
+            reportWriteError(outputFileName);
         }
     }
 }
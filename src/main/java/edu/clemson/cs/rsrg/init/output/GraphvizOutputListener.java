@@ -0,0 +1,46 @@
+/*
+ * GraphvizOutputListener.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.output;
+
+import edu.clemson.cs.rsrg.astoutput.GenerateGraphvizModel;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>
+ * A listener that receives the {@code Graphviz} models generated by the
+ * {@link GenerateGraphvizModel} while they are being generated.
+ * {@link OutputListener OutputListeners} that also implement this interface
+ * are handed the model one node and edge at a time instead of as a single
+ * string.
+ * </p>
+ *
+ * @version 1.0
+ */
+public interface GraphvizOutputListener {
+
+    /**
+     * <p>
+     * This method returns the writer where the compiler should write the
+     * {@code Graphviz} model. The compiler closes the writer when it is done.
+     * </p>
+     *
+     * @param outputFileName A name for the output file.
+     *
+     * @return A {@link Writer} for the model.
+     *
+     * @throws IOException There was an error opening the writer.
+     */
+    Writer openASTGraphvizModelWriter(String outputFileName) throws IOException;
+
+}
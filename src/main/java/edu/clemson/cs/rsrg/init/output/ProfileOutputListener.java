@@ -0,0 +1,43 @@
+/*
+ * ProfileOutputListener.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.output;
+
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.profiling.PhaseProfile;
+import java.util.List;
+
+/**
+ * <p>
+ * A listener that receives the time and memory the compiler spent on each
+ * phase of each module. {@link OutputListener OutputListeners} that also
+ * implement this interface are notified when profiling is requested.
+ * </p>
+ *
+ * @version 1.0
+ */
+public interface ProfileOutputListener {
+
+    /**
+     * <p>
+     * This method outputs the measurements recorded while compiling a target
+     * file and all the modules it imports.
+     * </p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are compiling.
+     * @param outputFileName A name for the output file.
+     * @param profiles The measurements for each module and phase.
+     */
+    void profileResult(String inputFileName, String outputFileName,
+            List<PhaseProfile> profiles);
+
+}
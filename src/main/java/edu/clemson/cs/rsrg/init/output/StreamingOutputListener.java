@@ -0,0 +1,64 @@
+/*
+ * StreamingOutputListener.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.output;
+
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.vcgeneration.VCGenerator;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
+
+/**
+ * <p>
+ * A listener that receives compilation results from the compiler as soon as
+ * they are available instead of all at once. {@link OutputListener
+ * OutputListeners} that also implement this interface are notified
+ * incrementally when streaming output is requested.
+ * </p>
+ *
+ * @version 1.0
+ */
+public interface StreamingOutputListener {
+
+    /**
+     * <p>
+     * This method is invoked before the {@link VCGenerator} starts generating
+     * {@code VCs} for a module.
+     * </p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are generating
+     *        VCs for.
+     * @param outputFileName A name for the output file.
+     */
+    void vcGeneratorStarted(String inputFileName, String outputFileName);
+
+    /**
+     * <p>
+     * This method outputs a {@link VerificationCondition} as soon as the
+     * {@link VCGenerator} has finalized it.
+     * </p>
+     *
+     * @param vc A final {@link VerificationCondition}.
+     */
+    void vcGenerated(VerificationCondition vc);
+
+    /**
+     * <p>
+     * This method is invoked after the {@link VCGenerator} is done generating
+     * {@code VCs} for a module.
+     * </p>
+     *
+     * @param verboseOutput The verbose output string generated by the
+     *        {@link VCGenerator}.
+     */
+    void vcGeneratorFinished(String verboseOutput);
+
+}
@@ -0,0 +1,292 @@
+/*
+ * VCOutputWriter.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.output;
+
+import edu.clemson.cs.rsrg.misc.STGroupRegistry;
+import edu.clemson.cs.rsrg.parsing.data.LocationDetailModel;
+import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Date;
+import org.stringtemplate.v4.AutoIndentWriter;
+import org.stringtemplate.v4.ST;
+import org.stringtemplate.v4.STGroup;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * <p>
+ * This class writes {@link VerificationCondition VerificationConditions} to an
+ * {@code .asrt} file one at a time. Each {@code VC} is rendered straight into a
+ * buffered file channel, so the size of the output never has to be held in
+ * memory.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class VCOutputWriter implements Closeable {
+
+    // ===========================================================
+    // Format
+    // ===========================================================
+
+    /**
+     * <p>
+     * This defines the various different layouts for the {@code VC} output
+     * file.
+     * </p>
+     *
+     * @version 1.0
+     */
+    public enum Format {
+
+        /**
+         * <p>
+         * The original human readable layout.
+         * </p>
+         */
+        DEFAULT,
+
+        /**
+         * <p>
+         * A compact layout where each {@code VC} occupies two lines.
+         * </p>
+         */
+        COMPACT
+
+    }
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The layout used when writing {@code VCs}.
+     * </p>
+     */
+    private final Format myFormat;
+
+    /**
+     * <p>
+     * A flag that indicates whether or not we have already written the end of
+     * the {@code VC} section.
+     * </p>
+     */
+    private boolean myHasWrittenTrailer;
+
+    /**
+     * <p>
+     * The number of {@code VCs} we have written so far.
+     * </p>
+     */
+    private int myNumVCsWritten;
+
+    /**
+     * <p>
+     * The buffered writer to the output file's channel.
+     * </p>
+     */
+    private final Writer myWriter;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>
+     * The size of the buffer (in characters) placed in front of the file
+     * channel.
+     * </p>
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This creates a writer that writes {@code VCs} to the specified file
+     * using the specified layout.
+     * </p>
+     *
+     * @param outputFilePath Path to the output file.
+     * @param format The layout for the {@code VCs}.
+     *
+     * @throws IOException There was an error opening the output file.
+     */
+    public VCOutputWriter(Path outputFilePath, Format format)
+            throws IOException {
+        FileChannel channel = FileChannel.open(outputFilePath, CREATE,
+                TRUNCATE_EXISTING, WRITE);
+        myFormat = format;
+        myHasWrittenTrailer = false;
+        myNumVCsWritten = 0;
+        myWriter = new BufferedWriter(
+                Channels.newWriter(channel,
+                        Charset.forName("UTF-8").newEncoder(), -1),
+                BUFFER_SIZE);
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method writes the end of the {@code VC} section (if it hasn't been
+     * written already) and closes the underlying file channel.
+     * </p>
+     *
+     * @throws IOException There was an error writing to the output file.
+     */
+    @Override
+    public final void close() throws IOException {
+        try {
+            writeTrailer();
+        }
+        finally {
+            myWriter.close();
+        }
+    }
+
+    /**
+     * <p>
+     * This method returns the number of {@code VCs} written to the output
+     * file.
+     * </p>
+     *
+     * @return Number of {@code VCs} written.
+     */
+    public final int getNumVCsWritten() {
+        return myNumVCsWritten;
+    }
+
+    /**
+     * <p>
+     * This method writes any additional details (such as the {@code VC}
+     * generation verbose output) after the {@code VC} section.
+     * </p>
+     *
+     * @param details A string containing additional details.
+     *
+     * @throws IOException There was an error writing to the output file.
+     */
+    public final void writeDetails(String details) throws IOException {
+        writeTrailer();
+        myWriter.write(details);
+    }
+
+    /**
+     * <p>
+     * This method writes the header for the output file. This must be called
+     * before writing any {@code VCs}.
+     * </p>
+     *
+     * @param fileName Name of the file we are generating {@code VCs} for.
+     * @param dateGenerated The date the {@code VCs} were generated.
+     *
+     * @throws IOException There was an error writing to the output file.
+     */
+    public final void writeHeader(String fileName, Date dateGenerated)
+            throws IOException {
+        ST header = getSTGroup().getInstanceOf("outputVCGenFileHeader")
+                .add("fileName", fileName).add("dateGenerated", dateGenerated);
+        header.write(new AutoIndentWriter(myWriter));
+    }
+
+    /**
+     * <p>
+     * This method renders the specified {@link VerificationCondition} and
+     * writes it to the output file.
+     * </p>
+     *
+     * @param vc A final {@link VerificationCondition}.
+     *
+     * @throws IOException There was an error writing to the output file.
+     */
+    public final void writeVC(VerificationCondition vc) throws IOException {
+        STGroup group = getSTGroup();
+        LocationDetailModel detailModel = vc.getLocationDetailModel();
+        Sequent sequent = vc.getSequent();
+
+        ST vcModel;
+        if (myFormat == Format.COMPACT) {
+            vcModel = group.getInstanceOf("outputCompactVC");
+            vcModel.add("antecedents", sequent.getAntecedents());
+            vcModel.add("consequents", sequent.getConcequents());
+        }
+        else {
+            ST sequentModel = group.getInstanceOf("outputSequent");
+            sequentModel.add("consequents", sequent.getConcequents());
+            sequentModel.add("antecedents", sequent.getAntecedents());
+
+            vcModel = group.getInstanceOf("outputVC");
+            vcModel.add("sequent", sequentModel);
+        }
+        vcModel.add("vcNum", vc.getName());
+
+        // Add additional detail if this VC has impacting reduction
+        if (vc.getHasImpactingReductionFlag()) {
+            vcModel.add("hasImpactingReduction", true);
+        }
+
+        if (detailModel != null) {
+            vcModel.add("location", detailModel.getDestinationLoc());
+            vcModel.add("locationDetail", detailModel.getDetailMessage());
+        }
+
+        // VCs are separated by a new line
+        if (myNumVCsWritten > 0) {
+            myWriter.write("\n");
+        }
+        vcModel.write(new AutoIndentWriter(myWriter));
+        myNumVCsWritten++;
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method returns the shared string template group.
+     * </p>
+     *
+     * @return The {@code VCGenOutput} string template group.
+     */
+    private static STGroup getSTGroup() {
+        return STGroupRegistry.getGroup(STGroupRegistry.VC_OUTPUT);
+    }
+
+    /**
+     * <p>
+     * This method writes the end of the {@code VC} section exactly once.
+     * </p>
+     *
+     * @throws IOException There was an error writing to the output file.
+     */
+    private void writeTrailer() throws IOException {
+        if (!myHasWrittenTrailer) {
+            myWriter.write("\n");
+            myHasWrittenTrailer = true;
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * ArchiverPipeline.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.pipeline;
+
+import edu.clemson.cs.rsrg.archiving.JarArchiver;
+import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.init.ResolveCompiler;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.output.ArchiveOutputListener;
+import edu.clemson.cs.rsrg.init.output.OutputListener;
+import edu.clemson.cs.rsrg.misc.Utilities;
+import edu.clemson.cs.rsrg.statushandling.StatusHandler;
+import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTableBuilder;
+import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * This is pipeline that compiles the translated {@code Java} code in memory and
+ * packages it into an executable jar.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class ArchiverPipeline extends AbstractPipeline {
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This generates a pipeline to create an executable jar from a facility.
+     * </p>
+     *
+     * @param ce The current compilation environment.
+     * @param symbolTable The symbol table.
+     */
+    public ArchiverPipeline(CompileEnvironment ce,
+            MathSymbolTableBuilder symbolTable) {
+        super(ce, symbolTable);
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void process(ModuleIdentifier currentTarget) {
+        StatusHandler statusHandler = myCompileEnvironment.getStatusHandler();
+        ResolveFile targetFile = myCompileEnvironment.getFile(currentTarget);
+        String outputFileName = targetFile.getName();
+        if (myCompileEnvironment.flags.isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
+            statusHandler.info(null,
+                    "\n---------------Creating Jar---------------\n\n"
+                            + "Creating jar for: " + outputFileName);
+        }
+
+        // Collect all the source code we need to compile
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (Map.Entry<ModuleIdentifier, String> translation : myCompileEnvironment
+                .getJavaTranslations().entrySet()) {
+            ResolveFile file =
+                    myCompileEnvironment.getFile(translation.getKey());
+            sources.put(getBinaryName(file.getPkgList(), file.getName()),
+                    translation.getValue());
+        }
+
+        String workspacePath =
+                myCompileEnvironment.getWorkspaceDir().getAbsolutePath();
+        for (File externalFile : myCompileEnvironment.getExternalRealizFiles()
+                .values()) {
+            try {
+                String fileName = externalFile.getName();
+                sources.put(getBinaryName(
+                        Utilities.getPackageList(externalFile.getAbsolutePath(),
+                                workspacePath),
+                        fileName.substring(0, fileName.lastIndexOf('.'))),
+                        new String(Files.readAllBytes(externalFile.toPath()),
+                                Charset.forName("UTF-8")));
+            }
+            catch (IOException ioe) {
+                statusHandler.error(null,
+                        "Archiver error: Cannot read the external realization: "
+                                + externalFile);
+            }
+        }
+
+        // Compile everything and stream the class files into the jar
+        JarArchiver archiver = new JarArchiver(myCompileEnvironment);
+        Map<String, byte[]> classes = archiver.compile(sources);
+        if (classes != null) {
+            String entryClass =
+                    getBinaryName(targetFile.getPkgList(), outputFileName);
+            for (OutputListener listener : myCompileEnvironment
+                    .getOutputListeners()) {
+                if (listener instanceof ArchiveOutputListener) {
+                    try (OutputStream out = ((ArchiveOutputListener) listener)
+                            .openJarOutputStream(targetFile.toString(),
+                                    outputFileName)) {
+                        JarArchiver.writeJar(classes, entryClass, out);
+                    }
+                    catch (IOException ioe) {
+                        statusHandler.error(null,
+                                "Archiver error: " + ioe.getMessage());
+                    }
+                }
+            }
+        }
+        else {
+            statusHandler.error(null, "Jar archive unsuccessful");
+        }
+
+        if (myCompileEnvironment.flags.isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
+            statusHandler.info(null, "Done Creating Jar: " + outputFileName
+                    + "\n---------------End Creating Jar---------------\n");
+        }
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that forms the binary name of a class using the
+     * {@code RESOLVE} package structure.
+     * </p>
+     *
+     * @param pkgList The packages the class belongs to.
+     * @param className The class's simple name.
+     *
+     * @return The binary class name.
+     */
+    private String getBinaryName(List<String> pkgList, String className) {
+        StringBuilder sb = new StringBuilder();
+        if (pkgList != null) {
+            for (String pkg : pkgList) {
+                sb.append(pkg);
+                sb.append(".");
+            }
+        }
+        sb.append(className);
+
+        return sb.toString();
+    }
+
+}
@@ -16,19 +16,31 @@ import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
 import edu.clemson.cs.rsrg.init.CompileEnvironment;
 import edu.clemson.cs.rsrg.init.ResolveCompiler;
 import edu.clemson.cs.rsrg.astoutput.GenerateGraphvizModel;
+import edu.clemson.cs.rsrg.init.output.GraphvizOutputListener;
 import edu.clemson.cs.rsrg.init.output.OutputListener;
+import edu.clemson.cs.rsrg.misc.STGroupRegistry;
 import edu.clemson.cs.rsrg.statushandling.StatusHandler;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
 import edu.clemson.cs.rsrg.treewalk.TreeWalker;
 import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTableBuilder;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
 import org.stringtemplate.v4.STGroup;
-import org.stringtemplate.v4.STGroupFile;
 
 /**
  * <p>
  * This is pipeline that generates graphical representations of a module AST.
  * </p>
  *
+ * <p>
+ * Listeners that implement {@link GraphvizOutputListener} receive the nodes
+ * and edges as soon as we visit them, so we never hold the entire model in
+ * memory for them. Everyone else receives the rendered model.
+ * </p>
+ *
  * @author Yu-Shan Sun
  * @version 1.0
  */
@@ -63,21 +75,47 @@ public class GraphicalASTOutputPipeline extends AbstractPipeline {
     public final void process(ModuleIdentifier currentTarget) {
         ModuleDec dec = myCompileEnvironment.getModuleAST(currentTarget);
         StatusHandler statusHandler = myCompileEnvironment.getStatusHandler();
-        STGroup group = new STGroupFile("templates/ASTOutput.stg");
-
-        // Generate DOT File (GV extension)
-        // Add all the nodes and edges
+        STGroup group = STGroupRegistry.getGroup(STGroupRegistry.AST_OUTPUT);
         String moduleName = dec.getName().getName();
-        GenerateGraphvizModel twv = new GenerateGraphvizModel(group,
-                group.getInstanceOf("outputGraphvizGVFile").add("moduleName",
-                        moduleName));
-        TreeWalker.visit(twv, dec);
 
-        // Output the contents to listener objects
+        // Check to see if we only need part of the AST
+        int maxDepth = getMaxDepth();
+        String rootDecName = null;
+        if (myCompileEnvironment.flags
+                .isFlagSet(ResolveCompiler.FLAG_EXPORT_AST_DEC)) {
+            rootDecName = myCompileEnvironment.flags.getFlagArgument(
+                    ResolveCompiler.FLAG_EXPORT_AST_DEC, "decName");
+        }
+
+        // Write the nodes and edges to the listeners that can take them
+        // as we go.
+        List<OutputListener> modelListeners = new ArrayList<>();
         for (OutputListener listener : myCompileEnvironment
                 .getOutputListeners()) {
-            listener.astGraphvizModelResult(dec.getName().getName(),
-                    twv.getCompleteModel());
+            if (listener instanceof GraphvizOutputListener) {
+                writeModel((GraphvizOutputListener) listener, group, dec,
+                        maxDepth, rootDecName);
+            }
+            else {
+                modelListeners.add(listener);
+            }
+        }
+
+        // Generate DOT File (GV extension) for everyone else
+        // Add all the nodes and edges
+        if (!modelListeners.isEmpty()) {
+            GenerateGraphvizModel twv =
+                    new GenerateGraphvizModel(group,
+                            group.getInstanceOf("outputGraphvizGVFile")
+                                    .add("moduleName", moduleName),
+                            maxDepth, rootDecName);
+            TreeWalker.visit(twv, dec);
+
+            // Output the contents to listener objects
+            String model = twv.getCompleteModel();
+            for (OutputListener listener : modelListeners) {
+                listener.astGraphvizModelResult(moduleName, model);
+            }
         }
 
         if (myCompileEnvironment.flags.isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
@@ -93,4 +131,93 @@ public class GraphicalASTOutputPipeline extends AbstractPipeline {
         }
     }
 
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that returns the maximum depth of the nodes we need to
+     * export.
+     * </p>
+     *
+     * @return The maximum depth, or {@code -1} if there is no limit.
+     *
+     * @throws MiscErrorException The specified depth isn't a non-negative
+     *         integer.
+     */
+    private int getMaxDepth() {
+        int maxDepth = -1;
+        if (myCompileEnvironment.flags
+                .isFlagSet(ResolveCompiler.FLAG_EXPORT_AST_DEPTH)) {
+            String depth = myCompileEnvironment.flags.getFlagArgument(
+                    ResolveCompiler.FLAG_EXPORT_AST_DEPTH, "depth");
+            try {
+                maxDepth = Integer.parseInt(depth);
+            }
+            catch (NumberFormatException nfe) {
+                maxDepth = -1;
+            }
+
+            if (maxDepth < 0) {
+                throw new MiscErrorException(
+                        "Invalid AST export depth: " + depth,
+                        new IllegalArgumentException());
+            }
+        }
+
+        return maxDepth;
+    }
+
+    /**
+     * <p>
+     * An helper method that writes the {@code Graphviz} model to a listener
+     * one node and edge at a time.
+     * </p>
+     *
+     * @param listener A listener that can take the model as we go.
+     * @param group The string template file.
+     * @param dec The module we are exporting.
+     * @param maxDepth The maximum depth of the nodes we output, or {@code -1}
+     *        if there is no limit.
+     * @param rootDecName The name of the declaration we are exporting, or
+     *        {@code null} if we are exporting the entire module.
+     */
+    private void writeModel(GraphvizOutputListener listener, STGroup group,
+            ModuleDec dec, int maxDepth, String rootDecName) {
+        StatusHandler statusHandler = myCompileEnvironment.getStatusHandler();
+        String moduleName = dec.getName().getName();
+
+        PrintWriter writer;
+        try {
+            writer = new PrintWriter(
+                    listener.openASTGraphvizModelWriter(moduleName));
+        }
+        catch (IOException ioe) {
+            statusHandler.error(null, "Cannot export the AST for " + moduleName
+                    + ": " + ioe.getMessage());
+            return;
+        }
+
+        try {
+            writer.println(group.getInstanceOf("outputGraphvizGVFileHeader")
+                    .add("moduleName", moduleName).render());
+            writer.println();
+            TreeWalker.visit(new GenerateGraphvizModel(group, writer, maxDepth,
+                    rootDecName), dec);
+            writer.println(
+                    group.getInstanceOf("outputGraphvizGVFileFooter").render());
+        }
+        finally {
+            writer.close();
+        }
+
+        // PrintWriter doesn't throw exceptions, so we need to check
+        // if anything went wrong.
+        if (writer.checkError()) {
+            statusHandler.error(null,
+                    "Error while exporting the AST for: " + moduleName);
+        }
+    }
+
 }
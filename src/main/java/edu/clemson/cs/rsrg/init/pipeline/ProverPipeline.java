@@ -12,14 +12,28 @@
  */
 package edu.clemson.cs.rsrg.init.pipeline;
 
-import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
 import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.parsing.data.Location;
 import edu.clemson.cs.rsrg.prover.CongruenceClassProver;
 import edu.clemson.cs.rsrg.prover.utilities.ImmutableVC;
 import edu.clemson.cs.rsrg.statushandling.StatusHandler;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.typeandpopulate.entry.MathSymbolEntry;
+import edu.clemson.cs.rsrg.typeandpopulate.exception.SymbolNotOfKindTypeException;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTType;
 import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTableBuilder;
+import edu.clemson.cs.rsrg.typeandpopulate.symboltables.ModuleScope;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.Utilities;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.interchange.VCInterchangeReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>
@@ -28,6 +42,13 @@ import java.util.ArrayList;
  * the symbol table.
  * </p>
  *
+ * <p>
+ * The {@code VCs} are either the ones produced by the {@link VCGenPipeline}
+ * or the ones loaded from a {@code .vcs} file when the user asks us to load
+ * them. If the source file changed since the {@code VCs} were exported, we
+ * generate them again.
+ * </p>
+ *
  * @author Yu-Shan Sun
  * @version 1.0
  */
@@ -59,12 +80,141 @@ public class ProverPipeline extends AbstractPipeline {
      */
     @Override
     public final void process(ModuleIdentifier currentTarget) {
-        ModuleDec moduleDec = myCompileEnvironment.getModuleAST(currentTarget);
+        boolean loadVCs = myCompileEnvironment.flags
+                .isFlagSet(CongruenceClassProver.FLAG_LOAD_VCS);
+        if (loadVCs) {
+            List<VerificationCondition> loadedVCs = loadVCs(currentTarget);
+            if (loadedVCs != null) {
+                myCompileEnvironment.addGeneratedVCs(currentTarget, loadedVCs);
+            }
+            else {
+                VCGenPipeline vcGenPipeline =
+                        new VCGenPipeline(myCompileEnvironment, mySymbolTable);
+                vcGenPipeline.process(currentTarget);
+            }
+        }
+
+        List<VerificationCondition> vcs =
+                myCompileEnvironment.getGeneratedVCs(currentTarget);
+
+        ModuleScope moduleScope = mySymbolTable.getModuleScope(currentTarget);
+        // Only the loaded VCs are converted. The prover doesn't use the
+        // ones the VCGenPipeline generated yet.
+        List<ImmutableVC> immutableVCs = new ArrayList<>();
+        if (loadVCs) {
+            immutableVCs = convertVCs(vcs, moduleScope);
+        }
+
+        CongruenceClassProver prover = new CongruenceClassProver(immutableVCs,
+                moduleScope, myCompileEnvironment);
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that converts the {@code VCs} into the format the
+     * prover expects.
+     * </p>
+     *
+     * @param vcs A list of final {@link VerificationCondition
+     *        VerificationConditions}.
+     * @param moduleScope The module scope for the current target.
+     *
+     * @return A list of {@link ImmutableVC ImmutableVCs}.
+     */
+    private List<ImmutableVC> convertVCs(List<VerificationCondition> vcs,
+            ModuleScope moduleScope) {
+        List<ImmutableVC> immutableVCs = new ArrayList<>(vcs.size());
+        if (!vcs.isEmpty()) {
+            Location loc = vcs.get(0).getLocation();
+            MTType nType = getTypeValue(
+                    Utilities.searchMathSymbol(loc, "N", moduleScope), loc);
+            MTType zType = getTypeValue(
+                    Utilities.searchMathSymbol(loc, "Z", moduleScope), loc);
+
+            for (VerificationCondition vc : vcs) {
+                immutableVCs.add(new ImmutableVC(vc,
+                        myCompileEnvironment.getTypeGraph(), nType, zType));
+            }
+        }
+
+        return immutableVCs;
+    }
+
+    /**
+     * <p>
+     * An helper method that returns the type value of a math symbol.
+     * </p>
+     *
+     * @param entry A math symbol entry.
+     * @param loc The location that needs the type.
+     *
+     * @return The mathematical type value.
+     */
+    private MTType getTypeValue(MathSymbolEntry entry, Location loc) {
+        MTType type = null;
+        try {
+            type = entry.getTypeValue();
+        }
+        catch (SymbolNotOfKindTypeException e) {
+            Utilities.notAType(entry, loc);
+        }
+
+        return type;
+    }
+
+    /**
+     * <p>
+     * An helper method that loads the {@code VCs} from the file specified by
+     * the user. The file must contain the {@code VCs} for the current
+     * target.
+     * </p>
+     *
+     * @param currentTarget The module we are proving.
+     *
+     * @return A list of {@link VerificationCondition VerificationConditions}
+     *         or {@code null} if the file is out of date.
+     */
+    private List<VerificationCondition>
+            loadVCs(ModuleIdentifier currentTarget) {
         StatusHandler statusHandler = myCompileEnvironment.getStatusHandler();
-        CongruenceClassProver prover =
-                new CongruenceClassProver(new ArrayList<ImmutableVC>(),
+        String fileName = myCompileEnvironment.flags.getFlagArgument(
+                CongruenceClassProver.FLAG_LOAD_VCS, "fileName");
+
+        List<VerificationCondition> vcs;
+        try (BufferedReader reader = Files.newBufferedReader(
+                Paths.get(fileName), Charset.forName("UTF-8"));
+                VCInterchangeReader vcReader = new VCInterchangeReader(reader,
+                        myCompileEnvironment.getTypeGraph(),
                         mySymbolTable.getModuleScope(currentTarget),
-                        myCompileEnvironment);
+                        myCompileEnvironment.getFiles())) {
+            if (!currentTarget.toString().equals(vcReader.getModuleName())) {
+                throw new MiscErrorException("[ProverPipeline] " + fileName
+                        + " contains the VCs for " + vcReader.getModuleName()
+                        + ", not " + currentTarget + ".",
+                        new IllegalArgumentException());
+            }
+            vcs = vcReader.readVCs();
+
+            List<String> staleFiles = vcReader.getStaleFiles();
+            if (!staleFiles.isEmpty()) {
+                statusHandler.warning(null,
+                        "[ProverPipeline] " + fileName
+                                + " is out of date with respect to "
+                                + staleFiles + ". Generating the VCs again.");
+                vcs = null;
+            }
+        }
+        catch (IOException ioe) {
+            throw new MiscErrorException(
+                    "[ProverPipeline] Error while reading file: " + fileName,
+                    ioe);
+        }
+
+        return vcs;
     }
 
 }
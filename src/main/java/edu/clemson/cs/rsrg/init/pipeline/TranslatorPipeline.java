@@ -13,6 +13,7 @@
 package edu.clemson.cs.rsrg.init.pipeline;
 
 import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
+import edu.clemson.cs.rsrg.archiving.JarArchiver;
 import edu.clemson.cs.rsrg.init.CompileEnvironment;
 import edu.clemson.cs.rsrg.init.ResolveCompiler;
 import edu.clemson.cs.rsrg.init.output.OutputListener;
@@ -98,6 +99,13 @@ public class TranslatorPipeline extends AbstractPipeline {
             // Walk the AST and translate into the appropriate target source file
             TreeWalker.visit(translator, moduleDec);
 
+            // Keep the translated code around if we need to create a jar
+            if (isJavaTranslateFlagOn && myCompileEnvironment.flags
+                    .isFlagSet(JarArchiver.FLAG_CREATE_JAR)) {
+                myCompileEnvironment.addJavaTranslation(currentTarget,
+                        translator.getOutputCode());
+            }
+
             // Output the contents to listener objects
             for (OutputListener listener : myCompileEnvironment
                     .getOutputListeners()) {
@@ -16,11 +16,27 @@ import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
 import edu.clemson.cs.rsrg.init.CompileEnvironment;
 import edu.clemson.cs.rsrg.init.ResolveCompiler;
 import edu.clemson.cs.rsrg.init.output.OutputListener;
+import edu.clemson.cs.rsrg.init.output.StreamingOutputListener;
 import edu.clemson.cs.rsrg.statushandling.StatusHandler;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
 import edu.clemson.cs.rsrg.treewalk.TreeWalker;
 import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTableBuilder;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
 import edu.clemson.cs.rsrg.vcgeneration.VCGenerator;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.AssertiveCodeBlock;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.interchange.VCCache;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.interchange.VCInterchangeReader;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.interchange.VCInterchangeWriter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>
@@ -62,8 +78,32 @@ public class VCGenPipeline extends AbstractPipeline {
     public final void process(ModuleIdentifier currentTarget) {
         ModuleDec moduleDec = myCompileEnvironment.getModuleAST(currentTarget);
         StatusHandler statusHandler = myCompileEnvironment.getStatusHandler();
-        VCGenerator vcGenerator =
-                new VCGenerator(mySymbolTable, myCompileEnvironment);
+        String inputFileName =
+                myCompileEnvironment.getFile(currentTarget).toString();
+        String outputFileName = moduleDec.getName().getName();
+
+        // Listeners that can receive VCs as soon as they are generated
+        List<StreamingOutputListener> streamingListeners = new ArrayList<>();
+        if (myCompileEnvironment.flags
+                .isFlagSet(VCGenerator.FLAG_STREAM_VC_OUTPUT)) {
+            for (OutputListener listener : myCompileEnvironment
+                    .getOutputListeners()) {
+                if (listener instanceof StreamingOutputListener) {
+                    streamingListeners.add((StreamingOutputListener) listener);
+                }
+            }
+        }
+
+        // Load the VCs from the last run (if requested)
+        VCCache vcCache = null;
+        if (myCompileEnvironment.flags
+                .isFlagSet(VCGenerator.FLAG_INCREMENTAL_VCS)) {
+            vcCache = new VCCache(currentTarget, myCompileEnvironment);
+            loadVCCache(currentTarget, outputFileName, vcCache);
+        }
+
+        VCGenerator vcGenerator = new VCGenerator(mySymbolTable,
+                myCompileEnvironment, streamingListeners, vcCache);
         if (myCompileEnvironment.flags.isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
             StringBuffer sb = new StringBuffer();
             sb.append("\n---------------Generating VCs---------------\n\n");
@@ -74,16 +114,53 @@ public class VCGenPipeline extends AbstractPipeline {
         }
 
         // Walk the AST and generate VCs
-        TreeWalker.visit(vcGenerator, moduleDec);
+        for (StreamingOutputListener listener : streamingListeners) {
+            listener.vcGeneratorStarted(inputFileName, outputFileName);
+        }
+
+        String verboseOutput = "";
+        try {
+            TreeWalker.visit(vcGenerator, moduleDec);
+            verboseOutput = vcGenerator.getVerboseModeOutput();
+        }
+        finally {
+            for (StreamingOutputListener listener : streamingListeners) {
+                listener.vcGeneratorFinished(verboseOutput);
+            }
+        }
+
+        // Store the final VCs for the prover
+        List<VerificationCondition> vcs = new ArrayList<>();
+        for (AssertiveCodeBlock block : vcGenerator
+                .getFinalAssertiveCodeBlocks()) {
+            vcs.addAll(block.getVCs());
+        }
+        myCompileEnvironment.addGeneratedVCs(currentTarget, vcs);
+
+        // Save the VCs for the next run (if requested)
+        if (vcCache != null) {
+            saveVCCache(outputFileName, vcCache);
 
-        // Output the contents to listener objects
+            if (myCompileEnvironment.flags
+                    .isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
+                statusHandler.info(null, "Reused " + vcCache.getNumReusedVCs()
+                        + " of " + vcs.size() + " VCs from the last run.");
+            }
+        }
+
+        // Export the VCs (if requested)
+        if (myCompileEnvironment.flags.isFlagSet(VCGenerator.FLAG_EXPORT_VCS)) {
+            exportVCs(outputFileName, vcs);
+        }
+
+        // Output the contents to the rest of the listener objects
         for (OutputListener listener : myCompileEnvironment
                 .getOutputListeners()) {
-            listener.vcGeneratorResult(
-                    myCompileEnvironment.getFile(currentTarget).toString(),
-                    moduleDec.getName().getName(),
-                    vcGenerator.getFinalAssertiveCodeBlocks(),
-                    vcGenerator.getVerboseModeOutput());
+            if (!streamingListeners.contains(listener)) {
+                listener.vcGeneratorResult(inputFileName, outputFileName,
+                        vcGenerator.getFinalAssertiveCodeBlocks(),
+                        verboseOutput);
+            }
         }
 
         if (myCompileEnvironment.flags.isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
@@ -94,4 +171,86 @@ public class VCGenPipeline extends AbstractPipeline {
         }
     }
 
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that exports the {@code VCs} using the
+     * {@link VCInterchangeWriter}.
+     * </p>
+     *
+     * @param moduleName Name of the module the {@code VCs} belong to.
+     * @param vcs A list of final {@link VerificationCondition
+     *        VerificationConditions}.
+     */
+    private void exportVCs(String moduleName, List<VerificationCondition> vcs) {
+        String fileName = moduleName + "." + VCInterchangeWriter.FILE_EXTENSION;
+        try (Writer writer = Files.newBufferedWriter(Paths.get(fileName),
+                Charset.forName("UTF-8"));
+                VCInterchangeWriter vcWriter =
+                        new VCInterchangeWriter(writer, moduleName)) {
+            for (VerificationCondition vc : vcs) {
+                vcWriter.writeVC(vc);
+            }
+        }
+        catch (IOException ioe) {
+            myCompileEnvironment.getStatusHandler().error(null,
+                    "[VCGenPipeline] Error while writing to file: " + fileName);
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that loads the {@code VCs} saved by the last run into
+     * the {@link VCCache}. If there aren't any, we simply generate all the
+     * {@code VCs}.
+     * </p>
+     *
+     * @param currentTarget The module we are generating {@code VCs} for.
+     * @param moduleName Name of the module the {@code VCs} belong to.
+     * @param vcCache The cache for the module's {@code VCs}.
+     */
+    private void loadVCCache(ModuleIdentifier currentTarget, String moduleName,
+            VCCache vcCache) {
+        Path path = Paths.get(moduleName + "." + VCCache.FILE_EXTENSION);
+        if (Files.exists(path)) {
+            try (BufferedReader reader =
+                    Files.newBufferedReader(path, Charset.forName("UTF-8"));
+                    VCInterchangeReader vcReader = new VCInterchangeReader(
+                            reader, myCompileEnvironment.getTypeGraph(),
+                            mySymbolTable.getModuleScope(currentTarget),
+                            myCompileEnvironment.getFiles())) {
+                vcCache.load(vcReader);
+            }
+            catch (IOException | MiscErrorException e) {
+                myCompileEnvironment.getStatusHandler().warning(null,
+                        "[VCGenPipeline] Error while reading file: " + path
+                                + ". Generating all the VCs again.");
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that saves the {@code VCs} in the {@link VCCache} for
+     * the next run.
+     * </p>
+     *
+     * @param moduleName Name of the module the {@code VCs} belong to.
+     * @param vcCache The cache for the module's {@code VCs}.
+     */
+    private void saveVCCache(String moduleName, VCCache vcCache) {
+        String fileName = moduleName + "." + VCCache.FILE_EXTENSION;
+        try (Writer writer = Files.newBufferedWriter(Paths.get(fileName),
+                Charset.forName("UTF-8"))) {
+            vcCache.save(writer);
+        }
+        catch (IOException ioe) {
+            myCompileEnvironment.getStatusHandler().error(null,
+                    "[VCGenPipeline] Error while writing to file: " + fileName);
+        }
+    }
+
 }
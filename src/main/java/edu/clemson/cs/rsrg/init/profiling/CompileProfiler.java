@@ -0,0 +1,460 @@
+/*
+ * CompileProfiler.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+/**
+ * <p>
+ * This class records the wall clock time, {@code CPU} time and allocated
+ * bytes the compiler spends on each phase of compiling each module.
+ * </p>
+ *
+ * <p>
+ * Measurements are started and stopped on the thread doing the work, so
+ * measurements nest: a measurement started while another one is active on the
+ * same thread is subtracted from the outer one. The measurements for the same
+ * module and phase are combined.
+ * </p>
+ *
+ * <p>
+ * <em>Note:</em> A disabled profiler ignores every request, so callers don't
+ * need to check whether or not profiling was requested.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class CompileProfiler {
+
+    // ===========================================================
+    // Phase
+    // ===========================================================
+
+    /**
+     * <p>
+     * This defines the compilation phases we measure.
+     * </p>
+     *
+     * @version 1.0
+     */
+    public enum Phase {
+
+        /**
+         * <p>
+         * Finding the modules imported by a module.
+         * </p>
+         */
+        IMPORT_DISCOVERY,
+
+        /**
+         * <p>
+         * Searching the workspace for a file.
+         * </p>
+         */
+        FILE_LOOKUP,
+
+        /**
+         * <p>
+         * Building the {@code AST} for a file.
+         * </p>
+         */
+        PARSING,
+
+        /**
+         * <p>
+         * Printing the {@code AST}.
+         * </p>
+         */
+        RAW_AST_OUTPUT,
+
+        /**
+         * <p>
+         * Generating the {@code Graphviz} model of the {@code AST}.
+         * </p>
+         */
+        GRAPHICAL_AST_OUTPUT,
+
+        /**
+         * <p>
+         * Populating the symbol table and type checking.
+         * </p>
+         */
+        ANALYSIS,
+
+        /**
+         * <p>
+         * Translating to the target language.
+         * </p>
+         */
+        TRANSLATION,
+
+        /**
+         * <p>
+         * Creating an executable jar.
+         * </p>
+         */
+        ARCHIVING,
+
+        /**
+         * <p>
+         * Generating {@code VCs}.
+         * </p>
+         */
+        VC_GENERATION,
+
+        /**
+         * <p>
+         * Proving {@code VCs}.
+         * </p>
+         */
+        PROVING
+
+    }
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The measurements that are in progress on each thread.
+     * </p>
+     */
+    private final ThreadLocal<Deque<Measurement>> myActiveMeasurements;
+
+    /**
+     * <p>
+     * A flag that indicates whether or not the {@code JVM} can measure the
+     * bytes allocated by a thread.
+     * </p>
+     */
+    private final boolean myAllocationSupportedFlag;
+
+    /**
+     * <p>
+     * A flag that indicates whether or not the {@code CPU} time of a thread
+     * can be measured.
+     * </p>
+     */
+    private final boolean myCPUTimeSupportedFlag;
+
+    /**
+     * <p>
+     * A flag that indicates whether or not we are recording anything.
+     * </p>
+     */
+    private final boolean myEnabledFlag;
+
+    /**
+     * <p>
+     * The combined measurements, in the order each module and phase was
+     * first measured.
+     * </p>
+     */
+    private final Map<String, PhaseProfile> myProfiles;
+
+    /**
+     * <p>
+     * The {@code JVM}'s thread system.
+     * </p>
+     */
+    private final ThreadMXBean myThreadMXBean;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This creates a new profiler.
+     * </p>
+     *
+     * @param enabled {@code true} if we should record anything,
+     *        {@code false} otherwise.
+     */
+    public CompileProfiler(boolean enabled) {
+        myEnabledFlag = enabled;
+        myProfiles = new LinkedHashMap<>();
+        myActiveMeasurements = new ThreadLocal<Deque<Measurement>>() {
+
+            @Override
+            protected Deque<Measurement> initialValue() {
+                return new ArrayDeque<>();
+            }
+        };
+
+        if (enabled) {
+            myThreadMXBean = ManagementFactory.getThreadMXBean();
+            myCPUTimeSupportedFlag =
+                    myThreadMXBean.isCurrentThreadCpuTimeSupported();
+            if (myCPUTimeSupportedFlag
+                    && !myThreadMXBean.isThreadCpuTimeEnabled()) {
+                myThreadMXBean.setThreadCpuTimeEnabled(true);
+            }
+
+            // Only HotSpot based JVMs can tell us how much a thread
+            // allocated.
+            boolean allocationSupported = false;
+            if (myThreadMXBean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean =
+                        (com.sun.management.ThreadMXBean) myThreadMXBean;
+                allocationSupported =
+                        sunBean.isThreadAllocatedMemorySupported();
+                if (allocationSupported
+                        && !sunBean.isThreadAllocatedMemoryEnabled()) {
+                    sunBean.setThreadAllocatedMemoryEnabled(true);
+                }
+            }
+            myAllocationSupportedFlag = allocationSupported;
+        }
+        else {
+            myThreadMXBean = null;
+            myCPUTimeSupportedFlag = false;
+            myAllocationSupportedFlag = false;
+        }
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method returns the combined measurements recorded so far.
+     * </p>
+     *
+     * @return A list of {@link PhaseProfile PhaseProfiles}, in the order each
+     *         module and phase was first measured.
+     */
+    public final synchronized List<PhaseProfile> getProfiles() {
+        return new ArrayList<>(myProfiles.values());
+    }
+
+    /**
+     * <p>
+     * This method indicates whether or not this profiler records anything.
+     * </p>
+     *
+     * @return {@code true} if it is enabled, {@code false} otherwise.
+     */
+    public final boolean isEnabled() {
+        return myEnabledFlag;
+    }
+
+    /**
+     * <p>
+     * This method starts measuring a phase on the current thread. Every call
+     * must be matched by a call to {@link #stop()} on the same thread,
+     * usually in a {@code finally} block.
+     * </p>
+     *
+     * @param moduleName The name of the module.
+     * @param phase The compilation phase.
+     */
+    public final void start(String moduleName, Phase phase) {
+        if (myEnabledFlag) {
+            myActiveMeasurements.get().push(new Measurement(moduleName, phase,
+                    System.nanoTime(), getCPUTime(), getAllocatedBytes()));
+        }
+    }
+
+    /**
+     * <p>
+     * This method stops the innermost measurement on the current thread and
+     * records it.
+     * </p>
+     */
+    public final void stop() {
+        if (myEnabledFlag) {
+            Deque<Measurement> activeMeasurements = myActiveMeasurements.get();
+            Measurement m = activeMeasurements.pop();
+
+            long wallTime = System.nanoTime() - m.myStartWallTime;
+            long cpuTime = -1;
+            if (m.myStartCPUTime >= 0) {
+                cpuTime = getCPUTime() - m.myStartCPUTime;
+            }
+            long allocatedBytes = -1;
+            if (m.myStartAllocatedBytes >= 0) {
+                allocatedBytes = getAllocatedBytes() - m.myStartAllocatedBytes;
+            }
+
+            // Whatever we spent here isn't part of the outer measurement
+            Measurement outer = activeMeasurements.peek();
+            if (outer != null) {
+                outer.myNestedWallTime += wallTime;
+                outer.myNestedCPUTime += cpuTime;
+                outer.myNestedAllocatedBytes += allocatedBytes;
+            }
+
+            record(new PhaseProfile(m.myModuleName, m.myPhase, 1,
+                    wallTime - m.myNestedWallTime,
+                    cpuTime < 0 ? -1 : cpuTime - m.myNestedCPUTime,
+                    allocatedBytes < 0 ? -1
+                            : allocatedBytes - m.myNestedAllocatedBytes));
+        }
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that returns the number of bytes the current thread
+     * has allocated so far.
+     * </p>
+     *
+     * @return The number of bytes, or {@code -1} if it can't be measured.
+     */
+    private long getAllocatedBytes() {
+        if (!myAllocationSupportedFlag) {
+            return -1;
+        }
+
+        return ((com.sun.management.ThreadMXBean) myThreadMXBean)
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * <p>
+     * An helper method that returns the {@code CPU} time used by the current
+     * thread so far.
+     * </p>
+     *
+     * @return The time in nanoseconds, or {@code -1} if it can't be measured.
+     */
+    private long getCPUTime() {
+        if (!myCPUTimeSupportedFlag) {
+            return -1;
+        }
+
+        return myThreadMXBean.getCurrentThreadCpuTime();
+    }
+
+    /**
+     * <p>
+     * An helper method that combines a new measurement with the ones we
+     * already have for the same module and phase.
+     * </p>
+     *
+     * @param profile A new measurement.
+     */
+    private synchronized void record(PhaseProfile profile) {
+        String key = profile.getModuleName() + "\u0000" + profile.getPhase();
+        PhaseProfile existing = myProfiles.get(key);
+        if (existing == null) {
+            myProfiles.put(key, profile);
+        }
+        else {
+            myProfiles.put(key, existing.combine(profile));
+        }
+    }
+
+    // ===========================================================
+    // Helper Classes
+    // ===========================================================
+
+    /**
+     * <p>
+     * A measurement that is in progress.
+     * </p>
+     */
+    private static class Measurement {
+
+        /**
+         * <p>
+         * The name of the module.
+         * </p>
+         */
+        private final String myModuleName;
+
+        /**
+         * <p>
+         * The compilation phase.
+         * </p>
+         */
+        private final Phase myPhase;
+
+        /**
+         * <p>
+         * The bytes allocated by the thread when we started, or {@code -1}.
+         * </p>
+         */
+        private final long myStartAllocatedBytes;
+
+        /**
+         * <p>
+         * The {@code CPU} time of the thread when we started, or {@code -1}.
+         * </p>
+         */
+        private final long myStartCPUTime;
+
+        /**
+         * <p>
+         * The wall clock time when we started.
+         * </p>
+         */
+        private final long myStartWallTime;
+
+        /**
+         * <p>
+         * The bytes allocated by the nested measurements.
+         * </p>
+         */
+        private long myNestedAllocatedBytes;
+
+        /**
+         * <p>
+         * The {@code CPU} time used by the nested measurements.
+         * </p>
+         */
+        private long myNestedCPUTime;
+
+        /**
+         * <p>
+         * The wall clock time used by the nested measurements.
+         * </p>
+         */
+        private long myNestedWallTime;
+
+        /**
+         * <p>
+         * This creates a new measurement.
+         * </p>
+         *
+         * @param moduleName The name of the module.
+         * @param phase The compilation phase.
+         * @param startWallTime The wall clock time.
+         * @param startCPUTime The {@code CPU} time of the thread, or
+         *        {@code -1}.
+         * @param startAllocatedBytes The bytes allocated by the thread, or
+         *        {@code -1}.
+         */
+        Measurement(String moduleName, Phase phase, long startWallTime,
+                long startCPUTime, long startAllocatedBytes) {
+            myModuleName = moduleName;
+            myPhase = phase;
+            myStartWallTime = startWallTime;
+            myStartCPUTime = startCPUTime;
+            myStartAllocatedBytes = startAllocatedBytes;
+            myNestedWallTime = 0;
+            myNestedCPUTime = 0;
+            myNestedAllocatedBytes = 0;
+        }
+
+    }
+
+}
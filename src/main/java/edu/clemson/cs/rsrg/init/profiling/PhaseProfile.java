@@ -0,0 +1,221 @@
+/*
+ * PhaseProfile.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.profiling;
+
+/**
+ * <p>
+ * This class stores the resources the compiler spent on one phase of
+ * compiling a module.
+ * </p>
+ *
+ * <p>
+ * The times and the allocated bytes are <em>exclusive</em>: whatever was
+ * spent in a nested measurement (looking up and parsing an imported file while
+ * discovering imports, for example) is only counted by the nested
+ * measurement.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class PhaseProfile {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The number of bytes allocated by the thread(s) doing the work, or
+     * {@code -1} if the {@code JVM} can't measure it.
+     * </p>
+     */
+    private final long myAllocatedBytes;
+
+    /**
+     * <p>
+     * The {@code CPU} time in nanoseconds, or {@code -1} if the {@code JVM}
+     * can't measure it.
+     * </p>
+     */
+    private final long myCPUTime;
+
+    /**
+     * <p>
+     * The name of the module.
+     * </p>
+     */
+    private final String myModuleName;
+
+    /**
+     * <p>
+     * The number of times we entered this phase for this module.
+     * </p>
+     */
+    private final int myNumInvocations;
+
+    /**
+     * <p>
+     * The compilation phase.
+     * </p>
+     */
+    private final CompileProfiler.Phase myPhase;
+
+    /**
+     * <p>
+     * The wall clock time in nanoseconds.
+     * </p>
+     */
+    private final long myWallTime;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This creates a new profile.
+     * </p>
+     *
+     * @param moduleName The name of the module.
+     * @param phase The compilation phase.
+     * @param numInvocations The number of times we entered this phase.
+     * @param wallTime The wall clock time in nanoseconds.
+     * @param cpuTime The {@code CPU} time in nanoseconds, or {@code -1}.
+     * @param allocatedBytes The number of bytes allocated, or {@code -1}.
+     */
+    public PhaseProfile(String moduleName, CompileProfiler.Phase phase,
+            int numInvocations, long wallTime, long cpuTime,
+            long allocatedBytes) {
+        myModuleName = moduleName;
+        myPhase = phase;
+        myNumInvocations = numInvocations;
+        myWallTime = wallTime;
+        myCPUTime = cpuTime;
+        myAllocatedBytes = allocatedBytes;
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method returns a new profile that combines this profile with
+     * another one for the same module and phase.
+     * </p>
+     *
+     * @param other Another profile.
+     *
+     * @return The combined {@link PhaseProfile}.
+     */
+    public final PhaseProfile combine(PhaseProfile other) {
+        return new PhaseProfile(myModuleName, myPhase,
+                myNumInvocations + other.myNumInvocations,
+                myWallTime + other.myWallTime,
+                combineMeasurement(myCPUTime, other.myCPUTime),
+                combineMeasurement(myAllocatedBytes, other.myAllocatedBytes));
+    }
+
+    /**
+     * <p>
+     * This method returns the number of bytes allocated.
+     * </p>
+     *
+     * @return The number of bytes, or {@code -1} if the {@code JVM} can't
+     *         measure it.
+     */
+    public final long getAllocatedBytes() {
+        return myAllocatedBytes;
+    }
+
+    /**
+     * <p>
+     * This method returns the {@code CPU} time.
+     * </p>
+     *
+     * @return The time in nanoseconds, or {@code -1} if the {@code JVM} can't
+     *         measure it.
+     */
+    public final long getCPUTime() {
+        return myCPUTime;
+    }
+
+    /**
+     * <p>
+     * This method returns the name of the module.
+     * </p>
+     *
+     * @return The module name.
+     */
+    public final String getModuleName() {
+        return myModuleName;
+    }
+
+    /**
+     * <p>
+     * This method returns the number of times we entered this phase for this
+     * module.
+     * </p>
+     *
+     * @return The number of invocations.
+     */
+    public final int getNumInvocations() {
+        return myNumInvocations;
+    }
+
+    /**
+     * <p>
+     * This method returns the compilation phase.
+     * </p>
+     *
+     * @return A {@link CompileProfiler.Phase}.
+     */
+    public final CompileProfiler.Phase getPhase() {
+        return myPhase;
+    }
+
+    /**
+     * <p>
+     * This method returns the wall clock time.
+     * </p>
+     *
+     * @return The time in nanoseconds.
+     */
+    public final long getWallTime() {
+        return myWallTime;
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that adds two measurements that might not be
+     * available.
+     * </p>
+     *
+     * @param m1 A measurement or {@code -1}.
+     * @param m2 A measurement or {@code -1}.
+     *
+     * @return The sum, or {@code -1} if either one isn't available.
+     */
+    private static long combineMeasurement(long m1, long m2) {
+        if (m1 < 0 || m2 < 0) {
+            return -1;
+        }
+
+        return m1 + m2;
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * ProfileReportWriter.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.profiling;
+
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * <p>
+ * This class formats the {@link PhaseProfile PhaseProfiles} recorded by a
+ * {@link CompileProfiler}. Times are reported in nanoseconds. Measurements the
+ * {@code JVM} can't make are reported as {@code -1}.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class ProfileReportWriter {
+
+    // ===========================================================
+    // Format
+    // ===========================================================
+
+    /**
+     * <p>
+     * This defines the various different formats for the profile report.
+     * </p>
+     *
+     * @version 1.0
+     */
+    public enum Format {
+
+        /**
+         * <p>
+         * A {@code JSON} object with the name of the target module and an
+         * array containing one object for each module and phase.
+         * </p>
+         */
+        JSON("json"),
+
+        /**
+         * <p>
+         * A header line followed by one line for each module and phase.
+         * </p>
+         */
+        CSV("csv");
+
+        /**
+         * <p>
+         * The file extension for this format.
+         * </p>
+         */
+        private final String myExtension;
+
+        /**
+         * <p>
+         * This creates a format with the given file extension.
+         * </p>
+         *
+         * @param extension The file extension.
+         */
+        Format(String extension) {
+            myExtension = extension;
+        }
+
+        /**
+         * <p>
+         * This method returns the file extension for this format.
+         * </p>
+         *
+         * @return The file extension.
+         */
+        public final String getExtension() {
+            return myExtension;
+        }
+
+    }
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This class only contains static methods.
+     * </p>
+     */
+    private ProfileReportWriter() {}
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method formats a profile report.
+     * </p>
+     *
+     * @param targetModuleName The name of the module we were asked to
+     *        compile.
+     * @param profiles The recorded measurements.
+     * @param format The report format.
+     *
+     * @return The report.
+     */
+    public static String format(String targetModuleName,
+            List<PhaseProfile> profiles, Format format) {
+        String report;
+        if (format == Format.JSON) {
+            report = formatJSON(targetModuleName, profiles);
+        }
+        else {
+            report = formatCSV(profiles);
+        }
+
+        return report;
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that formats the report as {@code CSV}. Module names
+     * can't contain commas or quotes, so nothing needs to be escaped.
+     * </p>
+     *
+     * @param profiles The recorded measurements.
+     *
+     * @return The report.
+     */
+    private static String formatCSV(List<PhaseProfile> profiles) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("module,phase,invocations,wallTimeNanos,cpuTimeNanos,"
+                + "allocatedBytes\n");
+        for (PhaseProfile profile : profiles) {
+            sb.append(profile.getModuleName());
+            sb.append(",");
+            sb.append(profile.getPhase().name());
+            sb.append(",");
+            sb.append(profile.getNumInvocations());
+            sb.append(",");
+            sb.append(profile.getWallTime());
+            sb.append(",");
+            sb.append(profile.getCPUTime());
+            sb.append(",");
+            sb.append(profile.getAllocatedBytes());
+            sb.append("\n");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>
+     * An helper method that formats the report as {@code JSON}.
+     * </p>
+     *
+     * @param targetModuleName The name of the module we were asked to
+     *        compile.
+     * @param profiles The recorded measurements.
+     *
+     * @return The report.
+     */
+    private static String formatJSON(String targetModuleName,
+            List<PhaseProfile> profiles) {
+        JSONArray phases = new JSONArray();
+        for (PhaseProfile profile : profiles) {
+            JSONObject phase = new JSONObject();
+            phase.put("module", profile.getModuleName());
+            phase.put("phase", profile.getPhase().name());
+            phase.put("invocations", profile.getNumInvocations());
+            phase.put("wallTimeNanos", profile.getWallTime());
+            phase.put("cpuTimeNanos", profile.getCPUTime());
+            phase.put("allocatedBytes", profile.getAllocatedBytes());
+            phases.put(phase);
+        }
+
+        JSONObject report = new JSONObject();
+        report.put("target", targetModuleName);
+        report.put("phases", phases);
+
+        return report.toString(2) + "\n";
+    }
+
+}
@@ -0,0 +1,283 @@
+/*
+ * STGroupRegistry.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.misc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.stringtemplate.v4.STGroup;
+import org.stringtemplate.v4.STGroupFile;
+
+/**
+ * <p>
+ * A process-wide registry of string template groups. Each group file is
+ * loaded and compiled the first time it is requested and the same
+ * {@link STGroup} is handed out to every module and pipeline after that.
+ * </p>
+ *
+ * <p>
+ * A group is completely loaded before anyone gets a hold of it, so afterwards
+ * it is only used to look up compiled templates. The template instances
+ * created from it are not shared, which makes it safe to render from different
+ * threads.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class STGroupRegistry {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The template group file used to output the {@code AST} as a
+     * {@code Graphviz} model.
+     * </p>
+     */
+    public static final String AST_OUTPUT = "templates/ASTOutput.stg";
+
+    /**
+     * <p>
+     * The template group file used to translate to {@code C}.
+     * </p>
+     */
+    public static final String C_TRANSLATION = "templates/C.stg";
+
+    /**
+     * <p>
+     * The template group file used to translate to {@code Java}.
+     * </p>
+     */
+    public static final String JAVA_TRANSLATION = "templates/Java.stg";
+
+    /**
+     * <p>
+     * The template group file used to output the final {@code VCs}.
+     * </p>
+     */
+    public static final String VC_OUTPUT = "templates/VCGenOutput.stg";
+
+    /**
+     * <p>
+     * The template group file used to output the {@code VC} generation
+     * details.
+     * </p>
+     */
+    public static final String VC_VERBOSE_OUTPUT =
+            "templates/VCGenVerboseOutput.stg";
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>
+     * A map from template group file names to the loaded groups.
+     * </p>
+     */
+    private static final ConcurrentMap<String, LoadedGroup> ourGroups =
+            new ConcurrentHashMap<>();
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This class only contains static methods.
+     * </p>
+     */
+    private STGroupRegistry() {}
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method returns the string template group stored in
+     * {@code fileName}, loading and compiling it the first time it is
+     * requested. If another thread is currently loading it, we wait for it to
+     * finish.
+     * </p>
+     *
+     * @param fileName Name of the template group file.
+     *
+     * @return The loaded {@link STGroup}.
+     */
+    public static STGroup getGroup(String fileName) {
+        LoadedGroup group = ourGroups.get(fileName);
+        if (group == null) {
+            LoadedGroup newGroup = new LoadedGroup(fileName);
+            group = ourGroups.putIfAbsent(fileName, newGroup);
+            if (group == null) {
+                group = newGroup;
+            }
+        }
+
+        return group.getGroup();
+    }
+
+    /**
+     * <p>
+     * This method loads the specified template groups in the background, so
+     * they are ready by the time the compiler needs them.
+     * </p>
+     *
+     * <p>
+     * <em>Note:</em> Any errors encountered while loading are ignored here.
+     * They will be reported when the group is requested using
+     * {@link #getGroup(String)}.
+     * </p>
+     *
+     * @param fileNames Names of the template group files.
+     */
+    public static void preload(Collection<String> fileNames) {
+        final List<String> groupsToLoad = new ArrayList<>();
+        for (String fileName : fileNames) {
+            if (!isLoaded(fileName)) {
+                groupsToLoad.add(fileName);
+            }
+        }
+
+        if (!groupsToLoad.isEmpty()) {
+            Thread loader = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    for (String fileName : groupsToLoad) {
+                        try {
+                            getGroup(fileName);
+                        }
+                        catch (RuntimeException e) {
+                            // Leave it to whoever requests it
+                        }
+                    }
+                }
+            }, "STGroupRegistry-preload");
+            loader.setDaemon(true);
+            loader.start();
+        }
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that checks to see if we have finished loading a
+     * template group.
+     * </p>
+     *
+     * @param fileName Name of the template group file.
+     *
+     * @return {@code true} if it has been loaded, {@code false} otherwise.
+     */
+    private static boolean isLoaded(String fileName) {
+        LoadedGroup group = ourGroups.get(fileName);
+        return group != null && group.isLoaded();
+    }
+
+    // ===========================================================
+    // Helper Classes
+    // ===========================================================
+
+    /**
+     * <p>
+     * This class loads a template group file exactly once.
+     * </p>
+     */
+    private static class LoadedGroup {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /**
+         * <p>
+         * Name of the template group file.
+         * </p>
+         */
+        private final String myFileName;
+
+        /**
+         * <p>
+         * The loaded template group.
+         * </p>
+         */
+        private volatile STGroup myGroup;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>
+         * This creates a placeholder for a template group that hasn't been
+         * loaded yet.
+         * </p>
+         *
+         * @param fileName Name of the template group file.
+         */
+        LoadedGroup(String fileName) {
+            myFileName = fileName;
+            myGroup = null;
+        }
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>
+         * This method returns the template group, loading it if we haven't
+         * done so.
+         * </p>
+         *
+         * @return The loaded {@link STGroup}.
+         */
+        final STGroup getGroup() {
+            STGroup group = myGroup;
+            if (group == null) {
+                synchronized (this) {
+                    group = myGroup;
+                    if (group == null) {
+                        group = new STGroupFile(myFileName);
+                        group.load();
+                        myGroup = group;
+                    }
+                }
+            }
+
+            return group;
+        }
+
+        /**
+         * <p>
+         * This method checks to see if the template group has been loaded.
+         * </p>
+         *
+         * @return {@code true} if it has been loaded, {@code false} otherwise.
+         */
+        final boolean isLoaded() {
+            return myGroup != null;
+        }
+
+    }
+
+}
@@ -0,0 +1,524 @@
+/*
+ * ModuleHeaderScanner.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.parsing;
+
+import edu.clemson.cs.rsrg.init.ResolveCompiler;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.file.ResolveFileBasicInfo;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+
+/**
+ * <p>
+ * This class finds the module dependencies of a {@link ResolveFile} using only
+ * the tokens produced by the {@link ResolveLexer}. No parse tree or
+ * {@code ModuleDec} is built, so this is a lot cheaper than running the
+ * {@link ResolveParser} and the {@link TreeBuildingListener}.
+ * </p>
+ *
+ * <p>
+ * The module kind, the module name and the modules named in the module header
+ * and the {@code uses} list all appear in the first part of a file. Facility
+ * declarations and {@code Array} types can appear anywhere, so we still need
+ * to look at the rest of the tokens, but we only stop at the {@code Facility}
+ * and {@code Array} keywords.
+ * </p>
+ *
+ * <p>
+ * The dependencies are the same ones the {@link TreeBuildingListener} records
+ * for a syntactically correct file. Errors are left for the parser to report.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class ModuleHeaderScanner {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The kind of module declared in the file.
+     * </p>
+     */
+    private ModuleKind myModuleKind;
+
+    /**
+     * <p>
+     * The module name declared in the file.
+     * </p>
+     */
+    private String myModuleName;
+
+    /**
+     * <p>
+     * The current file we are scanning.
+     * </p>
+     */
+    private final ResolveFile myFile;
+
+    /**
+     * <p>
+     * The tokens on the default channel.
+     * </p>
+     */
+    private final List<Token> myTokens;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>
+     * This is a map from the module dependencies we found to a boolean that
+     * indicates whether or not it is externally realized.
+     * </p>
+     */
+    private final Map<ResolveFileBasicInfo, Boolean> myModuleDependencies;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This scans the specified file for module dependencies.
+     * </p>
+     *
+     * @param file The RESOLVE file we are scanning.
+     *
+     * @throws MiscErrorException Some how we couldn't obtain an
+     *         {@link CharStream}.
+     */
+    public ModuleHeaderScanner(ResolveFile file) {
+        myFile = file;
+        myModuleKind = ModuleKind.UNKNOWN;
+        myModuleName = "";
+        myModuleDependencies = new LinkedHashMap<>();
+        myTokens = new ArrayList<>();
+
+        CharStream input = file.getInputStream();
+        if (input == null) {
+            throw new MiscErrorException("CharStream null",
+                    new IllegalArgumentException());
+        }
+
+        // The same stream is used when we parse the file,
+        // so we need to rewind it once we are done.
+        input.seek(0);
+        ResolveLexer lexer = new ResolveLexer(input);
+        lexer.removeErrorListeners();
+        try {
+            Token t = lexer.nextToken();
+            while (t.getType() != Token.EOF) {
+                if (t.getChannel() == Token.DEFAULT_CHANNEL) {
+                    myTokens.add(t);
+                }
+                t = lexer.nextToken();
+            }
+        }
+        finally {
+            input.seek(0);
+        }
+
+        scanHeader();
+        scanBody();
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method returns the module dependencies found in the file.
+     * </p>
+     *
+     * @return A map from the dependencies to a boolean that indicates whether
+     *         or not it is externally realized.
+     */
+    public final Map<ResolveFileBasicInfo, Boolean> getModuleDependencies() {
+        return Collections.unmodifiableMap(myModuleDependencies);
+    }
+
+    /**
+     * <p>
+     * This method returns the kind of module declared in the file.
+     * </p>
+     *
+     * @return A {@link ModuleKind}.
+     */
+    public final ModuleKind getModuleKind() {
+        return myModuleKind;
+    }
+
+    /**
+     * <p>
+     * This method returns the module name declared in the file.
+     * </p>
+     *
+     * @return The module name, or the empty string if we couldn't find one.
+     */
+    public final String getModuleName() {
+        return myModuleName;
+    }
+
+    /**
+     * <p>
+     * This method returns the file we scanned.
+     * </p>
+     *
+     * @return A {@link ResolveFile}.
+     */
+    public final ResolveFile getFile() {
+        return myFile;
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that adds a new module dependency if it doesn't exist
+     * already.
+     * </p>
+     *
+     * @param filename Name of the module.
+     * @param parentDirectoryName Parent directory name.
+     * @param isExternallyRealiz Boolean that indicates whether or not this is a
+     *        Non-RESOLVE file.
+     */
+    private void addNewModuleDependency(String filename,
+            String parentDirectoryName, boolean isExternallyRealiz) {
+        ResolveFileBasicInfo fileBasicInfo =
+                new ResolveFileBasicInfo(filename, parentDirectoryName);
+        if (!myModuleDependencies.containsKey(fileBasicInfo)) {
+            myModuleDependencies.put(fileBasicInfo, isExternallyRealiz);
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that returns the text of the token at the specified
+     * index if it has the specified type.
+     * </p>
+     *
+     * @param index A token index.
+     * @param type The expected token type.
+     *
+     * @return The token's text, or {@code null} if the token doesn't exist or
+     *         it has a different type.
+     */
+    private String getText(int index, int type) {
+        String text = null;
+        if (isType(index, type)) {
+            text = myTokens.get(index).getText();
+        }
+
+        return text;
+    }
+
+    /**
+     * <p>
+     * An helper method that checks the type of the token at the specified
+     * index.
+     * </p>
+     *
+     * @param index A token index.
+     * @param type The expected token type.
+     *
+     * @return {@code true} if the token exists and it has the specified type,
+     *         {@code false} otherwise.
+     */
+    private boolean isType(int index, int type) {
+        return index >= 0 && index < myTokens.size()
+                && myTokens.get(index).getType() == type;
+    }
+
+    /**
+     * <p>
+     * An helper method that scans the rest of the file for facility
+     * declarations and {@code Array} types.
+     * </p>
+     */
+    private void scanBody() {
+        for (int i = 0; i < myTokens.size(); i++) {
+            int type = myTokens.get(i).getType();
+            if (type == ResolveLexer.FACILITY) {
+                scanFacilityDecl(i);
+            }
+            else if (type == ResolveLexer.ARRAY) {
+                // Static_Array_Template is used to implement all arrays
+                addNewModuleDependency("Static_Array_Template",
+                        "Static_Array_Template", false);
+                addNewModuleDependency("Std_Array_Realiz",
+                        "Static_Array_Template", true);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that adds the modules used by a facility declaration.
+     * </p>
+     *
+     * @param start Index of the {@code Facility} token.
+     */
+    private void scanFacilityDecl(int start) {
+        // Facility <name> is <concept> ...
+        String concept = getText(start + 3, ResolveLexer.IDENTIFIER);
+        if (!isType(start + 2, ResolveLexer.IS) || concept == null) {
+            return;
+        }
+        addNewModuleDependency(concept, concept, false);
+
+        // ... (enhanced by <enhancement> (<args>)?)* (externally)? realized by <impl> ...
+        int i = skipArguments(start + 4);
+        while (isType(i, ResolveLexer.ENHANCED)) {
+            String enhancement = getText(i + 2, ResolveLexer.IDENTIFIER);
+            if (enhancement != null) {
+                addNewModuleDependency(enhancement, concept, false);
+            }
+            i = skipArguments(i + 3);
+        }
+
+        boolean externallyRealized = false;
+        if (isType(i, ResolveLexer.EXTERNALLY)) {
+            externallyRealized = true;
+            i++;
+        }
+
+        String impl = getText(i + 2, ResolveLexer.IDENTIFIER);
+        if (!isType(i, ResolveLexer.REALIZED) || impl == null) {
+            return;
+        }
+        addNewModuleDependency(impl, concept, externallyRealized);
+
+        // ... (with_profile <profile>)? (<args>)? ...
+        i = i + 3;
+        if (isType(i, ResolveLexer.WITH_PROFILE)) {
+            String profile = getText(i + 1, ResolveLexer.IDENTIFIER);
+            if (profile != null) {
+                addNewModuleDependency(profile, concept, false);
+            }
+            i = i + 2;
+        }
+        i = skipArguments(i);
+
+        // ... (enhanced by <enhancement> (<args>)? realized by <impl> ...)* ;
+        while (isType(i, ResolveLexer.ENHANCED)) {
+            String enhancement = getText(i + 2, ResolveLexer.IDENTIFIER);
+            if (enhancement != null) {
+                addNewModuleDependency(enhancement, concept, false);
+            }
+
+            i = skipArguments(i + 3);
+            String enhancementRealiz = getText(i + 2, ResolveLexer.IDENTIFIER);
+            if (isType(i, ResolveLexer.REALIZED) && enhancementRealiz != null) {
+                addNewModuleDependency(enhancementRealiz, concept, false);
+            }
+
+            i = i + 3;
+            if (isType(i, ResolveLexer.WITH_PROFILE)) {
+                i = i + 2;
+            }
+            i = skipArguments(i);
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that finds the module kind, name and the modules named
+     * in the module header and the {@code uses} list.
+     * </p>
+     */
+    private void scanHeader() {
+        int i = 0;
+        if (isType(i, ResolveLexer.SHARED)) {
+            i++;
+        }
+
+        String name = getText(i + 1, ResolveLexer.IDENTIFIER);
+        if (name == null || myTokens.isEmpty()) {
+            return;
+        }
+        myModuleName = name;
+
+        int type = myTokens.get(i).getType();
+        int next = skipArguments(i + 2);
+        if (type == ResolveLexer.PRECIS) {
+            myModuleKind = ModuleKind.PRECIS;
+        }
+        else if (type == ResolveLexer.FACILITY) {
+            if (isType(i + 2, ResolveLexer.SEMICOLON)) {
+                myModuleKind = ModuleKind.FACILITY;
+            }
+            else {
+                // Short facility modules are a facility declaration. These
+                // get picked up by scanBody().
+                myModuleKind = ModuleKind.SHORT_FACILITY;
+                return;
+            }
+        }
+        else if (type == ResolveLexer.CONCEPT) {
+            myModuleKind = ModuleKind.CONCEPT;
+        }
+        else if (type == ResolveLexer.ENHANCEMENT) {
+            // Enhancement <name> (<params>)? for <concept>;
+            myModuleKind = ModuleKind.ENHANCEMENT;
+            String concept = getText(next + 1, ResolveLexer.IDENTIFIER);
+            if (concept != null) {
+                addNewModuleDependency(concept, concept, false);
+            }
+        }
+        else if (type == ResolveLexer.REALIZATION) {
+            // Realization <name> (<params>)? (with_profile <profile>)?
+            // for <concept | enhancement> (of <concept>)? ...
+            String profile = null;
+            if (isType(next, ResolveLexer.WITH_PROFILE)) {
+                profile = getText(next + 1, ResolveLexer.IDENTIFIER);
+                next = next + 2;
+            }
+
+            String forName = getText(next + 1, ResolveLexer.IDENTIFIER);
+            String concept = getText(next + 3, ResolveLexer.IDENTIFIER);
+            if (forName == null) {
+                return;
+            }
+
+            if (isType(next + 2, ResolveLexer.OF) && concept != null) {
+                myModuleKind = ModuleKind.ENHANCEMENT_REALIZATION;
+                addNewModuleDependency(concept, concept, false);
+                addNewModuleDependency(forName, concept, false);
+            }
+            else {
+                myModuleKind = ModuleKind.CONCEPT_REALIZATION;
+                concept = forName;
+                addNewModuleDependency(concept, concept, false);
+            }
+
+            if (profile != null) {
+                addNewModuleDependency(profile, concept, false);
+            }
+        }
+        else if (type == ResolveLexer.PROFILE) {
+            // Profile <name> (<params>)? short_for <full name> for
+            // <concept | enhancement> (of <concept> with_profile <profile>)?;
+            String forName = getText(next + 3, ResolveLexer.IDENTIFIER);
+            String concept = getText(next + 5, ResolveLexer.IDENTIFIER);
+            if (forName == null) {
+                return;
+            }
+
+            if (isType(next + 4, ResolveLexer.OF) && concept != null) {
+                myModuleKind = ModuleKind.ENHANCEMENT_PROFILE;
+                addNewModuleDependency(concept, concept, false);
+                String conceptProfile =
+                        getText(next + 7, ResolveLexer.IDENTIFIER);
+                if (conceptProfile != null) {
+                    addNewModuleDependency(conceptProfile, concept, false);
+                }
+                addNewModuleDependency(forName, concept, false);
+            }
+            else {
+                myModuleKind = ModuleKind.CONCEPT_PROFILE;
+                addNewModuleDependency(forName, forName, false);
+            }
+        }
+        else {
+            return;
+        }
+
+        // Uses items (if any). These are always after the first semicolon.
+        while (next < myTokens.size()
+                && !isType(next, ResolveLexer.SEMICOLON)) {
+            next++;
+        }
+        if (isType(next + 1, ResolveLexer.USES)) {
+            int j = next + 2;
+            while (isType(j, ResolveLexer.IDENTIFIER)) {
+                addNewModuleDependency(myTokens.get(j).getText(), "", false);
+                if (isType(j + 1, ResolveLexer.COMMA)) {
+                    j = j + 2;
+                }
+                else {
+                    j = myTokens.size();
+                }
+            }
+        }
+
+        // Add any auto import files if needed
+        if (myModuleKind != ModuleKind.PRECIS
+                && !ResolveCompiler.NO_AUTO_IMPORT_EXCEPTION_LIST
+                        .contains(myModuleName)) {
+            for (String autoImport : ResolveCompiler.AUTO_IMPORT_FILES) {
+                addNewModuleDependency(autoImport, "", false);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that skips a parenthesized list of arguments or
+     * parameters.
+     * </p>
+     *
+     * @param index A token index.
+     *
+     * @return The index of the token after the matching right parenthesis if
+     *         the token at {@code index} is a left parenthesis, {@code index}
+     *         otherwise.
+     */
+    private int skipArguments(int index) {
+        int i = index;
+        if (isType(i, ResolveLexer.LPAREN)) {
+            int depth = 0;
+            do {
+                int type = myTokens.get(i).getType();
+                if (type == ResolveLexer.LPAREN) {
+                    depth++;
+                }
+                else if (type == ResolveLexer.RPAREN) {
+                    depth--;
+                }
+                i++;
+            } while (depth > 0 && i < myTokens.size());
+        }
+
+        return i;
+    }
+
+    // ===========================================================
+    // Helper Constructs
+    // ===========================================================
+
+    /**
+     * <p>
+     * The different kinds of modules that can be declared in a file.
+     * </p>
+     */
+    public enum ModuleKind {
+        PRECIS, FACILITY, SHORT_FACILITY, CONCEPT, CONCEPT_REALIZATION,
+        ENHANCEMENT, ENHANCEMENT_REALIZATION, CONCEPT_PROFILE,
+        ENHANCEMENT_PROFILE, UNKNOWN
+    }
+
+}
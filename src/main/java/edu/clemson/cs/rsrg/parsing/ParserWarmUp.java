@@ -0,0 +1,162 @@
+/*
+ * ParserWarmUp.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.parsing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+/**
+ * <p>
+ * This class warms up the prediction {@code DFA} that {@code ANTLR4} shares
+ * between all instances of the {@link ResolveParser}.
+ * </p>
+ *
+ * <p>
+ * A new {@code JVM} starts with an empty {@code DFA}, so the first files we
+ * parse spend most of their time in the {@code ATN} simulator. Parsing a small
+ * corpus of representative modules on a background thread while the compiler
+ * is still processing its flags moves that work off the critical path. The
+ * corpus is stored in the {@code warmup} resource directory.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class ParserWarmUp {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The modules we parse to warm up the {@code DFA}. Together they cover
+     * the different kinds of modules, most statements and the mathematical
+     * expressions found in theories.
+     * </p>
+     */
+    private static final List<String> CORPUS =
+            Collections.unmodifiableList(Arrays.asList(
+                    "warmup/Integer_Theory.mt", "warmup/Stack_Template.co",
+                    "warmup/Reading_Capability.en", "warmup/Array_Realiz.rb",
+                    "warmup/Obvious_Reading_Realiz.rb", "warmup/RevStack.fa"));
+
+    /**
+     * <p>
+     * A flag that indicates whether or not the warm up has been started in
+     * this {@code JVM}.
+     * </p>
+     */
+    private static final AtomicBoolean ourStartedFlag = new AtomicBoolean();
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This class only contains static methods.
+     * </p>
+     */
+    private ParserWarmUp() {}
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method starts parsing the corpus on a background thread. Only the
+     * first call in a {@code JVM} does anything.
+     * </p>
+     *
+     * <p>
+     * <em>Note:</em> Any errors encountered while parsing the corpus are
+     * ignored. A corpus file that can't be read or parsed simply doesn't
+     * contribute anything to the {@code DFA}.
+     * </p>
+     */
+    public static void start() {
+        if (ourStartedFlag.compareAndSet(false, true)) {
+            Thread warmUp = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    for (String resource : CORPUS) {
+                        try {
+                            parse(resource);
+                        }
+                        catch (IOException | RuntimeException e) {
+                            // Nothing to warm up with this one
+                        }
+                    }
+                }
+            }, "ParserWarmUp");
+            warmUp.setDaemon(true);
+            warmUp.setPriority(Thread.MIN_PRIORITY);
+            warmUp.start();
+        }
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that parses one of the corpus files. Only the
+     * {@code SLL} prediction states are cached in the {@code DFA}, so that is
+     * the only mode we use.
+     * </p>
+     *
+     * @param resource Name of the corpus file.
+     *
+     * @throws IOException There was an error reading the file.
+     */
+    private static void parse(String resource) throws IOException {
+        try (InputStream in = ParserWarmUp.class.getClassLoader()
+                .getResourceAsStream(resource)) {
+            if (in == null) {
+                return;
+            }
+
+            CharStream input =
+                    CharStreams.fromStream(in, Charset.forName("UTF-8"));
+            ResolveLexer lexer = new ResolveLexer(input);
+            lexer.removeErrorListeners();
+
+            ResolveParser parser =
+                    new ResolveParser(new CommonTokenStream(lexer));
+            parser.removeErrorListeners();
+            parser.setErrorHandler(new BailErrorStrategy());
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+            try {
+                parser.module();
+            }
+            catch (ParseCancellationException e) {
+                // Whatever we predicted before this is still cached
+            }
+        }
+    }
+
+}
@@ -0,0 +1,450 @@
+/*
+ * ParsingService.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.parsing;
+
+import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.profiling.CompileProfiler;
+import edu.clemson.cs.rsrg.parsing.data.ResolveTokenFactory;
+import edu.clemson.cs.rsrg.statushandling.AntlrLexerErrorListener;
+import edu.clemson.cs.rsrg.statushandling.AntlrParserErrorListener;
+import edu.clemson.cs.rsrg.statushandling.StatusHandler;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.statushandling.exception.SourceErrorException;
+import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+
+/**
+ * <p>
+ * This class builds the {@link ModuleDec} for a {@link ResolveFile} by running
+ * the {@link ResolveLexer}, the {@link ResolveParser} and the
+ * {@link TreeBuildingListener}.
+ * </p>
+ *
+ * <p>
+ * Files can either be parsed on the caller's thread or submitted to a pool of
+ * worker threads. Every file gets its own lexer, parser and listener, so
+ * nothing but the error listeners and the {@code DFA} cache that
+ * {@code ANTLR4} keeps for each grammar is shared between the workers. Both
+ * of those are safe to use from several threads. Parsing one file on the
+ * caller's thread before submitting anything else warms up the shared
+ * {@code DFA} cache, so the workers don't all have to build the same states.
+ * </p>
+ *
+ * <p>
+ * We also keep track of how often the {@code SLL} prediction mode wasn't
+ * enough and we had to parse a file again using the full {@code LL} mode,
+ * along with the grammar rules where {@code SLL} gave up. Rules that show up
+ * a lot are the ambiguous decisions in the grammar worth fixing.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class ParsingService {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * This is the lexer error listener for all ANTLR4 related objects.
+     * </p>
+     */
+    private final AntlrLexerErrorListener myAntlrLexerErrorListener;
+
+    /**
+     * <p>
+     * This is the parser error listener for all ANTLR4 related objects.
+     * </p>
+     */
+    private final AntlrParserErrorListener myAntlrParserErrorListener;
+
+    /**
+     * <p>
+     * The worker threads, or {@code null} if we only parse on the caller's
+     * thread.
+     * </p>
+     */
+    private final ExecutorService myExecutor;
+
+    /**
+     * <p>
+     * A map from grammar rule names to the number of times the {@code SLL}
+     * prediction mode failed in that rule.
+     * </p>
+     */
+    private final ConcurrentMap<String, AtomicInteger> myFallbackRules;
+
+    /**
+     * <p>
+     * The number of files we had to parse again using the {@code LL}
+     * prediction mode.
+     * </p>
+     */
+    private final AtomicInteger myNumLLFallbacks;
+
+    /**
+     * <p>
+     * The number of files we have parsed.
+     * </p>
+     */
+    private final AtomicInteger myNumParsedFiles;
+
+    /**
+     * <p>
+     * The profiler that measures the time spent parsing each file.
+     * </p>
+     */
+    private final CompileProfiler myProfiler;
+
+    /**
+     * <p>
+     * This is the math type graph that indicates relationship between
+     * different math types.
+     * </p>
+     */
+    private final TypeGraph myTypeGraph;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This creates a service that parses files using the specified number of
+     * worker threads.
+     * </p>
+     *
+     * @param statusHandler The status handler for syntax errors.
+     * @param typeGraph The current job's type graph.
+     * @param numThreads The number of worker threads. If this is {@code 0},
+     *        files submitted to this service are parsed on the caller's
+     *        thread.
+     */
+    public ParsingService(StatusHandler statusHandler, TypeGraph typeGraph,
+            int numThreads) {
+        this(statusHandler, typeGraph, numThreads, new CompileProfiler(false));
+    }
+
+    /**
+     * <p>
+     * This creates a service that parses files using the specified number of
+     * worker threads and reports the time spent parsing each file to the
+     * specified profiler.
+     * </p>
+     *
+     * @param statusHandler The status handler for syntax errors.
+     * @param typeGraph The current job's type graph.
+     * @param numThreads The number of worker threads. If this is {@code 0},
+     *        files submitted to this service are parsed on the caller's
+     *        thread.
+     * @param profiler The profiler for the current compilation.
+     */
+    public ParsingService(StatusHandler statusHandler, TypeGraph typeGraph,
+            int numThreads, CompileProfiler profiler) {
+        myAntlrLexerErrorListener = new AntlrLexerErrorListener(statusHandler);
+        myAntlrParserErrorListener =
+                new AntlrParserErrorListener(statusHandler);
+        myTypeGraph = typeGraph;
+        myFallbackRules = new ConcurrentHashMap<>();
+        myNumLLFallbacks = new AtomicInteger();
+        myNumParsedFiles = new AtomicInteger();
+        myProfiler = profiler;
+
+        if (numThreads > 0) {
+            myExecutor = Executors.newFixedThreadPool(numThreads,
+                    new ThreadFactory() {
+
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            // Don't let a worker keep the JVM alive
+                            // if the compiler stops with an error.
+                            Thread t = Executors.defaultThreadFactory()
+                                    .newThread(r);
+                            t.setName("RESOLVE-parser-" + t.getId());
+                            t.setDaemon(true);
+
+                            return t;
+                        }
+                    });
+        }
+        else {
+            myExecutor = null;
+        }
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method returns the {@link ModuleDec} from a {@link Future} returned
+     * by {@link #submit(ResolveFile)}, waiting for it if necessary.
+     * </p>
+     *
+     * @param future A parsing request.
+     *
+     * @return The inner representation for a module.
+     *
+     * @throws MiscErrorException We were interrupted while waiting.
+     * @throws SourceErrorException There are errors in the source file.
+     */
+    public static ModuleDec getModule(Future<ModuleDec> future) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new MiscErrorException(
+                    "Interrupted while waiting for a module to be parsed", ie);
+        }
+        catch (ExecutionException ee) {
+            // Rethrow whatever the parser threw on the worker thread
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new MiscErrorException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * <p>
+     * This method returns a summary of how often we had to fall back from the
+     * {@code SLL} to the {@code LL} prediction mode and the grammar rules
+     * where {@code SLL} failed, most frequent first.
+     * </p>
+     *
+     * @return A string containing the parser statistics.
+     */
+    public final String getStatistics() {
+        List<Map.Entry<String, AtomicInteger>> rules =
+                new ArrayList<>(myFallbackRules.entrySet());
+        Collections.sort(rules,
+                new Comparator<Map.Entry<String, AtomicInteger>>() {
+
+                    @Override
+                    public int compare(Map.Entry<String, AtomicInteger> o1,
+                            Map.Entry<String, AtomicInteger> o2) {
+                        return Integer.compare(o2.getValue().get(),
+                                o1.getValue().get());
+                    }
+                });
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Parsed ");
+        sb.append(myNumParsedFiles.get());
+        sb.append(" file(s); ");
+        sb.append(myNumLLFallbacks.get());
+        sb.append(" needed LL prediction.");
+        for (Map.Entry<String, AtomicInteger> rule : rules) {
+            sb.append("\n\tSLL failed in rule ");
+            sb.append(rule.getKey());
+            sb.append(": ");
+            sb.append(rule.getValue().get());
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>
+     * This method uses the {@link ResolveFile} provided to construct a parser
+     * and create an ANTLR4 module AST on the caller's thread.
+     * </p>
+     *
+     * @param file The RESOLVE file that we are going to compile.
+     *
+     * @return The inner representation for a module. See {@link ModuleDec}.
+     *
+     * @throws MiscErrorException Some how we couldn't instantiate an
+     *         {@link CharStream}.
+     * @throws SourceErrorException There are errors in the source file.
+     */
+    public final ModuleDec parse(ResolveFile file) {
+        myProfiler.start(file.getName(), CompileProfiler.Phase.PARSING);
+        try {
+            return buildModuleDec(file);
+        }
+        finally {
+            myProfiler.stop();
+        }
+    }
+
+    /**
+     * <p>
+     * This method stops the worker threads. Any files that haven't been
+     * parsed yet are abandoned.
+     * </p>
+     */
+    public final void shutdown() {
+        if (myExecutor != null) {
+            myExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * <p>
+     * This method submits a file to be parsed by one of the worker threads.
+     * The file's {@link CharStream} belongs to the worker until the module
+     * has been parsed, so nothing else should read it in the meantime.
+     * </p>
+     *
+     * @param file The RESOLVE file that we are going to compile.
+     *
+     * @return A {@link Future} for the inner representation of the module.
+     *         Use {@link #getModule(Future)} to obtain it.
+     */
+    public final Future<ModuleDec> submit(final ResolveFile file) {
+        FutureTask<ModuleDec> task =
+                new FutureTask<>(new Callable<ModuleDec>() {
+
+                    @Override
+                    public ModuleDec call() {
+                        return parse(file);
+                    }
+                });
+
+        if (myExecutor != null) {
+            myExecutor.execute(task);
+        }
+        else {
+            task.run();
+        }
+
+        return task;
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that uses the {@link ResolveFile} provided to construct
+     * a parser and create an ANTLR4 module AST.
+     * </p>
+     *
+     * @param file The RESOLVE file that we are going to compile.
+     *
+     * @return The inner representation for a module. See {@link ModuleDec}.
+     *
+     * @throws MiscErrorException Some how we couldn't instantiate an
+     *         {@link CharStream}.
+     * @throws SourceErrorException There are errors in the source file.
+     */
+    private ModuleDec buildModuleDec(ResolveFile file) {
+        CharStream input = file.getInputStream();
+        if (input == null) {
+            throw new MiscErrorException("CharStream null",
+                    new IllegalArgumentException());
+        }
+
+        // Create a RESOLVE language lexer
+        ResolveLexer lexer = new ResolveLexer(input);
+        ResolveTokenFactory factory = new ResolveTokenFactory(file);
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(myAntlrLexerErrorListener);
+        lexer.setTokenFactory(factory);
+
+        // Create a RESOLVE language parser
+        CommonTokenStream tokens = new CommonTokenStream(lexer);
+        ResolveParser parser = new ResolveParser(tokens);
+        parser.removeErrorListeners();
+        parser.setTokenFactory(factory);
+
+        // Two-Stage Parsing
+        // Reason: We might not need the full power of LL.
+        // The solution proposed by the ANTLR folks (found here:
+        // https://github.com/antlr/antlr4/blob/master/doc/faq/general.md)
+        // is to use SLL prediction mode first and switch to LL if it fails.
+        // SLL has to bail out on the first error without reporting it.
+        // Otherwise, it recovers and we never get to try LL.
+        ParserRuleContext rootModuleCtx;
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        myNumParsedFiles.incrementAndGet();
+        try {
+            rootModuleCtx = parser.module();
+        }
+        catch (ParseCancellationException ex) {
+            recordFallback(parser, ex);
+
+            tokens.seek(0);
+            parser.reset();
+            parser.addErrorListener(myAntlrParserErrorListener);
+            parser.setErrorHandler(new DefaultErrorStrategy());
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            rootModuleCtx = parser.module();
+        }
+
+        // Check for any parsing errors
+        int numParserErrors = parser.getNumberOfSyntaxErrors();
+        if (numParserErrors != 0) {
+            throw new MiscErrorException("Found " + numParserErrors
+                    + " errors while parsing " + file.toString(),
+                    new IllegalStateException());
+        }
+
+        // Build the intermediate representation
+        TreeBuildingListener v = new TreeBuildingListener(file, myTypeGraph);
+        ParseTreeWalker.DEFAULT.walk(v, rootModuleCtx);
+
+        return v.getModule();
+    }
+
+    /**
+     * <p>
+     * An helper method that records the grammar rule where the {@code SLL}
+     * prediction mode gave up.
+     * </p>
+     *
+     * @param parser The parser that bailed out.
+     * @param ex The exception thrown by the {@link BailErrorStrategy}.
+     */
+    private void recordFallback(ResolveParser parser,
+            ParseCancellationException ex) {
+        myNumLLFallbacks.incrementAndGet();
+
+        String ruleName = "<unknown>";
+        if (ex.getCause() instanceof RecognitionException) {
+            RuleContext ctx = ((RecognitionException) ex.getCause()).getCtx();
+            if (ctx != null) {
+                ruleName = parser.getRuleNames()[ctx.getRuleIndex()];
+            }
+        }
+
+        AtomicInteger count = myFallbackRules.get(ruleName);
+        if (count == null) {
+            AtomicInteger newCount = new AtomicInteger();
+            count = myFallbackRules.putIfAbsent(ruleName, newCount);
+            if (count == null) {
+                count = newCount;
+            }
+        }
+        count.incrementAndGet();
+    }
+
+}
@@ -19,6 +19,13 @@ import edu.clemson.cs.rsrg.init.file.ResolveFile;
  * This class points to the location within a {@link ResolveFile}.
  * </p>
  *
+ * <p>
+ * A {@code Location} is immutable, so it can be shared by all the objects that
+ * point to the same place in a file. The line and column numbers are packed
+ * into a single field, which means that each location is a single small
+ * object. Calling {@link #clone()} simply returns the same object.
+ * </p>
+ *
  * @author Yu-Shan Sun
  * @version 1.0
  */
@@ -37,10 +44,12 @@ public class Location implements Cloneable {
 
     /**
      * <p>
-     * The position that this location points to.
+     * The position that this location points to. The line number is stored
+     * in the upper 32 bits and the column number is stored in the lower 32
+     * bits.
      * </p>
      */
-    private final Pos myPosition;
+    private final long myPosition;
 
     // ===========================================================
     // Constructors
@@ -59,7 +68,7 @@ public class Location implements Cloneable {
      */
     public Location(ResolveFile file, int lineNumber, int columnNumber) {
         myFile = file;
-        myPosition = new Pos(lineNumber, columnNumber);
+        myPosition = ((long) lineNumber << 32) | (columnNumber & 0xFFFFFFFFL);
     }
 
     // ===========================================================
@@ -72,12 +81,12 @@ public class Location implements Cloneable {
      * {@link Location} class.
      * </p>
      *
-     * @return A deep copy of the object.
+     * @return This object. Locations are immutable, so there is no need to
+     *         make a copy.
      */
     @Override
     public final Location clone() {
-        return new Location(myFile, myPosition.myCurrline,
-                myPosition.myCurrColumn);
+        return this;
     }
 
     /**
@@ -87,20 +96,15 @@ public class Location implements Cloneable {
      *
      * @param o Object to be compared.
      *
-     * @return {@code true} if all the fields are equal, {@code false}
+     * @return {@code true} if {@code o} is this location, {@code false}
      *         otherwise.
      */
     @Override
     public final boolean equals(Object o) {
-        if (this == o)
-            return true;
-        if (o == null || getClass() != o.getClass())
-            return false;
-
-        Location location = (Location) o;
-
-        return myFile.equals(location.myFile)
-                && myPosition.equals(location.myPosition);
+        // Simply check if the references are the same. Two locations
+        // created for the same line and column are still different
+        // locations.
+        return this == o;
     }
 
     /**
@@ -111,7 +115,7 @@ public class Location implements Cloneable {
      * @return Column number
      */
     public final int getColumn() {
-        return myPosition.myCurrColumn;
+        return (int) myPosition;
     }
 
     /**
@@ -144,7 +148,7 @@ public class Location implements Cloneable {
      * @return Line number
      */
     public final int getLine() {
-        return myPosition.myCurrline;
+        return (int) (myPosition >>> 32);
     }
 
     /**
@@ -159,7 +163,8 @@ public class Location implements Cloneable {
     @Override
     public final int hashCode() {
         int result = myFile.hashCode();
-        result = 31 * result + myPosition.hashCode();
+        result = 31 * result + getLine();
+        result = 31 * result + getColumn();
         return result;
     }
 
@@ -181,129 +186,12 @@ public class Location implements Cloneable {
 
         // Append the line number and the column number
         sb.append("(");
-        sb.append(myPosition.myCurrline);
+        sb.append(getLine());
         sb.append(":");
-        sb.append(myPosition.myCurrColumn);
+        sb.append(getColumn());
         sb.append(")");
 
         return sb.toString();
     }
 
-    // ===========================================================
-    // Inner Class for Position
-    // ===========================================================
-
-    /**
-     * <p>
-     * Private inner class to store the position in the file.
-     * </p>
-     */
-    private class Pos {
-
-        // ===========================================================
-        // Member Fields
-        // ===========================================================
-
-        /**
-         * <p>
-         * Current line number.
-         * </p>
-         */
-        private final int myCurrline;
-
-        /**
-         * <p>
-         * Current column number.
-         * </p>
-         */
-        private final int myCurrColumn;
-
-        // ===========================================================
-        // Constructors
-        // ===========================================================
-
-        /**
-         * <p>
-         * This constructor converts the two integers corresponding to the line
-         * and column numbers into
-         * an object representation.
-         * </p>
-         *
-         * @param line Current line number.
-         * @param column Current column number.
-         */
-        private Pos(int line, int column) {
-            myCurrline = line;
-            myCurrColumn = column;
-        }
-
-        /**
-         * <p>
-         * Copy constructor
-         * </p>
-         *
-         * @param p The position object to copy.
-         */
-        private Pos(Pos p) {
-            myCurrline = p.myCurrline;
-            myCurrColumn = p.myCurrColumn;
-        }
-
-        // ===========================================================
-        // Public Methods
-        // ===========================================================
-
-        /**
-         * <p>
-         * Equals method to compare two positions.
-         * </p>
-         *
-         * @param o Object to be compared.
-         *
-         * @return {@code true} if all the fields are equal, {@code false}
-         *         otherwise.
-         */
-        @Override
-        public final boolean equals(Object o) {
-            // Check to see if it is null or if the classes are different
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-            else {
-                // Simply check if the references are the same.
-                // Checking integers won't do the trick!
-                return this == o;
-            }
-        }
-
-        /**
-         * <p>
-         * This method overrides the default {@code hashCode} method
-         * implementation for the {@code Pos}
-         * class.
-         * </p>
-         *
-         * @return The hash code associated with the object.
-         */
-        @Override
-        public final int hashCode() {
-            int result = myCurrline;
-            result = 31 * result + myCurrColumn;
-            return result;
-        }
-
-        /**
-         * <p>
-         * Returns the position in string format.
-         * </p>
-         *
-         * @return Position as a string.
-         */
-        @Override
-        public final String toString() {
-            return "(" + myCurrline + "," + myCurrColumn + ")";
-        }
-
-    }
-
 }
@@ -106,6 +106,9 @@ public class CongruenceClassProver {
     private static final String FLAG_DESC_PROVER_TIMEOUT =
             "Number of Milliseconds to Use as a Timeout Before Skipping Proving a VC.";
     private static final String[] FLAG_TIMEOUT_ARGS = { "milliseconds" };
+    private static final String FLAG_DESC_LOAD_VCS =
+            "Prove the VCs stored in a .vcs file instead of generating them.";
+    private static final String[] FLAG_LOAD_VCS_ARGS = { "fileName" };
 
     // ===========================================================
     // Flags
@@ -136,6 +139,16 @@ public class CongruenceClassProver {
     private static final Flag FLAG_NUMTRIES = new Flag("Proving", "num_tries",
             FLAG_DESC_PROVER_NUMTRIES, NUMTRIES_ARGS, Flag.Type.HIDDEN);
 
+    /**
+     * <p>
+     * Tells the compiler to load the VCs from a file exported using
+     * {@code -exportVCs}.
+     * </p>
+     */
+    public static final Flag FLAG_LOAD_VCS =
+            new Flag(FLAG_SECTION_NAME, "loadVCs", FLAG_DESC_LOAD_VCS,
+                    FLAG_LOAD_VCS_ARGS, Flag.Type.HIDDEN);
+
     /**
      * <p>
      * Add all the required and implied flags for the
@@ -146,6 +159,7 @@ public class CongruenceClassProver {
         FlagDependencies.addImplies(FLAG_PROVE, FLAG_VERIFY_VC);
         FlagDependencies.addRequires(FLAG_TIMEOUT, FLAG_PROVE);
         FlagDependencies.addRequires(FLAG_NUMTRIES, FLAG_PROVE);
+        FlagDependencies.addRequires(FLAG_LOAD_VCS, FLAG_PROVE);
     }
 
     // ===========================================================
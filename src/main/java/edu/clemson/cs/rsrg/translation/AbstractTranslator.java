@@ -147,11 +147,10 @@ public abstract class AbstractTranslator extends TreeWalkerStackVisitor {
      * </p>
      */
     private static final List<String> noTranslate = Arrays.asList(
-            "Std_Boolean_Fac.fa", "Std_Char_Str_Fac.fa", "Std_Character_Fac.fa",
-            "Std_Integer_Fac.fa", "Std_Boolean_Realiz", "Boolean_Template.co",
-            "Integer_Template.co", "Character_Template.co",
-            "Char_Str_Template.co", "Seq_Input_Template.co",
-            "Seq_Output_Template.co", "Print.co");
+            "Std_Boolean_Fac", "Std_Char_Str_Fac", "Std_Character_Fac",
+            "Std_Integer_Fac", "Std_Boolean_Realiz", "Boolean_Template",
+            "Integer_Template", "Character_Template", "Char_Str_Template",
+            "Seq_Input_Template", "Seq_Output_Template", "Print");
 
     /**
      * <p>
@@ -405,6 +404,12 @@ public abstract class AbstractTranslator extends TreeWalkerStackVisitor {
      */
     @Override
     public final void preProgramFunctionExp(ProgramFunctionExp exp) {
+        // The template for a call statement already has the name of the
+        // operation, so the arguments are added directly to it.
+        if (isCallStmtFunctionExp()) {
+            return;
+        }
+
         ST paramExp;
         String qualifier = getCallQualifier(exp.getQualifier(), exp.getName(),
                 exp.getArguments());
@@ -434,6 +439,10 @@ public abstract class AbstractTranslator extends TreeWalkerStackVisitor {
      */
     @Override
     public final void postProgramFunctionExp(ProgramFunctionExp exp) {
+        if (isCallStmtFunctionExp()) {
+            return;
+        }
+
         ST paramExp = myActiveTemplates.pop();
         myActiveTemplates.peek().add("arguments", paramExp);
     }
@@ -1408,6 +1417,19 @@ public abstract class AbstractTranslator extends TreeWalkerStackVisitor {
         myActiveTemplates.peek().add("variables", variable);
     }
 
+    /**
+     * <p>
+     * An helper method that checks to see if the {@link ProgramFunctionExp}
+     * we are visiting is the one wrapped by a {@link CallStmt}.
+     * </p>
+     *
+     * @return {@code true} if the parent of the current element is a
+     *         {@link CallStmt}, {@code false} otherwise.
+     */
+    private boolean isCallStmtFunctionExp() {
+        return getAncestorSize() > 1 && getAncestor(1) instanceof CallStmt;
+    }
+
     /**
      * <p>
      * An helper method that checks to see if the specified module contains
@@ -1421,7 +1443,9 @@ public abstract class AbstractTranslator extends TreeWalkerStackVisitor {
         if (dec instanceof ConceptModuleDec) {
             containsSharedVar = ((ConceptModuleDec) dec).isSharingConcept();
         }
-        else {
+        else if (dec instanceof ConceptRealizModuleDec
+                || dec instanceof EnhancementModuleDec
+                || dec instanceof EnhancementRealizModuleDec) {
             PosSymbol conceptName;
             if (dec instanceof ConceptRealizModuleDec) {
                 conceptName = ((ConceptRealizModuleDec) dec).getConceptName();
@@ -22,6 +22,7 @@ import edu.clemson.cs.rsrg.init.CompileEnvironment;
 import edu.clemson.cs.rsrg.init.ResolveCompiler;
 import edu.clemson.cs.rsrg.init.flag.Flag;
 import edu.clemson.cs.rsrg.init.flag.FlagDependencies;
+import edu.clemson.cs.rsrg.misc.STGroupRegistry;
 import edu.clemson.cs.rsrg.translation.AbstractTranslator;
 import edu.clemson.cs.rsrg.typeandpopulate.entry.FacilityEntry;
 import edu.clemson.cs.rsrg.typeandpopulate.entry.ProgramParameterEntry;
@@ -35,7 +36,6 @@ import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTableBuilder;
 import java.util.LinkedList;
 import java.util.List;
 import org.stringtemplate.v4.ST;
-import org.stringtemplate.v4.STGroupFile;
 
 /**
  * <p>
@@ -154,7 +154,8 @@ public class CTranslator extends AbstractTranslator {
      */
     public CTranslator(MathSymbolTableBuilder builder,
             CompileEnvironment compileEnvironment) {
-        super(builder, compileEnvironment, new STGroupFile("templates/C.stg"));
+        super(builder, compileEnvironment,
+                STGroupRegistry.getGroup(STGroupRegistry.C_TRANSLATION));
         myFacilityInstantiations = new LinkedList<>();
     }
 
@@ -16,6 +16,8 @@ import edu.clemson.cs.rsrg.absyn.declarations.Dec;
 import edu.clemson.cs.rsrg.absyn.declarations.facilitydecl.FacilityDec;
 import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.*;
 import edu.clemson.cs.rsrg.absyn.declarations.operationdecl.OperationDec;
+import edu.clemson.cs.rsrg.absyn.declarations.operationdecl.OperationProcedureDec;
+import edu.clemson.cs.rsrg.absyn.declarations.operationdecl.ProcedureDec;
 import edu.clemson.cs.rsrg.absyn.declarations.paramdecl.ConceptTypeParamDec;
 import edu.clemson.cs.rsrg.absyn.declarations.paramdecl.ConstantParamDec;
 import edu.clemson.cs.rsrg.absyn.declarations.paramdecl.ModuleParameterDec;
@@ -23,15 +25,18 @@ import edu.clemson.cs.rsrg.absyn.declarations.typedecl.FacilityTypeRepresentatio
 import edu.clemson.cs.rsrg.absyn.declarations.typedecl.TypeFamilyDec;
 import edu.clemson.cs.rsrg.absyn.declarations.typedecl.TypeRepresentationDec;
 import edu.clemson.cs.rsrg.absyn.declarations.variabledecl.ParameterVarDec;
+import edu.clemson.cs.rsrg.absyn.declarations.variabledecl.VarDec;
 import edu.clemson.cs.rsrg.absyn.expressions.programexpr.*;
 import edu.clemson.cs.rsrg.absyn.items.programitems.EnhancementSpecRealizItem;
+import edu.clemson.cs.rsrg.absyn.items.programitems.IfConditionItem;
 import edu.clemson.cs.rsrg.absyn.items.programitems.ModuleArgumentItem;
-import edu.clemson.cs.rsrg.absyn.statements.CallStmt;
-import edu.clemson.cs.rsrg.absyn.statements.SwapStmt;
+import edu.clemson.cs.rsrg.absyn.statements.*;
+import edu.clemson.cs.rsrg.archiving.JarArchiver;
 import edu.clemson.cs.rsrg.init.CompileEnvironment;
 import edu.clemson.cs.rsrg.init.ResolveCompiler;
 import edu.clemson.cs.rsrg.init.flag.Flag;
 import edu.clemson.cs.rsrg.init.flag.FlagDependencies;
+import edu.clemson.cs.rsrg.misc.STGroupRegistry;
 import edu.clemson.cs.rsrg.parsing.data.Location;
 import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
 import edu.clemson.cs.rsrg.prover.immutableadts.ImmutableList;
@@ -52,7 +57,6 @@ import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleParameterization;
 import java.util.*;
 import org.stringtemplate.v4.ST;
-import org.stringtemplate.v4.STGroupFile;
 
 /**
  * <p>
@@ -87,6 +91,15 @@ public class JavaTranslator extends AbstractTranslator {
      */
     private ModuleParameterization myCurrentEnhancement;
 
+    /**
+     * <p>
+     * The instantiations of the enhancement realizations for the
+     * {@link FacilityDec} being walked. This is only used when we are
+     * generating statically typed wrapper classes.
+     * </p>
+     */
+    private final Map<String, ST> myEnhancementInstantiations;
+
     /**
      * <p>
      * A mapping between the {@link ModuleArgumentItem ModuleArgumentItems}
@@ -107,6 +120,41 @@ public class JavaTranslator extends AbstractTranslator {
      */
     private final Set<String> myParameterOperationNames;
 
+    /**
+     * <p>
+     * The names of the local variables that are temporarily boxed while we
+     * translate the operation call or function assignment statement being
+     * walked.
+     * </p>
+     */
+    private Set<String> myBoxedVariableNames;
+
+    /**
+     * <p>
+     * A flag that indicates if values from the standard {@code Integer},
+     * {@code Boolean} and {@code Character} facilities should be translated
+     * to {@code Java} primitive values whenever possible.
+     * </p>
+     */
+    private final boolean myPrimitiveStdFlag;
+
+    /**
+     * <p>
+     * A map from the names of the local variables in the procedure being
+     * walked that are stored as {@code Java} primitive values to their
+     * {@link PTType PTTypes}.
+     * </p>
+     */
+    private final Map<String, PTType> myPrimitiveVariables;
+
+    /**
+     * <p>
+     * A flag that indicates if facilities with more than one enhancement are
+     * implemented using statically typed wrapper classes instead of proxies.
+     * </p>
+     */
+    private final boolean myStaticEnhancementsFlag;
+
     // ===========================================================
     // Flag Strings
     // ===========================================================
@@ -127,6 +175,22 @@ public class JavaTranslator extends AbstractTranslator {
     private static final String FLAG_DESC_TRANSLATE_CLEAN =
             "Regenerates Java code for all supporting RESOLVE files.";
 
+    /**
+     * <p>
+     * Description for {@code javaStaticEnhancements} flag.
+     * </p>
+     */
+    private static final String FLAG_DESC_STATIC_ENHANCEMENTS =
+            "Use statically typed wrapper classes instead of proxies for facilities with multiple enhancements.";
+
+    /**
+     * <p>
+     * Description for {@code javaPrimitiveStd} flag.
+     * </p>
+     */
+    private static final String FLAG_DESC_PRIMITIVE_STD =
+            "Use Java primitives for local variables and operations from the standard Integer, Boolean and Character facilities.";
+
     // ===========================================================
     // Flags
     // ===========================================================
@@ -151,6 +215,31 @@ public class JavaTranslator extends AbstractTranslator {
     public static final Flag JAVA_FLAG_TRANSLATE_CLEAN = new Flag(
             FLAG_SECTION_NAME, "javaTranslateClean", FLAG_DESC_TRANSLATE_CLEAN);
 
+    /**
+     * <p>
+     * Tells the compiler to implement facilities with more than one
+     * enhancement using a class that directly calls the concept and
+     * enhancement realizations instead of a chain of
+     * {@code java.lang.reflect.Proxy} objects.
+     * </p>
+     */
+    public static final Flag JAVA_FLAG_STATIC_ENHANCEMENTS =
+            new Flag(FLAG_SECTION_NAME, "javaStaticEnhancements",
+                    FLAG_DESC_STATIC_ENHANCEMENTS);
+
+    /**
+     * <p>
+     * Tells the compiler to store local variables whose types come from
+     * {@code Std_Integer_Fac}, {@code Std_Boolean_Fac} or
+     * {@code Std_Character_Fac} as {@code int}, {@code boolean} and
+     * {@code char} values and to replace calls to the arithmetic, logical and
+     * comparison operations from these facilities with {@code Java}
+     * operators.
+     * </p>
+     */
+    public static final Flag JAVA_FLAG_PRIMITIVE_STD = new Flag(
+            FLAG_SECTION_NAME, "javaPrimitiveStd", FLAG_DESC_PRIMITIVE_STD);
+
     /**
      * <p>
      * Add all the required and implied flags for the {@code JavaTranslator}.
@@ -165,6 +254,14 @@ public class JavaTranslator extends AbstractTranslator {
         FlagDependencies.addRequires(JAVA_FLAG_TRANSLATE_CLEAN,
                 JAVA_FLAG_TRANSLATE);
 
+        // Static enhancements requires the regular translate flag
+        FlagDependencies.addRequires(JAVA_FLAG_STATIC_ENHANCEMENTS,
+                JAVA_FLAG_TRANSLATE);
+
+        // Primitive standard facilities requires the regular translate flag
+        FlagDependencies.addRequires(JAVA_FLAG_PRIMITIVE_STD,
+                JAVA_FLAG_TRANSLATE);
+
         // Setup debugging for java translator
         FlagDependencies.addImplies(FLAG_TRANSLATE_DEBUG,
                 ResolveCompiler.FLAG_DEBUG);
@@ -187,12 +284,19 @@ public class JavaTranslator extends AbstractTranslator {
     public JavaTranslator(MathSymbolTableBuilder builder,
             CompileEnvironment compileEnvironment) {
         super(builder, compileEnvironment,
-                new STGroupFile("templates/Java.stg"));
+                STGroupRegistry.getGroup(STGroupRegistry.JAVA_TRANSLATION));
         myBaseEnhancement = null;
         myBaseInstantiation = null;
         myCurrentEnhancement = null;
+        myEnhancementInstantiations = new LinkedHashMap<>();
         myFacilityBindings = new LinkedHashMap<>();
         myParameterOperationNames = new HashSet<>();
+        myBoxedVariableNames = new LinkedHashSet<>();
+        myPrimitiveStdFlag =
+                compileEnvironment.flags.isFlagSet(JAVA_FLAG_PRIMITIVE_STD);
+        myPrimitiveVariables = new HashMap<>();
+        myStaticEnhancementsFlag = compileEnvironment.flags
+                .isFlagSet(JAVA_FLAG_STATIC_ENHANCEMENTS);
     }
 
     // ===========================================================
@@ -377,45 +481,8 @@ public class JavaTranslator extends AbstractTranslator {
          * base concept, but whose bodies merely call the <em>real</em> method.
          */
         try {
-            ModuleScope conceptScope = myBuilder.getModuleScope(
-                    new ModuleIdentifier(dec.getConceptName().getName()));
-
-            List<OperationEntry> conceptOperations = conceptScope
-                    .query(new EntryTypeQuery<>(OperationEntry.class,
-                            MathSymbolTable.ImportStrategy.IMPORT_NONE,
-                            MathSymbolTable.FacilityStrategy.FACILITY_IGNORE));
-
-            List<TypeFamilyEntry> conceptTypes = conceptScope
-                    .query(new EntryTypeQuery<>(TypeFamilyEntry.class,
-                            MathSymbolTable.ImportStrategy.IMPORT_NONE,
-                            MathSymbolTable.FacilityStrategy.FACILITY_IGNORE));
-
-            for (OperationEntry o : conceptOperations) {
-                PTType returnType = (o.getReturnType() instanceof PTVoid) ? null
-                        : o.getReturnType();
-
-                addEnhancementConceptualFunction(
-                        o.getDefiningElement().getLocation(), returnType,
-                        o.getName(), o.getParameters());
-            }
-
-            for (ProgramParameterEntry p : getModuleFormalParameters(
-                    dec.getConceptName())) {
-
-                addEnhancementConceptualFunction(
-                        p.getDefiningElement().getLocation(),
-                        p.getDeclaredType(),
-                        (p.getDeclaredType() instanceof PTElement)
-                                ? "getType" + p.getName()
-                                : "get" + p.getName(),
-                        null);
-            }
-
-            for (TypeFamilyEntry e : conceptTypes) {
-                addEnhancementConceptualFunction(
-                        e.getDefiningElement().getLocation(),
-                        e.getProgramType(), "create" + e.getName(), null);
-            }
+            addDelegatingFunctions(dec.getConceptName(), "con",
+                    "conceptfunctions");
         }
         catch (NoSuchSymbolException nsse) {
             noSuchModule(dec.getConceptName());
@@ -454,7 +521,8 @@ public class JavaTranslator extends AbstractTranslator {
     public final void postFacilityModuleDec(FacilityModuleDec dec) {
         String invocationName = null;
 
-        boolean buildingJar = myCompileEnvironment.flags.isFlagSet("createJar");
+        boolean buildingJar = myCompileEnvironment.flags
+                .isFlagSet(JarArchiver.FLAG_CREATE_JAR);
 
         List<OperationEntry> locals = myCurrentModuleScope
                 .query(new EntryTypeQuery<>(OperationEntry.class,
@@ -689,9 +757,12 @@ public class JavaTranslator extends AbstractTranslator {
             ModuleParameterization realiz =
                     myCurrentFacilityEntry.getFacility().getRealization();
 
-            if (!dec.getExternallyRealizedFlag()) {
-                constructFacilityArgBindings(dec.getLocation(), spec, realiz);
+            // Externally realized facilities don't have a RESOLVE realization,
+            // but we still need to bind the concept's arguments.
+            if (dec.getExternallyRealizedFlag()) {
+                realiz = null;
             }
+            constructFacilityArgBindings(dec.getLocation(), spec, realiz);
         }
         catch (NoSuchSymbolException nsse) {
             noSuchSymbol(null, dec.getName());
@@ -717,10 +788,22 @@ public class JavaTranslator extends AbstractTranslator {
         List<String> pathPieces =
                 getFile(dec.getConceptName().getName()).getPkgList();
 
+        // If we are using a wrapper class, clear the stack of the templates
+        // pushed for each EnhancementSpecItem plus the base instantiation
+        // and instantiate the wrapper class instead.
+        if (usesEnhancedFacilityClass()) {
+            for (int i = 0; i < myCurrentFacilityEntry.getEnhancements()
+                    .size(); i++) {
+                myActiveTemplates.pop();
+            }
+
+            myActiveTemplates.pop();
+            myActiveTemplates.push(addEnhancedFacilityClass(dec));
+        }
         // Basically: If we are an enhanced facility, clear the stack of only
         // the templates pushed for each EnhancementSpecItem plus the base
         // instantiation.. THEN push on the formed (enhanced) rhs.
-        if (myActiveTemplates.peek() != myBaseInstantiation) {
+        else if (myActiveTemplates.peek() != myBaseInstantiation) {
             for (int i = 0; i < myCurrentFacilityEntry.getEnhancements()
                     .size(); i++) {
                 myActiveTemplates.pop();
@@ -771,7 +854,8 @@ public class JavaTranslator extends AbstractTranslator {
         List<ModuleParameterization> enhancements =
                 myCurrentFacilityEntry.getEnhancements();
 
-        boolean proxied = myCurrentFacilityEntry.getEnhancements().size() > 1;
+        boolean proxied = myCurrentFacilityEntry.getEnhancements().size() > 1
+                && !myStaticEnhancementsFlag;
 
         if (myBaseInstantiation.getAttribute("arguments") instanceof ST) {
             singleArg = ((ST) myBaseInstantiation.getAttribute("arguments"));
@@ -815,6 +899,17 @@ public class JavaTranslator extends AbstractTranslator {
             postEnhancementSpecRealizItem(EnhancementSpecRealizItem item) {
         String curName = item.getEnhancementRealizName().getName();
 
+        // The wrapper class passes its concept realization to each of
+        // the enhancement realizations.
+        if (usesEnhancedFacilityClass()) {
+            myActiveTemplates.peek().add("arguments", "_con");
+            if (!myEnhancementInstantiations.containsKey(curName)) {
+                myEnhancementInstantiations.put(curName,
+                        myActiveTemplates.peek());
+            }
+            return;
+        }
+
         List<ModuleParameterization> enhancements =
                 myCurrentFacilityEntry.getEnhancements();
 
@@ -906,10 +1001,247 @@ public class JavaTranslator extends AbstractTranslator {
         return true;
     }
 
+    // -----------------------------------------------------------
+    // Operation Declaration-Related
+    // -----------------------------------------------------------
+
+    /**
+     * <p>
+     * Code that gets executed before visiting a {@link Dec}.
+     * </p>
+     *
+     * @param dec A declaration.
+     */
+    @Override
+    public final void preDec(Dec dec) {
+        // Decide which local variables we can store as Java primitives
+        // before walking the procedure's variables.
+        if (dec instanceof ProcedureDec) {
+            findPrimitiveVariables(((ProcedureDec) dec).getVariables(),
+                    ((ProcedureDec) dec).getStatements());
+        }
+        else if (dec instanceof OperationProcedureDec) {
+            findPrimitiveVariables(((OperationProcedureDec) dec).getVariables(),
+                    ((OperationProcedureDec) dec).getStatements());
+        }
+    }
+
+    /**
+     * <p>
+     * Code that gets executed after visiting a {@link Dec}.
+     * </p>
+     *
+     * @param dec A declaration.
+     */
+    @Override
+    public final void postDec(Dec dec) {
+        if (dec instanceof ProcedureDec
+                || dec instanceof OperationProcedureDec) {
+            myPrimitiveVariables.clear();
+        }
+    }
+
     // -----------------------------------------------------------
     // Statement-Related
     // -----------------------------------------------------------
 
+    /**
+     * <p>
+     * Code that gets executed before visiting a {@link Statement}.
+     * </p>
+     *
+     * @param stmt A statement.
+     */
+    @Override
+    public final void preStatement(Statement stmt) {
+        // Local variables stored as Java primitives need to be boxed
+        // before we can pass them to an operation.
+        if (stmt instanceof CallStmt) {
+            myBoxedVariableNames = getBoxedVariableNames(
+                    ((CallStmt) stmt).getFunctionExp(), false);
+            openBoxingBlock(myBoxedVariableNames);
+        }
+        else if (stmt instanceof FuncAssignStmt) {
+            myBoxedVariableNames = getBoxedVariableNames(
+                    ((FuncAssignStmt) stmt).getAssignExp(), false);
+            openBoxingBlock(myBoxedVariableNames);
+        }
+    }
+
+    /**
+     * <p>
+     * Code that gets executed after visiting a {@link Statement}.
+     * </p>
+     *
+     * @param stmt A statement.
+     */
+    @Override
+    public final void postStatement(Statement stmt) {
+        // Only operation calls can modify their arguments, so these are the
+        // only boxed values that need to be copied back.
+        if (stmt instanceof CallStmt || stmt instanceof FuncAssignStmt) {
+            closeBoxingBlock(myBoxedVariableNames, stmt instanceof CallStmt);
+            myBoxedVariableNames = new LinkedHashSet<>();
+        }
+    }
+
+    /**
+     * <p>
+     * This method redefines how a {@link CallStmt} should be walked.
+     * </p>
+     *
+     * @param stmt An operation call statement.
+     *
+     * @return {@code true} if we replaced the call with a {@code Java}
+     *         operator, {@code false} otherwise.
+     */
+    @Override
+    public final boolean walkCallStmt(CallStmt stmt) {
+        boolean walked = false;
+        ProgramFunctionExp callingFunctionExp = stmt.getFunctionExp();
+        List<ProgramExp> arguments = callingFunctionExp.getArguments();
+
+        // Increment and decrement a local variable stored as a Java primitive
+        if (arguments.size() == 1 && isPrimitiveVariable(arguments.get(0))) {
+            PrimitiveStdType stdType =
+                    getPrimitiveStdType(arguments.get(0).getProgramType());
+            String operator = stdType
+                    .getUpdateOperator(callingFunctionExp.getName().getName());
+
+            if (operator != null && stdType.getFacilityName()
+                    .equals(getCallQualifier(callingFunctionExp.getQualifier(),
+                            callingFunctionExp.getName(), arguments))) {
+                ST updateStmt = mySTGroup.getInstanceOf("primitive_update")
+                        .add("name", getPrimitiveExpTemplate(arguments.get(0)))
+                        .add("operator", operator);
+
+                myActiveTemplates.peek().add("stmts", updateStmt);
+                walked = true;
+            }
+        }
+
+        return walked;
+    }
+
+    /**
+     * <p>
+     * This method redefines how a {@link FuncAssignStmt} should be walked.
+     * </p>
+     *
+     * @param stmt A function assignment statement.
+     *
+     * @return {@code true} if we assigned a {@code Java} primitive value,
+     *         {@code false} otherwise.
+     */
+    @Override
+    public final boolean walkFuncAssignStmt(FuncAssignStmt stmt) {
+        ProgramVariableExp variableExp = stmt.getVariableExp();
+        ProgramExp assignExp = stmt.getAssignExp();
+        boolean walked =
+                getPrimitiveStdType(variableExp.getProgramType()) != null
+                        && (isPrimitiveVariable(variableExp)
+                                || isPrimitiveExp(assignExp));
+
+        // Assign the primitive value directly instead of creating a new
+        // object and calling "assign".
+        if (walked) {
+            Set<String> boxedVariableNames =
+                    getBoxedVariableNames(assignExp, true);
+            openBoxingBlock(boxedVariableNames);
+
+            ST assignStmt = mySTGroup.getInstanceOf("primitive_assign")
+                    .add("name", getPrimitiveExpTemplate(variableExp))
+                    .add("exp", getPrimitiveExpTemplate(assignExp));
+            myActiveTemplates.peek().add("stmts", assignStmt);
+
+            closeBoxingBlock(boxedVariableNames, false);
+        }
+
+        return walked;
+    }
+
+    /**
+     * <p>
+     * This method redefines how an {@link IfStmt} should be walked.
+     * </p>
+     *
+     * @param stmt An if statement.
+     *
+     * @return {@code true} if we translated the condition to a {@code Java}
+     *         {@code boolean} expression, {@code false} otherwise.
+     */
+    @Override
+    public final boolean walkIfStmt(IfStmt stmt) {
+        IfConditionItem ifClause = stmt.getIfClause();
+        boolean walked = stmt.getElseifpairs().isEmpty()
+                && isPrimitiveExp(ifClause.getTest());
+
+        if (walked) {
+            ST ifStmt = mySTGroup.getInstanceOf("if").add("condition",
+                    getPrimitiveExpTemplate(ifClause.getTest()));
+            walkStatements(ifStmt, ifClause.getStatements());
+
+            if (!stmt.getElseclause().isEmpty()) {
+                walkStatements(mySTGroup.getInstanceOf("else"),
+                        stmt.getElseclause());
+            }
+        }
+
+        return walked;
+    }
+
+    /**
+     * <p>
+     * This method redefines how a {@link SwapStmt} should be walked.
+     * </p>
+     *
+     * @param stmt A swap statement.
+     *
+     * @return {@code true} if we swapped {@code Java} primitive values,
+     *         {@code false} otherwise.
+     */
+    @Override
+    public final boolean walkSwapStmt(SwapStmt stmt) {
+        boolean walked = isPrimitiveVariable(stmt.getLeft())
+                || isPrimitiveVariable(stmt.getRight());
+
+        if (walked) {
+            ST swapStmt = mySTGroup.getInstanceOf("primitive_swap")
+                    .add("type",
+                            getPrimitiveStdType(stmt.getLeft().getProgramType())
+                                    .getJavaType())
+                    .add("left", getPrimitiveExpTemplate(stmt.getLeft()))
+                    .add("right", getPrimitiveExpTemplate(stmt.getRight()));
+
+            myActiveTemplates.peek().add("stmts", swapStmt);
+        }
+
+        return walked;
+    }
+
+    /**
+     * <p>
+     * This method redefines how a {@link WhileStmt} should be walked.
+     * </p>
+     *
+     * @param stmt A while statement.
+     *
+     * @return {@code true} if we translated the condition to a {@code Java}
+     *         {@code boolean} expression, {@code false} otherwise.
+     */
+    @Override
+    public final boolean walkWhileStmt(WhileStmt stmt) {
+        boolean walked = isPrimitiveExp(stmt.getTest());
+
+        if (walked) {
+            ST whileStmt = mySTGroup.getInstanceOf("while").add("condition",
+                    getPrimitiveExpTemplate(stmt.getTest()));
+            walkStatements(whileStmt, stmt.getStatements());
+        }
+
+        return walked;
+    }
+
     /**
      * <p>
      * Code that gets executed before visiting a {@link CallStmt}.
@@ -1140,6 +1472,40 @@ public class JavaTranslator extends AbstractTranslator {
                 "Adding parameter variable: " + dec.getName());
     }
 
+    /**
+     * <p>
+     * This method redefines how a {@link VarDec} should be walked.
+     * </p>
+     *
+     * @param dec A variable declaration.
+     *
+     * @return {@code true} if the variable is stored as a {@code Java}
+     *         primitive value, {@code false} otherwise.
+     */
+    @Override
+    public final boolean walkVarDec(VarDec dec) {
+        String name = dec.getName().getName();
+        boolean walked = myPrimitiveVariables.containsKey(name);
+
+        // The initial value still comes from the facility.
+        if (walked) {
+            PTType type = dec.getTy().getProgramType();
+            ST init = getUnboxTemplate(type).add("arguments",
+                    getBoxedVariableInit(type));
+            ST variable = mySTGroup.getInstanceOf("var_decl")
+                    .add("name", getPrimitiveVariableName(name))
+                    .add("type", getPrimitiveStdType(type).getJavaType())
+                    .add("init", init);
+
+            myActiveTemplates.peek().add("variables", variable);
+
+            emitDebug(dec.getLocation(), "Adding primitive variable: " + name
+                    + " with type: " + getTypeName(type));
+        }
+
+        return walked;
+    }
+
     // ===========================================================
     // Public Methods
     // ===========================================================
@@ -1260,16 +1626,15 @@ public class JavaTranslator extends AbstractTranslator {
 
     /**
      * <p>
-     * This method is only intended to be called when translating
-     * {@link EnhancementRealizModuleDec
-     * EnhancementRealizModuleDecs}. It is used to construct and add a 'dummy
-     * method' that simply uses
-     * 'con' to call the actual method.
+     * This method is used to construct and add a 'dummy method' that simply
+     * uses {@code delegate} to call the actual method. When translating
+     * {@link EnhancementRealizModuleDec EnhancementRealizModuleDecs}, the
+     * delegate is 'con'.
      * </p>
      *
      * <p>
-     * For example, given {@code type} = null, {@code name} = 'Pop', and
-     * {@code parameters} = [R, S];
+     * For example, given {@code type} = null, {@code name} = 'Pop',
+     * {@code parameters} = [R, S] and {@code delegate} = 'con';
      * is method returns :
      * 
      * <pre>
@@ -1280,16 +1645,21 @@ public class JavaTranslator extends AbstractTranslator {
      * </pre>
      * </p>
      *
+     * @param loc Location of the function we are delegating to.
      * @param type A {@link PTType} for the function's return type.
      * @param name The name.
      * @param parameters A list of {@link ProgramParameterEntry} representing
      *        the function's formal
      *        parameters.
+     * @param delegate The name of the object that implements the function.
+     * @param attributeName The attribute the resulting function is added to.
      */
-    private void addEnhancementConceptualFunction(Location loc, PTType type,
-            String name, ImmutableList<ProgramParameterEntry> parameters) {
-        ST singleLine = mySTGroup.getInstanceOf("enhanced_stmt")
-                .add("returns", type).add("name", name);
+    private void addDelegatingFunction(Location loc, PTType type, String name,
+            ImmutableList<ProgramParameterEntry> parameters, String delegate,
+            String attributeName) {
+        ST singleLine =
+                mySTGroup.getInstanceOf("delegating_stmt").add("returns", type)
+                        .add("delegate", delegate).add("name", name);
 
         ST operation = getOperationLikeTemplate(type, name, true);
         myActiveTemplates.push(operation);
@@ -1302,9 +1672,139 @@ public class JavaTranslator extends AbstractTranslator {
         }
 
         ST result = myActiveTemplates.pop().add("stmts", singleLine);
-        myActiveTemplates.peek().add("conceptfunctions", result);
+        myActiveTemplates.peek().add(attributeName, result);
+
+        emitDebug(loc, "Adding delegating function for: " + name);
+    }
+
+    /**
+     * <p>
+     * This method adds a delegating function (see
+     * {@link #addDelegatingFunction(Location, PTType, String, ImmutableList, String, String)})
+     * for every operation, module parameter and type family declared in
+     * {@code moduleName}.
+     * </p>
+     *
+     * @param moduleName Name of a {@code concept} or {@code enhancement}.
+     * @param delegate The name of the object that implements the functions.
+     * @param attributeName The attribute the resulting functions are added
+     *        to.
+     *
+     * @throws NoSuchSymbolException If we can't locate the module's scope.
+     */
+    private void addDelegatingFunctions(PosSymbol moduleName, String delegate,
+            String attributeName)
+            throws NoSuchSymbolException {
+        ModuleScope moduleScope = myBuilder
+                .getModuleScope(new ModuleIdentifier(moduleName.getName()));
+
+        List<OperationEntry> operations =
+                moduleScope.query(new EntryTypeQuery<>(OperationEntry.class,
+                        MathSymbolTable.ImportStrategy.IMPORT_NONE,
+                        MathSymbolTable.FacilityStrategy.FACILITY_IGNORE));
+
+        List<TypeFamilyEntry> types =
+                moduleScope.query(new EntryTypeQuery<>(TypeFamilyEntry.class,
+                        MathSymbolTable.ImportStrategy.IMPORT_NONE,
+                        MathSymbolTable.FacilityStrategy.FACILITY_IGNORE));
+
+        for (OperationEntry o : operations) {
+            PTType returnType = (o.getReturnType() instanceof PTVoid) ? null
+                    : o.getReturnType();
+
+            addDelegatingFunction(o.getDefiningElement().getLocation(),
+                    returnType, o.getName(), o.getParameters(), delegate,
+                    attributeName);
+        }
+
+        for (ProgramParameterEntry p : getModuleFormalParameters(moduleName)) {
+            addDelegatingFunction(p.getDefiningElement().getLocation(),
+                    p.getDeclaredType(),
+                    (p.getDeclaredType() instanceof PTElement)
+                            ? "getType" + p.getName()
+                            : "get" + p.getName(),
+                    null, delegate, attributeName);
+        }
+
+        for (TypeFamilyEntry e : types) {
+            addDelegatingFunction(e.getDefiningElement().getLocation(),
+                    e.getProgramType(), "create" + e.getName(), null, delegate,
+                    attributeName);
+        }
+    }
+
+    /**
+     * <p>
+     * This method creates a class that implements the {@code concept} and all
+     * the {@code enhancements} of {@code dec} by directly calling the
+     * realization objects it holds and adds it to the class we are currently
+     * translating. Unlike the objects created by {@code createProxy}, every
+     * call is statically typed, so it can be inlined by the {@code JIT}.
+     * </p>
+     *
+     * <p>
+     * For example, given
+     * {@code Facility SF is Stack_Template(Integer, 4) realized by Array_Realiz
+     * enhanced by Reading_Capability realized by Obvious_Reading_Realiz
+     * enhanced by Writing_Capability realized by Obvious_Writing_Realiz;}, we
+     * create a class named {@code SF_Enhanced} with the fields
+     * {@code _con}, {@code _Obvious_Reading_Realiz} and
+     * {@code _Obvious_Writing_Realiz}.
+     * </p>
+     *
+     * @param dec A facility declaration with more than one {@code enhancement}.
+     *
+     * @return A template that creates an instance of the new class.
+     */
+    private ST addEnhancedFacilityClass(FacilityDec dec) {
+        String className = dec.getName().getName() + "_Enhanced";
+        ST enhancedClass = mySTGroup.getInstanceOf("enhanced_facility_class")
+                .add("name", className)
+                .add("implement", dec.getConceptName().getName())
+                .addAggr("base.{type, init}",
+                        dec.getConceptRealizName().getName(),
+                        myBaseInstantiation);
+        myActiveTemplates.push(enhancedClass);
+
+        try {
+            addDelegatingFunctions(dec.getConceptName(), "_con", "functions");
+
+            // A facility can list the same enhancement more than once, but
+            // the class can only implement it once, so we only keep the
+            // first realization for each enhancement.
+            Set<String> addedEnhancements = new HashSet<>();
+            for (EnhancementSpecRealizItem item : dec
+                    .getEnhancementRealizPairs()) {
+                String realizName = item.getEnhancementRealizName().getName();
+                if (!addedEnhancements
+                        .add(item.getEnhancementName().getName())) {
+                    continue;
+                }
+
+                enhancedClass
+                        .add("implement", item.getEnhancementName().getName())
+                        .addAggr("enhancements.{type, init}", realizName,
+                                myEnhancementInstantiations.get(realizName));
+
+                // Each enhancement only needs to implement its own
+                // operations. Everything else belongs to the concept.
+                addDelegatingFunctions(item.getEnhancementName(),
+                        "_" + realizName, "functions");
+            }
+        }
+        catch (NoSuchSymbolException nsse) {
+            noSuchModule(dec.getConceptName());
+        }
+
+        myActiveTemplates.pop();
+        myActiveTemplates.get(1).add("classes", enhancedClass);
+        myEnhancementInstantiations.clear();
 
-        emitDebug(loc, "Adding enhancement conceptual function for: " + name);
+        emitDebug(dec.getLocation(),
+                "Adding enhanced facility class for: " + dec.getName());
+
+        return mySTGroup.getInstanceOf("facility_type_var_init").add("name",
+                className);
     }
 
     /**
@@ -1327,6 +1827,22 @@ public class JavaTranslator extends AbstractTranslator {
                 "Adding package template for module: " + dec.getName());
     }
 
+    /**
+     * <p>
+     * This method checks to see if the {@link FacilityDec} currently being
+     * walked should be implemented using the class created by
+     * {@link #addEnhancedFacilityClass(FacilityDec)}.
+     * </p>
+     *
+     * @return {@code true} if we are generating static enhancements and
+     *         the facility has more than one {@code enhancement},
+     *         {@code false} otherwise.
+     */
+    private boolean usesEnhancedFacilityClass() {
+        return myStaticEnhancementsFlag && myCurrentFacilityEntry != null
+                && myCurrentFacilityEntry.getEnhancements().size() > 1;
+    }
+
     /**
      * <p>
      * Creates and adds a formed java reflection package template to the
@@ -1347,6 +1863,37 @@ public class JavaTranslator extends AbstractTranslator {
                 "Adding reflection imports for module: " + dec.getName());
     }
 
+    /**
+     * <p>
+     * An helper method that completes the block created by
+     * {@link #openBoxingBlock(Set)} and adds it to the currently active
+     * template.
+     * </p>
+     *
+     * @param names The names of the boxed local variables.
+     * @param copyBack {@code true} if the statement in the block could have
+     *        modified the boxed values, {@code false} otherwise.
+     */
+    private void closeBoxingBlock(Set<String> names, boolean copyBack) {
+        if (!names.isEmpty()) {
+            ST block = myActiveTemplates.pop();
+            if (copyBack) {
+                for (String name : names) {
+                    ST unboxedValue =
+                            getUnboxTemplate(myPrimitiveVariables.get(name))
+                                    .add("arguments", name);
+
+                    block.add("stmts",
+                            mySTGroup.getInstanceOf("primitive_assign")
+                                    .add("name", getPrimitiveVariableName(name))
+                                    .add("exp", unboxedValue));
+                }
+            }
+
+            myActiveTemplates.peek().add("stmts", block);
+        }
+    }
+
     /**
      * <p>
      * Binds <em>every</em> actual parameter of a {@link FacilityDec} to its
@@ -1361,7 +1908,8 @@ public class JavaTranslator extends AbstractTranslator {
      *        {@code concept} or
      *        {@code enhancement}.
      * @param realiz A {@link ModuleParameterization} referencing a realization
-     *        ({@code concept realization} or {@code enhancement realization}).
+     *        ({@code concept realization} or {@code enhancement realization})
+     *        or {@code null} if the facility is externally realized.
      */
     private void constructFacilityArgBindings(Location loc,
             ModuleParameterization spec, ModuleParameterization realiz) {
@@ -1374,14 +1922,17 @@ public class JavaTranslator extends AbstractTranslator {
             ModuleDec specModule =
                     myBuilder.getModuleScope(spec.getModuleIdentifier())
                             .getDefiningElement();
-            ModuleDec realizModule =
-                    myBuilder.getModuleScope(realiz.getModuleIdentifier())
-                            .getDefiningElement();
 
             List<ModuleParameterDec> joinedFormals =
                     new LinkedList<>(specModule.getParameterDecs());
-            joinedActuals.addAll(realiz.getParameters());
-            joinedFormals.addAll(realizModule.getParameterDecs());
+            if (realiz != null) {
+                ModuleDec realizModule =
+                        myBuilder.getModuleScope(realiz.getModuleIdentifier())
+                                .getDefiningElement();
+
+                joinedActuals.addAll(realiz.getParameters());
+                joinedFormals.addAll(realizModule.getParameterDecs());
+            }
 
             for (int i = 0; i < joinedActuals.size(); i++) {
                 myFacilityBindings.put(joinedActuals.get(i),
@@ -1396,6 +1947,145 @@ public class JavaTranslator extends AbstractTranslator {
         }
     }
 
+    /**
+     * <p>
+     * An helper method that finds the local variables of a procedure that
+     * can be stored as {@code Java} primitive values.
+     * </p>
+     *
+     * <p>
+     * Any local variable whose type comes from one of the standard
+     * facilities qualifies, unless it is used by a {@code while} or
+     * {@code if} condition in a way that requires an object. Everywhere else
+     * we can temporarily box the value.
+     * </p>
+     *
+     * @param variables The procedure's local variables.
+     * @param statements The procedure's statements.
+     */
+    private void findPrimitiveVariables(List<VarDec> variables,
+            List<Statement> statements) {
+        myPrimitiveVariables.clear();
+
+        if (myPrimitiveStdFlag) {
+            for (VarDec variable : variables) {
+                PTType type = variable.getTy().getProgramType();
+                if (getPrimitiveStdType(type) != null) {
+                    myPrimitiveVariables.put(variable.getName().getName(),
+                            type);
+                }
+            }
+
+            if (!myPrimitiveVariables.isEmpty()) {
+                removeConditionVariables(statements);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that returns an expression that creates an object
+     * containing the initial value of a type from one of the standard
+     * facilities.
+     * </p>
+     *
+     * @param type A {@link PTType}.
+     *
+     * @return A {@link ST} that creates a new object.
+     */
+    private ST getBoxedVariableInit(PTType type) {
+        return mySTGroup.getInstanceOf("var_init")
+                .add("type", getVariableTypeTemplate(type))
+                .add("facility", getDefiningFacilityEntry(type).getName());
+    }
+
+    /**
+     * <p>
+     * An helper method that returns the local variables stored as
+     * {@code Java} primitive values that are used by the parts of an
+     * expression we translate to method calls.
+     * </p>
+     *
+     * @param exp A programming expression.
+     * @param primitiveContext {@code true} if {@code exp} is translated to a
+     *        {@code Java} primitive value whenever possible, {@code false}
+     *        otherwise.
+     *
+     * @return The names of the local variables we need to box.
+     */
+    private Set<String> getBoxedVariableNames(ProgramExp exp,
+            boolean primitiveContext) {
+        Set<String> names = new LinkedHashSet<>();
+
+        if (primitiveContext && isPrimitiveExp(exp)) {
+            if (exp instanceof ProgramFunctionExp) {
+                for (ProgramExp argument : ((ProgramFunctionExp) exp)
+                        .getArguments()) {
+                    names.addAll(getBoxedVariableNames(argument, true));
+                }
+            }
+        }
+        else if (exp instanceof ProgramVariableNameExp) {
+            if (isPrimitiveVariable(exp)) {
+                names.add(((ProgramVariableNameExp) exp).getName().getName());
+            }
+        }
+        else if (exp instanceof ProgramFunctionExp) {
+            for (ProgramExp argument : ((ProgramFunctionExp) exp)
+                    .getArguments()) {
+                names.addAll(getBoxedVariableNames(argument, false));
+            }
+        }
+        else if (exp instanceof ProgramVariableArrayExp) {
+            names.addAll(getBoxedVariableNames(
+                    ((ProgramVariableArrayExp) exp).getArrayNameExp(), false));
+            names.addAll(getBoxedVariableNames(
+                    ((ProgramVariableArrayExp) exp).getArrayIndexExp(), false));
+        }
+
+        return names;
+    }
+
+    /**
+     * <p>
+     * An helper method that returns the {@code Java} literal for a character.
+     * </p>
+     *
+     * @param c A character.
+     *
+     * @return A {@code Java} character literal.
+     */
+    private String getCharacterLiteral(char c) {
+        String result;
+        switch (c) {
+        case '\'':
+            result = "'\\''";
+            break;
+        case '\\':
+            result = "'\\\\'";
+            break;
+        case '\n':
+            result = "'\\n'";
+            break;
+        case '\r':
+            result = "'\\r'";
+            break;
+        case '\t':
+            result = "'\\t'";
+            break;
+        default:
+            if (c < ' ' || c > '~') {
+                result = String.format("'\\u%04x'", (int) c);
+            }
+            else {
+                result = "'" + c + "'";
+            }
+            break;
+        }
+
+        return result;
+    }
+
     /**
      * <p>
      * This method retrieves the proper {@link ST} template for an operation as
@@ -1478,4 +2168,541 @@ public class JavaTranslator extends AbstractTranslator {
 
         return result;
     }
+
+    /**
+     * <p>
+     * An helper method that translates an expression whose type comes from
+     * one of the standard facilities to a {@code Java} primitive value.
+     * Operations that we can't replace with a {@code Java} operator are
+     * called as usual and their results are unboxed.
+     * </p>
+     *
+     * @param exp A programming expression.
+     *
+     * @return A {@link ST} for the {@code Java} primitive value.
+     */
+    private ST getPrimitiveExpTemplate(ProgramExp exp) {
+        ST result;
+
+        if (isPrimitiveVariable(exp)) {
+            result = mySTGroup.getInstanceOf("name_exp").add("name",
+                    getPrimitiveVariableName(((ProgramVariableNameExp) exp)
+                            .getName().getName()));
+        }
+        else if (exp instanceof ProgramIntegerExp && isPrimitiveExp(exp)) {
+            result = mySTGroup.getInstanceOf("name_exp").add("name",
+                    String.valueOf(((ProgramIntegerExp) exp).getValue()));
+        }
+        else if (exp instanceof ProgramCharExp && isPrimitiveExp(exp)) {
+            result = mySTGroup.getInstanceOf("name_exp").add("name",
+                    getCharacterLiteral(((ProgramCharExp) exp).getValue()));
+        }
+        else if (exp instanceof ProgramFunctionExp && isPrimitiveExp(exp)) {
+            String operator = getPrimitiveOperator((ProgramFunctionExp) exp);
+            List<ProgramExp> arguments =
+                    ((ProgramFunctionExp) exp).getArguments();
+
+            if (arguments.isEmpty()) {
+                result = mySTGroup.getInstanceOf("name_exp").add("name",
+                        operator);
+            }
+            else if (arguments.size() == 1) {
+                // Replicas of primitive values are just the value itself.
+                result = getPrimitiveExpTemplate(arguments.get(0));
+                if (!operator.isEmpty()) {
+                    result = mySTGroup.getInstanceOf("primitive_unary_exp")
+                            .add("operator", operator).add("exp", result);
+                }
+            }
+            else {
+                result = mySTGroup.getInstanceOf("primitive_binary_exp")
+                        .add("left", getPrimitiveExpTemplate(arguments.get(0)))
+                        .add("operator", operator).add("right",
+                                getPrimitiveExpTemplate(arguments.get(1)));
+            }
+        }
+        else {
+            result = getUnboxTemplate(exp.getProgramType());
+
+            myActiveTemplates.push(result);
+            TreeWalker.visit(this, exp);
+            myActiveTemplates.pop();
+        }
+
+        return result;
+    }
+
+    /**
+     * <p>
+     * An helper method that returns the {@code Java} operator that replaces a
+     * call to an operation from one of the standard facilities.
+     * </p>
+     *
+     * @param exp A programming function call.
+     *
+     * @return The {@code Java} operator, or {@code null} if {@code exp}
+     *         can't be replaced by an operator.
+     */
+    private String getPrimitiveOperator(ProgramFunctionExp exp) {
+        String result = null;
+        String name = exp.getName().getName();
+        List<ProgramExp> arguments = exp.getArguments();
+
+        // Operations with arguments belong to the facility that defines the
+        // arguments' type. The rest ("True" and "False") belong to the
+        // facility that defines the return type.
+        PrimitiveStdType stdType =
+                getPrimitiveStdType(arguments.isEmpty() ? exp.getProgramType()
+                        : arguments.get(0).getProgramType());
+        if (stdType != null && !myOperationParameterNames.contains(name)
+                && !myParameterOperationNames.contains(name)) {
+            String operator = stdType.getOperator(name, arguments.size());
+            boolean sameTypes = true;
+            for (ProgramExp argument : arguments) {
+                sameTypes &= (getPrimitiveStdType(
+                        argument.getProgramType()) == stdType);
+            }
+
+            // Make sure we are really calling the standard facility's
+            // operation and not a local operation with the same name.
+            if (operator != null && sameTypes
+                    && stdType.getFacilityName().equals(getCallQualifier(
+                            exp.getQualifier(), exp.getName(), arguments))) {
+                result = operator;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * <p>
+     * An helper method that checks to see if a type comes from one of the
+     * standard facilities that we can represent using {@code Java} primitive
+     * values.
+     * </p>
+     *
+     * @param type A {@link PTType}.
+     *
+     * @return The matching {@link PrimitiveStdType}, or {@code null} if
+     *         {@code type} doesn't come from a standard facility or we aren't
+     *         using {@code Java} primitive values.
+     */
+    private PrimitiveStdType getPrimitiveStdType(PTType type) {
+        PrimitiveStdType result = null;
+
+        if (myPrimitiveStdFlag && type instanceof PTFamily) {
+            FacilityEntry facility = getDefiningFacilityEntry(type);
+            if (facility != null) {
+                PrimitiveStdType stdType =
+                        PrimitiveStdType.fromFacilityName(facility.getName());
+                if (stdType != null
+                        && stdType.getTypeName().equals(getTypeName(type))) {
+                    result = stdType;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * <p>
+     * An helper method that returns the name of the {@code Java} local
+     * variable that stores a {@code RESOLVE} local variable as a primitive
+     * value. {@code RESOLVE} names can't start with an underscore, so this
+     * never clashes with another variable and the original name is free to
+     * use when we need to box the value.
+     * </p>
+     *
+     * @param name The {@code RESOLVE} variable name.
+     *
+     * @return The {@code Java} variable name.
+     */
+    private String getPrimitiveVariableName(String name) {
+        return "_" + name;
+    }
+
+    /**
+     * <p>
+     * An helper method that returns a template that extracts the
+     * {@code Java} primitive value from an object whose type comes from one
+     * of the standard facilities. The object itself needs to be added as the
+     * template's {@code arguments}.
+     * </p>
+     *
+     * @param type A {@link PTType}.
+     *
+     * @return A {@link ST} that unboxes the value.
+     */
+    private ST getUnboxTemplate(PTType type) {
+        String realization = getDefiningFacilityEntry(type).getFacility()
+                .getRealization().getModuleIdentifier().toString();
+
+        return mySTGroup.getInstanceOf("primitive_unbox")
+                .add("realization", realization).add("type", getTypeName(type));
+    }
+
+    /**
+     * <p>
+     * An helper method that checks to see if we can translate an expression
+     * directly to a {@code Java} primitive value.
+     * </p>
+     *
+     * @param exp A programming expression.
+     *
+     * @return {@code true} if {@code exp} is a local variable stored as a
+     *         primitive value, a literal or a call to an operation that we
+     *         replace with a {@code Java} operator, {@code false} otherwise.
+     */
+    private boolean isPrimitiveExp(ProgramExp exp) {
+        boolean result;
+        if (exp instanceof ProgramIntegerExp || exp instanceof ProgramCharExp) {
+            result = getPrimitiveStdType(exp.getProgramType()) != null;
+        }
+        else if (exp instanceof ProgramFunctionExp) {
+            result = getPrimitiveOperator((ProgramFunctionExp) exp) != null;
+        }
+        else {
+            result = isPrimitiveVariable(exp);
+        }
+
+        return result;
+    }
+
+    /**
+     * <p>
+     * An helper method that checks to see if an expression is a local
+     * variable stored as a {@code Java} primitive value.
+     * </p>
+     *
+     * @param exp A programming expression.
+     *
+     * @return {@code true} if it is, {@code false} otherwise.
+     */
+    private boolean isPrimitiveVariable(ProgramExp exp) {
+        return exp instanceof ProgramVariableNameExp
+                && myPrimitiveVariables.containsKey(
+                        ((ProgramVariableNameExp) exp).getName().getName());
+    }
+
+    /**
+     * <p>
+     * An helper method that starts a block where the specified local
+     * variables are stored in objects under their original names. This
+     * allows a statement to pass them to operations that expect objects.
+     * </p>
+     *
+     * @param names The names of the local variables to box.
+     */
+    private void openBoxingBlock(Set<String> names) {
+        if (!names.isEmpty()) {
+            ST block = mySTGroup.getInstanceOf("primitive_block");
+            for (String name : names) {
+                PTType type = myPrimitiveVariables.get(name);
+                block.add("stmts",
+                        mySTGroup.getInstanceOf("var_decl").add("name", name)
+                                .add("type", getVariableTypeTemplate(type))
+                                .add("init", getBoxedVariableInit(type)));
+                block.add("stmts", mySTGroup.getInstanceOf("primitive_assign")
+                        .add("name",
+                                getUnboxTemplate(type).add("arguments", name))
+                        .add("exp", getPrimitiveVariableName(name)));
+            }
+
+            myActiveTemplates.push(block);
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that removes any local variable from
+     * {@code myPrimitiveVariables} that is used by a {@code while} or
+     * {@code if} condition in a way that requires an object. Conditions are
+     * evaluated more than once, so we can't box values for them.
+     * </p>
+     *
+     * @param statements A list of statements.
+     */
+    private void removeConditionVariables(List<Statement> statements) {
+        for (Statement stmt : statements) {
+            if (stmt instanceof WhileStmt) {
+                WhileStmt whileStmt = (WhileStmt) stmt;
+                myPrimitiveVariables.keySet().removeAll(
+                        getBoxedVariableNames(whileStmt.getTest(), true));
+                removeConditionVariables(whileStmt.getStatements());
+            }
+            else if (stmt instanceof IfStmt) {
+                // We only translate conditions to Java booleans when there
+                // are no else-if clauses.
+                IfStmt ifStmt = (IfStmt) stmt;
+                boolean primitiveContext = ifStmt.getElseifpairs().isEmpty();
+
+                List<IfConditionItem> conditionItems = new ArrayList<>();
+                conditionItems.add(ifStmt.getIfClause());
+                conditionItems.addAll(ifStmt.getElseifpairs());
+                for (IfConditionItem item : conditionItems) {
+                    myPrimitiveVariables.keySet()
+                            .removeAll(getBoxedVariableNames(item.getTest(),
+                                    primitiveContext));
+                    removeConditionVariables(item.getStatements());
+                }
+
+                removeConditionVariables(ifStmt.getElseclause());
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that walks a list of statements and adds them to the
+     * specified template. The template is then added to the currently active
+     * template.
+     * </p>
+     *
+     * @param template A template with a {@code stmts} attribute.
+     * @param statements A list of statements.
+     */
+    private void walkStatements(ST template, List<Statement> statements) {
+        myActiveTemplates.push(template);
+        for (Statement stmt : statements) {
+            TreeWalker.visit(this, stmt);
+        }
+        myActiveTemplates.pop();
+
+        myActiveTemplates.peek().add("stmts", template);
+    }
+
+    // ===========================================================
+    // Helper Classes
+    // ===========================================================
+
+    /**
+     * <p>
+     * The types from the standard facilities that we can represent using
+     * {@code Java} primitive values, along with the operations that we can
+     * replace with {@code Java} operators. {@code Boolean} operations use the
+     * non-short-circuiting operators, so both arguments are always evaluated
+     * just like an operation call.
+     * </p>
+     */
+    private enum PrimitiveStdType {
+
+        BOOLEAN("Std_Boolean_Fac", "Boolean", "boolean",
+                new String[] { "True", "true", "False", "false" },
+                new String[] { "Not", "!", "Replica", "" },
+                new String[] { "And", "&", "Or", "|", "Are_Equal", "==",
+                        "Are_Not_Equal", "!=" },
+                new String[] {}),
+        CHARACTER("Std_Character_Fac", "Character", "char", new String[] {},
+                new String[] { "Replica", "" },
+                new String[] { "Are_Equal", "==", "Are_Not_Equal", "!=", "Less",
+                        "<", "Less_Or_Equal", "<=", "Greater", ">",
+                        "Greater_Or_Equal", ">=" },
+                new String[] {}),
+        INTEGER("Std_Integer_Fac", "Integer", "int", new String[] {},
+                new String[] { "Negate", "-", "Replica", "" },
+                new String[] { "Sum", "+", "Difference", "-", "Product", "*",
+                        "Are_Equal", "==", "Are_Not_Equal", "!=", "Less", "<",
+                        "Less_Or_Equal", "<=", "Greater", ">",
+                        "Greater_Or_Equal", ">=" },
+                new String[] { "Increment", "++", "Decrement", "--" });
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /**
+         * <p>
+         * The name of the standard facility.
+         * </p>
+         */
+        private final String myFacilityName;
+
+        /**
+         * <p>
+         * The {@code Java} primitive type.
+         * </p>
+         */
+        private final String myJavaType;
+
+        /**
+         * <p>
+         * The {@code Java} operators that replace the functions with zero,
+         * one and two arguments.
+         * </p>
+         */
+        private final List<Map<String, String>> myOperators;
+
+        /**
+         * <p>
+         * The name of the type declared by the facility's concept.
+         * </p>
+         */
+        private final String myTypeName;
+
+        /**
+         * <p>
+         * The {@code Java} operators that replace the procedures that update
+         * their only argument.
+         * </p>
+         */
+        private final Map<String, String> myUpdateOperators;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>
+         * This creates a type that can be represented using a {@code Java}
+         * primitive type.
+         * </p>
+         *
+         * @param facilityName The name of the standard facility.
+         * @param typeName The name of the type declared by the facility's
+         *        concept.
+         * @param javaType The {@code Java} primitive type.
+         * @param nullaryOperators Pairs of functions without arguments and
+         *        the {@code Java} literals that replace them.
+         * @param unaryOperators Pairs of functions with one argument and the
+         *        {@code Java} operators that replace them.
+         * @param binaryOperators Pairs of functions with two arguments and
+         *        the {@code Java} operators that replace them.
+         * @param updateOperators Pairs of procedures and the {@code Java}
+         *        operators that replace them.
+         */
+        PrimitiveStdType(String facilityName, String typeName, String javaType,
+                String[] nullaryOperators, String[] unaryOperators,
+                String[] binaryOperators, String[] updateOperators) {
+            myFacilityName = facilityName;
+            myJavaType = javaType;
+            myOperators = new ArrayList<>();
+            myOperators.add(toMap(nullaryOperators));
+            myOperators.add(toMap(unaryOperators));
+            myOperators.add(toMap(binaryOperators));
+            myTypeName = typeName;
+            myUpdateOperators = toMap(updateOperators);
+        }
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>
+         * This method returns the type that comes from the specified
+         * standard facility.
+         * </p>
+         *
+         * @param facilityName The name of a facility.
+         *
+         * @return The matching {@link PrimitiveStdType}, or {@code null} if
+         *         it isn't one of the standard facilities.
+         */
+        static PrimitiveStdType fromFacilityName(String facilityName) {
+            PrimitiveStdType result = null;
+            for (PrimitiveStdType stdType : values()) {
+                if (stdType.myFacilityName.equals(facilityName)) {
+                    result = stdType;
+                }
+            }
+
+            return result;
+        }
+
+        /**
+         * <p>
+         * This method returns the name of the standard facility.
+         * </p>
+         *
+         * @return The facility name.
+         */
+        final String getFacilityName() {
+            return myFacilityName;
+        }
+
+        /**
+         * <p>
+         * This method returns the {@code Java} primitive type.
+         * </p>
+         *
+         * @return The {@code Java} type name.
+         */
+        final String getJavaType() {
+            return myJavaType;
+        }
+
+        /**
+         * <p>
+         * This method returns the {@code Java} operator that replaces a
+         * function from the standard facility.
+         * </p>
+         *
+         * @param name The function's name.
+         * @param numArgs The number of arguments passed to the function.
+         *
+         * @return The {@code Java} operator, or {@code null} if there isn't
+         *         one.
+         */
+        final String getOperator(String name, int numArgs) {
+            String result = null;
+            if (numArgs < myOperators.size()) {
+                result = myOperators.get(numArgs).get(name);
+            }
+
+            return result;
+        }
+
+        /**
+         * <p>
+         * This method returns the name of the type declared by the
+         * facility's concept.
+         * </p>
+         *
+         * @return The type name.
+         */
+        final String getTypeName() {
+            return myTypeName;
+        }
+
+        /**
+         * <p>
+         * This method returns the {@code Java} operator that replaces a
+         * procedure that updates its only argument.
+         * </p>
+         *
+         * @param name The procedure's name.
+         *
+         * @return The {@code Java} operator, or {@code null} if there isn't
+         *         one.
+         */
+        final String getUpdateOperator(String name) {
+            return myUpdateOperators.get(name);
+        }
+
+        // ===========================================================
+        // Private Methods
+        // ===========================================================
+
+        /**
+         * <p>
+         * An helper method that converts an array of name and operator pairs
+         * into a map.
+         * </p>
+         *
+         * @param pairs An array of name and operator pairs.
+         *
+         * @return A map from names to operators.
+         */
+        private static Map<String, String> toMap(String[] pairs) {
+            Map<String, String> result = new HashMap<>();
+            for (int i = 0; i < pairs.length; i += 2) {
+                result.put(pairs[i], pairs[i + 1]);
+            }
+
+            return result;
+        }
+
+    }
 }
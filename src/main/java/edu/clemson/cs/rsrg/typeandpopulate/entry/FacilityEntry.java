@@ -110,7 +110,8 @@ public class FacilityEntry extends SymbolTableEntry {
             realization = new ModuleParameterization(
                     new ModuleIdentifier(
                             facility.getConceptRealizName().getName()),
-                    facility.getConceptParams(), this, mySourceRepository);
+                    facility.getConceptRealizParams(), this,
+                    mySourceRepository);
         }
 
         myType = new SpecRealizationPairing(facility.getLocation(), spec,
@@ -238,7 +238,7 @@ public abstract class MTType {
                     // All 'equals' logic should be put into AlphaEquivalencyChecker!
                     // Don't override equals!
                     AlphaEquivalencyChecker alphaEq =
-                            myTypeGraph.threadResources.alphaChecker;
+                            myTypeGraph.threadResources.get().alphaChecker;
                     alphaEq.reset();
 
                     alphaEq.visit(this, (MTType) o);
@@ -25,6 +25,7 @@ import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>
@@ -43,6 +44,13 @@ import java.util.Map;
  * <code>MathSymbolTableBuilder</code>.
  * </p>
  *
+ * <p>
+ * Each module is populated into its own {@link ModuleScopeBuilder} using a
+ * lexical scope stack that belongs to the thread populating it. The module's
+ * scopes only become visible to other threads once the module scope is
+ * closed, so independent modules can be populated in parallel.
+ * </p>
+ *
  * @version 2.0
  */
 public class MathSymbolTableBuilder extends ScopeRepository {
@@ -60,33 +68,44 @@ public class MathSymbolTableBuilder extends ScopeRepository {
 
     /**
      * <p>
-     * A list of current open scopes.
+     * The scope that contains the built-in objects and is the parent of every
+     * module scope.
      * </p>
      */
-    private final Deque<ScopeBuilder> myLexicalScopeStack = new LinkedList<>();
+    private final ScopeBuilder myGlobalScope;
 
     /**
      * <p>
-     * A map of non-module scope builders.
+     * The module being populated by each thread.
      * </p>
      */
-    private final Map<ResolveConceptualElement, ScopeBuilder> myScopes =
-            new HashMap<>();
+    private final ThreadLocal<ModulePopulation> myCurModulePopulation =
+            new ThreadLocal<>();
 
     /**
      * <p>
-     * A map of module scope builders.
+     * The modules that are currently being populated.
      * </p>
      */
-    private final Map<ModuleIdentifier, ModuleScopeBuilder> myModuleScopes =
-            new HashMap<>();
+    private final Map<ModuleIdentifier, ModulePopulation> myOpenModules =
+            new ConcurrentHashMap<>();
 
     /**
      * <p>
-     * The current module scope.
+     * A map of non-module scope builders from modules whose scope has been
+     * closed.
      * </p>
      */
-    private ModuleScopeBuilder myCurModuleScope = null;
+    private final Map<ResolveConceptualElement, ScopeBuilder> myScopes =
+            new ConcurrentHashMap<>();
+
+    /**
+     * <p>
+     * A map of module scope builders whose scope has been closed.
+     * </p>
+     */
+    private final Map<ModuleIdentifier, ModuleScopeBuilder> myModuleScopes =
+            new ConcurrentHashMap<>();
 
     /**
      * <p>
@@ -113,12 +132,10 @@ public class MathSymbolTableBuilder extends ScopeRepository {
         myTypeGraph = new TypeGraph(compileEnvironment);
 
         // The only things in global scope are built-in things
-        ScopeBuilder globalScope = new ScopeBuilder(this, myTypeGraph, null,
+        myGlobalScope = new ScopeBuilder(this, myTypeGraph, null,
                 DUMMY_RESOLVER, ModuleIdentifier.GLOBAL);
 
-        HardCoded.addBuiltInSymbols(myTypeGraph, globalScope);
-
-        myLexicalScopeStack.push(globalScope);
+        HardCoded.addBuiltInSymbols(myTypeGraph, myGlobalScope);
 
         // Some IDEs (rightly) complain about leaking a "this" pointer inside the
         // constructor, but we know what we're doing--this is the last thing in
@@ -145,17 +162,17 @@ public class MathSymbolTableBuilder extends ScopeRepository {
      *         <code>null</code>.
      */
     public final ScopeBuilder endScope() {
-        checkScopeOpen();
-        myLexicalScopeStack.pop();
+        ModulePopulation population = checkScopeOpen();
+        population.myLexicalScopeStack.pop();
 
         ScopeBuilder result;
 
-        if (myLexicalScopeStack.size() == 1) {
+        if (population.myLexicalScopeStack.isEmpty()) {
             result = null;
-            myCurModuleScope = null;
+            publishModule(population);
         }
         else {
-            result = myLexicalScopeStack.peek();
+            result = population.myLexicalScopeStack.peek();
         }
 
         return result;
@@ -171,14 +188,14 @@ public class MathSymbolTableBuilder extends ScopeRepository {
      * @throws IllegalStateException If there are no open scopes.
      */
     public final ScopeBuilder getInnermostActiveScope() {
-        checkScopeOpen();
-        return myLexicalScopeStack.peek();
+        return checkScopeOpen().myLexicalScopeStack.peek();
     }
 
     /**
      * <p>
      * Returns the {@link ModuleScope} associated with the given
-     * {@link ModuleIdentifier}.
+     * {@link ModuleIdentifier}. Other than the module being populated by the
+     * current thread, only modules whose scope has been closed are visible.
      * </p>
      *
      * @param module The module identifier.
@@ -191,11 +208,18 @@ public class MathSymbolTableBuilder extends ScopeRepository {
     @Override
     public final ModuleScope getModuleScope(ModuleIdentifier module)
             throws NoSuchSymbolException {
-        if (!myModuleScopes.containsKey(module)) {
+        ModulePopulation population = myCurModulePopulation.get();
+        if (population != null && population.myModuleScope.getModuleIdentifier()
+                .equals(module)) {
+            return population.myModuleScope;
+        }
+
+        ModuleScope result = myModuleScopes.get(module);
+        if (result == null) {
             throw new NoSuchSymbolException("" + module, null);
         }
 
-        return myModuleScopes.get(module);
+        return result;
     }
 
     /**
@@ -214,11 +238,21 @@ public class MathSymbolTableBuilder extends ScopeRepository {
     @Override
     public final Scope getScope(ResolveConceptualElement e)
             throws NoSuchScopeException {
-        if (!myScopes.containsKey(e)) {
+        Scope result = null;
+        ModulePopulation population = myCurModulePopulation.get();
+        if (population != null) {
+            result = population.myScopes.get(e);
+        }
+
+        if (result == null) {
+            result = myScopes.get(e);
+        }
+
+        if (result == null) {
             throw new NoSuchScopeException(e);
         }
 
-        return myScopes.get(e);
+        return result;
     }
 
     /**
@@ -249,17 +283,18 @@ public class MathSymbolTableBuilder extends ScopeRepository {
      *         associated scope.
      */
     public final MathSymbolTable seal() throws NoSuchModuleException {
-        if (myLexicalScopeStack.size() > 1) {
+        if (!myOpenModules.isEmpty()) {
             throw new IllegalStateException("There are open scopes.");
         }
 
-        return new MathSymbolTable(myTypeGraph, myLexicalScopeStack.peek());
+        return new MathSymbolTable(myTypeGraph, myGlobalScope);
     }
 
     /**
      * <p>
      * Opens a new working module scope defined by the given
-     * <code>ModuleDec</code>.
+     * <code>ModuleDec</code>. The new scope and every scope opened inside it
+     * belong to the current thread until the module scope is closed.
      * </p>
      *
      * @param definingElement The <code>ModuleDec</code> that defines this
@@ -267,7 +302,9 @@ public class MathSymbolTableBuilder extends ScopeRepository {
      *
      * @return The newly opened {@link ModuleScopeBuilder}.
      *
-     * @throws IllegalStateException If a module scope is already open.
+     * @throws IllegalStateException If the current thread already has an open
+     *         module scope or if another thread is populating the same
+     *         module.
      * @throws IllegalArgumentException If <code>definingElement</code> is
      *         <code>null</code>.
      */
@@ -278,19 +315,21 @@ public class MathSymbolTableBuilder extends ScopeRepository {
                     "definingElement may not be " + "null.");
         }
 
-        if (myCurModuleScope != null) {
+        if (myCurModulePopulation.get() != null) {
             throw new IllegalStateException("Module scope already open.");
         }
 
-        ScopeBuilder parent = myLexicalScopeStack.peek();
-
         ModuleScopeBuilder s = new ModuleScopeBuilder(myTypeGraph,
-                definingElement, parent, this);
+                definingElement, myGlobalScope, this);
 
-        myCurModuleScope = s;
+        ModulePopulation population = new ModulePopulation(s);
+        if (myOpenModules.putIfAbsent(s.getModuleIdentifier(),
+                population) != null) {
+            throw new IllegalStateException("Module scope already open.");
+        }
+        myCurModulePopulation.set(population);
 
-        addScope(s, parent);
-        myModuleScopes.put(s.getModuleIdentifier(), s);
+        addScope(population, s, myGlobalScope);
 
         return s;
     }
@@ -319,14 +358,14 @@ public class MathSymbolTableBuilder extends ScopeRepository {
                     "definingElement may not be " + "null.");
         }
 
-        checkModuleScopeOpen();
+        ModulePopulation population = checkModuleScopeOpen();
 
-        ScopeBuilder parent = myLexicalScopeStack.peek();
+        ScopeBuilder parent = population.myLexicalScopeStack.peek();
 
         ScopeBuilder s = new ScopeBuilder(this, myTypeGraph, definingElement,
-                parent, myCurModuleScope.getModuleIdentifier());
+                parent, population.myModuleScope.getModuleIdentifier());
 
-        addScope(s, parent);
+        addScope(population, s, parent);
 
         return s;
     }
@@ -348,18 +387,16 @@ public class MathSymbolTableBuilder extends ScopeRepository {
     public final String toString() {
         StringBuilder result = new StringBuilder();
 
-        boolean first = true;
-        for (ScopeBuilder b : myLexicalScopeStack) {
-            if (first) {
-                first = false;
-            }
-            else {
+        ModulePopulation population = myCurModulePopulation.get();
+        if (population != null) {
+            for (ScopeBuilder b : population.myLexicalScopeStack) {
+                result.append(b.toString());
                 result.append(",\n");
             }
-
-            result.append(b.toString());
         }
 
+        result.append(myGlobalScope.toString());
+
         return result.toString();
     }
 
@@ -372,35 +409,113 @@ public class MathSymbolTableBuilder extends ScopeRepository {
      * This adds a new scope to the parent scope.
      * </p>
      *
+     * @param population The module the new scope belongs to.
      * @param s The new scope to be added.
      * @param parent The parent scope.
      */
-    private void addScope(ScopeBuilder s, ScopeBuilder parent) {
+    private void addScope(ModulePopulation population, ScopeBuilder s,
+            ScopeBuilder parent) {
         parent.addChild(s);
-        myLexicalScopeStack.push(s);
-        myScopes.put(s.getDefiningElement(), s);
+        population.myLexicalScopeStack.push(s);
+        population.myScopes.put(s.getDefiningElement(), s);
     }
 
     /**
      * <p>
-     * This checks to see if we have any open module scopes.
+     * This checks to see if the current thread has an open module scope.
      * </p>
+     *
+     * @return The module being populated by the current thread.
      */
-    private void checkModuleScopeOpen() {
-        if (myCurModuleScope == null) {
+    private ModulePopulation checkModuleScopeOpen() {
+        ModulePopulation population = myCurModulePopulation.get();
+        if (population == null) {
             throw new IllegalStateException("No open module scope.");
         }
+
+        return population;
     }
 
     /**
      * <p>
-     * This checks to see if we have any open scopes.
+     * This checks to see if the current thread has any open scopes.
      * </p>
+     *
+     * @return The module being populated by the current thread.
      */
-    private void checkScopeOpen() {
-        if (myLexicalScopeStack.size() == 1) {
+    private ModulePopulation checkScopeOpen() {
+        ModulePopulation population = myCurModulePopulation.get();
+        if (population == null) {
             throw new IllegalStateException("No open scope.");
         }
+
+        return population;
+    }
+
+    /**
+     * <p>
+     * An helper method that makes the scopes of a module whose scope was just
+     * closed visible to every thread.
+     * </p>
+     *
+     * @param population The module that was populated by the current thread.
+     */
+    private void publishModule(ModulePopulation population) {
+        ModuleIdentifier id = population.myModuleScope.getModuleIdentifier();
+
+        myScopes.putAll(population.myScopes);
+        myModuleScopes.put(id, population.myModuleScope);
+
+        myOpenModules.remove(id);
+        myCurModulePopulation.remove();
+    }
+
+    // ===========================================================
+    // Helper Classes
+    // ===========================================================
+
+    /**
+     * <p>
+     * The working state of a module that is being populated. It is only ever
+     * used by the thread that opened the module scope.
+     * </p>
+     */
+    private static class ModulePopulation {
+
+        /**
+         * <p>
+         * The open scopes in this module. The module scope is at the bottom.
+         * </p>
+         */
+        private final Deque<ScopeBuilder> myLexicalScopeStack;
+
+        /**
+         * <p>
+         * The module scope.
+         * </p>
+         */
+        private final ModuleScopeBuilder myModuleScope;
+
+        /**
+         * <p>
+         * A map of the scopes opened in this module.
+         * </p>
+         */
+        private final Map<ResolveConceptualElement, ScopeBuilder> myScopes;
+
+        /**
+         * <p>
+         * This creates the working state for a new module scope.
+         * </p>
+         *
+         * @param moduleScope The module scope.
+         */
+        ModulePopulation(ModuleScopeBuilder moduleScope) {
+            myModuleScope = moduleScope;
+            myLexicalScopeStack = new LinkedList<>();
+            myScopes = new HashMap<>();
+        }
+
     }
 
 }
@@ -57,7 +57,8 @@ public class ScopeBuilder extends SyntacticScope {
 
     /**
      * <p>
-     * This contains all the children scopes
+     * This contains all the children scopes. Module scopes can be added to
+     * the global scope by several threads, so access is synchronized.
      * </p>
      */
     private final List<ScopeBuilder> myChildren = new LinkedList<>();
@@ -672,7 +673,7 @@ public class ScopeBuilder extends SyntacticScope {
      *
      * @param b Child {@link ScopeBuilder}.
      */
-    final void addChild(ScopeBuilder b) {
+    final synchronized void addChild(ScopeBuilder b) {
         myChildren.add(b);
     }
 
@@ -683,7 +684,7 @@ public class ScopeBuilder extends SyntacticScope {
      *
      * @return A list of {@link ScopeBuilder}.
      */
-    final List<ScopeBuilder> children() {
+    final synchronized List<ScopeBuilder> children() {
         return new LinkedList<>(myChildren);
     }
 
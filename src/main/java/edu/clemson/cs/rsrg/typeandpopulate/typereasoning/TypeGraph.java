@@ -34,6 +34,7 @@ import edu.clemson.cs.rsrg.typeandpopulate.typevisitor.UnboundTypeAccumulator;
 import edu.clemson.cs.rsrg.typeandpopulate.typevisitor.VariableReplacingVisitor;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.FunctionApplicationFactory;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>
@@ -56,13 +57,18 @@ public class TypeGraph {
      * reasoning. This really
      * doesn't belong here, but anything that's reasoning about types should
      * already have access to a
-     * type graph, and only one type graph is created per thread, so this is a
-     * convenient place to put
-     * it.
+     * type graph, so this is a convenient place to put it. Modules can be
+     * populated in parallel, so each thread gets its own copy.
      * </p>
      */
-    public final PerThreadReasoningResources threadResources =
-            new PerThreadReasoningResources();
+    public final ThreadLocal<PerThreadReasoningResources> threadResources =
+            new ThreadLocal<PerThreadReasoningResources>() {
+
+                @Override
+                protected PerThreadReasoningResources initialValue() {
+                    return new PerThreadReasoningResources();
+                }
+            };
 
     /**
      * <p>
@@ -82,10 +88,11 @@ public class TypeGraph {
 
     /**
      * <p>
-     * This contains all mathematical nodes for this graph.
+     * This contains all mathematical nodes for this graph. Relationships can
+     * be added by several threads, so this is a concurrent map.
      * </p>
      */
-    private final HashMap<MTType, TypeNode> myTypeNodes;
+    private final ConcurrentHashMap<MTType, TypeNode> myTypeNodes;
 
     /**
      * <p>
@@ -93,7 +100,8 @@ public class TypeGraph {
      * </p>
      */
     private final Set<EstablishedRelationship> myEstablishedSubtypes =
-            new HashSet<>();
+            Collections.newSetFromMap(
+                    new ConcurrentHashMap<EstablishedRelationship, Boolean>());
 
     /**
      * <p>
@@ -101,7 +109,8 @@ public class TypeGraph {
      * </p>
      */
     private final Set<EstablishedRelationship> myEstablishedElements =
-            new HashSet<>();
+            Collections.newSetFromMap(
+                    new ConcurrentHashMap<EstablishedRelationship, Boolean>());
 
     /**
      * <p>
@@ -340,7 +349,7 @@ public class TypeGraph {
      *        objects and flags.
      */
     public TypeGraph(CompileEnvironment compileEnvironment) {
-        myTypeNodes = new HashMap<>();
+        myTypeNodes = new ConcurrentHashMap<>();
         myCompileEnvironment = compileEnvironment;
         myStatusHandler = myCompileEnvironment.getStatusHandler();
     }
@@ -983,8 +992,11 @@ public class TypeGraph {
         TypeNode result = myTypeNodes.get(t);
 
         if (result == null) {
-            result = new TypeNode(this, t);
-            myTypeNodes.put(t, result);
+            TypeNode newNode = new TypeNode(this, t);
+            result = myTypeNodes.putIfAbsent(t, newNode);
+            if (result == null) {
+                result = newNode;
+            }
         }
 
         return result;
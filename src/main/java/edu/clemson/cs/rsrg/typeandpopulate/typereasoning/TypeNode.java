@@ -19,6 +19,8 @@ import edu.clemson.cs.rsrg.typeandpopulate.exception.TypeMismatchException;
 import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTType;
 import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.relationships.TypeRelationship;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>
@@ -59,10 +61,11 @@ public class TypeNode {
 
     /**
      * <p>
-     * A map from math types to relationships.
+     * A map from math types to relationships. Relationships can be added by
+     * several threads, so this is a concurrent map.
      * </p>
      */
-    private final Map<MTType, Set<TypeRelationship>> myRelationships;
+    private final ConcurrentMap<MTType, Set<TypeRelationship>> myRelationships;
 
     /**
      * <p>
@@ -85,7 +88,7 @@ public class TypeNode {
      */
     public TypeNode(TypeGraph g, MTType type) {
         myType = type;
-        myRelationships = new HashMap<>();
+        myRelationships = new ConcurrentHashMap<>();
         myTypeGraph = g;
     }
 
@@ -194,8 +197,13 @@ public class TypeNode {
         Set<TypeRelationship> bucket =
                 myRelationships.get(relationship.getDestinationType());
         if (bucket == null) {
-            bucket = new HashSet<>();
-            myRelationships.put(relationship.getDestinationType(), bucket);
+            Set<TypeRelationship> newBucket = Collections.newSetFromMap(
+                    new ConcurrentHashMap<TypeRelationship, Boolean>());
+            bucket = myRelationships
+                    .putIfAbsent(relationship.getDestinationType(), newBucket);
+            if (bucket == null) {
+                bucket = newBucket;
+            }
         }
 
         bucket.add(relationship);
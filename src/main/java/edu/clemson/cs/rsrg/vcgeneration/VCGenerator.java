@@ -44,6 +44,8 @@ import edu.clemson.cs.rsrg.absyn.statements.MemoryStmt.StatementType;
 import edu.clemson.cs.rsrg.init.CompileEnvironment;
 import edu.clemson.cs.rsrg.init.flag.Flag;
 import edu.clemson.cs.rsrg.init.flag.FlagDependencies;
+import edu.clemson.cs.rsrg.init.output.StreamingOutputListener;
+import edu.clemson.cs.rsrg.misc.STGroupRegistry;
 import edu.clemson.cs.rsrg.parsing.data.Location;
 import edu.clemson.cs.rsrg.parsing.data.LocationDetailModel;
 import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
@@ -76,6 +78,7 @@ import edu.clemson.cs.rsrg.vcgeneration.proofrules.other.WhichEntailsRule;
 import edu.clemson.cs.rsrg.vcgeneration.proofrules.statements.*;
 import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.AssertiveCodeBlock;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.DiscardingSTGroup;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.Utilities;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationContext;
@@ -84,11 +87,11 @@ import edu.clemson.cs.rsrg.vcgeneration.utilities.helperstmts.FacilityInitStmt;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.helperstmts.FinalizeVarStmt;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.helperstmts.InitializeVarStmt;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.helperstmts.VCConfirmStmt;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.interchange.VCCache;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.treewalkers.ConceptSharedStateExtractor;
 import java.util.*;
 import org.stringtemplate.v4.ST;
 import org.stringtemplate.v4.STGroup;
-import org.stringtemplate.v4.STGroupFile;
 
 /**
  * <p>
@@ -210,6 +213,14 @@ public class VCGenerator extends TreeWalkerVisitor {
      */
     private final Deque<AssertiveCodeBlock> myIncompleteAssertiveCodeBlocks;
 
+    /**
+     * <p>
+     * The {@code VCs} from the last run that can be reused. This is
+     * {@code null} unless we are generating {@code VCs} incrementally.
+     * </p>
+     */
+    private final VCCache myVCCache;
+
     // -----------------------------------------------------------
     // Output-Related
     // -----------------------------------------------------------
@@ -223,7 +234,9 @@ public class VCGenerator extends TreeWalkerVisitor {
 
     /**
      * <p>
-     * String template groups for storing all the VC generation details.
+     * String template groups for storing all the VC generation details. If
+     * the user doesn't want these details, this is a
+     * {@link DiscardingSTGroup} and nothing gets recorded.
      * </p>
      */
     private final STGroup mySTGroup;
@@ -235,6 +248,14 @@ public class VCGenerator extends TreeWalkerVisitor {
      */
     private final ST myVCGenDetailsModel;
 
+    /**
+     * <p>
+     * Listener objects that want to receive each of the final {@code VCs} as
+     * soon as they are generated.
+     * </p>
+     */
+    private final List<StreamingOutputListener> myStreamingListeners;
+
     // ===========================================================
     // Flag Strings
     // ===========================================================
@@ -244,6 +265,16 @@ public class VCGenerator extends TreeWalkerVisitor {
     private static final String FLAG_DESC_PERF_VC = "Generate Performance VCs";
     private static final String FLAG_DESC_ADD_CONSTRAINT =
             "Add constraints as givens.";
+    private static final String FLAG_DESC_STREAM_VC_OUTPUT =
+            "Write each VC to the output as soon as it is generated.";
+    private static final String FLAG_DESC_COMPACT_VC_OUTPUT =
+            "Use a compact layout when writing VCs to file.";
+    private static final String FLAG_DESC_SKIP_VC_DETAILS =
+            "Do not record the VC generation details (aka Verbose Mode).";
+    private static final String FLAG_DESC_EXPORT_VCS =
+            "Export the generated VCs to a machine readable .vcs file.";
+    private static final String FLAG_DESC_INCREMENTAL_VCS =
+            "Only generate and prove the VCs of code that changed since the last run.";
 
     // ===========================================================
     // Flags
@@ -273,6 +304,51 @@ public class VCGenerator extends TreeWalkerVisitor {
     public static final Flag FLAG_ADD_CONSTRAINT = new Flag(FLAG_SECTION_NAME,
             "addConstraints", FLAG_DESC_ADD_CONSTRAINT);
 
+    /**
+     * <p>
+     * Tells the compiler to stream each of the generated VCs to the output
+     * listeners instead of waiting for the whole module.
+     * </p>
+     */
+    public static final Flag FLAG_STREAM_VC_OUTPUT = new Flag(FLAG_SECTION_NAME,
+            "streamVCs", FLAG_DESC_STREAM_VC_OUTPUT, Flag.Type.HIDDEN);
+
+    /**
+     * <p>
+     * Tells the compiler to use the compact layout when writing VCs to file.
+     * </p>
+     */
+    public static final Flag FLAG_COMPACT_VC_OUTPUT =
+            new Flag(FLAG_SECTION_NAME, "compactVCs",
+                    FLAG_DESC_COMPACT_VC_OUTPUT, Flag.Type.HIDDEN);
+
+    /**
+     * <p>
+     * Tells the compiler to skip recording the VC generation details that
+     * normally get appended to the VC output.
+     * </p>
+     */
+    public static final Flag FLAG_SKIP_VC_DETAILS = new Flag(FLAG_SECTION_NAME,
+            "skipVCDetails", FLAG_DESC_SKIP_VC_DETAILS, Flag.Type.HIDDEN);
+
+    /**
+     * <p>
+     * Tells the compiler to export the generated VCs so they can be loaded
+     * back by the prover without generating them again.
+     * </p>
+     */
+    public static final Flag FLAG_EXPORT_VCS = new Flag(FLAG_SECTION_NAME,
+            "exportVCs", FLAG_DESC_EXPORT_VCS, Flag.Type.HIDDEN);
+
+    /**
+     * <p>
+     * Tells the compiler to reuse the VCs (and proof results) from the last
+     * run for the assertive code blocks that haven't changed.
+     * </p>
+     */
+    public static final Flag FLAG_INCREMENTAL_VCS = new Flag(FLAG_SECTION_NAME,
+            "incrementalVCs", FLAG_DESC_INCREMENTAL_VCS, Flag.Type.HIDDEN);
+
     /**
      * <p>
      * Add all the required and implied flags for the {@code VCGenerator}.
@@ -284,6 +360,11 @@ public class VCGenerator extends TreeWalkerVisitor {
         // Make sure we have one of these on.
         Flag[] dependencies = { FLAG_VERIFY_VC, FLAG_PVCS_VC };
         FlagDependencies.addRequires(FLAG_ADD_CONSTRAINT, dependencies);
+        FlagDependencies.addRequires(FLAG_STREAM_VC_OUTPUT, dependencies);
+        FlagDependencies.addRequires(FLAG_COMPACT_VC_OUTPUT, dependencies);
+        FlagDependencies.addRequires(FLAG_EXPORT_VCS, dependencies);
+        FlagDependencies.addRequires(FLAG_SKIP_VC_DETAILS, dependencies);
+        FlagDependencies.addRequires(FLAG_INCREMENTAL_VCS, dependencies);
     }
 
     // ===========================================================
@@ -303,6 +384,50 @@ public class VCGenerator extends TreeWalkerVisitor {
      */
     public VCGenerator(MathSymbolTableBuilder builder,
             CompileEnvironment compileEnvironment) {
+        this(builder, compileEnvironment,
+                new ArrayList<StreamingOutputListener>());
+    }
+
+    /**
+     * <p>
+     * This creates an object that overrides methods to generate VCs from a
+     * {@link ModuleDec} and notifies the specified listeners as soon as each
+     * {@code VC} is generated.
+     * </p>
+     *
+     * @param builder A scope builder for a symbol table.
+     * @param compileEnvironment The current job's compilation environment that
+     *        stores all necessary
+     *        objects and flags.
+     * @param streamingListeners Listener objects that want to receive each
+     *        of the final {@code VCs}.
+     */
+    public VCGenerator(MathSymbolTableBuilder builder,
+            CompileEnvironment compileEnvironment,
+            List<StreamingOutputListener> streamingListeners) {
+        this(builder, compileEnvironment, streamingListeners, null);
+    }
+
+    /**
+     * <p>
+     * This creates an object that overrides methods to generate VCs from a
+     * {@link ModuleDec}, notifies the specified listeners as soon as each
+     * {@code VC} is generated and reuses the {@code VCs} of any assertive
+     * code block that hasn't changed since the last run.
+     * </p>
+     *
+     * @param builder A scope builder for a symbol table.
+     * @param compileEnvironment The current job's compilation environment that
+     *        stores all necessary
+     *        objects and flags.
+     * @param streamingListeners Listener objects that want to receive each
+     *        of the final {@code VCs}.
+     * @param vcCache The {@code VCs} from the last run or {@code null} if we
+     *        aren't generating {@code VCs} incrementally.
+     */
+    public VCGenerator(MathSymbolTableBuilder builder,
+            CompileEnvironment compileEnvironment,
+            List<StreamingOutputListener> streamingListeners, VCCache vcCache) {
         myAssertiveCodeBlockModels = new LinkedHashMap<>();
         myBuilder = builder;
         myCompileEnvironment = compileEnvironment;
@@ -310,9 +435,17 @@ public class VCGenerator extends TreeWalkerVisitor {
         myFinalAssertiveCodeBlocks = new LinkedList<>();
         myIncompleteAssertiveCodeBlocks = new LinkedList<>();
         myRealizInitFinalOuterDec = null;
-        mySTGroup = new STGroupFile("templates/VCGenVerboseOutput.stg");
+        myStreamingListeners = streamingListeners;
+        if (myCompileEnvironment.flags.isFlagSet(FLAG_SKIP_VC_DETAILS)) {
+            mySTGroup = new DiscardingSTGroup();
+        }
+        else {
+            mySTGroup =
+                    STGroupRegistry.getGroup(STGroupRegistry.VC_VERBOSE_OUTPUT);
+        }
         myTypeGraph = myBuilder.getTypeGraph();
         myVariableTypeEntries = new LinkedHashMap<>();
+        myVCCache = vcCache;
         myVCGenDetailsModel = mySTGroup.getInstanceOf("outputVCGenDetails");
     }
 
@@ -436,49 +569,91 @@ public class VCGenerator extends TreeWalkerVisitor {
      */
     @Override
     public final void postModuleDec(ModuleDec dec) {
+        // If we are generating VCs incrementally, fingerprint the blocks
+        // before any statement proof rules change them.
+        Map<AssertiveCodeBlock, String> blockFingerprints =
+                new IdentityHashMap<>();
+        if (myVCCache != null) {
+            for (AssertiveCodeBlock block : myIncompleteAssertiveCodeBlocks) {
+                blockFingerprints.put(block,
+                        myVCCache.computeFingerprint(block));
+            }
+        }
+
         // Loop through our incomplete assertive code blocks until it is empty
+        int blockCount = 0;
+        String fingerprint = null;
+        Set<AssertiveCodeBlock> reusedBlocks = Collections.newSetFromMap(
+                new IdentityHashMap<AssertiveCodeBlock, Boolean>());
         while (!myIncompleteAssertiveCodeBlocks.isEmpty()) {
             // Use the first assertive code block in the incomplete blocks list
             // as our current assertive code block.
             myCurrentAssertiveCodeBlock =
                     myIncompleteAssertiveCodeBlocks.removeFirst();
 
-            applyStatementRules(myCurrentAssertiveCodeBlock);
+            // Blocks created by the statement proof rules are always
+            // processed right after the block that created them, so they
+            // share its fingerprint.
+            if (blockFingerprints.containsKey(myCurrentAssertiveCodeBlock)) {
+                fingerprint =
+                        blockFingerprints.get(myCurrentAssertiveCodeBlock);
+
+                List<List<VerificationCondition>> cachedVCs =
+                        myVCCache.getCachedVCs(fingerprint);
+                if (cachedVCs != null) {
+                    reuseCachedVCs(myCurrentAssertiveCodeBlock, cachedVCs,
+                            reusedBlocks);
+                }
+            }
+
+            if (!reusedBlocks.remove(myCurrentAssertiveCodeBlock)) {
+                applyStatementRules(myCurrentAssertiveCodeBlock);
+            }
 
-            // Render the assertive block model
+            // Add the assertive block model. The proof rule steps store a
+            // copy of the block at each step, so it is safe to wait until
+            // someone asks for the verbose output to render it.
             ST blockModel = myAssertiveCodeBlockModels
                     .remove(myCurrentAssertiveCodeBlock);
-            myVCGenDetailsModel.add("assertiveCodeBlocks", blockModel.render());
-
-            // Add this to our final assertive code block list
-            myFinalAssertiveCodeBlocks.add(myCurrentAssertiveCodeBlock);
-
-            // Set the current assertive code block to null
-            myCurrentAssertiveCodeBlock = null;
-        }
+            if (blockModel != null) {
+                myVCGenDetailsModel.add("assertiveCodeBlocks", blockModel);
+            }
 
-        // Assign a name to all of the VCs
-        int blockCount = 0;
-        for (AssertiveCodeBlock block : myFinalAssertiveCodeBlocks) {
-            // Obtain the final list of vcs
+            // Assign a name to all of the VCs. The VCs in this block
+            // are final, so we also let any streaming listeners know.
             int vcCount = 1;
-            List<VerificationCondition> vcs = block.getVCs();
+            List<VerificationCondition> vcs =
+                    myCurrentAssertiveCodeBlock.getVCs();
             List<VerificationCondition> namedVCs = new ArrayList<>(vcs.size());
             for (VerificationCondition vc : vcs) {
-                namedVCs.add(new VerificationCondition(vc.getLocation(),
-                        blockCount + "_" + vcCount, vc.getSequent(),
-                        vc.getHasImpactingReductionFlag(),
-                        vc.getLocationDetailModel()));
+                VerificationCondition namedVC = new VerificationCondition(
+                        vc.getLocation(), blockCount + "_" + vcCount,
+                        vc.getSequent(), vc.getHasImpactingReductionFlag(),
+                        vc.getLocationDetailModel());
+                namedVCs.add(namedVC);
                 vcCount++;
+
+                for (StreamingOutputListener listener : myStreamingListeners) {
+                    listener.vcGenerated(namedVC);
+                }
             }
 
             // Store the named VCs and increase the block number
-            block.setVCs(namedVCs);
+            myCurrentAssertiveCodeBlock.setVCs(namedVCs);
+            if (myVCCache != null) {
+                myVCCache.addVCs(fingerprint, namedVCs);
+            }
 
             // YS: Only increment the block count if the current block has VCs to prove
             if (!namedVCs.isEmpty()) {
                 blockCount++;
             }
+
+            // Add this to our final assertive code block list
+            myFinalAssertiveCodeBlocks.add(myCurrentAssertiveCodeBlock);
+
+            // Set the current assertive code block to null
+            myCurrentAssertiveCodeBlock = null;
         }
     }
 
@@ -505,7 +680,7 @@ public class VCGenerator extends TreeWalkerVisitor {
         // Add to VC detail model
         ST header = mySTGroup.getInstanceOf("outputConceptHeader")
                 .add("conceptName", conceptName.getName());
-        myVCGenDetailsModel.add("fileHeader", header.render());
+        myVCGenDetailsModel.add("fileHeader", header);
     }
 
     // -----------------------------------------------------------
@@ -547,7 +722,7 @@ public class VCGenerator extends TreeWalkerVisitor {
         ST header = mySTGroup.getInstanceOf("outputConceptRealizHeader")
                 .add("realizName", conceptRealizName.getName())
                 .add("conceptName", conceptName.getName());
-        myVCGenDetailsModel.add("fileHeader", header.render());
+        myVCGenDetailsModel.add("fileHeader", header);
     }
 
     // -----------------------------------------------------------
@@ -589,7 +764,7 @@ public class VCGenerator extends TreeWalkerVisitor {
         ST header = mySTGroup.getInstanceOf("outputEnhancementHeader")
                 .add("enhancementName", enhancementName.getName())
                 .add("conceptName", conceptName.getName());
-        myVCGenDetailsModel.add("fileHeader", header.render());
+        myVCGenDetailsModel.add("fileHeader", header);
     }
 
     // -----------------------------------------------------------
@@ -640,7 +815,7 @@ public class VCGenerator extends TreeWalkerVisitor {
                 .add("realizName", enhancementRealizName.getName())
                 .add("enhancementName", enhancementName.getName())
                 .add("conceptName", conceptName.getName());
-        myVCGenDetailsModel.add("fileHeader", header.render());
+        myVCGenDetailsModel.add("fileHeader", header);
     }
 
     // -----------------------------------------------------------
@@ -666,7 +841,7 @@ public class VCGenerator extends TreeWalkerVisitor {
         // Add to VC detail model
         ST header = mySTGroup.getInstanceOf("outputFacilityHeader")
                 .add("facilityName", facilityName.getName());
-        myVCGenDetailsModel.add("fileHeader", header.render());
+        myVCGenDetailsModel.add("fileHeader", header);
     }
 
     // -----------------------------------------------------------
@@ -795,8 +970,9 @@ public class VCGenerator extends TreeWalkerVisitor {
         blockModel.add("blockName", dec.getName());
         ST stepModel = mySTGroup.getInstanceOf("outputVCGenStep");
         stepModel.add("proofRuleName", "Procedure Declaration Rule (Part 1)")
-                .add("currentStateOfBlock", myCurrentAssertiveCodeBlock);
-        blockModel.add("vcGenSteps", stepModel.render());
+                .add("currentStateOfBlock",
+                        getCurrentStateOfBlock(myCurrentAssertiveCodeBlock));
+        blockModel.add("vcGenSteps", stepModel);
         myAssertiveCodeBlockModels.put(myCurrentAssertiveCodeBlock, blockModel);
     }
 
@@ -917,8 +1093,9 @@ public class VCGenerator extends TreeWalkerVisitor {
         blockModel.add("blockName", dec.getName());
         ST stepModel = mySTGroup.getInstanceOf("outputVCGenStep");
         stepModel.add("proofRuleName", "Procedure Declaration Rule (Part 1)")
-                .add("currentStateOfBlock", myCurrentAssertiveCodeBlock);
-        blockModel.add("vcGenSteps", stepModel.render());
+                .add("currentStateOfBlock",
+                        getCurrentStateOfBlock(myCurrentAssertiveCodeBlock));
+        blockModel.add("vcGenSteps", stepModel);
         myAssertiveCodeBlockModels.put(myCurrentAssertiveCodeBlock, blockModel);
     }
 
@@ -1332,8 +1509,9 @@ public class VCGenerator extends TreeWalkerVisitor {
                 .add("proofRuleName",
                         blockName + myRealizInitFinalOuterDec.getName()
                                 + " (Setup)")
-                .add("currentStateOfBlock", myCurrentAssertiveCodeBlock);
-        blockModel.add("vcGenSteps", stepModel.render());
+                .add("currentStateOfBlock",
+                        getCurrentStateOfBlock(myCurrentAssertiveCodeBlock));
+        blockModel.add("vcGenSteps", stepModel);
         myAssertiveCodeBlockModels.put(myCurrentAssertiveCodeBlock, blockModel);
     }
 
@@ -1565,10 +1743,12 @@ public class VCGenerator extends TreeWalkerVisitor {
      * <p>
      * This method returns the verbose mode output with how we generated the
      * {@code VCs} for this
-     * {@link ModuleDec}.
+     * {@link ModuleDec}. The details are only rendered when this method is
+     * called.
      * </p>
      *
-     * @return A string containing lots of details.
+     * @return A string containing lots of details or an empty string if the
+     *         user asked us to skip them.
      */
     public final String getVerboseModeOutput() {
         return myVCGenDetailsModel.render();
@@ -2255,4 +2435,61 @@ public class VCGenerator extends TreeWalkerVisitor {
 
         return retExp;
     }
+
+    /**
+     * <p>
+     * An helper method that returns the assertive code block to be stored in a
+     * {@code VC} generation step. The step models are only rendered in
+     * {@link #getVerboseModeOutput()}, so we store a copy of the block as it
+     * is right now.
+     * </p>
+     *
+     * @param block An assertive code block.
+     *
+     * @return A copy of {@code block} if we are recording the {@code VC}
+     *         generation details, otherwise {@code block} itself.
+     */
+    private AssertiveCodeBlock
+            getCurrentStateOfBlock(AssertiveCodeBlock block) {
+        AssertiveCodeBlock currentState = block;
+        if (!DiscardingSTGroup.isDiscarding(mySTGroup)) {
+            currentState = block.clone();
+        }
+
+        return currentState;
+    }
+
+    /**
+     * <p>
+     * An helper method that completes an assertive code block using the
+     * {@code VCs} from the last run instead of applying the statement proof
+     * rules. If the last run completed more than one block, copies of
+     * {@code block} are added to the front of the incomplete blocks list to
+     * hold the rest of the {@code VCs}, just like the proof rules would have.
+     * </p>
+     *
+     * @param block The assertive code block we are reusing.
+     * @param cachedVCs The {@code VCs} for each of the blocks completed by the
+     *        last run.
+     * @param reusedBlocks The blocks that are already complete.
+     */
+    private void reuseCachedVCs(AssertiveCodeBlock block,
+            List<List<VerificationCondition>> cachedVCs,
+            Set<AssertiveCodeBlock> reusedBlocks) {
+        while (block.hasMoreStatements()) {
+            block.removeLastStatement();
+        }
+
+        for (int i = cachedVCs.size() - 1; i > 0; i--) {
+            AssertiveCodeBlock copy = block.clone();
+            copy.setVCs(cachedVCs.get(i));
+
+            myIncompleteAssertiveCodeBlocks.addFirst(copy);
+            reusedBlocks.add(copy);
+        }
+
+        block.setVCs(cachedVCs.get(0));
+        reusedBlocks.add(block);
+    }
+
 }
@@ -24,6 +24,7 @@ import edu.clemson.cs.rsrg.parsing.data.LocationDetailModel;
 import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
 import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.AssertiveCodeBlock;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.DiscardingSTGroup;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.Utilities;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationContext;
@@ -376,6 +377,43 @@ public abstract class AbstractProofRuleApplication
         return retExp.substitute(substitutionMap);
     }
 
+    /**
+     * <p>
+     * This method returns the assertive code block to be stored in a
+     * {@code VC} generation step. The step models are only rendered along with
+     * the rest of the details, so we store a copy of the block as it is
+     * right now.
+     * </p>
+     *
+     * @param block An assertive code block.
+     *
+     * @return A copy of {@code block} if we are recording the {@code VC}
+     *         generation details, otherwise {@code block} itself.
+     */
+    protected final AssertiveCodeBlock
+            getCurrentStateOfBlock(AssertiveCodeBlock block) {
+        AssertiveCodeBlock currentState = block;
+        if (isRecordingDetails()) {
+            currentState = block.clone();
+        }
+
+        return currentState;
+    }
+
+    /**
+     * <p>
+     * This method checks to see if the details we add to the string template
+     * models are going to be used. Details that are expensive to produce
+     * should only be computed when this returns {@code true}.
+     * </p>
+     *
+     * @return {@code true} if we are recording the {@code VC} generation
+     *         details, {@code false} otherwise.
+     */
+    protected final boolean isRecordingDetails() {
+        return !DiscardingSTGroup.isDiscarding(mySTGroup);
+    }
+
     // ===========================================================
     // Private Methods
     // ===========================================================
@@ -284,9 +284,10 @@ public class ProcedureDeclRule extends AbstractBlockDeclRule
 
         // Add the different details to the various different output models
         ST stepModel = mySTGroup.getInstanceOf("outputVCGenStep");
-        stepModel.add("proofRuleName", getRuleDescription())
-                .add("currentStateOfBlock", myCurrentAssertiveCodeBlock);
-        myBlockModel.add("vcGenSteps", stepModel.render());
+        stepModel.add("proofRuleName", getRuleDescription()).add(
+                "currentStateOfBlock",
+                getCurrentStateOfBlock(myCurrentAssertiveCodeBlock));
+        myBlockModel.add("vcGenSteps", stepModel);
     }
 
     /**
@@ -223,11 +223,12 @@ public class SharedStateRepresentationInitRule extends AbstractBlockDeclRule
 
         // Add the different details to the various different output models
         ST stepModel = mySTGroup.getInstanceOf("outputVCGenStep");
-        stepModel.add("proofRuleName", getRuleDescription())
-                .add("currentStateOfBlock", myCurrentAssertiveCodeBlock);
+        stepModel.add("proofRuleName", getRuleDescription()).add(
+                "currentStateOfBlock",
+                getCurrentStateOfBlock(myCurrentAssertiveCodeBlock));
 
         // Add the different details to the various different output models
-        myBlockModel.add("vcGenSteps", stepModel.render());
+        myBlockModel.add("vcGenSteps", stepModel);
     }
 
     /**
@@ -19,6 +19,7 @@ import edu.clemson.cs.rsrg.absyn.statements.AssumeStmt;
 import edu.clemson.cs.rsrg.treewalk.TreeWalker;
 import edu.clemson.cs.rsrg.vcgeneration.proofrules.AbstractProofRuleApplication;
 import edu.clemson.cs.rsrg.vcgeneration.proofrules.ProofRuleApplication;
+import edu.clemson.cs.rsrg.vcgeneration.sequents.FormulaReductionCache;
 import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
 import edu.clemson.cs.rsrg.vcgeneration.sequents.SequentReduction;
 import edu.clemson.cs.rsrg.vcgeneration.sequents.reductiontree.ReductionTreeDotExporter;
@@ -66,6 +67,14 @@ public class AssumeStmtRule extends AbstractProofRuleApplication
      */
     private final Map<Sequent, Boolean> myImpactingReducedSequentMap;
 
+    /**
+     * <p>
+     * The cache of formula reductions shared by all the {@code VCs} in the
+     * assertive code block.
+     * </p>
+     */
+    private final FormulaReductionCache myFormulaReductionCache;
+
     // ===========================================================
     // Constructors
     // ===========================================================
@@ -89,6 +98,7 @@ public class AssumeStmtRule extends AbstractProofRuleApplication
         super(block, context, stGroup, blockModel);
         myAssumeStmt = assumeStmt;
         myImpactingReducedSequentMap = new LinkedHashMap<>();
+        myFormulaReductionCache = new FormulaReductionCache();
     }
 
     // ===========================================================
@@ -133,7 +143,7 @@ public class AssumeStmtRule extends AbstractProofRuleApplication
             // YS: We really want to record the split into conjuncts
             // as some kind of reduction, so we build a reduction tree
             // ourselves.
-            if (assumeExps.size() != 1) {
+            if (assumeExps.size() != 1 && isRecordingDetails()) {
                 Graph<Sequent, DefaultEdge> reductionTree =
                         new DefaultDirectedGraph<>(DefaultEdge.class);
 
@@ -191,10 +201,10 @@ public class AssumeStmtRule extends AbstractProofRuleApplication
 
         // Add the different details to the various different output models
         stepModel.add("proofRuleName", ruleName).add("currentStateOfBlock",
-                myCurrentAssertiveCodeBlock);
+                getCurrentStateOfBlock(myCurrentAssertiveCodeBlock));
 
         // Add the different details to the various different output models
-        myBlockModel.add("vcGenSteps", stepModel.render());
+        myBlockModel.add("vcGenSteps", stepModel);
     }
 
     /**
@@ -417,7 +427,8 @@ public class AssumeStmtRule extends AbstractProofRuleApplication
      */
     private List<Sequent> reducedSequentForm(Sequent sequent, ST stepModel) {
         // Apply the various sequent reduction rules.
-        SequentReduction reduction = new SequentReduction(sequent);
+        SequentReduction reduction = new SequentReduction(sequent,
+                myFormulaReductionCache, isRecordingDetails());
         List<Sequent> resultSequents = reduction.applyReduction();
         Graph<Sequent, DefaultEdge> reductionTree =
                 reduction.getReductionTree();
@@ -428,7 +439,7 @@ public class AssumeStmtRule extends AbstractProofRuleApplication
 
         // Output the reduction tree as a dot file to the step model
         // only if we did some kind of reduction.
-        if (!reductionTree.edgeSet().isEmpty()) {
+        if (isRecordingDetails() && !reductionTree.edgeSet().isEmpty()) {
             ReductionTreeExporter treeExporter = new ReductionTreeDotExporter();
             stepModel.add("reductionTrees", treeExporter.output(reductionTree));
         }
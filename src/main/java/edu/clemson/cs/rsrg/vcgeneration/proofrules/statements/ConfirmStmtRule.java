@@ -18,6 +18,7 @@ import edu.clemson.cs.rsrg.absyn.statements.ConfirmStmt;
 import edu.clemson.cs.rsrg.parsing.data.LocationDetailModel;
 import edu.clemson.cs.rsrg.vcgeneration.proofrules.AbstractProofRuleApplication;
 import edu.clemson.cs.rsrg.vcgeneration.proofrules.ProofRuleApplication;
+import edu.clemson.cs.rsrg.vcgeneration.sequents.FormulaReductionCache;
 import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
 import edu.clemson.cs.rsrg.vcgeneration.sequents.SequentReduction;
 import edu.clemson.cs.rsrg.vcgeneration.sequents.reductiontree.ReductionTreeDotExporter;
@@ -108,7 +109,8 @@ public class ConfirmStmtRule extends AbstractProofRuleApplication
             stepModel
                     .add("proofRuleName",
                             getRuleDescription() + " and Simplified")
-                    .add("currentStateOfBlock", myCurrentAssertiveCodeBlock);
+                    .add("currentStateOfBlock", getCurrentStateOfBlock(
+                            myCurrentAssertiveCodeBlock));
         }
         else {
             // Build the new list of VCs
@@ -122,12 +124,13 @@ public class ConfirmStmtRule extends AbstractProofRuleApplication
             // Set this as our new list of vcs
             myCurrentAssertiveCodeBlock.setVCs(newVCs);
 
-            stepModel.add("proofRuleName", getRuleDescription())
-                    .add("currentStateOfBlock", myCurrentAssertiveCodeBlock);
+            stepModel.add("proofRuleName", getRuleDescription()).add(
+                    "currentStateOfBlock",
+                    getCurrentStateOfBlock(myCurrentAssertiveCodeBlock));
         }
 
         // Add the different details to the various different output models
-        myBlockModel.add("vcGenSteps", stepModel.render());
+        myBlockModel.add("vcGenSteps", stepModel);
     }
 
     /**
@@ -161,7 +164,8 @@ public class ConfirmStmtRule extends AbstractProofRuleApplication
         Sequent sequentToBeReduced = new Sequent(myConfirmStmt.getLocation(),
                 new ArrayList<Exp>(),
                 Collections.singletonList(myConfirmStmt.getAssertion()));
-        SequentReduction reduction = new SequentReduction(sequentToBeReduced);
+        SequentReduction reduction = new SequentReduction(sequentToBeReduced,
+                new FormulaReductionCache(), isRecordingDetails());
         List<Sequent> resultSequents = reduction.applyReduction();
         Graph<Sequent, DefaultEdge> reductionTree =
                 reduction.getReductionTree();
@@ -183,7 +187,7 @@ public class ConfirmStmtRule extends AbstractProofRuleApplication
 
         // Output the reduction tree as a dot file to the step model
         // only if we did some kind of reduction.
-        if (!reductionTree.edgeSet().isEmpty()) {
+        if (isRecordingDetails() && !reductionTree.edgeSet().isEmpty()) {
             ReductionTreeExporter treeExporter = new ReductionTreeDotExporter();
             stepModel.add("reductionTrees", treeExporter.output(reductionTree));
         }
@@ -215,9 +215,10 @@ public class IfStmtRule extends AbstractProofRuleApplication
 
             // 7) Add the different details to the various different output models
             ST stepModel = mySTGroup.getInstanceOf("outputVCGenStep");
-            stepModel.add("proofRuleName", "If-Part Rule")
-                    .add("currentStateOfBlock", myCurrentAssertiveCodeBlock);
-            myBlockModel.add("vcGenSteps", stepModel.render());
+            stepModel.add("proofRuleName", "If-Part Rule").add(
+                    "currentStateOfBlock",
+                    getCurrentStateOfBlock(myCurrentAssertiveCodeBlock));
+            myBlockModel.add("vcGenSteps", stepModel);
 
             // Else part of the rule
             // 1) Add the testing condition as a new stipulate assume statement.
@@ -252,9 +253,10 @@ public class IfStmtRule extends AbstractProofRuleApplication
                     mySTGroup.getInstanceOf("outputAssertiveCodeBlock");
             negIfBlockModel.add("blockName", negIfAssertiveCodeBlock.getName());
             ST negIfStepModel = mySTGroup.getInstanceOf("outputVCGenStep");
-            negIfStepModel.add("proofRuleName", "Else-Part Rule")
-                    .add("currentStateOfBlock", negIfAssertiveCodeBlock);
-            negIfBlockModel.add("vcGenSteps", negIfStepModel.render());
+            negIfStepModel.add("proofRuleName", "Else-Part Rule").add(
+                    "currentStateOfBlock",
+                    getCurrentStateOfBlock(negIfAssertiveCodeBlock));
+            negIfBlockModel.add("vcGenSteps", negIfStepModel);
             myNewAssertiveCodeBlockModels.put(negIfAssertiveCodeBlock,
                     negIfBlockModel);
         }
@@ -0,0 +1,323 @@
+/*
+ * FormulaReductionCache.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.vcgeneration.sequents;
+
+import edu.clemson.cs.rsrg.absyn.expressions.Exp;
+import edu.clemson.cs.rsrg.treewalk.TreeWalker;
+import edu.clemson.cs.rsrg.vcgeneration.sequents.reductionrules.ReductionRuleApplication;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.treewalkers.AtomicFormulaChecker;
+import java.util.*;
+
+/**
+ * <p>
+ * This class memoizes the work done by {@link SequentReduction} on individual
+ * formulas. The {@code VCs} in an assertive code block share most of their
+ * antecedents, so a single instance of this class can be shared by all the
+ * {@link SequentReduction SequentReductions} created for the block.
+ * </p>
+ *
+ * <p>
+ * Formulas are looked up using their structural {@code equals} and
+ * {@code hashCode}, which is the same notion of equality the reduction rules
+ * use to locate the formula they are reducing.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class FormulaReductionCache {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * A map that indicates if a formula is atomic.
+     * </p>
+     */
+    private final Map<Exp, Boolean> myAtomicFormulaMap;
+
+    /**
+     * <p>
+     * A map containing the result of applying the left reduction rules to a
+     * formula.
+     * </p>
+     */
+    private final Map<Exp, ReducedFormula> myLeftReductionMap;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This creates an empty cache.
+     * </p>
+     */
+    public FormulaReductionCache() {
+        myAtomicFormulaMap = new HashMap<>();
+        myLeftReductionMap = new HashMap<>();
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method checks to see if all the formulas in {@code sequent} are
+     * atomic. This is the same as calling
+     * {@link Sequent#consistOfAtomicFormulas()}, except that we only walk each
+     * distinct formula once.
+     * </p>
+     *
+     * @param sequent A {@link Sequent}.
+     *
+     * @return {@code true} if the sequent consists of atomic formulas,
+     *         {@code false} otherwise.
+     */
+    public final boolean consistOfAtomicFormulas(Sequent sequent) {
+        boolean retval = true;
+
+        // First check our antecedents
+        Iterator<Exp> antecedentIt = sequent.getAntecedents().iterator();
+        while (antecedentIt.hasNext() && retval) {
+            retval = isAtomicFormula(antecedentIt.next());
+        }
+
+        // Then check our consequents
+        Iterator<Exp> consequentIt = sequent.getConcequents().iterator();
+        while (consequentIt.hasNext() && retval) {
+            retval = isAtomicFormula(consequentIt.next());
+        }
+
+        return retval;
+    }
+
+    /**
+     * <p>
+     * This method checks to see if {@code exp} is an atomic formula.
+     * </p>
+     *
+     * @param exp A formula.
+     *
+     * @return {@code true} if it is atomic, {@code false} otherwise.
+     */
+    public final boolean isAtomicFormula(Exp exp) {
+        Boolean isAtomic = myAtomicFormulaMap.get(exp);
+        if (isAtomic == null) {
+            AtomicFormulaChecker checker = new AtomicFormulaChecker();
+            TreeWalker.visit(checker, exp);
+            isAtomic = checker.getIsAtomicFormula();
+
+            myAtomicFormulaMap.put(exp, isAtomic);
+        }
+
+        return isAtomic;
+    }
+
+    // ===========================================================
+    // Package Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method returns the result of applying the left reduction rules to
+     * {@code exp} until none of the resulting antecedents can be reduced any
+     * further.
+     * </p>
+     *
+     * @param exp A formula that can be reduced by one of the left reduction
+     *        rules.
+     *
+     * @return The reduced form of {@code exp}.
+     */
+    final ReducedFormula getLeftReduction(Exp exp) {
+        ReducedFormula reducedFormula = myLeftReductionMap.get(exp);
+        if (reducedFormula == null) {
+            reducedFormula = reduceAntecedent(exp);
+            myLeftReductionMap.put(exp, reducedFormula);
+        }
+
+        return reducedFormula;
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that reduces the sequent {@code exp |-} using only the
+     * left reduction rules. Since the left reduction rules replace the formula
+     * in place and append to the consequents, the resulting sequents describe
+     * what {@code exp} contributes to any sequent it appears in.
+     * </p>
+     *
+     * @param exp A formula that can be reduced by one of the left reduction
+     *        rules.
+     *
+     * @return The reduced form of {@code exp}.
+     */
+    private ReducedFormula reduceAntecedent(Exp exp) {
+        Deque<Sequent> sequentsToBeReduced = new LinkedList<>();
+        Map<Sequent, Boolean> impactingMap = new IdentityHashMap<>();
+        List<Sequent> reducedSequents = new ArrayList<>();
+        List<Boolean> impactingFlags = new ArrayList<>();
+        Set<Exp> reducibleFormulas = new HashSet<>();
+
+        Sequent originalSequent = new Sequent(exp.getLocation(),
+                Collections.singletonList(exp), new ArrayList<Exp>());
+        sequentsToBeReduced.add(originalSequent);
+        impactingMap.put(originalSequent, false);
+        while (!sequentsToBeReduced.isEmpty()) {
+            Sequent seq = sequentsToBeReduced.removeFirst();
+            boolean isImpacting = impactingMap.get(seq);
+
+            // Find the first antecedent we can reduce
+            Exp expToBeReduced = null;
+            Iterator<Exp> antecedentIt = seq.getAntecedents().iterator();
+            while (antecedentIt.hasNext() && expToBeReduced == null) {
+                Exp antecedent = antecedentIt.next();
+                if (SequentReduction.isReducible(antecedent)) {
+                    expToBeReduced = antecedent;
+                }
+            }
+
+            // Nothing left to reduce
+            if (expToBeReduced == null) {
+                reducedSequents.add(seq);
+                impactingFlags.add(isImpacting);
+            }
+            else {
+                ReductionRuleApplication ruleApplication = SequentReduction
+                        .createLeftRuleApplication(seq, expToBeReduced);
+                List<Sequent> ruleResultingSeqs = ruleApplication.applyRule();
+                for (Sequent resultSeq : ruleResultingSeqs) {
+                    impactingMap.put(resultSeq, isImpacting
+                            || ruleApplication.isIsImpactingReductionFlag());
+                }
+                reducibleFormulas.add(expToBeReduced);
+
+                // Reduce the resulting sequents before anything else
+                ListIterator<Sequent> resultIt = ruleResultingSeqs
+                        .listIterator(ruleResultingSeqs.size());
+                while (resultIt.hasPrevious()) {
+                    sequentsToBeReduced.addFirst(resultIt.previous());
+                }
+            }
+        }
+
+        return new ReducedFormula(reducedSequents, impactingFlags,
+                reducibleFormulas);
+    }
+
+    // ===========================================================
+    // Helper Classes
+    // ===========================================================
+
+    /**
+     * <p>
+     * This class holds the result of reducing a formula that appears as an
+     * antecedent.
+     * </p>
+     */
+    static class ReducedFormula {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /**
+         * <p>
+         * One {@link Sequent} for each case the formula was split into.
+         * </p>
+         */
+        private final List<Sequent> myReducedSequents;
+
+        /**
+         * <p>
+         * Flags that indicate if the corresponding {@link Sequent} had an
+         * impacting reduction.
+         * </p>
+         */
+        private final List<Boolean> myImpactingFlags;
+
+        /**
+         * <p>
+         * All the formulas a reduction rule was applied to.
+         * </p>
+         */
+        private final Set<Exp> myReducibleFormulas;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>
+         * This creates a new reduced formula.
+         * </p>
+         *
+         * @param reducedSequents The resulting {@link Sequent Sequents}.
+         * @param impactingFlags The impacting reduction flags.
+         * @param reducibleFormulas The formulas that got reduced.
+         */
+        private ReducedFormula(List<Sequent> reducedSequents,
+                List<Boolean> impactingFlags, Set<Exp> reducibleFormulas) {
+            myReducedSequents = reducedSequents;
+            myImpactingFlags = impactingFlags;
+            myReducibleFormulas = reducibleFormulas;
+        }
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>
+         * This method returns the impacting reduction flags.
+         * </p>
+         *
+         * @return A list of flags.
+         */
+        final List<Boolean> getImpactingFlags() {
+            return myImpactingFlags;
+        }
+
+        /**
+         * <p>
+         * This method returns every formula a reduction rule was applied to
+         * while reducing this formula.
+         * </p>
+         *
+         * @return A set of formulas.
+         */
+        final Set<Exp> getReducibleFormulas() {
+            return myReducibleFormulas;
+        }
+
+        /**
+         * <p>
+         * This method returns the reduced {@link Sequent Sequents}.
+         * </p>
+         *
+         * @return A list of {@link Sequent Sequents}.
+         */
+        final List<Sequent> getReducedSequents() {
+            return myReducedSequents;
+        }
+
+    }
+
+}
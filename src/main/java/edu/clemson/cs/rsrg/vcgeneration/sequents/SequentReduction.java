@@ -30,6 +30,13 @@ import org.jgrapht.graph.DefaultEdge;
  * This class contains logic for reducing a {@link Sequent}.
  * </p>
  *
+ * <p>
+ * The reduction tree is only built when requested. When it isn't, the left
+ * reduction rules are applied to each antecedent using the reductions memoized
+ * in a {@link FormulaReductionCache}, so {@code VCs} that share antecedents
+ * don't need to reduce them again.
+ * </p>
+ *
  * @see <a href="https://en.wikipedia.org/wiki/Sequent_calculus">Sequent
  *      Calculus</a>
  *
@@ -50,6 +57,29 @@ public class SequentReduction {
      */
     private final Map<Sequent, Boolean> myImpactingReducedSequentMap;
 
+    /**
+     * <p>
+     * A map that keeps track of the impacting reduction flags while we are
+     * reducing. If we are not building a reduction tree, we only need to look
+     * up the intermediate {@link Sequent Sequents} we created ourselves.
+     * </p>
+     */
+    private final Map<Sequent, Boolean> myImpactingFlagMap;
+
+    /**
+     * <p>
+     * A flag that indicates if we need to build the reduction tree.
+     * </p>
+     */
+    private final boolean myBuildReductionTreeFlag;
+
+    /**
+     * <p>
+     * The cache containing memoized formula reductions.
+     * </p>
+     */
+    private final FormulaReductionCache myFormulaReductionCache;
+
     /**
      * <p>
      * The incoming {@link Sequent} we are trying to reduce.
@@ -77,12 +107,34 @@ public class SequentReduction {
 
     /**
      * <p>
-     * This creates an object that helps reduce a {@link Sequent}.
+     * This creates an object that helps reduce a {@link Sequent} and builds
+     * the reduction tree.
      * </p>
      *
      * @param sequent A {@link Sequent} to be reduced.
      */
     public SequentReduction(Sequent sequent) {
+        this(sequent, new FormulaReductionCache(), true);
+    }
+
+    /**
+     * <p>
+     * This creates an object that helps reduce a {@link Sequent} using the
+     * formula reductions stored in {@code cache}.
+     * </p>
+     *
+     * @param sequent A {@link Sequent} to be reduced.
+     * @param cache A cache containing memoized formula reductions.
+     * @param buildReductionTree A flag that indicates if we need to build the
+     *        reduction tree. If it is {@code false}, the reduction tree only
+     *        contains the original {@link Sequent} and the impacting reduction
+     *        map only contains the original and resulting
+     *        {@link Sequent Sequents}.
+     */
+    public SequentReduction(Sequent sequent, FormulaReductionCache cache,
+            boolean buildReductionTree) {
+        myBuildReductionTreeFlag = buildReductionTree;
+        myFormulaReductionCache = cache;
         myImpactingReducedSequentMap = new LinkedHashMap<>();
         myOriginalSequent = sequent;
         myReductionTree = new DefaultDirectedGraph<>(DefaultEdge.class);
@@ -93,6 +145,13 @@ public class SequentReduction {
 
         // Our original sequent has no reductions
         myImpactingReducedSequentMap.put(myOriginalSequent, false);
+        if (myBuildReductionTreeFlag) {
+            myImpactingFlagMap = myImpactingReducedSequentMap;
+        }
+        else {
+            myImpactingFlagMap = new IdentityHashMap<>();
+            myImpactingFlagMap.put(myOriginalSequent, false);
+        }
     }
 
     // ===========================================================
@@ -120,14 +179,21 @@ public class SequentReduction {
 
             // Check to see if have a sequent with atomic formulas.
             // If we do, then we are done reducing the sequent!
-            if (seq.consistOfAtomicFormulas()) {
+            if (myFormulaReductionCache.consistOfAtomicFormulas(seq)) {
                 reducedSequents.add(seq);
             }
             // Otherwise, apply the left and/or right reduction
             // rules to reduce it!
             else {
                 // Try to apply the left reduction rules
-                Deque<Sequent> leftReductionSeqs = applyLeftReductionRules(seq);
+                Deque<Sequent> leftReductionSeqs = null;
+                if (!myBuildReductionTreeFlag) {
+                    leftReductionSeqs = applyMemoizedLeftReductionRules(seq);
+                }
+
+                if (leftReductionSeqs == null) {
+                    leftReductionSeqs = applyLeftReductionRules(seq);
+                }
 
                 // It is an error if we don't get any sequents back.
                 if (leftReductionSeqs.isEmpty()) {
@@ -140,12 +206,11 @@ public class SequentReduction {
                 else if (leftReductionSeqs.size() == 1) {
                     Sequent resultSequent = leftReductionSeqs.getFirst();
 
-                    // YS: Probably can do equality check here, but it is the same
-                    // as checking to see if we have an edge between "seq" and "resultSequent"
-                    // If there is an edge, then it means that we have done some kind of
+                    // The reduction rules always create new sequents, so if we
+                    // didn't get "seq" back, it means that we have done some kind of
                     // reduction and we need to add it back to "sequentsToBeReduced" for
                     // potentially more reductions.
-                    if (myReductionTree.containsEdge(seq, resultSequent)) {
+                    if (resultSequent != seq) {
                         leftReductionSeqs.addAll(sequentsToBeReduced);
                         sequentsToBeReduced = leftReductionSeqs;
                     }
@@ -167,8 +232,7 @@ public class SequentReduction {
                             resultSequent = rightReductionSeqs.getFirst();
 
                             // We must have done some kind of reduction.
-                            if (myReductionTree.containsEdge(seq,
-                                    resultSequent)) {
+                            if (resultSequent != seq) {
                                 rightReductionSeqs.addAll(sequentsToBeReduced);
                                 sequentsToBeReduced = rightReductionSeqs;
                             }
@@ -202,6 +266,14 @@ public class SequentReduction {
 
         myResultingSequents.addAll(reducedSequents);
 
+        // Store the impacting reduction flags for the resulting sequents
+        if (!myBuildReductionTreeFlag) {
+            for (Sequent reducedSequent : reducedSequents) {
+                myImpactingReducedSequentMap.put(reducedSequent,
+                        myImpactingFlagMap.get(reducedSequent));
+            }
+        }
+
         return myResultingSequents;
     }
 
@@ -272,6 +344,80 @@ public class SequentReduction {
         return result;
     }
 
+    // ===========================================================
+    // Package Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method creates the left reduction rule application that reduces
+     * {@code exp}.
+     * </p>
+     *
+     * @param sequent The {@link Sequent} being reduced.
+     * @param exp An antecedent in {@code sequent}.
+     *
+     * @return A {@link ReductionRuleApplication} or {@code null} if none of
+     *         the left reduction rules can be applied to {@code exp}.
+     */
+    static ReductionRuleApplication createLeftRuleApplication(Sequent sequent,
+            Exp exp) {
+        ReductionRuleApplication ruleApplication = null;
+        if (exp instanceof BetweenExp) {
+            // BetweenExp are joined together by the "and" operator.
+            ruleApplication = new LeftAndRule(sequent, exp);
+        }
+        else if (exp instanceof InfixExp) {
+            // Use the operator to determine which rule to call.
+            String operator = ((InfixExp) exp).getOperatorAsString();
+            switch (operator) {
+            case "and":
+                ruleApplication = new LeftAndRule(sequent, exp);
+                break;
+            case "or":
+                ruleApplication = new LeftOrRule(sequent, exp);
+                break;
+            case "implies":
+                ruleApplication = new LeftImpliesRule(sequent, exp);
+                break;
+            }
+        }
+        // Only call the not reduction rule if the operator is "not"
+        else if (exp instanceof PrefixExp
+                && ((PrefixExp) exp).getOperatorAsString().equals("not")) {
+            ruleApplication = new LeftNotRule(sequent, exp);
+        }
+
+        return ruleApplication;
+    }
+
+    /**
+     * <p>
+     * This method checks to see if one of the reduction rules can be applied
+     * to {@code exp}.
+     * </p>
+     *
+     * @param exp A formula.
+     *
+     * @return {@code true} if it can be reduced, {@code false} otherwise.
+     */
+    static boolean isReducible(Exp exp) {
+        boolean retval = false;
+        if (exp instanceof BetweenExp) {
+            retval = true;
+        }
+        else if (exp instanceof InfixExp) {
+            String operator = ((InfixExp) exp).getOperatorAsString();
+            retval = operator.equals("and") || operator.equals("or")
+                    || operator.equals("implies");
+        }
+        else if (exp instanceof PrefixExp) {
+            retval = ((PrefixExp) exp).getOperatorAsString().equals("not");
+        }
+
+        return retval;
+    }
+
     // ===========================================================
     // Private Methods
     // ===========================================================
@@ -298,17 +444,19 @@ public class SequentReduction {
         // the original sequent to each sequent generated by
         // the reduction rules.
         for (Sequent resultSeq : ruleResultingSeqs) {
-            myReductionTree.addVertex(resultSeq);
-            myReductionTree.addEdge(sequent, resultSeq);
+            if (myBuildReductionTreeFlag) {
+                myReductionTree.addVertex(resultSeq);
+                myReductionTree.addEdge(sequent, resultSeq);
+            }
 
             // Check to see if the rule generated an impacting reduction
             // Note if our parent is a result from an impacting reduction,
             // this is always set to true.
-            if (myImpactingReducedSequentMap.get(sequent)) {
-                myImpactingReducedSequentMap.put(resultSeq, true);
+            if (myImpactingFlagMap.get(sequent)) {
+                myImpactingFlagMap.put(resultSeq, true);
             }
             else {
-                myImpactingReducedSequentMap.put(resultSeq,
+                myImpactingFlagMap.put(resultSeq,
                         ruleApplication.isIsImpactingReductionFlag());
             }
         }
@@ -338,33 +486,8 @@ public class SequentReduction {
         boolean doneReduction = false;
         Iterator<Exp> antecedentsIt = sequent.getAntecedents().iterator();
         while (antecedentsIt.hasNext() && !doneReduction) {
-            ReductionRuleApplication ruleApplication = null;
-            Exp exp = antecedentsIt.next();
-
-            if (exp instanceof BetweenExp) {
-                // BetweenExp are joined together by the "and" operator.
-                ruleApplication = new LeftAndRule(sequent, exp);
-            }
-            else if (exp instanceof InfixExp) {
-                // Use the operator to determine which rule to call.
-                String operator = ((InfixExp) exp).getOperatorAsString();
-                switch (operator) {
-                case "and":
-                    ruleApplication = new LeftAndRule(sequent, exp);
-                    break;
-                case "or":
-                    ruleApplication = new LeftOrRule(sequent, exp);
-                    break;
-                case "implies":
-                    ruleApplication = new LeftImpliesRule(sequent, exp);
-                    break;
-                }
-            }
-            // Only call the not reduction rule if the operator is "not"
-            else if (exp instanceof PrefixExp
-                    && ((PrefixExp) exp).getOperatorAsString().equals("not")) {
-                ruleApplication = new LeftNotRule(sequent, exp);
-            }
+            ReductionRuleApplication ruleApplication =
+                    createLeftRuleApplication(sequent, antecedentsIt.next());
 
             // Apply the reduction rule and add it to the reduction tree
             // if we generated a reduction rule application.
@@ -387,6 +510,129 @@ public class SequentReduction {
         return resultingSeq;
     }
 
+    /**
+     * <p>
+     * This method attempts to apply the left reduction rules to
+     * {@code sequent} using the memoized reductions of its antecedents. Each
+     * antecedent is reduced independently, so the resulting
+     * {@link Sequent Sequents} are formed by combining the cases of every
+     * antecedent in order.
+     * </p>
+     *
+     * <p>
+     * <em>Note:</em> The reduction rules replace every copy of the formula
+     * being reduced. If a formula we need to reduce is equal to one that shows
+     * up while reducing an earlier antecedent, the antecedents are not
+     * independent and we return {@code null}, so the caller can apply the
+     * reduction rules one at a time.
+     * </p>
+     *
+     * @param sequent The sequent to be reduced.
+     *
+     * @return A {@link Deque} containing the reduced {@link Sequent Sequents}
+     *         or {@code null} if we can't use the memoized reductions.
+     */
+    private Deque<Sequent> applyMemoizedLeftReductionRules(Sequent sequent) {
+        Deque<Sequent> resultingSeq = new LinkedList<>();
+
+        // Retrieve the reduced form of each antecedent.
+        List<Exp> antecedents = sequent.getAntecedents();
+        List<FormulaReductionCache.ReducedFormula> reducedFormulas =
+                new ArrayList<>(antecedents.size());
+        Set<Exp> reducibleFormulas = new HashSet<>();
+        boolean doneReduction = false;
+        for (Exp exp : antecedents) {
+            FormulaReductionCache.ReducedFormula reducedFormula = null;
+            if (isReducible(exp)) {
+                if (reducibleFormulas.contains(exp)) {
+                    return null;
+                }
+
+                reducedFormula = myFormulaReductionCache.getLeftReduction(exp);
+                reducibleFormulas.addAll(reducedFormula.getReducibleFormulas());
+                doneReduction = true;
+            }
+
+            reducedFormulas.add(reducedFormula);
+        }
+
+        // If we didn't do any kind of reduction, it is OK.
+        // The formula that needs to be reduced could be in the
+        // consequent, so we simply add the sequent back to resultingSeq
+        if (!doneReduction) {
+            resultingSeq.add(sequent);
+            return resultingSeq;
+        }
+
+        // Combine the cases for each antecedent. The cases for the earlier
+        // antecedents are the outermost ones, just like when the
+        // rules get applied one at a time.
+        List<List<Exp>> newAntecedentsList = new ArrayList<>();
+        List<List<Exp>> newConsequentsList = new ArrayList<>();
+        List<Boolean> impactingFlags = new ArrayList<>();
+        newAntecedentsList.add(new ArrayList<Exp>());
+        newConsequentsList.add(new ArrayList<Exp>());
+        impactingFlags.add(myImpactingFlagMap.get(sequent));
+        for (int i = 0; i < antecedents.size(); i++) {
+            FormulaReductionCache.ReducedFormula reducedFormula =
+                    reducedFormulas.get(i);
+            if (reducedFormula == null) {
+                for (List<Exp> newAntecedents : newAntecedentsList) {
+                    newAntecedents.add(antecedents.get(i).clone());
+                }
+            }
+            else {
+                List<Sequent> cases = reducedFormula.getReducedSequents();
+                List<Boolean> caseFlags = reducedFormula.getImpactingFlags();
+                List<List<Exp>> combinedAntecedentsList = new ArrayList<>();
+                List<List<Exp>> combinedConsequentsList = new ArrayList<>();
+                List<Boolean> combinedFlags = new ArrayList<>();
+                for (int j = 0; j < newAntecedentsList.size(); j++) {
+                    for (int k = 0; k < cases.size(); k++) {
+                        Sequent reducedCase = cases.get(k);
+                        List<Exp> combinedAntecedents =
+                                new ArrayList<>(newAntecedentsList.get(j));
+                        for (Exp exp : reducedCase.getAntecedents()) {
+                            combinedAntecedents.add(exp.clone());
+                        }
+
+                        List<Exp> combinedConsequents =
+                                new ArrayList<>(newConsequentsList.get(j));
+                        for (Exp exp : reducedCase.getConcequents()) {
+                            combinedConsequents.add(exp.clone());
+                        }
+
+                        combinedAntecedentsList.add(combinedAntecedents);
+                        combinedConsequentsList.add(combinedConsequents);
+                        combinedFlags
+                                .add(impactingFlags.get(j) || caseFlags.get(k));
+                    }
+                }
+
+                newAntecedentsList = combinedAntecedentsList;
+                newConsequentsList = combinedConsequentsList;
+                impactingFlags = combinedFlags;
+            }
+        }
+
+        // Form the new sequents. The consequents that came from reducing
+        // the antecedents go after the original ones.
+        for (int i = 0; i < newAntecedentsList.size(); i++) {
+            List<Exp> newConsequents = new ArrayList<>();
+            for (Exp exp : sequent.getConcequents()) {
+                newConsequents.add(exp.clone());
+            }
+            newConsequents.addAll(newConsequentsList.get(i));
+
+            Sequent resultSeq = new Sequent(sequent.getLocation(),
+                    newAntecedentsList.get(i), newConsequents);
+            myImpactingFlagMap.put(resultSeq, impactingFlags.get(i));
+            resultingSeq.add(resultSeq);
+        }
+
+        return resultingSeq;
+    }
+
     // -----------------------------------------------------------
     // Right Rules
     // -----------------------------------------------------------
@@ -0,0 +1,175 @@
+/*
+ * DiscardingSTGroup.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.vcgeneration.utilities;
+
+import edu.clemson.cs.rsrg.vcgeneration.VCGenerator;
+import java.util.Locale;
+import org.stringtemplate.v4.ST;
+import org.stringtemplate.v4.STErrorListener;
+import org.stringtemplate.v4.STGroup;
+import org.stringtemplate.v4.STWriter;
+
+/**
+ * <p>
+ * A string template group that is used by the {@link VCGenerator} when the
+ * {@code VC} generation details (aka Verbose Mode) are not needed. Every
+ * template instance it hands out is a shared template that ignores all of its
+ * attributes and renders as the empty string, so the proof rules can record
+ * their details unconditionally without building any models.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class DiscardingSTGroup extends STGroup {
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>
+     * The shared template that discards everything.
+     * </p>
+     */
+    private static final ST DISCARDING_ST = new DiscardingST();
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method returns a template that discards all of its attributes.
+     * </p>
+     *
+     * @param name Name of the template.
+     *
+     * @return A {@link ST} that renders as the empty string.
+     */
+    @Override
+    public final ST getInstanceOf(String name) {
+        return DISCARDING_ST;
+    }
+
+    /**
+     * <p>
+     * This method checks to see if details added to templates from the
+     * specified group are going to be discarded.
+     * </p>
+     *
+     * @param group A string template group.
+     *
+     * @return {@code true} if {@code group} discards everything,
+     *         {@code false} otherwise.
+     */
+    public static boolean isDiscarding(STGroup group) {
+        return group instanceof DiscardingSTGroup;
+    }
+
+    // ===========================================================
+    // Helper Classes
+    // ===========================================================
+
+    /**
+     * <p>
+     * A template that ignores all of its attributes and renders as the empty
+     * string.
+     * </p>
+     */
+    private static class DiscardingST extends ST {
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>
+         * This creates a template backed by an empty template, so it can also
+         * be safely nested inside regular templates.
+         * </p>
+         */
+        DiscardingST() {
+            super(new ST(""));
+        }
+
+        // ===========================================================
+        // Public Methods
+        // ===========================================================
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final synchronized ST add(String name, Object value) {
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final synchronized ST addAggr(String aggrSpec,
+                Object... values) {
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final void remove(String name) {}
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final String render(Locale locale, int lineWidth) {
+            return "";
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int write(STWriter out) {
+            return 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int write(STWriter out, Locale locale) {
+            return 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int write(STWriter out, STErrorListener listener) {
+            return 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int write(STWriter out, Locale locale,
+                STErrorListener listener) {
+            return 0;
+        }
+
+    }
+
+}
@@ -17,7 +17,6 @@ import edu.clemson.cs.rsrg.parsing.data.Location;
 import edu.clemson.cs.rsrg.vcgeneration.VCGenerator;
 import edu.clemson.cs.rsrg.vcgeneration.proofrules.statements.WhileStmtRule;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -139,8 +138,12 @@ public class VCConfirmStmt extends Statement {
      */
     @Override
     protected final Statement copy() {
+        // Collections.copy complains about source does not fit in dest,
+        // so we manually copy everything.
         List<VerificationCondition> newVCs = new LinkedList<>();
-        Collections.copy(newVCs, myVCs);
+        for (VerificationCondition vc : myVCs) {
+            newVCs.add(vc.clone());
+        }
 
         return new VCConfirmStmt(cloneLocation(), newVCs);
     }
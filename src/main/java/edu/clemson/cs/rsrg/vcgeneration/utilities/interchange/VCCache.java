@@ -0,0 +1,420 @@
+/*
+ * VCCache.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.vcgeneration.utilities.interchange;
+
+import edu.clemson.cs.rsrg.absyn.ResolveConceptualElement;
+import edu.clemson.cs.rsrg.absyn.declarations.Dec;
+import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
+import edu.clemson.cs.rsrg.absyn.declarations.operationdecl.OperationProcedureDec;
+import edu.clemson.cs.rsrg.absyn.declarations.operationdecl.ProcedureDec;
+import edu.clemson.cs.rsrg.absyn.declarations.paramdecl.ModuleParameterDec;
+import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.AssertiveCodeBlock;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * <p>
+ * This class stores the {@link VerificationCondition VerificationConditions}
+ * generated for each of the {@link AssertiveCodeBlock AssertiveCodeBlocks} in
+ * a module, so they can be reused the next time the module is verified.
+ * </p>
+ *
+ * <p>
+ * Each block is identified by a fingerprint of its procedure body, the
+ * specifications it uses (which are already part of the block before any
+ * statement proof rules are applied) and everything outside the block that
+ * could change the {@code VCs} or their proofs: the contents of the other
+ * files in this compilation job (which contain the imported specifications
+ * and theorems) and the declarations in this module that aren't procedure
+ * bodies. A block whose fingerprint matches the previous run doesn't need
+ * its {@code VCs} generated again.
+ * </p>
+ *
+ * <p>
+ * Blocks created while applying the statement proof rules to a block (for
+ * example, the branches of an {@code If} statement) are stored along with
+ * the block that created them.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class VCCache {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The entries read from the previous run, indexed by fingerprint.
+     * </p>
+     */
+    private final Map<String, CacheEntry> myCachedEntries;
+
+    /**
+     * <p>
+     * A digest of everything outside the assertive code blocks that the
+     * {@code VCs} depend on.
+     * </p>
+     */
+    private final String myContextDigest;
+
+    /**
+     * <p>
+     * The entries for the current run, indexed by fingerprint.
+     * </p>
+     */
+    private final Map<String, CacheEntry> myCurrentEntries;
+
+    /**
+     * <p>
+     * Name of the module the {@code VCs} belong to.
+     * </p>
+     */
+    private final String myModuleName;
+
+    /**
+     * <p>
+     * The file extension used by the cache files.
+     * </p>
+     */
+    public static final String FILE_EXTENSION = "vccache";
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This creates an empty cache for the specified module.
+     * </p>
+     *
+     * @param id The module we are generating {@code VCs} for.
+     * @param compileEnvironment The current job's compilation environment that
+     *        stores all necessary objects and flags.
+     */
+    public VCCache(ModuleIdentifier id, CompileEnvironment compileEnvironment) {
+        ModuleDec moduleDec = compileEnvironment.getModuleAST(id);
+
+        myCachedEntries = new HashMap<>();
+        myContextDigest = computeContextDigest(moduleDec,
+                compileEnvironment.getFile(id), compileEnvironment.getFiles());
+        myCurrentEntries = new LinkedHashMap<>();
+        myModuleName = moduleDec.getName().getName();
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method adds the {@code VCs} of a completed block to the entry for
+     * {@code fingerprint}.
+     * </p>
+     *
+     * @param fingerprint The fingerprint of the block that created the
+     *        completed block.
+     * @param vcs The final {@code VCs} for the completed block.
+     */
+    public final void addVCs(String fingerprint,
+            List<VerificationCondition> vcs) {
+        CacheEntry entry = myCurrentEntries.get(fingerprint);
+        if (entry == null) {
+            entry = new CacheEntry();
+            myCurrentEntries.put(fingerprint, entry);
+        }
+
+        entry.myBlockVCs.add(new ArrayList<>(vcs));
+    }
+
+    /**
+     * <p>
+     * This method returns a fingerprint for an {@link AssertiveCodeBlock}
+     * that hasn't had any statement proof rules applied to it.
+     * </p>
+     *
+     * @param block An assertive code block.
+     *
+     * @return A hexadecimal string.
+     */
+    public final String computeFingerprint(AssertiveCodeBlock block) {
+        StringBuilder sb = new StringBuilder(myContextDigest);
+        sb.append("\n");
+
+        // The locations in the VCs come from the block, so a block
+        // that moved can't reuse the old VCs.
+        sb.append(block.getName().getName());
+        sb.append(" ");
+        sb.append(block.getName().getLocation());
+        sb.append("\n");
+
+        ResolveConceptualElement element = block.getInstantiatingElement();
+        if (element != null) {
+            sb.append(element.asString(0, 4));
+            sb.append("\n");
+        }
+        sb.append(block.asString(0, 4));
+
+        return VCInterchangeWriter.computeDigest(sb.toString());
+    }
+
+    /**
+     * <p>
+     * This method returns the {@code VCs} the previous run generated for the
+     * block with the specified fingerprint.
+     * </p>
+     *
+     * @param fingerprint The fingerprint of a block.
+     *
+     * @return A list containing a list of {@code VCs} for each of the
+     *         completed blocks, or {@code null} if the previous run doesn't
+     *         have this block.
+     */
+    public final List<List<VerificationCondition>>
+            getCachedVCs(String fingerprint) {
+        List<List<VerificationCondition>> vcs = null;
+        CacheEntry entry = myCachedEntries.get(fingerprint);
+        if (entry != null) {
+            vcs = Collections.unmodifiableList(entry.myBlockVCs);
+        }
+
+        return vcs;
+    }
+
+    /**
+     * <p>
+     * This method returns the number of {@code VCs} in the current run that
+     * were reused from the previous run.
+     * </p>
+     *
+     * @return The number of reused {@code VCs}.
+     */
+    public final int getNumReusedVCs() {
+        int count = 0;
+        for (Map.Entry<String, CacheEntry> entry : myCurrentEntries
+                .entrySet()) {
+            if (myCachedEntries.containsKey(entry.getKey())) {
+                count += entry.getValue().getVCs().size();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * <p>
+     * This method reads the entries saved by the previous run. Anything that
+     * doesn't belong to this module or can't be decoded is ignored.
+     * </p>
+     *
+     * @param interchangeReader An interchange reader for the cache file.
+     *
+     * @throws IOException There was an error reading the input.
+     */
+    public final void load(VCInterchangeReader interchangeReader)
+            throws IOException {
+        myCachedEntries.clear();
+        if (!myModuleName.equals(interchangeReader.getModuleName())) {
+            return;
+        }
+
+        try {
+            interchangeReader.readVCs();
+
+            List<JSONObject> records = interchangeReader.getBlockRecords();
+            List<List<VerificationCondition>> blockVCs =
+                    interchangeReader.getBlockVCs();
+            for (int i = 0; i < records.size(); i++) {
+                JSONObject record = records.get(i);
+                Iterator<VerificationCondition> vcIterator =
+                        blockVCs.get(i).iterator();
+
+                CacheEntry entry = new CacheEntry();
+                JSONArray sizes = record.getJSONArray("sizes");
+                for (int j = 0; j < sizes.length(); j++) {
+                    List<VerificationCondition> vcs = new ArrayList<>();
+                    for (int k = 0; k < sizes.getInt(j); k++) {
+                        vcs.add(vcIterator.next());
+                    }
+                    entry.myBlockVCs.add(vcs);
+                }
+
+                myCachedEntries.put(record.getString("fingerprint"), entry);
+            }
+        }
+        catch (MiscErrorException | JSONException | NoSuchElementException e) {
+            // A cache we can't decode is the same as not having one.
+            myCachedEntries.clear();
+        }
+    }
+
+    /**
+     * <p>
+     * This method writes the entries for the current run.
+     * </p>
+     *
+     * @param writer The writer for the output.
+     *
+     * @throws IOException There was an error writing to the output.
+     */
+    public final void save(Writer writer) throws IOException {
+        try (VCInterchangeWriter vcWriter =
+                new VCInterchangeWriter(writer, myModuleName)) {
+            for (Map.Entry<String, CacheEntry> mapEntry : myCurrentEntries
+                    .entrySet()) {
+                CacheEntry entry = mapEntry.getValue();
+
+                JSONArray sizes = new JSONArray();
+                for (List<VerificationCondition> vcs : entry.myBlockVCs) {
+                    sizes.put(vcs.size());
+                }
+
+                JSONObject record = new JSONObject();
+                record.put("fingerprint", mapEntry.getKey());
+                record.put("sizes", sizes);
+                vcWriter.writeBlock(record);
+
+                for (VerificationCondition vc : entry.getVCs()) {
+                    vcWriter.writeVC(vc);
+                }
+            }
+        }
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that computes a digest of everything outside the
+     * assertive code blocks that the {@code VCs} depend on.
+     * </p>
+     *
+     * @param moduleDec The module we are generating {@code VCs} for.
+     * @param targetFile The file containing {@code moduleDec}.
+     * @param files All the files in this compilation job.
+     *
+     * @return A hexadecimal string.
+     */
+    private static String computeContextDigest(ModuleDec moduleDec,
+            ResolveFile targetFile, List<ResolveFile> files) {
+        StringBuilder sb = new StringBuilder();
+
+        // Other files in the compilation job
+        SortedMap<String, String> checksums = new TreeMap<>();
+        for (ResolveFile file : files) {
+            if (!file.getFilePath().equals(targetFile.getFilePath())) {
+                checksums.put(file.getFilePath(),
+                        VCInterchangeWriter.computeChecksum(file));
+            }
+        }
+        for (Map.Entry<String, String> checksum : checksums.entrySet()) {
+            sb.append(checksum.getKey());
+            sb.append(" ");
+            sb.append(checksum.getValue());
+            sb.append("\n");
+        }
+
+        // Everything in this module except the procedure bodies
+        for (ModuleParameterDec<?> parameterDec : moduleDec
+                .getParameterDecs()) {
+            sb.append(parameterDec.asString(0, 4));
+            sb.append("\n");
+        }
+
+        for (Dec dec : moduleDec.getDecList()) {
+            if (dec instanceof OperationProcedureDec) {
+                sb.append(((OperationProcedureDec) dec).getWrappedOpDec()
+                        .asString(0, 4));
+                sb.append("\n");
+            }
+            else if (!(dec instanceof ProcedureDec)) {
+                sb.append(dec.asString(0, 4));
+                sb.append("\n");
+            }
+        }
+
+        return VCInterchangeWriter.computeDigest(sb.toString());
+    }
+
+    // ===========================================================
+    // Helper Classes
+    // ===========================================================
+
+    /**
+     * <p>
+     * The {@code VCs} for a block and all the blocks it created.
+     * </p>
+     */
+    private static class CacheEntry {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /**
+         * <p>
+         * The {@code VCs} of each completed block, in the order the blocks
+         * were completed.
+         * </p>
+         */
+        final List<List<VerificationCondition>> myBlockVCs;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>
+         * This creates an empty entry.
+         * </p>
+         */
+        CacheEntry() {
+            myBlockVCs = new ArrayList<>();
+        }
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>
+         * This method returns the {@code VCs} of all the completed blocks.
+         * </p>
+         *
+         * @return A list of {@link VerificationCondition
+         *         VerificationConditions}.
+         */
+        final List<VerificationCondition> getVCs() {
+            List<VerificationCondition> vcs = new ArrayList<>();
+            for (List<VerificationCondition> blockVCs : myBlockVCs) {
+                vcs.addAll(blockVCs);
+            }
+
+            return vcs;
+        }
+
+    }
+
+}
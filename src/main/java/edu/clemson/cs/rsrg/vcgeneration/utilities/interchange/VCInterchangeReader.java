@@ -0,0 +1,867 @@
+/*
+ * VCInterchangeReader.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.vcgeneration.utilities.interchange;
+
+import edu.clemson.cs.rsrg.absyn.declarations.variabledecl.MathVarDec;
+import edu.clemson.cs.rsrg.absyn.expressions.Exp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.*;
+import edu.clemson.cs.rsrg.absyn.rawtypes.ArbitraryExpTy;
+import edu.clemson.cs.rsrg.absyn.rawtypes.NameTy;
+import edu.clemson.cs.rsrg.absyn.rawtypes.Ty;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.file.ResolveFileBasicInfo;
+import edu.clemson.cs.rsrg.misc.Utilities;
+import edu.clemson.cs.rsrg.parsing.data.Location;
+import edu.clemson.cs.rsrg.parsing.data.LocationDetailModel;
+import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.typeandpopulate.entry.MathSymbolEntry;
+import edu.clemson.cs.rsrg.typeandpopulate.entry.SymbolTableEntry;
+import edu.clemson.cs.rsrg.typeandpopulate.exception.DuplicateSymbolException;
+import edu.clemson.cs.rsrg.typeandpopulate.exception.NoSuchSymbolException;
+import edu.clemson.cs.rsrg.typeandpopulate.exception.SymbolNotOfKindTypeException;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.*;
+import edu.clemson.cs.rsrg.typeandpopulate.query.UnqualifiedNameQuery;
+import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTable.FacilityStrategy;
+import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTable.ImportStrategy;
+import edu.clemson.cs.rsrg.typeandpopulate.symboltables.ModuleScope;
+import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
+import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import org.antlr.v4.runtime.CharStreams;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * <p>
+ * This class reads back {@link VerificationCondition VerificationConditions}
+ * exported by {@link VCInterchangeWriter}. The input is read in a single pass;
+ * expressions and mathematical types are rebuilt directly from their records
+ * without going through the parser, the populator or the {@code VC}
+ * generator.
+ * </p>
+ *
+ * <p>
+ * Files referenced by the input are matched (by file path) against the files
+ * the compiler already knows about. Files that can't be matched are replaced
+ * by placeholder files that only carry the file name.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class VCInterchangeReader implements Closeable {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The {@code block} records read from the input.
+     * </p>
+     */
+    private final List<JSONObject> myBlockRecords;
+
+    /**
+     * <p>
+     * The {@link VerificationCondition VerificationConditions} that belong to
+     * each of the {@code block} records.
+     * </p>
+     */
+    private final List<List<VerificationCondition>> myBlockVCs;
+
+    /**
+     * <p>
+     * The files referenced by the input, indexed by their id.
+     * </p>
+     */
+    private final List<ResolveFile> myFiles;
+
+    /**
+     * <p>
+     * The files the compiler already knows about, indexed by their file path.
+     * </p>
+     */
+    private final Map<String, ResolveFile> myKnownFiles;
+
+    /**
+     * <p>
+     * Name of the module the {@code VCs} belong to.
+     * </p>
+     */
+    private final String myModuleName;
+
+    /**
+     * <p>
+     * The reader for the input.
+     * </p>
+     */
+    private final BufferedReader myReader;
+
+    /**
+     * <p>
+     * The module scope used to look up the named mathematical types.
+     * </p>
+     */
+    private final ModuleScope myScope;
+
+    /**
+     * <p>
+     * The list of file paths whose contents changed since the {@code VCs} were
+     * exported.
+     * </p>
+     */
+    private final List<String> myStaleFiles;
+
+    /**
+     * <p>
+     * The current type graph object in use.
+     * </p>
+     */
+    private final TypeGraph myTypeGraph;
+
+    /**
+     * <p>
+     * The mathematical types referenced by the input, indexed by their id.
+     * </p>
+     */
+    private final List<MTType> myTypes;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This creates a new interchange reader and reads the {@code header}
+     * record.
+     * </p>
+     *
+     * @param reader The reader for the input.
+     * @param g The current type graph.
+     * @param scope The module scope for the module the {@code VCs} belong
+     *        to.
+     * @param knownFiles The files the compiler already knows about.
+     *
+     * @throws IOException There was an error reading the input.
+     */
+    public VCInterchangeReader(BufferedReader reader, TypeGraph g,
+            ModuleScope scope, Collection<ResolveFile> knownFiles)
+            throws IOException {
+        myBlockRecords = new ArrayList<>();
+        myBlockVCs = new ArrayList<>();
+        myFiles = new ArrayList<>();
+        myKnownFiles = new HashMap<>();
+        for (ResolveFile file : knownFiles) {
+            myKnownFiles.put(file.getFilePath(), file);
+        }
+        myReader = reader;
+        myScope = scope;
+        myStaleFiles = new ArrayList<>();
+        myTypeGraph = g;
+        myTypes = new ArrayList<>();
+
+        JSONObject header = readRecord();
+        if (header == null || !"header".equals(header.optString("kind"))) {
+            throw new MiscErrorException(
+                    "[VCInterchangeReader] Missing interchange file header.",
+                    new IllegalStateException());
+        }
+
+        int version = header.getInt("version");
+        if (version != VCInterchangeWriter.FORMAT_VERSION) {
+            throw new MiscErrorException(
+                    "[VCInterchangeReader] Unsupported interchange format version: "
+                            + version,
+                    new IllegalStateException());
+        }
+        myModuleName = header.getString("module");
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method closes the underlying reader.
+     * </p>
+     *
+     * @throws IOException There was an error closing the input.
+     */
+    @Override
+    public final void close() throws IOException {
+        myReader.close();
+    }
+
+    /**
+     * <p>
+     * This method returns the name of the module the {@code VCs} belong to.
+     * </p>
+     *
+     * @return The module name.
+     */
+    public final String getModuleName() {
+        return myModuleName;
+    }
+
+    /**
+     * <p>
+     * This method returns the file paths of all the known files whose contents
+     * changed since the {@code VCs} were exported. This is only complete after
+     * {@link #readVCs()} has been called.
+     * </p>
+     *
+     * @return A list of file paths.
+     */
+    public final List<String> getStaleFiles() {
+        return Collections.unmodifiableList(myStaleFiles);
+    }
+
+    /**
+     * <p>
+     * This method reads all the remaining records and returns the
+     * {@link VerificationCondition VerificationConditions} in the order they
+     * were written.
+     * </p>
+     *
+     * @return A list of {@link VerificationCondition VerificationConditions}.
+     *
+     * @throws IOException There was an error reading the input.
+     */
+    public final List<VerificationCondition> readVCs() throws IOException {
+        List<VerificationCondition> vcs = new ArrayList<>();
+
+        try {
+            JSONObject record = readRecord();
+            while (record != null) {
+                String kind = record.getString("kind");
+                if (kind.equals("file")) {
+                    readFile(record);
+                }
+                else if (kind.equals("type")) {
+                    readType(record);
+                }
+                else if (kind.equals("vc")) {
+                    VerificationCondition vc = readVC(record);
+                    vcs.add(vc);
+
+                    if (!myBlockVCs.isEmpty()) {
+                        myBlockVCs.get(myBlockVCs.size() - 1).add(vc);
+                    }
+                }
+                else if (kind.equals("block")) {
+                    myBlockRecords.add(record);
+                    myBlockVCs.add(new ArrayList<VerificationCondition>());
+                }
+                else {
+                    throw new MiscErrorException(
+                            "[VCInterchangeReader] Unknown record kind: "
+                                    + kind,
+                            new IllegalStateException());
+                }
+
+                record = readRecord();
+            }
+        }
+        catch (JSONException e) {
+            throw new MiscErrorException(
+                    "[VCInterchangeReader] Malformed interchange file.", e);
+        }
+
+        return vcs;
+    }
+
+    // ===========================================================
+    // Package Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method returns the {@code block} records read by
+     * {@link #readVCs()}.
+     * </p>
+     *
+     * @return A list of {@code JSON} records.
+     */
+    final List<JSONObject> getBlockRecords() {
+        return myBlockRecords;
+    }
+
+    /**
+     * <p>
+     * This method returns the {@link VerificationCondition
+     * VerificationConditions} that belong to each of the {@code block}
+     * records read by {@link #readVCs()}.
+     * </p>
+     *
+     * @return A list containing a list of {@code VCs} for each block.
+     */
+    final List<List<VerificationCondition>> getBlockVCs() {
+        return myBlockVCs;
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that decodes an expression.
+     * </p>
+     *
+     * @param o A {@code JSON} object.
+     *
+     * @return The decoded expression.
+     */
+    private Exp decodeExp(JSONObject o) {
+        Location l = getLocation(o, "l");
+        String kind = o.getString("k");
+
+        Exp exp;
+        if (kind.equals("VCVar")) {
+            exp = new VCVarExp(l, decodeExp(o.getJSONObject("e")),
+                    o.getInt("s"));
+        }
+        else if (kind.equals("Var")) {
+            VarExp varExp = new VarExp(l, getSymbol(o, "q", l),
+                    getSymbol(o, "n", l), getQuantification(o));
+            if (o.optBoolean("precis")) {
+                varExp.setIsPrecisDefinitionName();
+            }
+            exp = varExp;
+        }
+        else if (kind.equals("Old")) {
+            exp = new OldExp(l, decodeExp(o.getJSONObject("e")));
+        }
+        else if (kind.equals("Dot")) {
+            exp = new DotExp(l, decodeExps(o.getJSONArray("seg")));
+        }
+        else if (kind.equals("Function")) {
+            Exp caratExp = null;
+            if (o.has("c")) {
+                caratExp = decodeExp(o.getJSONObject("c"));
+            }
+
+            FunctionExp functionExp =
+                    new FunctionExp(l, (VarExp) decodeExp(o.getJSONObject("n")),
+                            caratExp, decodeExps(o.getJSONArray("a")));
+            functionExp.setQuantification(getQuantification(o));
+            exp = functionExp;
+        }
+        else if (kind.equals("Equals")) {
+            exp = new EqualsExp(l, decodeExp(o.getJSONObject("lhs")),
+                    getSymbol(o, "q", l),
+                    EqualsExp.Operator.valueOf(o.getString("op")),
+                    decodeExp(o.getJSONObject("rhs")));
+        }
+        else if (kind.equals("Infix")) {
+            exp = new InfixExp(l, decodeExp(o.getJSONObject("lhs")),
+                    getSymbol(o, "q", l), getSymbol(o, "op", l),
+                    decodeExp(o.getJSONObject("rhs")));
+        }
+        else if (kind.equals("Prefix")) {
+            exp = new PrefixExp(l, getSymbol(o, "q", l), getSymbol(o, "op", l),
+                    decodeExp(o.getJSONObject("e")));
+        }
+        else if (kind.equals("Outfix")) {
+            exp = new OutfixExp(l,
+                    OutfixExp.Operator.valueOf(o.getString("op")),
+                    decodeExp(o.getJSONObject("e")));
+        }
+        else if (kind.equals("UnaryMinus")) {
+            exp = new UnaryMinusExp(l, decodeExp(o.getJSONObject("e")));
+        }
+        else if (kind.equals("Integer")) {
+            exp = new IntegerExp(l, getSymbol(o, "q", l), o.getInt("v"));
+        }
+        else if (kind.equals("Char")) {
+            exp = new CharExp(l, o.getString("v").charAt(0));
+        }
+        else if (kind.equals("String")) {
+            exp = new StringExp(l, o.getString("v"));
+        }
+        else if (kind.equals("Double")) {
+            exp = new DoubleExp(l, o.getDouble("v"));
+        }
+        else if (kind.equals("If")) {
+            Exp elseExp = null;
+            if (o.has("else")) {
+                elseExp = decodeExp(o.getJSONObject("else"));
+            }
+
+            exp = new IfExp(l, decodeExp(o.getJSONObject("test")),
+                    decodeExp(o.getJSONObject("then")), elseExp);
+        }
+        else if (kind.equals("Alternative")) {
+            List<AltItemExp> alternatives = new ArrayList<>();
+            for (Exp alt : decodeExps(o.getJSONArray("alts"))) {
+                alternatives.add((AltItemExp) alt);
+            }
+
+            exp = new AlternativeExp(l, alternatives);
+        }
+        else if (kind.equals("AltItem")) {
+            Exp test = null;
+            if (o.has("test")) {
+                test = decodeExp(o.getJSONObject("test"));
+            }
+
+            exp = new AltItemExp(l, test, decodeExp(o.getJSONObject("e")));
+        }
+        else if (kind.equals("Lambda")) {
+            exp = new LambdaExp(l, decodeVarDecs(o.getJSONArray("vars")),
+                    decodeExp(o.getJSONObject("body")));
+        }
+        else if (kind.equals("Quant")) {
+            exp = new QuantExp(l, getQuantification(o),
+                    decodeVarDecs(o.getJSONArray("vars")),
+                    getOptionalExp(o, "where"),
+                    decodeExp(o.getJSONObject("body")));
+        }
+        else if (kind.equals("Set")) {
+            exp = new SetExp(l, decodeVarDecs(o.getJSONArray("vars")).get(0),
+                    getOptionalExp(o, "where"),
+                    decodeExp(o.getJSONObject("body")));
+        }
+        else if (kind.equals("Tuple")) {
+            exp = new TupleExp(l, decodeExps(o.getJSONArray("f")));
+        }
+        else if (kind.equals("Between")) {
+            exp = new BetweenExp(l, decodeExps(o.getJSONArray("j")));
+        }
+        else if (kind.equals("Recp")) {
+            exp = new RecpExp(l, decodeExp(o.getJSONObject("e")));
+        }
+        else if (kind.equals("TypeReceptacles")) {
+            exp = new TypeReceptaclesExp(l,
+                    (VarExp) decodeExp(o.getJSONObject("e")));
+        }
+        else {
+            throw new MiscErrorException(
+                    "[VCInterchangeReader] Unknown expression kind: " + kind,
+                    new IllegalStateException());
+        }
+
+        exp.setMathType(getType(o, "t"));
+        exp.setMathTypeValue(getType(o, "tv"));
+
+        return exp;
+    }
+
+    /**
+     * <p>
+     * An helper method that decodes a list of expressions.
+     * </p>
+     *
+     * @param array A {@code JSON} array.
+     *
+     * @return The decoded list of expressions.
+     */
+    private List<Exp> decodeExps(JSONArray array) {
+        List<Exp> exps = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            exps.add(decodeExp(array.getJSONObject(i)));
+        }
+
+        return exps;
+    }
+
+    /**
+     * <p>
+     * An helper method that decodes a list of type ids.
+     * </p>
+     *
+     * @param array A {@code JSON} array of type ids.
+     *
+     * @return The decoded list of mathematical types.
+     */
+    private List<MTType> decodeTypes(JSONArray array) {
+        List<MTType> types = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            types.add(myTypes.get(array.getInt(i)));
+        }
+
+        return types;
+    }
+
+    /**
+     * <p>
+     * An helper method that decodes a list of mathematical variable
+     * declarations.
+     * </p>
+     *
+     * @param array A {@code JSON} array.
+     *
+     * @return The decoded list of mathematical variable declarations.
+     */
+    private List<MathVarDec> decodeVarDecs(JSONArray array) {
+        List<MathVarDec> varDecs = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject o = array.getJSONObject(i);
+            JSONObject tyObject = o.getJSONObject("ty");
+            Location tyLoc = getLocation(tyObject, "l");
+
+            Ty ty;
+            if (tyObject.has("e")) {
+                ty = new ArbitraryExpTy(decodeExp(tyObject.getJSONObject("e")));
+            }
+            else {
+                ty = new NameTy(tyLoc, getSymbol(tyObject, "q", tyLoc),
+                        getSymbol(tyObject, "n", tyLoc));
+            }
+            ty.setMathType(getType(tyObject, "t"));
+            ty.setMathTypeValue(getType(tyObject, "tv"));
+
+            MathVarDec varDec =
+                    new MathVarDec(getSymbol(o, "n", getLocation(o, "l")), ty);
+            varDec.setMathType(getType(o, "t"));
+            varDecs.add(varDec);
+        }
+
+        return varDecs;
+    }
+
+    /**
+     * <p>
+     * An helper method that returns the built-in type with the specified name.
+     * </p>
+     *
+     * @param name Name of a mathematical type.
+     *
+     * @return The built-in type from the type graph, or {@code null} if
+     *         {@code name} isn't a built-in type.
+     */
+    private MTType getBuiltInType(String name) {
+        MTType[] builtIns = { myTypeGraph.ELEMENT, myTypeGraph.ENTITY,
+                myTypeGraph.CLS, myTypeGraph.SSET, myTypeGraph.BOOLEAN,
+                myTypeGraph.R, myTypeGraph.ATOM, myTypeGraph.VOID,
+                myTypeGraph.EMPTY_CLASS, myTypeGraph.EMPTY_SET,
+                myTypeGraph.RECEPTACLES };
+
+        MTType type = null;
+        for (MTType builtIn : builtIns) {
+            if (name.equals(((MTProper) builtIn).getName())) {
+                type = builtIn;
+            }
+        }
+
+        return type;
+    }
+
+    /**
+     * <p>
+     * An helper method that returns the type value of the mathematical symbol
+     * with the specified name. This makes sure we use the same type object as
+     * the one stored in the symbol table.
+     * </p>
+     *
+     * @param name Name of a mathematical type.
+     *
+     * @return The type value found in the module scope.
+     */
+    private MTType getNamedType(String name) {
+        MTType type;
+        try {
+            MathSymbolEntry entry = myScope
+                    .queryForOne(new UnqualifiedNameQuery(name,
+                            ImportStrategy.IMPORT_RECURSIVE,
+                            FacilityStrategy.FACILITY_IGNORE, true, true))
+                    .toMathSymbolEntry(null);
+            type = entry.getTypeValue();
+        }
+        catch (NoSuchSymbolException | DuplicateSymbolException
+                | SymbolNotOfKindTypeException e) {
+            throw new MiscErrorException(
+                    "[VCInterchangeReader] Cannot find the mathematical type "
+                            + name + " in " + myModuleName + ".",
+                    e);
+        }
+
+        return type;
+    }
+
+    /**
+     * <p>
+     * An helper method that decodes a location stored as a
+     * {@code [fileId, line, column]} triple.
+     * </p>
+     *
+     * @param o The {@code JSON} object.
+     * @param key The key the location is stored under.
+     *
+     * @return The decoded location or {@code null}.
+     */
+    private Location getLocation(JSONObject o, String key) {
+        Location loc = null;
+        JSONArray array = o.optJSONArray(key);
+        if (array != null) {
+            loc = new Location(myFiles.get(array.getInt(0)), array.getInt(1),
+                    array.getInt(2));
+        }
+
+        return loc;
+    }
+
+    /**
+     * <p>
+     * An helper method that decodes an optional expression.
+     * </p>
+     *
+     * @param o The {@code JSON} object.
+     * @param key The key the expression is stored under.
+     *
+     * @return The decoded expression or {@code null}.
+     */
+    private Exp getOptionalExp(JSONObject o, String key) {
+        Exp exp = null;
+        if (o.has(key)) {
+            exp = decodeExp(o.getJSONObject(key));
+        }
+
+        return exp;
+    }
+
+    /**
+     * <p>
+     * An helper method that decodes a quantification.
+     * </p>
+     *
+     * @param o The {@code JSON} object.
+     *
+     * @return The decoded quantification.
+     */
+    private SymbolTableEntry.Quantification getQuantification(JSONObject o) {
+        SymbolTableEntry.Quantification quantification =
+                SymbolTableEntry.Quantification.NONE;
+        if (o.has("qu")) {
+            quantification =
+                    SymbolTableEntry.Quantification.valueOf(o.getString("qu"));
+        }
+
+        return quantification;
+    }
+
+    /**
+     * <p>
+     * An helper method that decodes a symbol.
+     * </p>
+     *
+     * @param o The {@code JSON} object.
+     * @param key The key the symbol is stored under.
+     * @param l The location of the enclosing element.
+     *
+     * @return The decoded symbol or {@code null}.
+     */
+    private PosSymbol getSymbol(JSONObject o, String key, Location l) {
+        PosSymbol symbol = null;
+        if (o.has(key)) {
+            symbol = new PosSymbol(l, o.getString(key));
+        }
+
+        return symbol;
+    }
+
+    /**
+     * <p>
+     * An helper method that decodes a type id.
+     * </p>
+     *
+     * @param o The {@code JSON} object.
+     * @param key The key the type id is stored under.
+     *
+     * @return The decoded mathematical type or {@code null}.
+     */
+    private MTType getType(JSONObject o, String key) {
+        MTType type = null;
+        if (o.has(key)) {
+            type = myTypes.get(o.getInt(key));
+        }
+
+        return type;
+    }
+
+    /**
+     * <p>
+     * An helper method that decodes a {@code file} record.
+     * </p>
+     *
+     * @param record A {@code JSON} record.
+     */
+    private void readFile(JSONObject record) {
+        String path = record.getString("path");
+        ResolveFile file = myKnownFiles.get(path);
+        if (file != null) {
+            String checksum = VCInterchangeWriter.computeChecksum(file);
+            if (!checksum.equals(record.getString("checksum"))) {
+                myStaleFiles.add(path);
+            }
+        }
+        else {
+            String name = record.getString("name");
+            String fileName = name + "." + record.getString("ext");
+            file = new ResolveFile(
+                    new ResolveFileBasicInfo(name, record.getString("parent")),
+                    Utilities.getModuleType(fileName),
+                    CharStreams.fromString("", fileName),
+                    Paths.get(path).getParent(), new ArrayList<String>(), path);
+        }
+
+        myFiles.add(record.getInt("id"), file);
+    }
+
+    /**
+     * <p>
+     * An helper method that reads the next record.
+     * </p>
+     *
+     * @return The next {@code JSON} record or {@code null} if we have reached
+     *         the end of the input.
+     *
+     * @throws IOException There was an error reading the input.
+     */
+    private JSONObject readRecord() throws IOException {
+        String line = myReader.readLine();
+        while (line != null && line.trim().isEmpty()) {
+            line = myReader.readLine();
+        }
+
+        JSONObject record = null;
+        if (line != null) {
+            record = new JSONObject(line);
+        }
+
+        return record;
+    }
+
+    /**
+     * <p>
+     * An helper method that decodes a {@code type} record.
+     * </p>
+     *
+     * @param record A {@code JSON} record.
+     */
+    private void readType(JSONObject record) {
+        String c = record.getString("c");
+
+        MTType type;
+        if (c.equals("Proper")) {
+            String name = record.optString("n", null);
+            type = null;
+            if (name != null) {
+                type = getBuiltInType(name);
+                if (type == null) {
+                    type = getNamedType(name);
+                }
+            }
+            else {
+                type = new MTProper(myTypeGraph, getType(record, "of"),
+                        record.getBoolean("m"), name);
+            }
+        }
+        else if (c.equals("Named")) {
+            type = new MTNamed(myTypeGraph, record.getString("n"));
+        }
+        else if (c.equals("Generic")) {
+            type = new MTGeneric(myTypeGraph, record.getString("n"));
+        }
+        else if (c.equals("Function")) {
+            type = new MTFunction(myTypeGraph, getType(record, "r"),
+                    getType(record, "d"));
+        }
+        else if (c.equals("Cartesian")) {
+            JSONArray array = record.getJSONArray("e");
+            List<MTCartesian.Element> elements = new ArrayList<>();
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject element = array.getJSONObject(i);
+                elements.add(new MTCartesian.Element(
+                        element.optString("tag", null), getType(element, "t")));
+            }
+
+            type = new MTCartesian(myTypeGraph, elements);
+        }
+        else if (c.equals("Powerset")) {
+            type = new MTPowersetApplication(myTypeGraph, getType(record, "a"));
+        }
+        else if (c.equals("Powerclass")) {
+            type = new MTPowerclassApplication(myTypeGraph,
+                    getType(record, "a"));
+        }
+        else if (c.equals("Application")) {
+            type = new MTFunctionApplication(myTypeGraph,
+                    (MTFunction) getType(record, "f"), record.getString("n"),
+                    decodeTypes(record.getJSONArray("a")));
+        }
+        else if (c.equals("Union")) {
+            type = new MTUnion(myTypeGraph,
+                    decodeTypes(record.getJSONArray("m")));
+        }
+        else if (c.equals("Intersect")) {
+            type = new MTIntersect(myTypeGraph,
+                    decodeTypes(record.getJSONArray("m")));
+        }
+        else if (c.equals("BigUnion")) {
+            JSONObject vars = record.getJSONObject("q");
+            Map<String, MTType> quantifiedVariables = new TreeMap<>();
+            for (String name : vars.keySet()) {
+                quantifiedVariables.put(name, myTypes.get(vars.getInt(name)));
+            }
+
+            type = new MTBigUnion(myTypeGraph, quantifiedVariables,
+                    getType(record, "e"));
+        }
+        else if (c.equals("Restriction")) {
+            type = getType(record, "b");
+        }
+        else {
+            throw new MiscErrorException(
+                    "[VCInterchangeReader] Unknown math type kind: " + c,
+                    new IllegalStateException());
+        }
+
+        myTypes.add(record.getInt("id"), type);
+    }
+
+    /**
+     * <p>
+     * An helper method that decodes a {@code vc} record.
+     * </p>
+     *
+     * @param record A {@code JSON} record.
+     *
+     * @return The decoded {@link VerificationCondition}.
+     */
+    private VerificationCondition readVC(JSONObject record) {
+        LocationDetailModel detailModel = null;
+        JSONObject detail = record.optJSONObject("detail");
+        if (detail != null) {
+            detailModel = new LocationDetailModel(getLocation(detail, "src"),
+                    getLocation(detail, "dest"), detail.getString("msg"));
+        }
+
+        Sequent sequent = new Sequent(getLocation(record, "sl"),
+                decodeExps(record.getJSONArray("ante")),
+                decodeExps(record.getJSONArray("cons")));
+
+        return new VerificationCondition(getLocation(record, "l"),
+                record.getString("name"), sequent, record.optBoolean("reduced"),
+                detailModel);
+    }
+
+}
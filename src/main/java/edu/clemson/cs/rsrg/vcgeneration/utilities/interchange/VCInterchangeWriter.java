@@ -0,0 +1,775 @@
+/*
+ * VCInterchangeWriter.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.vcgeneration.utilities.interchange;
+
+import edu.clemson.cs.rsrg.absyn.declarations.variabledecl.MathVarDec;
+import edu.clemson.cs.rsrg.absyn.expressions.Exp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.*;
+import edu.clemson.cs.rsrg.absyn.rawtypes.ArbitraryExpTy;
+import edu.clemson.cs.rsrg.absyn.rawtypes.NameTy;
+import edu.clemson.cs.rsrg.absyn.rawtypes.Ty;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.parsing.data.Location;
+import edu.clemson.cs.rsrg.parsing.data.LocationDetailModel;
+import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.typeandpopulate.entry.SymbolTableEntry;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.*;
+import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.misc.Interval;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * <p>
+ * This class exports {@link VerificationCondition VerificationConditions} using
+ * a compact, machine readable {@code JSON Lines} format. Each line of the
+ * output is a single {@code JSON} record of one of the following kinds:
+ * </p>
+ * <ul>
+ * <li>{@code header} - The first line. Contains the format version and the name
+ * of the module the {@code VCs} belong to.</li>
+ * <li>{@code file} - A {@link ResolveFile} referenced by one or more locations,
+ * along with a checksum of its contents.</li>
+ * <li>{@code type} - A mathematical type referenced by one or more
+ * expressions.</li>
+ * <li>{@code vc} - A {@link VerificationCondition}.</li>
+ * <li>{@code block} - Groups the {@code vc} records that follow it. Only
+ * used by the {@link VCCache}.</li>
+ * </ul>
+ *
+ * <p>
+ * Files and types are written once, right before the first record that
+ * references them, and are referred to by their numeric id afterwards. This
+ * allows {@code VCs} to be written one at a time as they are generated and to
+ * be read back with {@link VCInterchangeReader} in a single pass.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class VCInterchangeWriter implements Closeable {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * A map of files we have already written and their ids.
+     * </p>
+     */
+    private final Map<ResolveFile, Integer> myFileIds;
+
+    /**
+     * <p>
+     * A map of mathematical types we have already written and their ids.
+     * Types are compared by reference to avoid the (expensive)
+     * alpha-equivalence checks in {@link MTType#equals(Object)}.
+     * </p>
+     */
+    private final Map<MTType, Integer> myTypeIds;
+
+    /**
+     * <p>
+     * The writer for the output.
+     * </p>
+     */
+    private final Writer myWriter;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>
+     * The current version of the interchange format.
+     * </p>
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * <p>
+     * The file extension used by the interchange format.
+     * </p>
+     */
+    public static final String FILE_EXTENSION = "vcs";
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>
+     * This creates a new interchange writer and writes the {@code header}
+     * record.
+     * </p>
+     *
+     * @param writer The writer for the output.
+     * @param moduleName Name of the module the {@code VCs} belong to.
+     *
+     * @throws IOException There was an error writing to the output.
+     */
+    public VCInterchangeWriter(Writer writer, String moduleName)
+            throws IOException {
+        myFileIds = new HashMap<>();
+        myTypeIds = new IdentityHashMap<>();
+        myWriter = writer;
+
+        JSONObject header = new JSONObject();
+        header.put("kind", "header");
+        header.put("version", FORMAT_VERSION);
+        header.put("module", moduleName);
+        writeRecord(header);
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method closes the underlying writer.
+     * </p>
+     *
+     * @throws IOException There was an error closing the output.
+     */
+    @Override
+    public final void close() throws IOException {
+        myWriter.close();
+    }
+
+    /**
+     * <p>
+     * This method returns a checksum of the contents of a {@link ResolveFile}.
+     * This is used to detect if the source file changed after the {@code VCs}
+     * were exported.
+     * </p>
+     *
+     * @param file A RESOLVE file.
+     *
+     * @return A hexadecimal string.
+     */
+    public static String computeChecksum(ResolveFile file) {
+        CharStream input = file.getInputStream();
+        String text = "";
+        try {
+            if (input != null && input.size() > 0) {
+                text = input.getText(Interval.of(0, input.size() - 1));
+            }
+        }
+        catch (UnsupportedOperationException e) {
+            // Unbuffered streams don't know their size, so there is
+            // nothing we can checksum.
+        }
+
+        return computeDigest(text);
+    }
+
+    /**
+     * <p>
+     * This method returns a checksum of a string.
+     * </p>
+     *
+     * @param text A string.
+     *
+     * @return A hexadecimal string.
+     */
+    public static String computeDigest(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash =
+                    digest.digest(text.getBytes(Charset.forName("UTF-8")));
+
+            StringBuilder sb = new StringBuilder();
+            for (byte b : hash) {
+                sb.append(String.format("%02x", b));
+            }
+
+            return sb.toString();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new MiscErrorException("Cannot compute checksum", e);
+        }
+    }
+
+    /**
+     * <p>
+     * This method writes a {@link VerificationCondition} (and any file or type
+     * it references that hasn't been written yet).
+     * </p>
+     *
+     * @param vc A final {@link VerificationCondition}.
+     *
+     * @throws IOException There was an error writing to the output.
+     */
+    public final void writeVC(VerificationCondition vc) throws IOException {
+        Sequent sequent = vc.getSequent();
+
+        JSONObject record = new JSONObject();
+        record.put("kind", "vc");
+        record.put("name", vc.getName());
+        putLocation(record, "l", vc.getLocation());
+        if (vc.getHasImpactingReductionFlag()) {
+            record.put("reduced", true);
+        }
+
+        LocationDetailModel detailModel = vc.getLocationDetailModel();
+        if (detailModel != null) {
+            JSONObject detail = new JSONObject();
+            putLocation(detail, "src", detailModel.getSourceLoc());
+            putLocation(detail, "dest", detailModel.getDestinationLoc());
+            detail.put("msg", detailModel.getDetailMessage());
+            record.put("detail", detail);
+        }
+
+        putLocation(record, "sl", sequent.getLocation());
+        record.put("ante", encodeExps(sequent.getAntecedents()));
+        record.put("cons", encodeExps(sequent.getConcequents()));
+
+        writeRecord(record);
+    }
+
+    // ===========================================================
+    // Package Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This method writes a {@code block} record. All the {@code vc} records
+     * written after this belong to this block.
+     * </p>
+     *
+     * @param record A {@code JSON} object with the block's attributes.
+     *
+     * @throws IOException There was an error writing to the output.
+     */
+    final void writeBlock(JSONObject record) throws IOException {
+        record.put("kind", "block");
+        writeRecord(record);
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * An helper method that encodes an expression.
+     * </p>
+     *
+     * @param exp An expression.
+     *
+     * @return A {@code JSON} object representing {@code exp}.
+     *
+     * @throws IOException There was an error writing a referenced type.
+     */
+    private JSONObject encodeExp(Exp exp) throws IOException {
+        JSONObject o = new JSONObject();
+        putLocation(o, "l", exp.getLocation());
+        putType(o, "t", exp.getMathType());
+        putType(o, "tv", exp.getMathTypeValue());
+
+        // Check the subclasses before their parent classes.
+        if (exp instanceof VCVarExp) {
+            VCVarExp e = (VCVarExp) exp;
+            o.put("k", "VCVar");
+            o.put("e", encodeExp(e.getExp()));
+            o.put("s", e.getStateNum());
+        }
+        else if (exp instanceof VarExp) {
+            VarExp e = (VarExp) exp;
+            o.put("k", "Var");
+            putSymbol(o, "q", e.getQualifier());
+            putSymbol(o, "n", e.getName());
+            putQuantification(o, e.getQuantification());
+            if (e.isIsPrecisDefinitionName()) {
+                o.put("precis", true);
+            }
+        }
+        else if (exp instanceof OldExp) {
+            o.put("k", "Old");
+            o.put("e", encodeExp(((OldExp) exp).getExp()));
+        }
+        else if (exp instanceof DotExp) {
+            o.put("k", "Dot");
+            o.put("seg", encodeExps(((DotExp) exp).getSegments()));
+        }
+        else if (exp instanceof FunctionExp) {
+            FunctionExp e = (FunctionExp) exp;
+            o.put("k", "Function");
+            o.put("n", encodeExp(e.getName()));
+            if (e.getCaratExp() != null) {
+                o.put("c", encodeExp(e.getCaratExp()));
+            }
+            o.put("a", encodeExps(e.getArguments()));
+            putQuantification(o, e.getQuantification());
+        }
+        else if (exp instanceof EqualsExp) {
+            EqualsExp e = (EqualsExp) exp;
+            o.put("k", "Equals");
+            o.put("lhs", encodeExp(e.getLeft()));
+            putSymbol(o, "q", e.getQualifier());
+            o.put("op", e.getOperator().name());
+            o.put("rhs", encodeExp(e.getRight()));
+        }
+        else if (exp instanceof InfixExp) {
+            InfixExp e = (InfixExp) exp;
+            o.put("k", "Infix");
+            o.put("lhs", encodeExp(e.getLeft()));
+            putSymbol(o, "q", e.getQualifier());
+            putSymbol(o, "op", e.getOperatorAsPosSymbol());
+            o.put("rhs", encodeExp(e.getRight()));
+        }
+        else if (exp instanceof PrefixExp) {
+            PrefixExp e = (PrefixExp) exp;
+            o.put("k", "Prefix");
+            putSymbol(o, "q", e.getQualifier());
+            putSymbol(o, "op", e.getOperatorAsPosSymbol());
+            o.put("e", encodeExp(e.getArgument()));
+        }
+        else if (exp instanceof OutfixExp) {
+            OutfixExp e = (OutfixExp) exp;
+            o.put("k", "Outfix");
+            o.put("op", e.getOperator().name());
+            o.put("e", encodeExp(e.getArgument()));
+        }
+        else if (exp instanceof UnaryMinusExp) {
+            o.put("k", "UnaryMinus");
+            o.put("e", encodeExp(((UnaryMinusExp) exp).getArgument()));
+        }
+        else if (exp instanceof IntegerExp) {
+            IntegerExp e = (IntegerExp) exp;
+            o.put("k", "Integer");
+            putSymbol(o, "q", e.getQualifier());
+            o.put("v", e.getValue());
+        }
+        else if (exp instanceof CharExp) {
+            o.put("k", "Char");
+            o.put("v", String.valueOf(((CharExp) exp).getValue()));
+        }
+        else if (exp instanceof StringExp) {
+            o.put("k", "String");
+            o.put("v", ((StringExp) exp).getValue());
+        }
+        else if (exp instanceof DoubleExp) {
+            o.put("k", "Double");
+            o.put("v", ((DoubleExp) exp).getValue());
+        }
+        else if (exp instanceof IfExp) {
+            IfExp e = (IfExp) exp;
+            o.put("k", "If");
+            o.put("test", encodeExp(e.getTest()));
+            o.put("then", encodeExp(e.getThen()));
+            if (e.getElse() != null) {
+                o.put("else", encodeExp(e.getElse()));
+            }
+        }
+        else if (exp instanceof AlternativeExp) {
+            o.put("k", "Alternative");
+            o.put("alts", encodeExps(((AlternativeExp) exp).getAlternatives()));
+        }
+        else if (exp instanceof AltItemExp) {
+            AltItemExp e = (AltItemExp) exp;
+            o.put("k", "AltItem");
+            if (e.getTest() != null) {
+                o.put("test", encodeExp(e.getTest()));
+            }
+            o.put("e", encodeExp(e.getAssignment()));
+        }
+        else if (exp instanceof LambdaExp) {
+            LambdaExp e = (LambdaExp) exp;
+            o.put("k", "Lambda");
+            o.put("vars", encodeVarDecs(e.getParameters()));
+            o.put("body", encodeExp(e.getBody()));
+        }
+        else if (exp instanceof QuantExp) {
+            QuantExp e = (QuantExp) exp;
+            o.put("k", "Quant");
+            putQuantification(o, e.getQuantification());
+            o.put("vars", encodeVarDecs(e.getVars()));
+            if (e.getWhere() != null) {
+                o.put("where", encodeExp(e.getWhere()));
+            }
+            o.put("body", encodeExp(e.getBody()));
+        }
+        else if (exp instanceof SetExp) {
+            SetExp e = (SetExp) exp;
+            o.put("k", "Set");
+            o.put("vars", encodeVarDecs(Collections.singletonList(e.getVar())));
+            if (e.getWhere() != null) {
+                o.put("where", encodeExp(e.getWhere()));
+            }
+            o.put("body", encodeExp(e.getBody()));
+        }
+        else if (exp instanceof TupleExp) {
+            o.put("k", "Tuple");
+            o.put("f", encodeExps(((TupleExp) exp).getFields()));
+        }
+        else if (exp instanceof BetweenExp) {
+            o.put("k", "Between");
+            o.put("j", encodeExps(((BetweenExp) exp).getJoiningExps()));
+        }
+        else if (exp instanceof RecpExp) {
+            o.put("k", "Recp");
+            o.put("e", encodeExp(((RecpExp) exp).getVarExp()));
+        }
+        else if (exp instanceof TypeReceptaclesExp) {
+            o.put("k", "TypeReceptacles");
+            o.put("e", encodeExp(((TypeReceptaclesExp) exp).getTypeAsVarExp()));
+        }
+        else {
+            throw new MiscErrorException(
+                    "[VCInterchangeWriter] Cannot export expressions of type: "
+                            + exp.getClass().getSimpleName(),
+                    new IllegalArgumentException());
+        }
+
+        return o;
+    }
+
+    /**
+     * <p>
+     * An helper method that encodes a list of expressions.
+     * </p>
+     *
+     * @param exps A list of expressions.
+     *
+     * @return A {@code JSON} array representing {@code exps}.
+     *
+     * @throws IOException There was an error writing a referenced type.
+     */
+    private JSONArray encodeExps(List<? extends Exp> exps) throws IOException {
+        JSONArray array = new JSONArray();
+        for (Exp exp : exps) {
+            array.put(encodeExp(exp));
+        }
+
+        return array;
+    }
+
+    /**
+     * <p>
+     * An helper method that encodes a list of mathematical variable
+     * declarations.
+     * </p>
+     *
+     * @param varDecs A list of mathematical variable declarations.
+     *
+     * @return A {@code JSON} array representing {@code varDecs}.
+     *
+     * @throws IOException There was an error writing a referenced type.
+     */
+    private JSONArray encodeVarDecs(List<MathVarDec> varDecs)
+            throws IOException {
+        JSONArray array = new JSONArray();
+        for (MathVarDec varDec : varDecs) {
+            JSONObject o = new JSONObject();
+            putSymbol(o, "n", varDec.getName());
+            putLocation(o, "l", varDec.getLocation());
+            putType(o, "t", varDec.getMathType());
+
+            Ty ty = varDec.getTy();
+            JSONObject tyObject = new JSONObject();
+            putLocation(tyObject, "l", ty.getLocation());
+            putType(tyObject, "t", ty.getMathType());
+            putType(tyObject, "tv", ty.getMathTypeValue());
+            if (ty instanceof NameTy) {
+                putSymbol(tyObject, "q", ((NameTy) ty).getQualifier());
+                putSymbol(tyObject, "n", ((NameTy) ty).getName());
+            }
+            else if (ty instanceof ArbitraryExpTy) {
+                tyObject.put("e",
+                        encodeExp(((ArbitraryExpTy) ty).getArbitraryExp()));
+            }
+            else {
+                throw new MiscErrorException(
+                        "[VCInterchangeWriter] Cannot export raw types of type: "
+                                + ty.getClass().getSimpleName(),
+                        new IllegalArgumentException());
+            }
+            o.put("ty", tyObject);
+
+            array.put(o);
+        }
+
+        return array;
+    }
+
+    /**
+     * <p>
+     * An helper method that returns the id for the file, writing the
+     * {@code file} record if we haven't seen it yet.
+     * </p>
+     *
+     * @param file A RESOLVE file.
+     *
+     * @return The id for {@code file}.
+     *
+     * @throws IOException There was an error writing to the output.
+     */
+    private int getFileId(ResolveFile file) throws IOException {
+        Integer id = myFileIds.get(file);
+        if (id == null) {
+            id = myFileIds.size();
+
+            JSONObject record = new JSONObject();
+            record.put("kind", "file");
+            record.put("id", id.intValue());
+            record.put("name", file.getName());
+            record.put("parent", file.getParentDirName());
+            record.put("ext", file.getModuleType().getExtension());
+            record.put("path", file.getFilePath());
+            record.put("checksum", computeChecksum(file));
+            writeRecord(record);
+
+            myFileIds.put(file, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * <p>
+     * An helper method that returns the id for the type, writing the
+     * {@code type} record (and the records for all of its component types) if
+     * we haven't seen it yet.
+     * </p>
+     *
+     * @param type A mathematical type.
+     *
+     * @return The id for {@code type}.
+     *
+     * @throws IOException There was an error writing to the output.
+     */
+    private int getTypeId(MTType type) throws IOException {
+        Integer id = myTypeIds.get(type);
+        if (id == null) {
+            JSONObject record = new JSONObject();
+            record.put("kind", "type");
+
+            // Check the subclasses before their parent classes.
+            if (type instanceof MTProper) {
+                MTProper t = (MTProper) type;
+                record.put("c", "Proper");
+                if (t.getName() != null) {
+                    record.put("n", t.getName());
+                }
+                putType(record, "of", t.getType());
+                record.put("m", t.isKnownToContainOnlyMTypes());
+            }
+            else if (type instanceof MTNamed) {
+                record.put("c", "Named");
+                record.put("n", ((MTNamed) type).getName());
+            }
+            else if (type instanceof MTGeneric) {
+                record.put("c", "Generic");
+                record.put("n", ((MTGeneric) type).getName());
+            }
+            else if (type instanceof MTFunction) {
+                MTFunction t = (MTFunction) type;
+                record.put("c", "Function");
+                record.put("r", getTypeId(t.getRange()));
+                record.put("d", getTypeId(t.getDomain()));
+            }
+            else if (type instanceof MTCartesian) {
+                MTCartesian t = (MTCartesian) type;
+                JSONArray elements = new JSONArray();
+                for (int i = 0; i < t.size(); i++) {
+                    JSONObject element = new JSONObject();
+                    if (t.getTag(i) != null) {
+                        element.put("tag", t.getTag(i));
+                    }
+                    element.put("t", getTypeId(t.getFactor(i)));
+                    elements.put(element);
+                }
+                record.put("c", "Cartesian");
+                record.put("e", elements);
+            }
+            else if (type instanceof MTPowersetApplication) {
+                record.put("c", "Powerset");
+                record.put("a", getTypeId(
+                        ((MTPowersetApplication) type).getArgument(0)));
+            }
+            else if (type instanceof MTPowerclassApplication) {
+                record.put("c", "Powerclass");
+                record.put("a", getTypeId(
+                        ((MTPowerclassApplication) type).getArgument(0)));
+            }
+            else if (type instanceof MTFunctionApplication) {
+                MTFunctionApplication t = (MTFunctionApplication) type;
+                record.put("c", "Application");
+                record.put("f", getTypeId(t.getFunction()));
+                record.put("n", t.getName());
+                record.put("a", encodeTypes(t.getArguments()));
+            }
+            else if (type instanceof MTUnion) {
+                record.put("c", "Union");
+                record.put("m", encodeTypes(type.getComponentTypes()));
+            }
+            else if (type instanceof MTIntersect) {
+                record.put("c", "Intersect");
+                record.put("m", encodeTypes(type.getComponentTypes()));
+            }
+            else if (type instanceof MTBigUnion) {
+                MTBigUnion t = (MTBigUnion) type;
+                JSONObject vars = new JSONObject();
+                for (Map.Entry<String, MTType> entry : t
+                        .getQuantifiedVariables().entrySet()) {
+                    vars.put(entry.getKey(), getTypeId(entry.getValue()));
+                }
+                record.put("c", "BigUnion");
+                record.put("q", vars);
+                record.put("e", getTypeId(t.getExpression()));
+            }
+            else if (type instanceof MTSetRestriction) {
+                // The restriction is an arbitrary expression, so we only
+                // keep the base type.
+                record.put("c", "Restriction");
+                record.put("b", getTypeId(type.getComponentTypes().get(0)));
+            }
+            else {
+                throw new MiscErrorException(
+                        "[VCInterchangeWriter] Cannot export math types of type: "
+                                + type.getClass().getSimpleName(),
+                        new IllegalArgumentException());
+            }
+
+            // Assign the id only after all the component types are written
+            id = myTypeIds.size();
+            record.put("id", id.intValue());
+            writeRecord(record);
+
+            myTypeIds.put(type, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * <p>
+     * An helper method that encodes a list of types as a list of type ids.
+     * </p>
+     *
+     * @param types A list of mathematical types.
+     *
+     * @return A {@code JSON} array of type ids.
+     *
+     * @throws IOException There was an error writing to the output.
+     */
+    private JSONArray encodeTypes(List<MTType> types) throws IOException {
+        JSONArray array = new JSONArray();
+        for (MTType type : types) {
+            array.put(getTypeId(type));
+        }
+
+        return array;
+    }
+
+    /**
+     * <p>
+     * An helper method that stores a location as a
+     * {@code [fileId, line, column]} triple.
+     * </p>
+     *
+     * @param o The {@code JSON} object.
+     * @param key The key to store the location under.
+     * @param loc A location or {@code null}.
+     *
+     * @throws IOException There was an error writing to the output.
+     */
+    private void putLocation(JSONObject o, String key, Location loc)
+            throws IOException {
+        if (loc != null) {
+            JSONArray array = new JSONArray();
+            array.put(getFileId(loc.getFile()));
+            array.put(loc.getLine());
+            array.put(loc.getColumn());
+            o.put(key, array);
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that stores a quantification if it isn't
+     * {@link SymbolTableEntry.Quantification#NONE}.
+     * </p>
+     *
+     * @param o The {@code JSON} object.
+     * @param quantification A quantification or {@code null}.
+     */
+    private void putQuantification(JSONObject o,
+            SymbolTableEntry.Quantification quantification) {
+        if (quantification != null
+                && quantification != SymbolTableEntry.Quantification.NONE) {
+            o.put("qu", quantification.name());
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that stores the name of a symbol. The location of the
+     * symbol is assumed to be the same as the enclosing element.
+     * </p>
+     *
+     * @param o The {@code JSON} object.
+     * @param key The key to store the symbol under.
+     * @param symbol A symbol or {@code null}.
+     */
+    private void putSymbol(JSONObject o, String key, PosSymbol symbol) {
+        if (symbol != null) {
+            o.put(key, symbol.getName());
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that stores a type id if the type isn't {@code null}.
+     * </p>
+     *
+     * @param o The {@code JSON} object.
+     * @param key The key to store the type id under.
+     * @param type A mathematical type or {@code null}.
+     *
+     * @throws IOException There was an error writing to the output.
+     */
+    private void putType(JSONObject o, String key, MTType type)
+            throws IOException {
+        if (type != null) {
+            o.put(key, getTypeId(type));
+        }
+    }
+
+    /**
+     * <p>
+     * An helper method that writes a record as a single line.
+     * </p>
+     *
+     * @param record A {@code JSON} record.
+     *
+     * @throws IOException There was an error writing to the output.
+     */
+    private void writeRecord(JSONObject record) throws IOException {
+        myWriter.write(record.toString());
+        myWriter.write("\n");
+    }
+
+}
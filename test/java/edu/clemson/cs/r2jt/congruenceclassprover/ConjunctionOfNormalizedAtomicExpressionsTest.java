@@ -0,0 +1,175 @@
+/*
+ * ConjunctionOfNormalizedAtomicExpressionsTest.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.r2jt.congruenceclassprover;
+
+import edu.clemson.cs.r2jt.rewriteprover.Antecedent;
+import edu.clemson.cs.r2jt.rewriteprover.Consequent;
+import edu.clemson.cs.r2jt.rewriteprover.VC;
+import edu.clemson.cs.r2jt.rewriteprover.absyn.PExp;
+import edu.clemson.cs.r2jt.rewriteprover.absyn.PSymbol;
+import edu.clemson.cs.r2jt.typeandpopulate.MTType;
+import edu.clemson.cs.r2jt.typereasoning.TypeGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the built in logic applied while a whole expression is merged in
+ * one batch. Each expression is added with a single call to
+ * <code>addExpression</code>, so all of its equalities are unioned in the
+ * same round and an atom can have its arguments and its root become constant
+ * at the same time. The conjunctions are created without the seed atoms of a
+ * {@link VerificationConditionCongruenceClosureImpl}, so the results come
+ * from <code>applyBuiltInLogic</code> alone.
+ */
+public class ConjunctionOfNormalizedAtomicExpressionsTest {
+
+    private final TypeGraph myTypeGraph = new TypeGraph();
+
+    @Test
+    public void testAllConstantAnd() {
+        // (p and q) = r, p, q, r = false
+        ConjunctionOfNormalizedAtomicExpressions c = newConjunction();
+        c.addExpression(and(eq(and(bool("p"), bool("q")), bool("r")), bool("p"),
+                bool("q"), eq(bool("r"), bool("false"))));
+        assertTrue(c.m_evaluates_to_false);
+
+        // (p and q) = r, p, q = false, r = false
+        c = newConjunction();
+        c.addExpression(and(eq(and(bool("p"), bool("q")), bool("r")), bool("p"),
+                eq(bool("q"), bool("false")), eq(bool("r"), bool("false"))));
+        assertFalse(c.m_evaluates_to_false);
+    }
+
+    @Test
+    public void testAllConstantOr() {
+        // (p or q) = r, p = false, q = false, r
+        ConjunctionOfNormalizedAtomicExpressions c = newConjunction();
+        c.addExpression(and(eq(or(bool("p"), bool("q")), bool("r")),
+                eq(bool("p"), bool("false")), eq(bool("q"), bool("false")),
+                bool("r")));
+        assertTrue(c.m_evaluates_to_false);
+
+        // (p or q) = r, p = false, q, r
+        c = newConjunction();
+        c.addExpression(and(eq(or(bool("p"), bool("q")), bool("r")),
+                eq(bool("p"), bool("false")), bool("q"), bool("r")));
+        assertFalse(c.m_evaluates_to_false);
+    }
+
+    @Test
+    public void testAllConstantEquals() {
+        // (p = q) = r, p, q = false, r
+        ConjunctionOfNormalizedAtomicExpressions c = newConjunction();
+        c.addExpression(and(eq(eq(bool("p"), bool("q")), bool("r")), bool("p"),
+                eq(bool("q"), bool("false")), bool("r")));
+        assertTrue(c.m_evaluates_to_false);
+
+        // (p = q) = r, p = false, q = false, r
+        c = newConjunction();
+        c.addExpression(and(eq(eq(bool("p"), bool("q")), bool("r")),
+                eq(bool("p"), bool("false")), eq(bool("q"), bool("false")),
+                bool("r")));
+        assertFalse(c.m_evaluates_to_false);
+    }
+
+    @Test
+    public void testEqualArgumentsBeforeConstantRoot() {
+        // (p = q) = r, p = s, q = s, r = false
+        // The arguments become equal in the same round as the root becomes
+        // false, so (p = p) = q has to be checked before (p = q) = f.
+        ConjunctionOfNormalizedAtomicExpressions c = newConjunction();
+        c.addExpression(and(eq(eq(bool("p"), bool("q")), bool("r")),
+                eq(bool("p"), bool("s")), eq(bool("q"), bool("s")),
+                eq(bool("r"), bool("false"))));
+        assertTrue(c.m_evaluates_to_false);
+
+        // (p = q) = r, p = s, q = s
+        c = newConjunction();
+        c.addExpression(and(eq(eq(bool("p"), bool("q")), bool("r")),
+                eq(bool("p"), bool("s")), eq(bool("q"), bool("s"))));
+        assertFalse(c.m_evaluates_to_false);
+        assertEquals("true", c.getRegistry().getRootSymbolForSymbol("r"));
+    }
+
+    @Test
+    public void testMergedAwaySymbolsInSameAtom() {
+        // f(a, b) = c, a = x, b = y, f(x, y) = d
+        // Both arguments of f(a, b) are merged away in the same round, so
+        // the atom is only re-canonicalized once to find f(x, y).
+        ConjunctionOfNormalizedAtomicExpressions c = newConjunction();
+        c.addExpression(and(eq(fun("f", entity("a"), entity("b")), entity("c")),
+                eq(entity("a"), entity("x")), eq(entity("b"), entity("y")),
+                eq(fun("f", entity("x"), entity("y")), entity("d"))));
+        assertFalse(c.m_evaluates_to_false);
+
+        Registry r = c.getRegistry();
+        assertEquals(r.getRootSymbolForSymbol("c"),
+                r.getRootSymbolForSymbol("d"));
+        assertEquals(r.getRootSymbolForSymbol("a"),
+                r.getRootSymbolForSymbol("x"));
+        assertEquals(r.getRootSymbolForSymbol("b"),
+                r.getRootSymbolForSymbol("y"));
+        assertFalse(r.getRootSymbolForSymbol("c")
+                .equals(r.getRootSymbolForSymbol("a")));
+    }
+
+    private ConjunctionOfNormalizedAtomicExpressions newConjunction() {
+        // The built in logic is only applied to the conjunction of a VC
+        VerificationConditionCongruenceClosureImpl vc =
+                new VerificationConditionCongruenceClosureImpl(myTypeGraph,
+                        new VC("0", new Antecedent(new ArrayList<PExp>()),
+                                new Consequent(new ArrayList<PExp>())),
+                        null, null);
+
+        return new ConjunctionOfNormalizedAtomicExpressions(
+                new Registry(myTypeGraph), vc);
+    }
+
+    private PSymbol bool(String name) {
+        return new PSymbol(myTypeGraph.BOOLEAN, null, name);
+    }
+
+    private PSymbol entity(String name) {
+        return new PSymbol(myTypeGraph.ENTITY, null, name);
+    }
+
+    private PSymbol eq(PExp left, PExp right) {
+        return fun(myTypeGraph.BOOLEAN, "=B", left, right);
+    }
+
+    private PSymbol or(PExp left, PExp right) {
+        return fun(myTypeGraph.BOOLEAN, "orB", left, right);
+    }
+
+    private PSymbol and(PExp first, PExp... rest) {
+        PExp result = first;
+        for (PExp next : rest) {
+            result = fun(myTypeGraph.BOOLEAN, "andB", result, next);
+        }
+
+        return (PSymbol) result;
+    }
+
+    private PSymbol fun(String name, PExp... args) {
+        return fun(myTypeGraph.ENTITY, name, args);
+    }
+
+    private PSymbol fun(MTType type, String name, PExp... args) {
+        List<PExp> argList = new ArrayList<PExp>(Arrays.asList(args));
+
+        return new PSymbol(type, null, name, argList);
+    }
+}
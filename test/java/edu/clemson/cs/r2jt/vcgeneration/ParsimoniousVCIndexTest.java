@@ -0,0 +1,249 @@
+/*
+ * ParsimoniousVCIndexTest.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.r2jt.vcgeneration;
+
+import edu.clemson.cs.r2jt.absyn.DotExp;
+import edu.clemson.cs.r2jt.absyn.EqualsExp;
+import edu.clemson.cs.r2jt.absyn.Exp;
+import edu.clemson.cs.r2jt.absyn.InfixExp;
+import edu.clemson.cs.r2jt.absyn.VarExp;
+import edu.clemson.cs.r2jt.data.PosSymbol;
+import edu.clemson.cs.r2jt.data.Symbol;
+import edu.clemson.cs.r2jt.typereasoning.TypeGraph;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * <p>
+ * Checks that {@link ParsimoniousVCIndex} substitutes the assume expressions
+ * exactly like the original loop in <code>formParsimoniousVC</code>, which
+ * deep copied the assume expressions for every confirm expression and
+ * analyzed every equality again each time.
+ * </p>
+ */
+public class ParsimoniousVCIndexTest {
+
+    private static final String[] NAMES =
+            { "x", "y", "z", "w", "P_val", "?P_val", "Cum_Dur", "??Cum_Dur" };
+
+    /**
+     * <p>
+     * Only used to give the generated expressions a math type, since
+     * <code>Exp.copy</code> needs one.
+     * </p>
+     */
+    private final TypeGraph myTypeGraph = new TypeGraph();
+
+    /**
+     * <p>
+     * Compares both implementations on randomly generated assertions. Every
+     * assertion uses one index for all of its assume statements, just like
+     * <code>VCGenerator</code> does for an assertive code block.
+     * </p>
+     */
+    @Test
+    public void testRandomAssertions() {
+        Random random = new Random(20200);
+        for (int assertion = 0; assertion < 300; assertion++) {
+            ParsimoniousVCIndex index = new ParsimoniousVCIndex();
+            List<Exp> confirmExpList = new ArrayList<Exp>();
+            for (int i = random.nextInt(4) + 1; i > 0; i--) {
+                confirmExpList.add(randomExp(random, 3));
+            }
+
+            for (int stmt = random.nextInt(4) + 1; stmt > 0; stmt--) {
+                List<Exp> assumeExpList = new ArrayList<Exp>();
+                for (int i = random.nextInt(6) + 1; i > 0; i--) {
+                    assumeExpList.add(randomAssumeExp(random));
+                }
+                boolean isStipulate = random.nextInt(5) == 0;
+
+                for (int i = 0; i < confirmExpList.size(); i++) {
+                    List<Exp> expectedRemaining = new ArrayList<Exp>();
+                    Exp expected = originalSubstitute(confirmExpList.get(i),
+                            assumeExpList, isStipulate, expectedRemaining);
+
+                    List<Exp> remaining = new ArrayList<Exp>();
+                    Exp actual = index.substitute(confirmExpList.get(i),
+                            assumeExpList, isStipulate, remaining);
+
+                    assertSameExp(expected, actual);
+                    assertEquals(expectedRemaining.size(), remaining.size());
+                    for (int j = 0; j < remaining.size(); j++) {
+                        assertSameExp(expectedRemaining.get(j),
+                                remaining.get(j));
+                    }
+
+                    confirmExpList.set(i, actual);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * The substitution step of <code>formParsimoniousVC</code> for a single
+     * confirm expression, as it was written before
+     * {@link ParsimoniousVCIndex} existed.
+     * </p>
+     */
+    private static Exp originalSubstitute(Exp currentConfirmExp,
+            List<Exp> assumeExpList, boolean isStipulate,
+            List<Exp> remAssumeExpList) {
+        // Make a deep copy of the assume expression list
+        List<Exp> assumeExpCopyList = new ArrayList<Exp>();
+        for (Exp assumeExp : assumeExpList) {
+            assumeExpCopyList.add(Exp.copy(assumeExp));
+        }
+
+        for (int j = 0; j < assumeExpCopyList.size(); j++) {
+            Exp currentAssumeExp = assumeExpCopyList.get(j);
+            Exp tmp = currentConfirmExp;
+            boolean hasVerificationVar = false;
+            boolean isConceptualVar = false;
+            boolean doneReplacement = false;
+
+            if (currentAssumeExp instanceof EqualsExp
+                    && ((EqualsExp) currentAssumeExp)
+                            .getOperator() == EqualsExp.EQUAL) {
+                EqualsExp equalsExp = (EqualsExp) currentAssumeExp;
+                boolean isLeftReplaceable =
+                        Utilities.containsReplaceableExp(equalsExp.getLeft());
+                boolean isRightReplaceable =
+                        Utilities.containsReplaceableExp(equalsExp.getRight());
+
+                if (equalsExp.getLeft() instanceof VarExp) {
+                    String name =
+                            ((VarExp) equalsExp.getLeft()).getName().getName();
+                    hasVerificationVar = name.matches("\\?*P_val")
+                            || name.matches("\\?*Cum_Dur");
+                }
+                else if (equalsExp.getLeft() instanceof DotExp) {
+                    isConceptualVar = ((DotExp) equalsExp.getLeft())
+                            .containsVar("Conc", false);
+                }
+
+                Exp old = null;
+                Exp repl = null;
+                boolean needsChange = false;
+                if (isLeftReplaceable && isRightReplaceable) {
+                    if (hasVerificationVar || isConceptualVar) {
+                        old = equalsExp.getLeft();
+                        repl = equalsExp.getRight();
+                        needsChange = true;
+                    }
+                }
+                else if (isLeftReplaceable) {
+                    old = equalsExp.getLeft();
+                    repl = equalsExp.getRight();
+                }
+                else if (isRightReplaceable) {
+                    old = equalsExp.getRight();
+                    repl = equalsExp.getLeft();
+                }
+
+                if (old != null) {
+                    tmp = Utilities.replace(currentConfirmExp, old, repl);
+                    doneReplacement = !tmp.equals(currentConfirmExp);
+
+                    if (doneReplacement || !needsChange) {
+                        for (int k = 0; k < remAssumeExpList.size(); k++) {
+                            remAssumeExpList.set(k, Utilities.replace(
+                                    remAssumeExpList.get(k), old, repl));
+                        }
+                        for (int k = j + 1; k < assumeExpCopyList.size(); k++) {
+                            assumeExpCopyList.set(k, Utilities.replace(
+                                    assumeExpCopyList.get(k), old, repl));
+                        }
+                    }
+                }
+            }
+
+            if (isStipulate) {
+                remAssumeExpList.add(currentAssumeExp);
+            }
+            else if (doneReplacement) {
+                currentConfirmExp = tmp;
+            }
+            else if (!hasVerificationVar) {
+                remAssumeExpList.add(currentAssumeExp);
+            }
+        }
+
+        return currentConfirmExp;
+    }
+
+    private static void assertSameExp(Exp expected, Exp actual) {
+        assertEquals(expected.toString(1), actual.toString(1));
+    }
+
+    private Exp randomAssumeExp(Random random) {
+        Exp result;
+        int kind = random.nextInt(10);
+        if (kind < 7) {
+            result = new EqualsExp(null, randomExp(random, 1), EqualsExp.EQUAL,
+                    randomExp(random, 1));
+        }
+        else if (kind < 8) {
+            result = new EqualsExp(null, randomExp(random, 1),
+                    EqualsExp.NOT_EQUAL, randomExp(random, 1));
+        }
+        else {
+            result = randomExp(random, 2);
+        }
+        result.setMathType(myTypeGraph.BOOLEAN);
+
+        return result;
+    }
+
+    private Exp randomExp(Random random, int depth) {
+        Exp result;
+        int kind = random.nextInt(depth > 0 ? 6 : 3);
+        if (kind < 2) {
+            result = var(NAMES[random.nextInt(NAMES.length)]);
+        }
+        else if (kind < 3) {
+            edu.clemson.cs.r2jt.collections.List<Exp> segments =
+                    new edu.clemson.cs.r2jt.collections.List<Exp>();
+            segments.add(var(random.nextBoolean() ? "Conc" : "S"));
+            segments.add(var(NAMES[random.nextInt(4)]));
+            result = new DotExp(null, segments, null);
+            result.setMathType(myTypeGraph.R);
+        }
+        else if (kind < 5) {
+            result = new InfixExp(null, randomExp(random, depth - 1),
+                    new PosSymbol(null,
+                            Symbol.symbol(random.nextBoolean() ? "+" : "and")),
+                    randomExp(random, depth - 1));
+            result.setMathType(myTypeGraph.R);
+        }
+        else {
+            result = new EqualsExp(null, randomExp(random, depth - 1),
+                    EqualsExp.EQUAL, randomExp(random, depth - 1));
+            result.setMathType(myTypeGraph.BOOLEAN);
+        }
+
+        return result;
+    }
+
+    private VarExp var(String name) {
+        VarExp result = new VarExp(null, null,
+                new PosSymbol(null, Symbol.symbol(name)));
+        result.setMathType(myTypeGraph.R);
+
+        return result;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * ResolveFileTest.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.file;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * <p>
+ * Unit test for checking that a {@link ResolveFile} can release its source
+ * code.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class ResolveFileTest {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * The source code of our test file.
+     * </p>
+     */
+    private static final String CONTENTS =
+            "Concept Test_Template;\nend Test_Template;";
+
+    // ===========================================================
+    // Test Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This tests that a released input stream can be garbage collected and
+     * that the source code is read again from disk.
+     * </p>
+     *
+     * @throws IOException The test file couldn't be created.
+     */
+    @Test
+    public final void testReleasedStreamIsCollected() throws IOException {
+        Path path = Files.createTempFile("Test_Template", ".co");
+        try {
+            Files.write(path, CONTENTS.getBytes(StandardCharsets.UTF_8));
+            CharStream input = CharStreams.fromPath(path);
+            WeakReference<CharStream> inputRef = new WeakReference<>(input);
+            ResolveFile file = createResolveFile(input, path.toString());
+            input = null;
+
+            assertTrue(file.releaseInputStream());
+            for (int i = 0; i < 50 && inputRef.get() != null; i++) {
+                System.gc();
+                try {
+                    Thread.sleep(10);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            assertNull(inputRef.get());
+            assertEquals(CONTENTS, file.getInputStream().toString());
+        }
+        finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * <p>
+     * This tests that a file that isn't in our workspace keeps its input
+     * stream.
+     * </p>
+     */
+    @Test
+    public final void testMetaFileKeepsStream() {
+        CharStream input = CharStreams.fromString(CONTENTS);
+        ResolveFile file = createResolveFile(input, "");
+
+        assertFalse(file.releaseInputStream());
+        assertSame(input, file.getInputStream());
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This creates a {@link ResolveFile} for a concept.
+     * </p>
+     *
+     * @param input The source code input stream.
+     * @param filePath The path where the file was found.
+     *
+     * @return A {@link ResolveFile}.
+     */
+    private static ResolveFile createResolveFile(CharStream input,
+            String filePath) {
+        return new ResolveFile(new ResolveFileBasicInfo("Test_Template", ""),
+                ModuleType.CONCEPT, input, Paths.get(""),
+                new ArrayList<String>(), filePath);
+    }
+
+}
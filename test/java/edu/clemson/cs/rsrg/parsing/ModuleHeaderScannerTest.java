@@ -0,0 +1,199 @@
+/*
+ * ModuleHeaderScannerTest.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.parsing;
+
+import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
+import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.init.ResolveCompiler;
+import edu.clemson.cs.rsrg.init.file.ModuleType;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.file.ResolveFileBasicInfo;
+import edu.clemson.cs.rsrg.misc.Utilities;
+import edu.clemson.cs.rsrg.statushandling.SystemStdHandler;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * <p>
+ * Unit test for checking that the {@link ModuleHeaderScanner} finds the same
+ * module dependencies as the {@link TreeBuildingListener}.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class ModuleHeaderScannerTest {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * A parsing service that builds the {@link ModuleDec ModuleDecs} on the
+     * current thread.
+     * </p>
+     */
+    private final ParsingService myParsingService;
+
+    {
+        try {
+            // We need to create a ResolveCompiler instance to instantiate
+            // the flag manager...
+            new ResolveCompiler(new String[0]);
+            SystemStdHandler handler = new SystemStdHandler();
+            myParsingService = new ParsingService(handler,
+                    new TypeGraph(new CompileEnvironment(new String[0],
+                            "TestCompiler", handler)),
+                    0);
+        }
+        catch (IOException e) {
+            throw new MiscErrorException("Error creating a fake typegraph", e);
+        }
+    }
+
+    // ===========================================================
+    // Test Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This tests every sample file in the test resources.
+     * </p>
+     */
+    @Test
+    public final void testSampleFiles() {
+        File resourceDir;
+        try {
+            resourceDir = new File(
+                    this.getClass().getResource("/Stack_Template.co").toURI())
+                            .getParentFile();
+        }
+        catch (URISyntaxException e) {
+            throw new RuntimeException(e);
+        }
+
+        int numFiles = 0;
+        for (File file : resourceDir.listFiles()) {
+            ModuleType moduleType = Utilities.getModuleType(file.getName());
+            if (moduleType != null) {
+                try {
+                    assertSameDependencies(Utilities.convertToResolveFile(file,
+                            moduleType, resourceDir.getAbsolutePath()));
+                }
+                catch (IOException e) {
+                    throw new MiscErrorException("Error reading " + file, e);
+                }
+                numFiles++;
+            }
+        }
+
+        assertTrue(numFiles > 0);
+    }
+
+    /**
+     * <p>
+     * This tests a facility whose facility declarations use the optional
+     * parts of the grammar: arguments, profiles, external realizations and
+     * enhancements before and after the realization.
+     * </p>
+     */
+    @Test
+    public final void testFacilityDecls() {
+        assertSameDependencies(createResolveFile("Test_Fac.fa",
+                "Facility Test_Fac;\n" + "    uses Test_Theory;\n\n"
+                        + "    Facility A_Fac is Stack_Template(Integer, 4)\n"
+                        + "        enhanced by Reading_Capability\n"
+                        + "        realized by Array_Realiz\n"
+                        + "            with_profile Array_Profile(Max(1, 2));\n\n"
+                        + "    Facility B_Fac is Queue_Template(Integer)\n"
+                        + "        externally realized by Std_Queue_Realiz;\n\n"
+                        + "    Facility C_Fac is List_Template(Character)\n"
+                        + "        realized by Linked_Realiz\n"
+                        + "        enhanced by Writing_Capability(Max(3))\n"
+                        + "            realized by Obvious_Writing_Realiz\n"
+                        + "        enhanced by Reversal_Capability\n"
+                        + "            realized by Obvious_Reversal_Realiz\n"
+                        + "                with_profile Reversal_Profile(4);\n"
+                        + "end Test_Fac;"));
+    }
+
+    /**
+     * <p>
+     * This tests a realization with a profile and an {@code Array} type.
+     * </p>
+     */
+    @Test
+    public final void testRealizationWithProfile() {
+        assertSameDependencies(createResolveFile("Test_Realiz.rb",
+                "Realization Test_Realiz with_profile Test_Profile\n"
+                        + "        for Reading_Capability of Stack_Template;\n"
+                        + "    uses Test_Theory, Other_Theory;\n\n"
+                        + "    Facility D_Fac is Stack_Template(Integer, 4)\n"
+                        + "        realized by Array_Realiz;\n\n"
+                        + "    Procedure Read_upto(updates S: Stack);\n"
+                        + "        Var A: Array 1..4 of Integer;\n"
+                        + "    end Read_upto;\n" + "end Test_Realiz;"));
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This checks that scanning and parsing {@code file} finds the same
+     * module dependencies.
+     * </p>
+     *
+     * @param file A {@code RESOLVE} file.
+     */
+    private void assertSameDependencies(ResolveFile file) {
+        ModuleHeaderScanner scanner = new ModuleHeaderScanner(file);
+        ModuleDec dec = myParsingService.parse(file);
+
+        assertEquals(file.getName(), dec.getName().getName(),
+                scanner.getModuleName());
+        assertEquals(file.getName(), dec.getModuleDependencies(),
+                scanner.getModuleDependencies());
+    }
+
+    /**
+     * <p>
+     * This creates a {@link ResolveFile} from a string.
+     * </p>
+     *
+     * @param fileName Name of the file, including the extension.
+     * @param contents The contents of the file.
+     *
+     * @return A {@link ResolveFile}.
+     */
+    private static ResolveFile createResolveFile(String fileName,
+            String contents) {
+        ModuleType moduleType = Utilities.getModuleType(fileName);
+
+        return new ResolveFile(
+                new ResolveFileBasicInfo(
+                        Utilities.getFileName(fileName, moduleType), ""),
+                moduleType, CharStreams.fromString(contents, fileName),
+                Paths.get(""), new ArrayList<String>(), fileName);
+    }
+
+}
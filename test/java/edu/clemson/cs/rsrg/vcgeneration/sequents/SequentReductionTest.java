@@ -411,6 +411,79 @@ public class SequentReductionTest {
         assertFalse(inSequent(resultSequent1, B));
     }
 
+    /**
+     * <p>
+     * This tests that reducing {@link Sequent Sequents} using the memoized
+     * formula reductions in a {@link FormulaReductionCache} gives us the same
+     * {@link Sequent Sequents} as building the reduction tree.
+     * </p>
+     */
+    @Test
+    public final void testMemoizedReduction() {
+        // Create sequents: "(A and B) or C, not D, E implies (A and B) |- G, not F"
+        // and "(A and B) or C, E and (A or C), A or C |- G"
+        VarExp A = createBooleanVarExp("A");
+        VarExp B = createBooleanVarExp("B");
+        VarExp C = createBooleanVarExp("C");
+        VarExp D = createBooleanVarExp("D");
+        VarExp E = createBooleanVarExp("E");
+        VarExp F = createBooleanVarExp("F");
+        VarExp G = createBooleanVarExp("G");
+        Exp AandB = MathExp.formConjunct(FAKE_LOCATION, A, B);
+        Exp AorC = MathExp.formDisjunct(FAKE_LOCATION, A.clone(), C.clone());
+        Exp notD = new PrefixExp(FAKE_LOCATION, null,
+                new PosSymbol(FAKE_LOCATION, "not"), D);
+        notD.setMathType(FAKE_TYPEGRAPH.BOOLEAN);
+        Exp notF = new PrefixExp(FAKE_LOCATION, null,
+                new PosSymbol(FAKE_LOCATION, "not"), F);
+        notF.setMathType(FAKE_TYPEGRAPH.BOOLEAN);
+
+        List<Exp> antecedents1 = new ArrayList<>();
+        antecedents1.add(MathExp.formDisjunct(FAKE_LOCATION, AandB.clone(), C));
+        antecedents1.add(notD);
+        antecedents1.add(MathExp.formImplies(FAKE_LOCATION, E, AandB.clone()));
+        List<Exp> consequents1 = new ArrayList<>();
+        consequents1.add(G);
+        consequents1.add(notF);
+
+        // The "A or C" from the second antecedent gets reduced together
+        // with the third antecedent in the second sequent.
+        List<Exp> antecedents2 = new ArrayList<>();
+        antecedents2.add(antecedents1.get(0).clone());
+        antecedents2.add(
+                MathExp.formConjunct(FAKE_LOCATION, E.clone(), AorC.clone()));
+        antecedents2.add(AorC);
+        List<Exp> consequents2 = new ArrayList<>();
+        consequents2.add(G.clone());
+
+        // Reduce both sequents with and without the reduction tree
+        FormulaReductionCache cache = new FormulaReductionCache();
+        for (Sequent originalSequent : new Sequent[] {
+                new Sequent(FAKE_LOCATION, antecedents1, consequents1),
+                new Sequent(FAKE_LOCATION, antecedents2, consequents2) }) {
+            SequentReduction reduction = new SequentReduction(originalSequent);
+            List<Sequent> expectedSequents = reduction.applyReduction();
+
+            SequentReduction memoizedReduction =
+                    new SequentReduction(originalSequent, cache, false);
+            List<Sequent> resultSequents = memoizedReduction.applyReduction();
+
+            // 1) We must get the same sequents in the same order.
+            // 2) The sequents must have the same impacting reduction flags.
+            // 3) We didn't build a reduction tree.
+            assertEquals(expectedSequents, resultSequents);
+            for (Sequent resultSequent : resultSequents) {
+                assertEquals(
+                        reduction.getImpactingReducedSequentMap()
+                                .get(resultSequent),
+                        memoizedReduction.getImpactingReducedSequentMap()
+                                .get(resultSequent));
+            }
+            assertTrue(
+                    memoizedReduction.getReductionTree().edgeSet().isEmpty());
+        }
+    }
+
     /**
      * <p>
      * This tests what happens when we call
@@ -784,6 +857,21 @@ public class SequentReductionTest {
     // Private Methods
     // ===========================================================
 
+    /**
+     * <p>
+     * This method creates a boolean variable expression.
+     * </p>
+     *
+     * @param name Name of the variable.
+     *
+     * @return A {@link VarExp}.
+     */
+    private VarExp createBooleanVarExp(String name) {
+        return Utilities.createVarExp(FAKE_LOCATION, null,
+                new PosSymbol(FAKE_LOCATION, name), FAKE_TYPEGRAPH.BOOLEAN,
+                null);
+    }
+
     /**
      * <p>
      * This method checks to see if the given expression is in the antecedent
@@ -0,0 +1,414 @@
+/*
+ * VCInterchangeTest.java
+ * ---------------------------------
+ * Copyright (c) 2020
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.vcgeneration.utilities.interchange;
+
+import edu.clemson.cs.rsrg.absyn.declarations.Dec;
+import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
+import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.PrecisModuleDec;
+import edu.clemson.cs.rsrg.absyn.declarations.paramdecl.ModuleParameterDec;
+import edu.clemson.cs.rsrg.absyn.expressions.Exp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.*;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.EqualsExp.Operator;
+import edu.clemson.cs.rsrg.absyn.items.programitems.UsesItem;
+import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.init.ResolveCompiler;
+import edu.clemson.cs.rsrg.init.file.ModuleType;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.file.ResolveFileBasicInfo;
+import edu.clemson.cs.rsrg.parsing.data.Location;
+import edu.clemson.cs.rsrg.parsing.data.LocationDetailModel;
+import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
+import edu.clemson.cs.rsrg.statushandling.SystemStdHandler;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.typeandpopulate.entry.MathSymbolEntry;
+import edu.clemson.cs.rsrg.typeandpopulate.entry.SymbolTableEntry;
+import edu.clemson.cs.rsrg.typeandpopulate.exception.DuplicateSymbolException;
+import edu.clemson.cs.rsrg.typeandpopulate.exception.SymbolNotOfKindTypeException;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTFunction;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTProper;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTType;
+import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTableBuilder;
+import edu.clemson.cs.rsrg.typeandpopulate.symboltables.ModuleScope;
+import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
+import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
+import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.Utilities;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import org.antlr.v4.runtime.CharStreams;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>
+ * Unit test for writing and reading back {@link VerificationCondition
+ * VerificationConditions} using {@link VCInterchangeWriter} and
+ * {@link VCInterchangeReader}.
+ * </p>
+ *
+ * @version 1.0
+ */
+public class VCInterchangeTest {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>
+     * A fake {@link ResolveFile} object to be used to create locations.
+     * </p>
+     */
+    private final ResolveFile FAKE_FILE;
+
+    /**
+     * <p>
+     * A fake {@link Location} object to be used to create expressions.
+     * </p>
+     */
+    private final Location FAKE_LOCATION;
+
+    /**
+     * <p>
+     * A fake {@link TypeGraph} object that allows us to assign types to
+     * expressions.
+     * </p>
+     */
+    private final TypeGraph FAKE_TYPEGRAPH;
+
+    /**
+     * <p>
+     * A fake {@link MathSymbolTableBuilder} object that holds the module scope
+     * for our fake file.
+     * </p>
+     */
+    private final MathSymbolTableBuilder FAKE_SYMBOLTABLE;
+
+    /**
+     * <p>
+     * A fake {@link ModuleScope} object that only contains the mathematical
+     * type {@code Z}.
+     * </p>
+     */
+    private final ModuleScope FAKE_SCOPE;
+
+    {
+        try {
+            FAKE_FILE = new ResolveFile(
+                    new ResolveFileBasicInfo("VCInterchangeTest", ""),
+                    ModuleType.THEORY,
+                    CharStreams.fromString("Theory VCInterchangeTest;"), null,
+                    new ArrayList<String>(), "VCInterchangeTest.mt");
+            FAKE_LOCATION = new Location(FAKE_FILE, 1, 0);
+
+            // Create a fake typegraph
+            // We need to create a ResolveCompiler instance to instantiate
+            // the flag manager...
+            new ResolveCompiler(new String[0]);
+            CompileEnvironment compileEnvironment = new CompileEnvironment(
+                    new String[0], "TestCompiler", new SystemStdHandler());
+            FAKE_TYPEGRAPH = new TypeGraph(compileEnvironment);
+
+            // Create a fake module scope with Z in it
+            ModuleDec moduleDec = new PrecisModuleDec(FAKE_LOCATION,
+                    new PosSymbol(FAKE_LOCATION, "VCInterchangeTest"),
+                    new ArrayList<ModuleParameterDec>(),
+                    new ArrayList<UsesItem>(), new ArrayList<Dec>(),
+                    new HashMap<ResolveFileBasicInfo, Boolean>());
+            FAKE_SYMBOLTABLE = new MathSymbolTableBuilder(compileEnvironment);
+            FAKE_SYMBOLTABLE.startModuleScope(moduleDec).addBinding("Z",
+                    moduleDec, FAKE_SYMBOLTABLE.getTypeGraph().SSET);
+            FAKE_SYMBOLTABLE.endScope();
+            FAKE_SCOPE = FAKE_SYMBOLTABLE
+                    .getModuleScope(new ModuleIdentifier(moduleDec));
+        }
+        catch (IOException | DuplicateSymbolException e) {
+            throw new MiscErrorException("Error creating a fake location", e);
+        }
+    }
+
+    // ===========================================================
+    // Test Methods
+    // ===========================================================
+
+    /**
+     * <p>
+     * This tests that a {@link VerificationCondition} read back from the
+     * interchange format is equivalent to the one we wrote.
+     * </p>
+     *
+     * @throws IOException There was an error writing or reading the
+     *         {@code VC}.
+     */
+    @Test
+    public final void testRoundTrip() throws IOException {
+        // Create sequent: "P, F(x') |- P and F(true)"
+        VarExp p = Utilities.createVarExp(FAKE_LOCATION, null,
+                new PosSymbol(FAKE_LOCATION, "P"), FAKE_TYPEGRAPH.BOOLEAN,
+                null);
+        MTType fType = new MTFunction(FAKE_TYPEGRAPH, FAKE_TYPEGRAPH.BOOLEAN,
+                FAKE_TYPEGRAPH.BOOLEAN);
+        VarExp f = Utilities.createVarExp(FAKE_LOCATION, null,
+                new PosSymbol(FAKE_LOCATION, "F"), fType, null);
+        VarExp x = Utilities.createVarExp(FAKE_LOCATION, null,
+                new PosSymbol(FAKE_LOCATION, "x"), FAKE_TYPEGRAPH.BOOLEAN,
+                null);
+        FunctionExp fOfX = new FunctionExp(FAKE_LOCATION, f, null,
+                Collections.<Exp> singletonList(x));
+        fOfX.setMathType(FAKE_TYPEGRAPH.BOOLEAN);
+        FunctionExp fOfTrue = new FunctionExp(FAKE_LOCATION, (VarExp) f.clone(),
+                null, Collections.<Exp> singletonList(
+                        MathExp.getTrueVarExp(FAKE_LOCATION, FAKE_TYPEGRAPH)));
+        fOfTrue.setMathType(FAKE_TYPEGRAPH.BOOLEAN);
+
+        List<Exp> antecedents = new ArrayList<>();
+        antecedents.add(p);
+        antecedents.add(new VCVarExp(FAKE_LOCATION, fOfX, 1));
+
+        List<Exp> consequents = new ArrayList<>();
+        consequents
+                .add(MathExp.formConjunct(FAKE_LOCATION, p.clone(), fOfTrue));
+
+        VerificationCondition vc = new VerificationCondition(FAKE_LOCATION,
+                "0_1", new Sequent(FAKE_LOCATION, antecedents, consequents),
+                true, new LocationDetailModel(FAKE_LOCATION, FAKE_LOCATION,
+                        "Fake Location"));
+
+        // Write the VC
+        StringWriter output = new StringWriter();
+        VCInterchangeWriter writer =
+                new VCInterchangeWriter(output, "VCInterchangeTest");
+        writer.writeVC(vc);
+        writer.close();
+
+        // Read it back
+        VCInterchangeReader reader = new VCInterchangeReader(
+                new BufferedReader(new StringReader(output.toString())),
+                FAKE_TYPEGRAPH, FAKE_SCOPE,
+                Collections.singletonList(FAKE_FILE));
+        List<VerificationCondition> vcs = reader.readVCs();
+        reader.close();
+
+        assertEquals("VCInterchangeTest", reader.getModuleName());
+        assertTrue(reader.getStaleFiles().isEmpty());
+        assertEquals(1, vcs.size());
+
+        VerificationCondition result = vcs.get(0);
+        assertEquals("0_1", result.getName());
+        assertTrue(result.getHasImpactingReductionFlag());
+        assertEquals("Fake Location",
+                result.getLocationDetailModel().getDetailMessage());
+        assertSame(FAKE_FILE, result.getLocation().getFile());
+
+        Sequent resultSequent = result.getSequent();
+        assertEquals(2, resultSequent.getAntecedents().size());
+        assertEquals(1, resultSequent.getConcequents().size());
+        for (int i = 0; i < antecedents.size(); i++) {
+            assertTrue(antecedents.get(i)
+                    .equivalent(resultSequent.getAntecedents().get(i)));
+        }
+        assertTrue(consequents.get(0)
+                .equivalent(resultSequent.getConcequents().get(0)));
+
+        // Built-in types are mapped back to the type graph's instances
+        assertSame(FAKE_TYPEGRAPH.BOOLEAN,
+                resultSequent.getAntecedents().get(0).getMathType());
+        assertEquals(SymbolTableEntry.Quantification.NONE,
+                ((VarExp) resultSequent.getAntecedents().get(0))
+                        .getQuantification());
+    }
+
+    /**
+     * <p>
+     * This tests that a {@link VerificationCondition} typed over {@code Z} is
+     * read back using the type from the module scope.
+     * </p>
+     *
+     * @throws IOException There was an error writing or reading the
+     *         {@code VC}.
+     * @throws SymbolNotOfKindTypeException {@code Z} isn't a type.
+     */
+    @Test
+    public final void testNamedTypeRoundTrip()
+            throws IOException,
+                SymbolNotOfKindTypeException {
+        TypeGraph g = FAKE_SYMBOLTABLE.getTypeGraph();
+        MathSymbolEntry zEntry =
+                Utilities.searchMathSymbol(FAKE_LOCATION, "Z", FAKE_SCOPE);
+        MTType z = zEntry.getTypeValue();
+
+        // Create sequent: "|- i = i"
+        VarExp i = Utilities.createVarExp(FAKE_LOCATION, null,
+                new PosSymbol(FAKE_LOCATION, "i"), z, null);
+        EqualsExp equalsExp = new EqualsExp(FAKE_LOCATION, i, null,
+                Operator.EQUAL, i.clone());
+        equalsExp.setMathType(g.BOOLEAN);
+        VerificationCondition vc =
+                new VerificationCondition(FAKE_LOCATION, "0_1",
+                        new Sequent(FAKE_LOCATION, new ArrayList<Exp>(),
+                                Collections.<Exp> singletonList(equalsExp)),
+                        false, null);
+
+        StringWriter output = new StringWriter();
+        VCInterchangeWriter writer =
+                new VCInterchangeWriter(output, "VCInterchangeTest");
+        writer.writeVC(vc);
+        writer.close();
+
+        VCInterchangeReader reader = new VCInterchangeReader(
+                new BufferedReader(new StringReader(output.toString())), g,
+                FAKE_SCOPE, Collections.singletonList(FAKE_FILE));
+        List<VerificationCondition> vcs = reader.readVCs();
+        reader.close();
+
+        EqualsExp result =
+                (EqualsExp) vcs.get(0).getSequent().getConcequents().get(0);
+        assertEquals(z, result.getLeft().getMathType());
+        assertSame(z, result.getRight().getMathType());
+        assertSame(g.BOOLEAN, result.getMathType());
+    }
+
+    /**
+     * <p>
+     * This tests that a type that isn't in the module scope can't be read
+     * back.
+     * </p>
+     *
+     * @throws IOException There was an error writing or reading the
+     *         {@code VC}.
+     */
+    @Test(expected = MiscErrorException.class)
+    public final void testUnknownNamedType() throws IOException {
+        MTType n =
+                new MTProper(FAKE_TYPEGRAPH, FAKE_TYPEGRAPH.SSET, false, "N");
+        VerificationCondition vc = new VerificationCondition(FAKE_LOCATION,
+                "0_1",
+                new Sequent(FAKE_LOCATION, new ArrayList<Exp>(),
+                        Collections.<Exp> singletonList(Utilities.createVarExp(
+                                FAKE_LOCATION, null,
+                                new PosSymbol(FAKE_LOCATION, "i"), n, null))),
+                false, null);
+
+        StringWriter output = new StringWriter();
+        VCInterchangeWriter writer =
+                new VCInterchangeWriter(output, "VCInterchangeTest");
+        writer.writeVC(vc);
+        writer.close();
+
+        VCInterchangeReader reader = new VCInterchangeReader(
+                new BufferedReader(new StringReader(output.toString())),
+                FAKE_TYPEGRAPH, FAKE_SCOPE,
+                Collections.singletonList(FAKE_FILE));
+        try {
+            reader.readVCs();
+        }
+        finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * <p>
+     * This tests that {@code VCs} written after a {@code block} record are
+     * read back as part of that block.
+     * </p>
+     *
+     * @throws IOException There was an error writing or reading the
+     *         {@code VCs}.
+     */
+    @Test
+    public final void testBlockRecords() throws IOException {
+        VerificationCondition vc = new VerificationCondition(FAKE_LOCATION,
+                "0_1",
+                new Sequent(FAKE_LOCATION, new ArrayList<Exp>(),
+                        Collections.<Exp> singletonList(MathExp
+                                .getTrueVarExp(FAKE_LOCATION, FAKE_TYPEGRAPH))),
+                false, null);
+
+        StringWriter output = new StringWriter();
+        VCInterchangeWriter writer =
+                new VCInterchangeWriter(output, "VCInterchangeTest");
+        writer.writeBlock(new JSONObject().put("fingerprint", "a"));
+        writer.writeVC(vc);
+        writer.writeVC(vc);
+        writer.writeBlock(new JSONObject().put("fingerprint", "b"));
+        writer.writeVC(vc);
+        writer.close();
+
+        VCInterchangeReader reader = new VCInterchangeReader(
+                new BufferedReader(new StringReader(output.toString())),
+                FAKE_TYPEGRAPH, FAKE_SCOPE,
+                Collections.singletonList(FAKE_FILE));
+        List<VerificationCondition> vcs = reader.readVCs();
+        reader.close();
+
+        assertEquals(3, vcs.size());
+        assertEquals(2, reader.getBlockRecords().size());
+        assertEquals("a",
+                reader.getBlockRecords().get(0).getString("fingerprint"));
+        assertEquals(2, reader.getBlockVCs().get(0).size());
+        assertEquals(1, reader.getBlockVCs().get(1).size());
+    }
+
+    /**
+     * <p>
+     * This tests that changes to a source file are detected when reading back
+     * the {@code VCs}.
+     * </p>
+     *
+     * @throws IOException There was an error writing or reading the
+     *         {@code VC}.
+     */
+    @Test
+    public final void testStaleSourceFile() throws IOException {
+        VerificationCondition vc = new VerificationCondition(FAKE_LOCATION,
+                "0_1",
+                new Sequent(FAKE_LOCATION, new ArrayList<Exp>(),
+                        Collections.<Exp> singletonList(MathExp
+                                .getTrueVarExp(FAKE_LOCATION, FAKE_TYPEGRAPH))),
+                false, null);
+
+        StringWriter output = new StringWriter();
+        VCInterchangeWriter writer =
+                new VCInterchangeWriter(output, "VCInterchangeTest");
+        writer.writeVC(vc);
+        writer.close();
+
+        // Same file path, different contents
+        ResolveFile modifiedFile = new ResolveFile(
+                new ResolveFileBasicInfo("VCInterchangeTest", ""),
+                ModuleType.THEORY,
+                CharStreams.fromString("Theory VCInterchangeTest; end;"), null,
+                new ArrayList<String>(), "VCInterchangeTest.mt");
+
+        VCInterchangeReader reader = new VCInterchangeReader(
+                new BufferedReader(new StringReader(output.toString())),
+                FAKE_TYPEGRAPH, FAKE_SCOPE,
+                Collections.singletonList(modifiedFile));
+        reader.readVCs();
+        reader.close();
+
+        assertEquals(Collections.singletonList("VCInterchangeTest.mt"),
+                reader.getStaleFiles());
+    }
+
+}